@@ -0,0 +1,718 @@
+package gym;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// HTTP API over the same services as the Swing windows, for kiosks and the
+// mobile app. Requests and responses are JSON:
+//
+//   GET  /api/members?q=<name>&offset=0&limit=50   list, or search by name
+//   GET, PUT, DELETE /api/members/<id>; POST /api/members
+//   the same for /api/trainers, /api/plans and /api/products
+//   POST /api/admissions {"name", "age", "gender", "planId", "trainerId"?, "method", ...}
+//   POST /api/checkout   {"method", ..., "items": [{"productId", "quantity"}]}, 409 if short of stock
+//   POST /api/checkins   {"memberId"}
+//   POST /api/batch      [{"method", "path", "body"?}, ...]
+//   GET  /api/metrics
+//
+// Each exchange runs on its own virtual thread. Every response has a
+// Content-Length, so HTTP/1.1 clients keep their connections open between
+// requests. A write is answered once it is on disk. A batch runs its requests
+// in order and waits for the disk once for all of them, so a kiosk sending
+// twenty changes pays for one sync rather than twenty.
+//
+// Latency is recorded per route (ids folded into "{id}") in log-scale
+// histograms, and /api/metrics reports count, p50, p99 and max for each.
+//
+// Admissions and checkouts paid by CARD or UPI also carry a "paymentKey"
+// chosen by the client, and CARD a "cardNumber". They are charged through
+// Payments before anything is recorded: 402 if declined, 504 or 502 if the
+// gateway did not answer or failed, and sending the same paymentKey again is
+// safe then, as it never charges twice. CASH is recorded at once.
+//
+// If a token is set, every request must carry "Authorization: Bearer <token>".
+final class ApiServer {
+    private static final Logger LOG = Logger.getLogger(ApiServer.class.getName());
+    static final int MAX_BODY_BYTES = 1 << 20;
+    static final int MAX_BATCH = 1000;
+    private static final int DEFAULT_LIMIT = 50;
+    private static final int MAX_LIMIT = 1000;
+    private static final List<String> ROUTES = List.of("metrics", "admissions", "checkout", "checkins", "batch");
+
+    private final GymStore store;
+    private final MemberService members;
+    private final CatalogService catalog;
+    private final SalesLedger ledger;
+    private final Attendance attendance;
+    private final TrainerAssigner trainerAssigner;
+    private final Payments payments;
+    private final String token;
+    private final Map<String, Resource<?>> resources = new HashMap<>();
+    private final Map<String, Latency> latencies = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    // token may be null to accept every request
+    ApiServer(GymStore store, MemberService members, CatalogService catalog, SalesLedger ledger, Attendance attendance,
+            TrainerAssigner trainerAssigner, Payments payments, String token) {
+        this.store = store;
+        this.members = members;
+        this.catalog = catalog;
+        this.ledger = ledger;
+        this.attendance = attendance;
+        this.trainerAssigner = trainerAssigner;
+        this.payments = payments;
+        this.token = token;
+
+        resources.put("members", new Resource<>(members.table(), Exporter.MEMBER_FIELDS, this::member,
+                members::add, members::update, members::delete).searchable(members::search));
+        resources.put("trainers", new Resource<>(catalog.trainers(), Exporter.TRAINER_FIELDS,
+                (body, current) -> new Trainer(text(body, "name"), text(body, "specialization")),
+                catalog::addTrainer, catalog::updateTrainer, catalog::deleteTrainer));
+        resources.put("plans", new Resource<>(catalog.plans(), Exporter.PLAN_FIELDS,
+                (body, current) -> new MembershipPlan(text(body, "name"),
+                        (int) positive(body, "durationMonths"), positive(body, "priceCents")),
+                catalog::addPlan, catalog::updatePlan, catalog::deletePlan));
+        resources.put("products", new Resource<>(catalog.products(), Exporter.PRODUCT_FIELDS,
+                (body, current) -> new Product(text(body, "name"), positive(body, "priceCents"),
+                        optionalText(body, "description"), stock(body, current),
+                        optionalText(body, "category"), optionalText(body, "image")),
+                catalog::addProduct, catalog::updateProduct, catalog::deleteProduct));
+    }
+
+    // Listens on host:port (port 0 picks a free one) and returns the port
+    int start(String host, int port) throws IOException {
+        // The JDK server writes headers and body separately; with Nagle on,
+        // a keep-alive client waits for a delayed ACK between them. Read once
+        // when the first server is made, so it is set before that.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/", this::exchange);
+        server.start();
+        return server.getAddress().getPort();
+    }
+
+    // Stops accepting requests and waits up to a second for those in flight
+    void stop() {
+        if (server != null) {
+            server.stop(1);
+            executor.shutdown();
+        }
+    }
+
+    // The response to one request, before it is written out
+    static final class Response {
+        final int status;
+        final Object body;
+
+        Response(int status, Object body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    // Thrown to answer with an error status
+    static final class ApiException extends RuntimeException {
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    // Per-route count and latency, for /api/metrics
+    Map<String, Object> metrics() {
+        Map<String, Object> routes = new TreeMap<>();
+        latencies.forEach((route, latency) -> routes.put(route, latency.report()));
+        return Collections.singletonMap("routes", routes);
+    }
+
+    private void exchange(HttpExchange exchange) throws IOException {
+        long began = System.nanoTime();
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        Response response;
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (token != null && !("Bearer " + token).equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                response = error(401, "missing or wrong token");
+            } else if (bytes.length > MAX_BODY_BYTES) {
+                // The rest of the body is not read, so the connection cannot be reused
+                exchange.getResponseHeaders().set("Connection", "close");
+                response = error(413, "request body over " + MAX_BODY_BYTES + " bytes");
+            } else {
+                Object body = bytes.length == 0 ? null : Json.parse(new String(bytes, StandardCharsets.UTF_8));
+                boolean[] wrote = new boolean[1];
+                response = "/api/batch".equals(path) && "POST".equals(method)
+                        ? batch(body, wrote)
+                        : handle(method, path, query(exchange.getRequestURI().getRawQuery()), body, wrote);
+                if (wrote[0]) {
+                    store.sync();
+                    ledger.sync();
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            response = error(400, e.getMessage());
+        } catch (IOException e) {
+            response = error(500, "could not save: " + e.getMessage());
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, method + " " + path + " failed", e);
+            response = error(500, "internal error");
+        }
+
+        StringBuilder text = new StringBuilder();
+        Json.value(text, response.body);
+        byte[] out = text.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(response.status, out.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(out);
+        }
+        record(method, path, began);
+    }
+
+    // Runs the requests in order. A failed or malformed one is reported in its
+    // place and does not stop the rest; the caller syncs once if any of them
+    // wrote.
+    private Response batch(Object body, boolean[] wrote) {
+        if (!(body instanceof List)) {
+            throw new IllegalArgumentException("a batch is a JSON array of requests");
+        }
+        List<?> requests = (List<?>) body;
+        if (requests.size() > MAX_BATCH) {
+            throw new IllegalArgumentException("a batch holds at most " + MAX_BATCH + " requests");
+        }
+        List<Object> results = new ArrayList<>(requests.size());
+        for (Object item : requests) {
+            long began = System.nanoTime();
+            String method = null;
+            String path = null;
+            Response response;
+            try {
+                Map<String, Object> request = object(item, "batch request");
+                method = text(request, "method");
+                String target = text(request, "path");
+                int question = target.indexOf('?');
+                path = question < 0 ? target : target.substring(0, question);
+                if (path.equals("/api/batch")) {
+                    throw new IllegalArgumentException("batches cannot be nested");
+                }
+                response = handle(method, path, query(question < 0 ? null : target.substring(question + 1)),
+                        request.get("body"), wrote);
+            } catch (IllegalArgumentException e) {
+                response = error(400, e.getMessage());
+            } catch (RuntimeException e) {
+                // Earlier requests may have written, so the batch goes on
+                // and the caller still syncs
+                LOG.log(Level.WARNING, "batch " + method + " " + path + " failed", e);
+                response = error(500, "internal error");
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("status", response.status);
+            result.put("body", response.body);
+            results.add(result);
+            // A request too malformed to have a route is not timed
+            if (path != null) {
+                record(method, path, began);
+            }
+        }
+        return new Response(200, results);
+    }
+
+    private Response handle(String method, String path, Map<String, String> query, Object body, boolean[] wrote) {
+        String[] parts = path.split("/");
+        // "", "api", collection, id?
+        if (parts.length < 3 || parts.length > 4 || !parts[1].equals("api")) {
+            return error(404, "no such path: " + path);
+        }
+        String collection = parts[2];
+        Long id = parts.length == 4 ? id(parts[3]) : null;
+        try {
+            switch (collection) {
+                case "metrics":
+                    return get(method, id, this::metrics);
+                case "admissions":
+                    return post(method, id, () -> admit(object(body, "admission"), wrote));
+                case "checkout":
+                    return post(method, id, () -> checkout(object(body, "checkout"), wrote));
+                case "checkins":
+                    return post(method, id, () -> checkIn(object(body, "check-in")));
+                default:
+                    Resource<?> resource = resources.get(collection);
+                    if (resource == null) {
+                        return error(404, "no such path: " + path);
+                    }
+                    return resource.handle(method, id, query, body, wrote);
+            }
+        } catch (ApiException e) {
+            return error(e.status, e.getMessage());
+        } catch (IllegalStateException e) {
+            return error(409, e.getMessage());
+        }
+    }
+
+    private static Response get(String method, Long id, Supplier<Object> read) {
+        if (!method.equals("GET") || id != null) {
+            throw new ApiException(405, "use GET");
+        }
+        return new Response(200, read.get());
+    }
+
+    private static Response post(String method, Long id, Supplier<Response> write) {
+        if (!method.equals("POST") || id != null) {
+            throw new ApiException(405, "use POST");
+        }
+        return write.get();
+    }
+
+    // Takes the payment, then registers the member on a term starting today
+    // and records the sale, so a member who cannot be added (their plan or
+    // trainer deleted meanwhile) leaves no sale behind. Without a trainerId
+    // the least-busy trainer is chosen.
+    private Response admit(Map<String, Object> body, boolean[] wrote) {
+        MembershipPlan plan = catalog.findPlan(number(body, "planId"));
+        if (plan == null) {
+            throw new ApiException(404, "no plan with id " + body.get("planId"));
+        }
+        long trainerId = body.containsKey("trainerId") ? number(body, "trainerId") : trainerAssigner.suggest(null);
+        Trainer trainer = catalog.findTrainer(trainerId);
+        if (trainer == null) {
+            throw new ApiException(404, "no trainer with id " + trainerId);
+        }
+        SalesLedger.Method payment = method(body);
+        Member member = new Member(text(body, "name"),
+                (int) positive(body, "age"), gender(body), plan.name, trainer.name).withTerm(LocalDate.now(), plan.duration);
+        wrote[0] = true;
+        return pay(body, payment, plan.priceCents, authorization -> {
+            members.add(member);
+            SalesLedger.Sale sale = ledger.record(payment, Collections.singletonList(
+                    new SalesLedger.Line(SalesLedger.Kind.MEMBERSHIP, plan.id, plan.name, 1, plan.priceCents)));
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("member", row(member, Exporter.MEMBER_FIELDS));
+            result.put("sale", sale.seq);
+            result.put("totalCents", sale.totalCents());
+            return new Response(201, result);
+        });
+    }
+
+    // Reserves every item first, so a sale is refused whole if any product
+    // is short, then takes the payment, records the sale and takes the units
+    // off the stock
+    private Response checkout(Map<String, Object> body, boolean[] wrote) {
+        SalesLedger.Method payment = method(body);
+        Object items = body.get("items");
+        if (!(items instanceof List) || ((List<?>) items).isEmpty()) {
+            throw new IllegalArgumentException("items must be a non-empty array");
+        }
+        Cart cart = new Cart(catalog.inventory());
+        try {
+            for (Object item : (List<?>) items) {
+                Map<String, Object> entry = object(item, "item");
+                long productId = number(entry, "productId");
+                Product product = catalog.findProduct(productId);
+                if (product == null) {
+                    throw new ApiException(404, "no product with id " + productId);
+                }
+                int quantity = entry.containsKey("quantity") ? (int) positive(entry, "quantity") : 1;
+                if (!cart.add(product, quantity)) {
+                    throw new ApiException(409, "only " + catalog.inventory().available(productId) + " of "
+                            + product.name + " available");
+                }
+            }
+            wrote[0] = true;
+            return pay(body, payment, cart.totalCents(), authorization -> {
+                SalesLedger.Sale sale = cart.checkout(ledger, payment);
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("sale", sale.seq);
+                result.put("totalCents", sale.totalCents());
+                return new Response(201, result);
+            });
+        } finally {
+            // Gives back whatever is still held if the sale did not go through
+            cart.clear();
+        }
+    }
+
+    // Runs commit once the payment is taken. Cash needs no authorization.
+    // Card and UPI payments wait for the gateway; a request repeating a
+    // paymentKey gets the first request's outcome and its commit is not run.
+    private Response pay(Map<String, Object> body, SalesLedger.Method method, long amountCents,
+            Function<PaymentGateway.Authorization, Response> commit) {
+        if (method == SalesLedger.Method.CASH) {
+            return commit.apply(null);
+        }
+        PaymentGateway.Request request = new PaymentGateway.Request(text(body, "paymentKey"), method, amountCents,
+                method == SalesLedger.Method.CARD ? text(body, "cardNumber") : "");
+        try {
+            return payments.charge(request, commit).join();
+        } catch (CompletionException e) {
+            Throwable cause = Payments.unwrap(e);
+            if (cause instanceof PaymentGateway.DeclinedException) {
+                throw new ApiException(402, "payment declined: " + cause.getMessage());
+            } else if (cause instanceof Payments.CommitFailedException) {
+                // Not run again for this key, so the client must not retry it
+                LOG.log(Level.WARNING, "payment " + request.idempotencyKey + " not recorded", cause);
+                throw new ApiException(500, cause.getMessage());
+            } else if (cause instanceof IllegalArgumentException) {
+                throw new ApiException(409, cause.getMessage());
+            } else if (cause instanceof TimeoutException) {
+                throw new ApiException(504, cause.getMessage() + "; retry with the same paymentKey");
+            }
+            throw new ApiException(502, "payment not completed: " + cause.getMessage()
+                    + "; retry with the same paymentKey");
+        }
+    }
+
+    // Turnstile scans are not waited for; the attendance log keeps its own pace
+    private Response checkIn(Map<String, Object> body) {
+        long memberId = number(body, "memberId");
+        Attendance.Result result = attendance.checkIn(memberId);
+        int status = result == Attendance.Result.ADMITTED ? 200
+                : result == Attendance.Result.UNKNOWN_MEMBER ? 404
+                : result == Attendance.Result.EXPIRED ? 403
+                : result == Attendance.Result.FAILED ? 500 : 503;
+        return new Response(status, Collections.singletonMap("result", result.name()));
+    }
+
+    private Member member(Map<String, Object> body, Member current) {
+        String planName = text(body, "plan");
+        Member member = new Member(text(body, "name"),
+                (int) positive(body, "age"), gender(body), planName, text(body, "trainer"));
+        // A new member, or a renewal, starts a term today; otherwise it is kept
+        if (current == null || Boolean.TRUE.equals(body.get("renew"))) {
+            for (MembershipPlan plan : catalog.listPlans()) {
+                if (MemberReferences.sameName(plan.name, planName)) {
+                    member.withTerm(LocalDate.now(), plan.duration);
+                }
+            }
+        } else {
+            member.withTermOf(current);
+        }
+        return member;
+    }
+
+    private void record(String method, String path, long began) {
+        latencies.computeIfAbsent(method + " " + route(path), route -> new Latency())
+                .record((System.nanoTime() - began) / 1000);
+    }
+
+    // Folds ids out of a path so one route covers every id, and every path
+    // the API does not serve into one route
+    private String route(String path) {
+        String[] parts = path.split("/");
+        if (parts.length < 3 || parts.length > 4 || !parts[1].equals("api")
+                || !(resources.containsKey(parts[2]) || ROUTES.contains(parts[2]))) {
+            return "/api/other";
+        }
+        return parts.length == 4 ? "/api/" + parts[2] + "/{id}" : path;
+    }
+
+    private static Response error(int status, String message) {
+        return new Response(status, Collections.singletonMap("error", message));
+    }
+
+    private static Map<String, String> query(String raw) {
+        Map<String, String> query = new HashMap<>();
+        if (raw == null || raw.isEmpty()) {
+            return query;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            query.put(key, eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static long id(String text) {
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new ApiException(404, "not an id: " + text);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> object(Object value, String what) {
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException(what + " must be a JSON object");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    private static String text(Map<String, Object> body, String key) {
+        Object value = body.get(key);
+        if (!(value instanceof String) || ((String) value).trim().isEmpty()) {
+            throw new IllegalArgumentException("missing " + key);
+        }
+        return ((String) value).trim();
+    }
+
+    private static String optionalText(Map<String, Object> body, String key) {
+        Object value = body.get(key);
+        return value instanceof String ? (String) value : "";
+    }
+
+    private static long number(Map<String, Object> body, String key) {
+        Object value = body.get(key);
+        if (!(value instanceof Long)) {
+            throw new IllegalArgumentException(key + " must be a whole number");
+        }
+        return (Long) value;
+    }
+
+    private static long positive(Map<String, Object> body, String key) {
+        long value = number(body, key);
+        if (value <= 0 || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(key + " out of range: " + value);
+        }
+        return value;
+    }
+
+    // Stock on hand from the body; without one a new product is untracked
+    // and an update keeps the current stock
+    private static int stock(Map<String, Object> body, Product current) {
+        if (!body.containsKey("stock")) {
+            return current == null ? Product.UNTRACKED : current.stock;
+        }
+        long stock = number(body, "stock");
+        if (stock < Product.UNTRACKED || stock > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("stock out of range: " + stock);
+        }
+        return (int) stock;
+    }
+
+    private static String gender(Map<String, Object> body) {
+        String gender = text(body, "gender");
+        for (String known : new String[] {"Male", "Female", "Other"}) {
+            if (known.equalsIgnoreCase(gender)) {
+                return known;
+            }
+        }
+        throw new IllegalArgumentException("unknown gender: " + gender);
+    }
+
+    private static SalesLedger.Method method(Map<String, Object> body) {
+        String name = text(body, "method");
+        for (SalesLedger.Method method : SalesLedger.Method.values()) {
+            if (method.name().equalsIgnoreCase(name)) {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException("unknown payment method: " + name);
+    }
+
+    static <T> Map<String, Object> row(T value, List<Exporter.Field<T>> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (Exporter.Field<T> field : fields) {
+            row.put(field.name, field.number != null ? (Object) field.number.applyAsLong(value) : field.text.apply(value));
+        }
+        return row;
+    }
+
+    // Makes a row from a request body; current is the row being replaced, or
+    // null for a new one
+    interface Reader<T> {
+        T read(Map<String, Object> body, T current);
+    }
+
+    interface Updater<T> {
+        boolean update(long id, T value);
+    }
+
+    interface Search {
+        long[] search(String query, int limit);
+    }
+
+    // CRUD over one table through its service
+    private static final class Resource<T extends Entity> {
+        final GymStore.Table<T> table;
+        final List<Exporter.Field<T>> fields;
+        final Reader<T> reader;
+        final ToLongFunction<T> add;
+        final Updater<T> update;
+        final Function<Long, T> delete;
+        Search search;
+
+        Resource(GymStore.Table<T> table, List<Exporter.Field<T>> fields, Reader<T> reader, ToLongFunction<T> add,
+                Updater<T> update, Function<Long, T> delete) {
+            this.table = table;
+            this.fields = fields;
+            this.reader = reader;
+            this.add = add;
+            this.update = update;
+            this.delete = delete;
+        }
+
+        // Lets ?q= find rows by name
+        Resource<T> searchable(Search search) {
+            this.search = search;
+            return this;
+        }
+
+        Response handle(String method, Long id, Map<String, String> query, Object body, boolean[] wrote) {
+            switch (method) {
+                case "GET":
+                    return id == null ? new Response(200, list(query)) : new Response(200, row(find(id), fields));
+                case "POST":
+                    if (id != null) {
+                        throw new ApiException(405, "POST to the collection");
+                    }
+                    T added = reader.read(object(body, "request body"), null);
+                    wrote[0] = true;
+                    add.applyAsLong(added);
+                    return new Response(201, row(added, fields));
+                case "PUT":
+                    if (id == null) {
+                        throw new ApiException(405, "PUT to an id");
+                    }
+                    T updated = reader.read(object(body, "request body"), find(id));
+                    wrote[0] = true;
+                    if (!update.update(id, updated)) {
+                        throw new ApiException(404, "no row with id " + id);
+                    }
+                    return new Response(200, row(updated, fields));
+                case "DELETE":
+                    if (id == null) {
+                        throw new ApiException(405, "DELETE an id");
+                    }
+                    wrote[0] = true;
+                    T deleted = delete.apply(id);
+                    if (deleted == null) {
+                        throw new ApiException(404, "no row with id " + id);
+                    }
+                    return new Response(200, row(deleted, fields));
+                default:
+                    throw new ApiException(405, "unsupported method " + method);
+            }
+        }
+
+        private T find(long id) {
+            T row = table.find(id);
+            if (row == null) {
+                throw new ApiException(404, "no row with id " + id);
+            }
+            return row;
+        }
+
+        private List<Object> list(Map<String, String> query) {
+            int offset = bound(query.get("offset"), 0, Integer.MAX_VALUE, 0);
+            int limit = bound(query.get("limit"), 1, MAX_LIMIT, DEFAULT_LIMIT);
+            List<Object> rows = new ArrayList<>();
+            String q = query.get("q");
+            if (q != null && search != null) {
+                for (long id : search.search(q, limit)) {
+                    T row = table.find(id);
+                    if (row != null) {
+                        rows.add(row(row, fields));
+                    }
+                }
+                return rows;
+            }
+            for (T row : table.slice(offset, limit)) {
+                rows.add(row(row, fields));
+            }
+            return rows;
+        }
+
+        private static int bound(String text, int min, int max, int fallback) {
+            if (text == null) {
+                return fallback;
+            }
+            try {
+                return Math.max(min, Math.min(max, Integer.parseInt(text)));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("not a number: " + text);
+            }
+        }
+    }
+
+    // Log-scale latency histogram in microseconds: exact below 16, then
+    // eight buckets per power of two, so percentiles are within 12.5%
+    static final class Latency {
+        private static final int SUB_BUCKETS = 8;
+        private static final int BUCKETS = 16 + (64 - 4) * SUB_BUCKETS;
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long micros) {
+            buckets.incrementAndGet(bucket(Math.max(0, micros)));
+            count.incrementAndGet();
+            max.accumulateAndGet(micros, Math::max);
+        }
+
+        // The upper bound of the bucket holding the given fraction of samples
+        long percentile(double fraction) {
+            long total = count.get();
+            long rank = Math.max(1, (long) Math.ceil(total * fraction));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), max.get());
+                }
+            }
+            return max.get();
+        }
+
+        Map<String, Object> report() {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("count", count.get());
+            report.put("p50Micros", percentile(0.50));
+            report.put("p99Micros", percentile(0.99));
+            report.put("maxMicros", max.get());
+            return report;
+        }
+
+        private static int bucket(long value) {
+            if (value < 16) {
+                return (int) value;
+            }
+            int magnitude = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (magnitude - 3)) & (SUB_BUCKETS - 1);
+            return 16 + (magnitude - 4) * SUB_BUCKETS + sub;
+        }
+
+        private static long upperBound(int bucket) {
+            if (bucket < 16) {
+                return bucket;
+            }
+            int magnitude = (bucket - 16) / SUB_BUCKETS + 4;
+            int sub = (bucket - 16) % SUB_BUCKETS;
+            return ((long) (SUB_BUCKETS + sub + 1) << (magnitude - 3)) - 1;
+        }
+    }
+}
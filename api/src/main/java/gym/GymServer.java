@@ -0,0 +1,45 @@
+package gym;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+// Headless entry point: opens the data and serves the HTTP API, with no
+// windows and no Swing classes loaded. Listens on gym.http.port (8080 by
+// default) at gym.http.host (localhost); gym.http.token, if set, is required
+// as a bearer token.
+public final class GymServer {
+    private GymServer() {
+    }
+
+    public static void main(String[] args) {
+        Gym gym;
+        try {
+            gym = Gym.open(Paths.get(System.getProperty("gym.data.dir", "gym-data")));
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        ApiServer api;
+        try {
+            api = start(gym, Integer.getInteger("gym.http.port", 8080));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the HTTP API: " + e.getMessage(), e);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                api.stop();
+                gym.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }));
+    }
+
+    // Starts the API over gym on port (0 picks a free one)
+    static ApiServer start(Gym gym, int port) throws IOException {
+        ApiServer api = new ApiServer(gym.store, gym.memberService, gym.catalog, gym.ledger, gym.attendance,
+                gym.trainerAssigner, gym.payments, System.getProperty("gym.http.token"));
+        int bound = api.start(System.getProperty("gym.http.host", "localhost"), port);
+        System.out.println("HTTP API listening on port " + bound);
+        return api;
+    }
+}
@@ -0,0 +1,262 @@
+package gym;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Just enough JSON for the HTTP API. parse() gives Map (keys in order), List,
+// String, Long (whole numbers), Double, Boolean or null; the writer methods
+// append to a StringBuilder. Malformed input throws IllegalArgumentException.
+final class Json {
+    private static final int MAX_DEPTH = 32;
+
+    private final String text;
+    private int at;
+
+    private Json(String text) {
+        this.text = text;
+    }
+
+    static Object parse(String text) {
+        Json parser = new Json(text);
+        Object value = parser.value(0);
+        parser.skipSpace();
+        if (parser.at != text.length()) {
+            throw new IllegalArgumentException("text after the JSON value at " + parser.at);
+        }
+        return value;
+    }
+
+    static void string(StringBuilder out, String value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+
+    // Writes maps, lists, strings, numbers, booleans and null
+    @SuppressWarnings("unchecked")
+    static void value(StringBuilder out, Object value) {
+        if (value == null || value instanceof Boolean || value instanceof Number) {
+            out.append(value);
+        } else if (value instanceof String) {
+            string(out, (String) value);
+        } else if (value instanceof Map) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<String, ?> entry : ((Map<String, ?>) value).entrySet()) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                string(out, entry.getKey());
+                out.append(':');
+                value(out, entry.getValue());
+            }
+            out.append('}');
+        } else if (value instanceof List) {
+            out.append('[');
+            boolean first = true;
+            for (Object item : (List<?>) value) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                value(out, item);
+            }
+            out.append(']');
+        } else {
+            throw new IllegalArgumentException("cannot write " + value.getClass().getSimpleName() + " as JSON");
+        }
+    }
+
+    private Object value(int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("JSON nested too deeply");
+        }
+        skipSpace();
+        if (at >= text.length()) {
+            throw new IllegalArgumentException("unexpected end of JSON");
+        }
+        char c = text.charAt(at);
+        if (c == '{') {
+            at++;
+            Map<String, Object> object = new LinkedHashMap<>();
+            skipSpace();
+            if (peek() == '}') {
+                at++;
+                return object;
+            }
+            while (true) {
+                skipSpace();
+                String key = string();
+                skipSpace();
+                expect(':');
+                object.put(key, value(depth + 1));
+                skipSpace();
+                if (next() == '}') {
+                    return object;
+                }
+                expectPrevious(',');
+            }
+        }
+        if (c == '[') {
+            at++;
+            List<Object> array = new ArrayList<>();
+            skipSpace();
+            if (peek() == ']') {
+                at++;
+                return array;
+            }
+            while (true) {
+                array.add(value(depth + 1));
+                skipSpace();
+                if (next() == ']') {
+                    return array;
+                }
+                expectPrevious(',');
+            }
+        }
+        if (c == '"') {
+            return string();
+        }
+        if (text.startsWith("true", at)) {
+            at += 4;
+            return Boolean.TRUE;
+        }
+        if (text.startsWith("false", at)) {
+            at += 5;
+            return Boolean.FALSE;
+        }
+        if (text.startsWith("null", at)) {
+            at += 4;
+            return null;
+        }
+        return number();
+    }
+
+    private Object number() {
+        int start = at;
+        boolean whole = true;
+        while (at < text.length() && "+-0123456789.eE".indexOf(text.charAt(at)) >= 0) {
+            whole &= Character.isDigit(text.charAt(at)) || (at == start && text.charAt(at) == '-');
+            at++;
+        }
+        String token = text.substring(start, at);
+        try {
+            return whole ? (Object) Long.parseLong(token) : (Object) Double.parseDouble(token);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("malformed JSON at " + start);
+        }
+    }
+
+    private String string() {
+        expect('"');
+        StringBuilder out = new StringBuilder();
+        while (at < text.length()) {
+            char c = text.charAt(at++);
+            if (c == '"') {
+                return out.toString();
+            }
+            if (c != '\\') {
+                out.append(c);
+                continue;
+            }
+            if (at >= text.length()) {
+                break;
+            }
+            char escaped = text.charAt(at++);
+            switch (escaped) {
+                case 'n':
+                    out.append('\n');
+                    break;
+                case 't':
+                    out.append('\t');
+                    break;
+                case 'r':
+                    out.append('\r');
+                    break;
+                case 'b':
+                    out.append('\b');
+                    break;
+                case 'f':
+                    out.append('\f');
+                    break;
+                case 'u':
+                    if (at + 4 > text.length()) {
+                        throw new IllegalArgumentException("malformed JSON escape at " + at);
+                    }
+                    try {
+                        out.append((char) Integer.parseInt(text.substring(at, at + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("malformed JSON escape at " + at);
+                    }
+                    at += 4;
+                    break;
+                default:
+                    out.append(escaped);
+            }
+        }
+        throw new IllegalArgumentException("unterminated JSON string");
+    }
+
+    private void skipSpace() {
+        while (at < text.length() && Character.isWhitespace(text.charAt(at))) {
+            at++;
+        }
+    }
+
+    private char peek() {
+        if (at >= text.length()) {
+            throw new IllegalArgumentException("unexpected end of JSON");
+        }
+        return text.charAt(at);
+    }
+
+    private char next() {
+        char c = peek();
+        at++;
+        return c;
+    }
+
+    private void expect(char c) {
+        if (next() != c) {
+            throw new IllegalArgumentException("expected '" + c + "' in JSON at " + (at - 1));
+        }
+    }
+
+    private void expectPrevious(char c) {
+        if (text.charAt(at - 1) != c) {
+            throw new IllegalArgumentException("expected '" + c + "' in JSON at " + (at - 1));
+        }
+    }
+}
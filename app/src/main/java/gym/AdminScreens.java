@@ -0,0 +1,237 @@
+package gym;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.time.LocalDate;
+import java.util.*;
+
+// The admin dashboard, with the data export, and the analytics screen
+final class AdminScreens extends ScreenGroup {
+    private final Exporter exporter;
+    private Tasks.Task<Long> exportTask;
+
+    AdminScreens(GymManagementSystem window, Gym gym) {
+        super(window, gym);
+        exporter = new Exporter(memberService, catalog, ledger);
+    }
+
+    void showAdminMainMenu() {
+        screens.show("adminMainMenu", this::buildAdminMainMenu);
+    }
+
+    private ScreenRegistry.Screen buildAdminMainMenu() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(15, 15, 15, 15);
+
+        JLabel titleLabel = new JLabel("Admin Dashboard");
+        titleLabel.setFont(Theme.HEADLINE);
+        titleLabel.setForeground(PRIMARY_COLOR);
+
+        JButton membersButton = createStyledButton("Manage Members");
+        JButton trainersButton = createStyledButton("Manage Trainers");
+        JButton plansButton = createStyledButton("Manage Membership Plans");
+        JButton productsButton = createStyledButton("Manage Products");
+        JButton exportButton = createStyledButton("Export Data");
+        JComboBox<Exporter.Format> formatCombo = new JComboBox<>(Exporter.Format.values());
+        JProgressBar exportProgress = new JProgressBar(0, 1000);
+        exportProgress.setStringPainted(true);
+        exportProgress.setVisible(false);
+        JButton cancelExportButton = createStyledButton("Cancel Export");
+        cancelExportButton.setVisible(false);
+        JButton analyticsButton = createStyledButton("Analytics");
+        JButton logoutButton = createStyledButton("Logout");
+
+        membersButton.addActionListener(e -> window.memberScreens().showMemberManagement());
+        trainersButton.addActionListener(e -> window.trainerScreens().showTrainerManagement());
+        plansButton.addActionListener(e -> window.planScreens().showPlanManagement());
+        productsButton.addActionListener(e -> window.productScreens().showProductManagement());
+        analyticsButton.addActionListener(e -> showAnalytics());
+        logoutButton.addActionListener(e -> window.showWelcomePage());
+
+        // Exports run in the background; the progress bar and cancel button
+        // stay on the dashboard while one is running
+        Runnable exportFinished = () -> {
+            exportTask = null;
+            exportButton.setEnabled(true);
+            formatCombo.setEnabled(true);
+            exportProgress.setVisible(false);
+            cancelExportButton.setVisible(false);
+        };
+        exportButton.addActionListener(e -> {
+            JFileChooser chooser = new JFileChooser();
+            chooser.setDialogTitle("Export into folder");
+            chooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+            if (chooser.showSaveDialog(frame) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            java.nio.file.Path dir = chooser.getSelectedFile().toPath();
+            Exporter.Format format = (Exporter.Format) formatCombo.getSelectedItem();
+            exportButton.setEnabled(false);
+            formatCombo.setEnabled(false);
+            exportProgress.setValue(0);
+            exportProgress.setString("Exporting 0%");
+            exportProgress.setVisible(true);
+            cancelExportButton.setVisible(true);
+            panel.revalidate();
+            exportTask = tasks.run(progress -> exporter.exportAll(dir, format, progress))
+                    .onProgress((done, total) -> {
+                        int permille = total == 0 ? 1000 : (int) (done * 1000 / total);
+                        exportProgress.setValue(permille);
+                        exportProgress.setString("Exporting " + permille / 10 + "%");
+                    })
+                    .onDone(rows -> {
+                        exportFinished.run();
+                        JOptionPane.showMessageDialog(frame, "Exported " + rows + " records to " + dir,
+                                "Export Complete", JOptionPane.INFORMATION_MESSAGE);
+                    })
+                    .onCancel(exportFinished)
+                    .onError(error -> {
+                        exportFinished.run();
+                        JOptionPane.showMessageDialog(frame, "Could not export: " + error.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                    });
+        });
+        cancelExportButton.addActionListener(e -> {
+            if (exportTask != null) {
+                exportTask.cancel();
+            }
+        });
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        panel.add(membersButton, gbc);
+        gbc.gridx = 1;
+        panel.add(trainersButton, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        panel.add(plansButton, gbc);
+        gbc.gridx = 1;
+        panel.add(productsButton, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        panel.add(exportButton, gbc);
+        gbc.gridx = 1;
+        panel.add(formatCombo, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 4;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        panel.add(exportProgress, gbc);
+        gbc.gridx = 1;
+        gbc.fill = GridBagConstraints.NONE;
+        panel.add(cancelExportButton, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 5;
+        panel.add(analyticsButton, gbc);
+        gbc.gridx = 1;
+        panel.add(logoutButton, gbc);
+
+        return new ScreenRegistry.Screen(panel);
+    }
+
+    void showAnalytics() {
+        screens.show("analytics", this::buildAnalytics);
+    }
+
+    // Redrawn from the live counters once a second while it is on screen
+    private ScreenRegistry.Screen buildAnalytics() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+
+        JLabel titleLabel = new JLabel("Analytics");
+        titleLabel.setFont(Theme.TITLE);
+        titleLabel.setForeground(PRIMARY_COLOR);
+        titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
+
+        JTextArea report = new JTextArea();
+        report.setEditable(false);
+        report.setBackground(Theme.CARD);
+        report.setForeground(SECONDARY_COLOR);
+        report.setFont(Theme.MONOSPACED);
+
+        JScrollPane scrollPane = new JScrollPane(report);
+        scrollPane.setBorder(Theme.NO_BORDER);
+
+        JButton backButton = createStyledButton("Back to Dashboard");
+        backButton.addActionListener(e -> showAdminMainMenu());
+
+        JPanel buttonPanel = new JPanel(new FlowLayout());
+        buttonPanel.setBackground(BACKGROUND_COLOR);
+        buttonPanel.add(backButton);
+
+        panel.add(titleLabel, BorderLayout.NORTH);
+        panel.add(scrollPane, BorderLayout.CENTER);
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+
+        Runnable refresh = () -> {
+            String text = analyticsReport();
+            if (!text.equals(report.getText())) {
+                report.setText(text);
+                report.setCaretPosition(0);
+            }
+        };
+        javax.swing.Timer timer = new javax.swing.Timer(1000, e -> refresh.run());
+        // The card is hidden when another screen is shown
+        panel.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentHidden(ComponentEvent e) {
+                timer.stop();
+            }
+        });
+
+        return new ScreenRegistry.Screen(panel, () -> {
+            refresh.run();
+            timer.start();
+        });
+    }
+
+    private String analyticsReport() {
+        if (!analytics.isReady()) {
+            return "Counting members and sales...";
+        }
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%-30s %10d\n", "Members", analytics.memberCount()));
+        if (expiry.isReady()) {
+            text.append(String.format("%-30s %10d\n", "Renewal due", expiry.dueCount()));
+            text.append(String.format("%-30s %10d\n", "Expired", expiry.expiredCount()));
+            text.append(String.format("%-30s %10d\n", "Expired while closed", expiry.expiredWhileClosed()));
+        }
+        text.append(String.format("%-30s %10d\n", "Check-ins today",
+                Arrays.stream(attendance.visitsByHour(LocalDate.now())).sum()));
+
+        text.append("\nMembers per plan\n---\n");
+        analytics.membersPerPlan().forEach((plan, count) -> text.append(String.format("%-30s %10d\n", plan, count)));
+        text.append("\nMembers per trainer\n---\n");
+        analytics.membersPerTrainer().forEach((trainer, count) -> text.append(String.format("%-30s %10d\n", trainer, count)));
+        text.append("\nMembers by gender\n---\n");
+        analytics.membersPerGender().forEach((gender, count) -> text.append(String.format("%-30s %10d\n", gender, count)));
+        text.append("\nMembers by age\n---\n");
+        long[] ages = analytics.membersPerAgeBand();
+        for (int i = 0; i < ages.length; i++) {
+            text.append(String.format("%-30s %10d\n", Analytics.AGE_BANDS[i], ages[i]));
+        }
+
+        text.append("\nRevenue, last 7 days\n---\n");
+        analytics.revenueForDays(LocalDate.now(), 7).forEach((day, cents) ->
+                text.append(String.format("%-30s $%9s\n", day, Money.format2(cents))));
+        text.append("\nTop products\n---\n");
+        for (SalesLedger.ItemTotal item : analytics.topItems(SalesLedger.Kind.PRODUCT, 10)) {
+            text.append(String.format("%-24s %5d $%9s\n", item.name, item.quantity, Money.format2(item.cents)));
+        }
+        text.append("\nMemberships sold\n---\n");
+        for (SalesLedger.ItemTotal item : analytics.topItems(SalesLedger.Kind.MEMBERSHIP, 10)) {
+            text.append(String.format("%-24s %5d $%9s\n", item.name, item.quantity, Money.format2(item.cents)));
+        }
+        return text.toString();
+    }
+}
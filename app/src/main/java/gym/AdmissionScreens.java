@@ -0,0 +1,512 @@
+package gym;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.List;
+
+// Self-service registration: the admission form, payment and thank-you screens
+final class AdmissionScreens extends ScreenGroup {
+    // Who UPI payments go to
+    private static final String UPI_PAYEE = System.getProperty("gym.upi.payee", "gym@upi");
+    private static final String UPI_PAYEE_NAME = System.getProperty("gym.upi.name", "Gym Management System");
+    private static final String UPI_CURRENCY = System.getProperty("gym.upi.currency", "INR");
+
+    private final QrImages qrImages;
+    private PendingAdmission pendingAdmission;
+
+    AdmissionScreens(GymManagementSystem window, Gym gym) {
+        super(window, gym);
+        qrImages = new QrImages(tasks);
+    }
+
+    void showUserAdmissionForm() {
+        screens.show("userAdmissionForm", this::buildUserAdmissionForm);
+    }
+
+    private ScreenRegistry.Screen buildUserAdmissionForm() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(10, 10, 10, 10);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        JLabel titleLabel = new JLabel("New Member Registration");
+        titleLabel.setFont(Theme.TITLE);
+        titleLabel.setForeground(PRIMARY_COLOR);
+
+        JTextField nameField = new JTextField(20);
+        JTextField ageField = new JTextField(20);
+        JComboBox<String> genderCombo = new JComboBox<>(new String[]{"Male", "Female", "Other"});
+        EntityCombo<MembershipPlan> planCombo = new EntityCombo<>(p -> p.name);
+        EntityCombo<Trainer> trainerCombo = new EntityCombo<>(t -> t.name);
+        JComboBox<String> focusCombo = createFocusCombo(trainerCombo);
+        JButton registerButton = createStyledButton("Register & Pay");
+        JButton backButton = createStyledButton("Back");
+
+        // Add plan details display
+        JLabel planDetailsLabel = new JLabel(" ");
+        planDetailsLabel.setForeground(SECONDARY_COLOR);
+
+        Runnable showPlanDetails = () -> {
+            MembershipPlan selectedPlan = plans.find(planCombo.getSelectedId());
+            planDetailsLabel.setText(selectedPlan == null ? " " : "Plan Details: " + selectedPlan.toString());
+        };
+        planCombo.addActionListener(e -> showPlanDetails.run());
+
+        // Add trainer details display
+        JLabel trainerDetailsLabel = new JLabel(" ");
+        trainerDetailsLabel.setForeground(SECONDARY_COLOR);
+
+        Runnable showTrainerDetails = () -> {
+            Trainer selectedTrainer = trainers.find(trainerCombo.getSelectedId());
+            trainerDetailsLabel.setText(selectedTrainer == null ? " " : "Trainer Details: " + selectedTrainer.toString()
+                    + ", Members: " + trainerAssigner.load(selectedTrainer.id));
+        };
+        trainerCombo.addActionListener(e -> showTrainerDetails.run());
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        panel.add(new JLabel("Full Name:"), gbc);
+        gbc.gridx = 1;
+        panel.add(nameField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        panel.add(new JLabel("Age:"), gbc);
+        gbc.gridx = 1;
+        panel.add(ageField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        panel.add(new JLabel("Gender:"), gbc);
+        gbc.gridx = 1;
+        panel.add(genderCombo, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 4;
+        panel.add(new JLabel("Membership Plan:"), gbc);
+        gbc.gridx = 1;
+        panel.add(planCombo, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 5;
+        panel.add(new JLabel(""), gbc); // Empty label for spacing
+        gbc.gridx = 1;
+        panel.add(planDetailsLabel, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 6;
+        panel.add(new JLabel("Trainer Focus:"), gbc);
+        gbc.gridx = 1;
+        panel.add(focusCombo, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 7;
+        panel.add(new JLabel("Preferred Trainer:"), gbc);
+        gbc.gridx = 1;
+        panel.add(trainerCombo, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 8;
+        panel.add(new JLabel(""), gbc); // Empty label for spacing
+        gbc.gridx = 1;
+        panel.add(trainerDetailsLabel, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 9;
+        gbc.gridwidth = 1;
+        panel.add(registerButton, gbc);
+        gbc.gridx = 1;
+        panel.add(backButton, gbc);
+
+        registerButton.addActionListener(e -> {
+            if (nameField.getText().isEmpty() || ageField.getText().isEmpty()) {
+                JOptionPane.showMessageDialog(frame, "Please fill all required fields!", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            int age;
+            try {
+                age = Integer.parseInt(ageField.getText().trim());
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(frame, "Age must be a number!", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            String name = nameField.getText();
+            String gender = (String) genderCombo.getSelectedItem();
+            String plan = (String) planCombo.getSelectedItem();
+            String trainer = (String) trainerCombo.getSelectedItem();
+
+            // Look up the selected plan to get price
+            MembershipPlan selectedPlan = plans.find(planCombo.getSelectedId());
+
+            if (selectedPlan != null) {
+                showPaymentOptions(name, age, gender, selectedPlan.id, plan, selectedPlan.duration, trainer,
+                        selectedPlan.priceCents);
+            }
+        });
+
+        backButton.addActionListener(e -> window.showWelcomePage());
+
+        return new ScreenRegistry.Screen(panel, () -> {
+            nameField.setText("");
+            ageField.setText("");
+            genderCombo.setSelectedIndex(0);
+            planCombo.reload(plans.snapshot());
+            trainerCombo.reload(trainers.snapshot());
+            reloadFocusCombo(focusCombo, trainerCombo);
+            showPlanDetails.run();
+            showTrainerDetails.run();
+        });
+    }
+
+    // A registration waiting on payment. The payment screens are cached, so
+    // they read it each time they are shown instead of capturing it once.
+    // paymentKey names its payment to the gateway; it changes only when a
+    // payment is declined, so any other retry cannot charge twice.
+    private static final class PendingAdmission {
+        final String name;
+        final int age;
+        final String gender;
+        final long planId;
+        final String plan;
+        final int months;
+        final String trainer;
+        final long amountCents;
+        String paymentKey = UUID.randomUUID().toString();
+
+        PendingAdmission(String name, int age, String gender, long planId, String plan, int months, String trainer,
+                long amountCents) {
+            this.name = name;
+            this.age = age;
+            this.gender = gender;
+            this.planId = planId;
+            this.plan = plan;
+            this.months = months;
+            this.trainer = trainer;
+            this.amountCents = amountCents;
+        }
+
+        // The term starts once it is paid for
+        Member toMember() {
+            return new Member(name, age, gender, plan, trainer).withTerm(LocalDate.now(), months);
+        }
+
+        List<SalesLedger.Line> saleLines() {
+            return Collections.singletonList(
+                    new SalesLedger.Line(SalesLedger.Kind.MEMBERSHIP, planId, plan, 1, amountCents));
+        }
+    }
+
+    void showPaymentOptions(String name, int age, String gender, long planId, String plan, int months,
+            String trainer, long amountCents) {
+        pendingAdmission = new PendingAdmission(name, age, gender, planId, plan, months, trainer, amountCents);
+        showPaymentOptions();
+    }
+
+    // Takes the payment through the gateway and, once it is authorized,
+    // registers the member and records the sale. Clicking again while it is
+    // under way gets the same payment, so the member is added once.
+    private void admit(JButton source, SalesLedger.Method method, String cardNumber) {
+        PendingAdmission admission = pendingAdmission;
+        Member member = admission.toMember();
+        PaymentGateway.Request request = new PaymentGateway.Request(admission.paymentKey, method,
+                admission.amountCents, cardNumber);
+        source.setEnabled(false);
+        toast.show("Authorizing payment...");
+        payments.charge(request, authorization -> {
+            // The member first: if the plan or trainer has gone, no sale is recorded
+            long id = memberService.add(member);
+            ledger.record(method, admission.saleLines());
+            try {
+                store.sync();
+                ledger.sync();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return id;
+        }).whenComplete((id, error) -> SwingUtilities.invokeLater(() -> {
+            source.setEnabled(true);
+            if (error == null) {
+                showThankYouPage();
+            } else if (error instanceof Payments.CommitFailedException) {
+                // Paying again with this key gets the same answer, so the
+                // admission cannot be recorded twice
+                JOptionPane.showMessageDialog(frame, error.getMessage()
+                        + "\nIt will not be taken again; please note the payment reference.",
+                        "Error", JOptionPane.ERROR_MESSAGE);
+            } else if (error instanceof PaymentGateway.DeclinedException) {
+                // Trying again, with another card say, is a new payment
+                admission.paymentKey = UUID.randomUUID().toString();
+                JOptionPane.showMessageDialog(frame, "Payment declined: " + error.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(frame, "Payment not completed: " + error.getMessage()
+                        + "\nTrying again will not charge twice.", "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        }));
+    }
+
+    void showPaymentOptions() {
+        screens.show("paymentOptions", this::buildPaymentOptions);
+    }
+
+    private ScreenRegistry.Screen buildPaymentOptions() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(10, 10, 10, 10);
+
+        JLabel titleLabel = new JLabel("Payment Options");
+        titleLabel.setFont(Theme.TITLE);
+        titleLabel.setForeground(PRIMARY_COLOR);
+
+        JLabel amountLabel = new JLabel();
+        amountLabel.setFont(Theme.SUBHEADING);
+        amountLabel.setForeground(SECONDARY_COLOR);
+
+        JButton upiButton = createStyledButton("Pay via UPI");
+        JButton cardButton = createStyledButton("Pay via Credit/Debit Card");
+        JButton backButton = createStyledButton("Back");
+
+        upiButton.addActionListener(e -> showUPIPayment());
+        cardButton.addActionListener(e -> showCardPayment());
+        backButton.addActionListener(e -> showUserAdmissionForm());
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        panel.add(amountLabel, gbc);
+
+        gbc.gridy = 2;
+        gbc.gridwidth = 1;
+        panel.add(upiButton, gbc);
+        gbc.gridx = 1;
+        panel.add(cardButton, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        gbc.gridwidth = 2;
+        panel.add(backButton, gbc);
+
+        return new ScreenRegistry.Screen(panel, () -> {
+            amountLabel.setText("Amount to Pay: $" + Money.format(pendingAdmission.amountCents));
+            // Drawn now so it is ready if UPI is chosen
+            qrImages.render(upiUri(pendingAdmission.amountCents), image -> { });
+        });
+    }
+
+    void showUPIPayment() {
+        screens.show("upiPayment", this::buildUPIPayment);
+    }
+
+    private ScreenRegistry.Screen buildUPIPayment() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+
+        JLabel titleLabel = new JLabel();
+        titleLabel.setFont(Theme.HEADING);
+        titleLabel.setForeground(PRIMARY_COLOR);
+        titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
+
+        // The QR code for this payee and amount, drawn off the EDT unless it
+        // was drawn before
+        JLabel qrCodeLabel = new JLabel("", SwingConstants.CENTER);
+        qrCodeLabel.setHorizontalTextPosition(SwingConstants.CENTER);
+        qrCodeLabel.setVerticalTextPosition(SwingConstants.BOTTOM);
+        qrCodeLabel.setForeground(SECONDARY_COLOR);
+        String[] shownUri = new String[1];
+
+        JPanel buttonPanel = new JPanel(new FlowLayout());
+        buttonPanel.setBackground(BACKGROUND_COLOR);
+
+        JButton paidButton = createStyledButton("I've Paid");
+        JButton backButton = createStyledButton("Back");
+
+        paidButton.addActionListener(e -> admit(paidButton, SalesLedger.Method.UPI, ""));
+
+        backButton.addActionListener(e -> showPaymentOptions());
+
+        buttonPanel.add(paidButton);
+        buttonPanel.add(backButton);
+
+        panel.add(titleLabel, BorderLayout.NORTH);
+        panel.add(qrCodeLabel, BorderLayout.CENTER);
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+
+        return new ScreenRegistry.Screen(panel, () -> {
+            titleLabel.setText("UPI Payment - $" + Money.format(pendingAdmission.amountCents));
+            String uri = upiUri(pendingAdmission.amountCents);
+            shownUri[0] = uri;
+            qrCodeLabel.setIcon(null);
+            qrCodeLabel.setText("Preparing QR code...");
+            qrImages.render(uri, image -> {
+                // Unless the screen has moved on to another amount
+                if (uri.equals(shownUri[0])) {
+                    qrCodeLabel.setIcon(new ImageIcon(image));
+                    qrCodeLabel.setText("Scan this QR code to pay");
+                }
+            });
+        });
+    }
+
+    // The link a UPI app reads from the code: pay the gym's address this
+    // amount
+    static String upiUri(long amountCents) {
+        return "upi://pay?pa=" + uriEncode(UPI_PAYEE) + "&pn=" + uriEncode(UPI_PAYEE_NAME)
+                + "&am=" + Money.format2(amountCents) + "&cu=" + uriEncode(UPI_CURRENCY);
+    }
+
+    // Spaces as %20 and the @ of a UPI address left as it is, as UPI apps
+    // expect
+    private static String uriEncode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20").replace("%40", "@");
+    }
+
+    void showCardPayment() {
+        screens.show("cardPayment", this::buildCardPayment);
+    }
+
+    private ScreenRegistry.Screen buildCardPayment() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        JLabel titleLabel = new JLabel();
+        titleLabel.setFont(Theme.HEADING);
+        titleLabel.setForeground(PRIMARY_COLOR);
+
+        JTextField cardNumberField = new JTextField(20);
+        JTextField cardHolderField = new JTextField(20);
+        JTextField expiryField = new JTextField(20);
+        JTextField cvvField = new JTextField(20);
+        JButton payButton = createStyledButton("Pay Now");
+        JButton backButton = createStyledButton("Back");
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        panel.add(new JLabel("Card Number:"), gbc);
+        gbc.gridx = 1;
+        panel.add(cardNumberField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        panel.add(new JLabel("Card Holder Name:"), gbc);
+        gbc.gridx = 1;
+        panel.add(cardHolderField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        panel.add(new JLabel("Expiry Date (MM/YY):"), gbc);
+        gbc.gridx = 1;
+        panel.add(expiryField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 4;
+        panel.add(new JLabel("CVV:"), gbc);
+        gbc.gridx = 1;
+        panel.add(cvvField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 5;
+        gbc.gridwidth = 1;
+        panel.add(payButton, gbc);
+        gbc.gridx = 1;
+        panel.add(backButton, gbc);
+
+        payButton.addActionListener(e -> {
+            String cardNumber = cardNumberField.getText().replaceAll("[\\s-]", "");
+            if (cardNumber.isEmpty() || cardHolderField.getText().isEmpty() || 
+                expiryField.getText().isEmpty() || cvvField.getText().isEmpty()) {
+                JOptionPane.showMessageDialog(frame, "Please fill all card details!", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            // Simple validation for demo purposes
+            if (cardNumber.length() < 16 || !cardNumber.chars().allMatch(Character::isDigit)) {
+                JOptionPane.showMessageDialog(frame, "Card number must be 16 digits!", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            if (cvvField.getText().length() < 3) {
+                JOptionPane.showMessageDialog(frame, "CVV must be 3 digits!", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            // The gateway checks the number itself and may decline it
+            admit(payButton, SalesLedger.Method.CARD, cardNumber);
+        });
+
+        backButton.addActionListener(e -> showPaymentOptions());
+
+        return new ScreenRegistry.Screen(panel, () -> {
+            titleLabel.setText("Card Payment - $" + Money.format(pendingAdmission.amountCents));
+            cardNumberField.setText("");
+            cardHolderField.setText("");
+            expiryField.setText("");
+            cvvField.setText("");
+        });
+    }
+
+    void showThankYouPage() {
+        screens.show("thankYouPage", this::buildThankYouPage);
+    }
+
+    private ScreenRegistry.Screen buildThankYouPage() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(20, 20, 20, 20);
+
+        JLabel thankYouLabel = new JLabel("Thank You for Your Registration!");
+        thankYouLabel.setFont(Theme.HEADLINE);
+        thankYouLabel.setForeground(PRIMARY_COLOR);
+
+        JLabel detailsLabel = new JLabel("Your membership details have been saved.");
+        detailsLabel.setFont(Theme.BODY);
+        detailsLabel.setForeground(SECONDARY_COLOR);
+
+        JButton productsButton = createStyledButton("Browse Our Products");
+        JButton homeButton = createStyledButton("Back to Home");
+
+        productsButton.addActionListener(e -> window.shopScreens().showProductPurchasePage());
+        homeButton.addActionListener(e -> window.showWelcomePage());
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(thankYouLabel, gbc);
+
+        gbc.gridy = 1;
+        panel.add(detailsLabel, gbc);
+
+        gbc.gridy = 2;
+        gbc.gridwidth = 1;
+        panel.add(productsButton, gbc);
+        gbc.gridx = 1;
+        panel.add(homeButton, gbc);
+
+        return new ScreenRegistry.Screen(panel);
+    }
+}
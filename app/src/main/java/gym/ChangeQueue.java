@@ -0,0 +1,49 @@
+package gym;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import javax.swing.Timer;
+
+// Coalesces model changes into one view update per frame. post() queues a
+// change from any thread and, if no update is pending, arms a one-shot timer
+// for the next frame; when it fires the EDT gets every change queued since,
+// in order, in one call. A burst of clicks or saves therefore costs one
+// relayout and repaint rather than one each.
+final class ChangeQueue<E> {
+    // About one frame at 60 Hz
+    static final int FRAME_MILLIS = 16;
+
+    private final ConcurrentLinkedQueue<E> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean armed = new AtomicBoolean();
+    private final Consumer<List<E>> flush;
+    private final Timer timer;
+
+    ChangeQueue(Consumer<List<E>> flush) {
+        this.flush = flush;
+        timer = new Timer(FRAME_MILLIS, e -> drain());
+        timer.setRepeats(false);
+    }
+
+    void post(E change) {
+        pending.add(change);
+        if (armed.compareAndSet(false, true)) {
+            timer.start();
+        }
+    }
+
+    private void drain() {
+        // Disarmed first, so a change posted while the batch is applied
+        // arms the next frame instead of being left behind
+        armed.set(false);
+        List<E> batch = new ArrayList<>();
+        for (E change; (change = pending.poll()) != null; ) {
+            batch.add(change);
+        }
+        if (!batch.isEmpty()) {
+            flush.accept(batch);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package gym;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.time.LocalDate;
+
+// The front-desk check-in screen
+final class CheckInScreens extends ScreenGroup {
+    CheckInScreens(GymManagementSystem window, Gym gym) {
+        super(window, gym);
+    }
+
+    void showCheckIn() {
+        screens.show("checkIn", this::buildCheckIn);
+    }
+
+    // Front-desk check-in by member ID, the same path the turnstiles use.
+    // Enter in the ID field checks in, so a barcode scanner can type into it.
+    private ScreenRegistry.Screen buildCheckIn() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(10, 10, 10, 10);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        JLabel titleLabel = new JLabel("Member Check-In");
+        titleLabel.setFont(Theme.TITLE);
+        titleLabel.setForeground(PRIMARY_COLOR);
+        titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
+
+        JTextField idField = new JTextField(20);
+        JLabel resultLabel = new JLabel(" ");
+        resultLabel.setFont(Theme.STRONG);
+        resultLabel.setForeground(SECONDARY_COLOR);
+        JTextArea todayArea = new JTextArea(6, 30);
+        todayArea.setEditable(false);
+        todayArea.setBackground(Theme.CARD);
+        todayArea.setForeground(SECONDARY_COLOR);
+        todayArea.setFont(Theme.MONOSPACED);
+        JButton checkInButton = createStyledButton("Check In");
+        JButton backButton = createStyledButton("Back");
+
+        Runnable showToday = () -> {
+            int[] hours = attendance.visitsByHour(LocalDate.now());
+            StringBuilder text = new StringBuilder("Visits today by hour\n");
+            for (int hour = 0; hour < hours.length; hour++) {
+                if (hours[hour] > 0) {
+                    text.append(String.format("%02d:00  %6d\n", hour, hours[hour]));
+                }
+            }
+            todayArea.setText(text.toString());
+        };
+
+        ActionListener checkIn = e -> {
+            long id;
+            try {
+                id = Long.parseLong(idField.getText().trim());
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(frame, "Member ID must be a number!", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            Attendance.Result result = attendance.checkIn(id);
+            Member member = members.find(id);
+            String name = member != null ? member.name : "Member " + id;
+            switch (result) {
+                case ADMITTED:
+                    resultLabel.setText("Welcome, " + name + "!");
+                    break;
+                case UNKNOWN_MEMBER:
+                    resultLabel.setText("No member with ID " + id);
+                    break;
+                case EXPIRED:
+                    resultLabel.setText(name + ": membership expired, please renew");
+                    break;
+                case FAILED:
+                    resultLabel.setText("Check-ins cannot be saved, please call staff");
+                    break;
+                default:
+                    resultLabel.setText("Scanner busy, please scan again");
+                    break;
+            }
+            idField.setText("");
+            showToday.run();
+        };
+        idField.addActionListener(checkIn);
+        checkInButton.addActionListener(checkIn);
+        backButton.addActionListener(e -> window.showWelcomePage());
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        panel.add(new JLabel("Member ID:"), gbc);
+        gbc.gridx = 1;
+        panel.add(idField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        gbc.gridwidth = 2;
+        panel.add(resultLabel, gbc);
+
+        gbc.gridy = 3;
+        panel.add(new JScrollPane(todayArea), gbc);
+
+        gbc.gridy = 4;
+        gbc.gridwidth = 1;
+        panel.add(checkInButton, gbc);
+        gbc.gridx = 1;
+        panel.add(backButton, gbc);
+
+        return new ScreenRegistry.Screen(panel, () -> {
+            idField.setText("");
+            resultLabel.setText(" ");
+            showToday.run();
+            idField.requestFocusInWindow();
+        });
+    }
+}
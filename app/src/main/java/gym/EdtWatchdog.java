@@ -0,0 +1,107 @@
+package gym;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+// Replaces the system event queue with one that times every event the EDT
+// dispatches. A monitor thread looks in every few milliseconds; once an event
+// has run past the threshold it logs the EDT's stack while the stall is still
+// in progress, which points at the code responsible, and the total is logged
+// when the event completes. Time a modal dialog spends waiting for input
+// inside a listener does not count: the clock stops while the nested event
+// loop waits for the next event.
+final class EdtWatchdog extends EventQueue {
+    private static final Logger LOG = Logger.getLogger(EdtWatchdog.class.getName());
+    static final long THRESHOLD_MILLIS = 100;
+    private static final long THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(THRESHOLD_MILLIS);
+    private static final long POLL_MILLIS = 20;
+
+    // When the event being dispatched started, or 0 while the EDT is idle
+    private volatile long busySince;
+    private volatile Thread edt;
+    private volatile long reportedSince;
+    private volatile long stalls;
+    private volatile long longestNanos;
+
+    private EdtWatchdog() {
+    }
+
+    static EdtWatchdog install() {
+        EdtWatchdog watchdog = new EdtWatchdog();
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(watchdog);
+        Thread monitor = new Thread(watchdog::monitor, "gym-edt-watchdog");
+        monitor.setDaemon(true);
+        monitor.start();
+        return watchdog;
+    }
+
+    long getStallCount() {
+        return stalls;
+    }
+
+    long getLongestStallMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(longestNanos);
+    }
+
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+        edt = Thread.currentThread();
+        long outer = busySince;
+        busySince = System.nanoTime();
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            long now = System.nanoTime();
+            long elapsed = now - busySince;
+            if (elapsed > THRESHOLD_NANOS) {
+                stalls++;
+                longestNanos = Math.max(longestNanos, elapsed);
+                LOG.warning(String.format("EDT stalled %d ms dispatching %s",
+                        TimeUnit.NANOSECONDS.toMillis(elapsed), event.paramString()));
+            }
+            // A nested dispatch means the outer event is running a modal loop;
+            // its clock restarts once the nested event is done
+            busySince = outer == 0 ? 0 : now;
+        }
+    }
+
+    @Override
+    public AWTEvent getNextEvent() throws InterruptedException {
+        // Non-zero only when called from a nested (modal) loop
+        long busy = busySince;
+        busySince = 0;
+        try {
+            return super.getNextEvent();
+        } finally {
+            if (busy != 0) {
+                busySince = System.nanoTime();
+            }
+        }
+    }
+
+    private void monitor() {
+        while (true) {
+            try {
+                Thread.sleep(POLL_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long since = busySince;
+            Thread thread = edt;
+            if (since == 0 || thread == null || since == reportedSince
+                    || System.nanoTime() - since <= THRESHOLD_NANOS) {
+                continue;
+            }
+            reportedSince = since;
+            StringBuilder trace = new StringBuilder("EDT busy for over ")
+                    .append(THRESHOLD_MILLIS).append(" ms, at:");
+            for (StackTraceElement frame : thread.getStackTrace()) {
+                trace.append(System.lineSeparator()).append("\tat ").append(frame);
+            }
+            LOG.warning(trace.toString());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package gym;
+
+import java.util.List;
+import java.util.function.Function;
+import javax.swing.DefaultComboBoxModel;
+import javax.swing.JComboBox;
+
+// Combo box of record names that remembers the id behind each row, so a
+// cached screen can reload its choices each time it is shown
+class EntityCombo<T extends Entity> extends JComboBox<String> {
+    private final Function<T, String> label;
+    private long[] ids = new long[0];
+
+    EntityCombo(Function<T, String> label) {
+        this.label = label;
+    }
+
+    // Keeps the current selection when its id is still present
+    void reload(List<T> rows) {
+        long selected = getSelectedId();
+        String[] names = new String[rows.size()];
+        long[] newIds = new long[rows.size()];
+        int keep = rows.isEmpty() ? -1 : 0;
+        for (int i = 0; i < names.length; i++) {
+            T row = rows.get(i);
+            names[i] = label.apply(row);
+            newIds[i] = row.id;
+            if (row.id == selected) {
+                keep = i;
+            }
+        }
+        ids = newIds;
+        setModel(new DefaultComboBoxModel<>(names));
+        setSelectedIndex(keep);
+    }
+
+    // False, leaving the selection alone, if the id is not in the list
+    boolean select(long id) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                setSelectedIndex(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // -1 if nothing is selected
+    long getSelectedId() {
+        int index = getSelectedIndex();
+        return index >= 0 && index < ids.length ? ids[index] : -1;
+    }
+}
@@ -0,0 +1,202 @@
+package gym;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingWorker;
+import javax.swing.table.AbstractTableModel;
+
+// Table model over a store table. JTable only asks for the rows it paints, so
+// nothing is copied or formatted for rows that are scrolled out of view.
+// Sorting and filtering run on a SwingWorker and produce an array of row ids;
+// until one is applied the model shows the table in its natural order.
+class EntityTableModel<T extends Entity> extends AbstractTableModel {
+    private static final Logger LOG = Logger.getLogger(EntityTableModel.class.getName());
+
+    static final class Column<T> {
+        final String name;
+        final Function<T, ?> value;
+
+        Column(String name, Function<T, ?> value) {
+            this.name = name;
+            this.value = value;
+        }
+    }
+
+    static <T> Column<T> column(String name, Function<T, ?> value) {
+        return new Column<>(name, value);
+    }
+
+    private final GymStore.Table<T> table;
+    private final List<Column<T>> columns;
+    private long[] view;
+    private int sortColumn = -1;
+    private boolean ascending = true;
+    private int filterColumn = -1;
+    private String filterText = "";
+    private SwingWorker<long[], Void> worker;
+    private Runnable onViewChanged = () -> { };
+
+    EntityTableModel(GymStore.Table<T> table, List<Column<T>> columns) {
+        this.table = table;
+        this.columns = columns;
+    }
+
+    void setOnViewChanged(Runnable onViewChanged) {
+        this.onViewChanged = onViewChanged;
+    }
+
+    @Override
+    public int getRowCount() {
+        return view == null ? table.size() : view.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns.get(column).name;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        T entity = view == null ? table.getOrNull(row) : table.find(view[row]);
+        return entity == null ? null : columns.get(column).value.apply(entity);
+    }
+
+    int getTotalCount() {
+        return table.size();
+    }
+
+    boolean isFiltered() {
+        return view != null && !filterText.isEmpty();
+    }
+
+    // Clicking the same column again flips the direction
+    void toggleSort(int column) {
+        if (column == sortColumn) {
+            ascending = !ascending;
+        } else {
+            sortColumn = column;
+            ascending = true;
+        }
+        recompute();
+    }
+
+    // column -1 matches against every column
+    void setFilter(int column, String text) {
+        filterColumn = column;
+        filterText = text.trim().toLowerCase(Locale.ROOT);
+        recompute();
+    }
+
+    // Re-reads the table, keeping the current sort and filter; used when a
+    // cached list screen is shown again after records changed
+    void refresh() {
+        recompute();
+    }
+
+    // Called on the EDT. Rows are captured here so the worker never reads the
+    // live table while the EDT mutates it.
+    private void recompute() {
+        if (worker != null) {
+            worker.cancel(true);
+        }
+        if (sortColumn < 0 && filterText.isEmpty()) {
+            worker = null;
+            applyView(null);
+            return;
+        }
+
+        Object[] rows = table.toArray();
+        int sortBy = sortColumn;
+        boolean asc = ascending;
+        int filterBy = filterColumn;
+        String text = filterText;
+        worker = new SwingWorker<long[], Void>() {
+            @Override
+            protected long[] doInBackground() {
+                return computeView(rows, sortBy, asc, filterBy, text);
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() || worker != this) {
+                    return;
+                }
+                try {
+                    applyView(get());
+                } catch (Exception e) {
+                    LOG.log(Level.WARNING, "sorting or filtering the table failed", e);
+                }
+            }
+        };
+        worker.execute();
+    }
+
+    private void applyView(long[] ids) {
+        view = ids;
+        fireTableDataChanged();
+        onViewChanged.run();
+    }
+
+    // Ids of the rows kept by the filter, in sort order; rows is overwritten.
+    // Returns null if the thread is interrupted.
+    @SuppressWarnings("unchecked")
+    long[] computeView(Object[] rows, int sortBy, boolean asc, int filterBy, String text) {
+        int kept = 0;
+        for (Object row : rows) {
+            if (Thread.currentThread().isInterrupted()) {
+                return null;
+            }
+            if (text.isEmpty() || matches((T) row, filterBy, text)) {
+                rows[kept++] = row;
+            }
+        }
+        Object[] result = Arrays.copyOf(rows, kept);
+        if (sortBy >= 0) {
+            Function<T, ?> key = columns.get(sortBy).value;
+            Comparator<Object> order = (a, b) -> compareValues(key.apply((T) a), key.apply((T) b));
+            Arrays.sort(result, asc ? order : order.reversed());
+        }
+        long[] ids = new long[result.length];
+        for (int i = 0; i < result.length; i++) {
+            ids[i] = ((Entity) result[i]).id;
+        }
+        return ids;
+    }
+
+    private boolean matches(T row, int filterBy, String text) {
+        if (filterBy >= 0) {
+            return contains(columns.get(filterBy).value.apply(row), text);
+        }
+        for (Column<T> column : columns) {
+            if (contains(column.value.apply(row), text)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(Object value, String text) {
+        return value != null && value.toString().toLowerCase(Locale.ROOT).contains(text);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareValues(Object a, Object b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        if (a instanceof String && b instanceof String) {
+            return String.CASE_INSENSITIVE_ORDER.compare((String) a, (String) b);
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+}
@@ -0,0 +1,315 @@
+package gym;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// One front-desk window. It opens on the welcome page before any data is
+// loaded and is handed the gym once it is; the other screens live in
+// ScreenGroup classes that are created on first navigation. Several windows
+// can share the same gym, each with its own screens and write lane.
+public class GymManagementSystem {
+    final JFrame frame;
+    final Toast toast;
+    final ScreenRegistry screens = new ScreenRegistry();
+    final Tasks tasks = new Tasks(Math.max(4, Runtime.getRuntime().availableProcessors()));
+    private Gym gym;
+    private CheckInScreens checkInScreens;
+    private AdminScreens adminScreens;
+    private MemberScreens memberScreens;
+    private TrainerScreens trainerScreens;
+    private PlanScreens planScreens;
+    private ProductScreens productScreens;
+    private AdmissionScreens admissionScreens;
+    private ShopScreens shopScreens;
+
+    // Color scheme, shared with the UIManager defaults installed by Theme
+    private final Color BACKGROUND_COLOR = Theme.BACKGROUND;
+    private final Color PRIMARY_COLOR = Theme.PRIMARY;
+    private final Color SECONDARY_COLOR = Theme.SECONDARY;
+
+    public GymManagementSystem() {
+        // Main frame
+        frame = new JFrame("Gym Management System");
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setSize(800, 600);
+        frame.setLayout(new BorderLayout());
+        frame.add(screens.getView(), BorderLayout.CENTER);
+        toast = new Toast(frame);
+        showWelcomePage();
+        frame.setVisible(true);
+    }
+
+    // Called on the EDT once the data is loaded; enables the welcome page
+    void ready(Gym gym) {
+        this.gym = gym;
+        // Statuses shown in the member list change without the rows changing
+        gym.expiry.addListener(() -> SwingUtilities.invokeLater(frame::repaint));
+        showWelcomePage();
+    }
+
+    CheckInScreens checkInScreens() {
+        if (checkInScreens == null) {
+            checkInScreens = new CheckInScreens(this, gym);
+        }
+        return checkInScreens;
+    }
+
+    AdminScreens adminScreens() {
+        if (adminScreens == null) {
+            adminScreens = new AdminScreens(this, gym);
+        }
+        return adminScreens;
+    }
+
+    MemberScreens memberScreens() {
+        if (memberScreens == null) {
+            memberScreens = new MemberScreens(this, gym);
+        }
+        return memberScreens;
+    }
+
+    TrainerScreens trainerScreens() {
+        if (trainerScreens == null) {
+            trainerScreens = new TrainerScreens(this, gym);
+        }
+        return trainerScreens;
+    }
+
+    PlanScreens planScreens() {
+        if (planScreens == null) {
+            planScreens = new PlanScreens(this, gym);
+        }
+        return planScreens;
+    }
+
+    ProductScreens productScreens() {
+        if (productScreens == null) {
+            productScreens = new ProductScreens(this, gym);
+        }
+        return productScreens;
+    }
+
+    AdmissionScreens admissionScreens() {
+        if (admissionScreens == null) {
+            admissionScreens = new AdmissionScreens(this, gym);
+        }
+        return admissionScreens;
+    }
+
+    ShopScreens shopScreens() {
+        if (shopScreens == null) {
+            shopScreens = new ShopScreens(this, gym);
+        }
+        return shopScreens;
+    }
+
+    void showWelcomePage() {
+        screens.show("welcomePage", this::buildWelcomePage);
+    }
+
+    // Shown before the data is loaded; the buttons stay disabled until then
+    private ScreenRegistry.Screen buildWelcomePage() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+
+        JPanel centerPanel = new JPanel(new GridBagLayout());
+        centerPanel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(10, 10, 10, 10);
+
+        JLabel welcomeLabel = new JLabel("Welcome to Gym Management System");
+        welcomeLabel.setFont(Theme.HEADLINE);
+        welcomeLabel.setForeground(PRIMARY_COLOR);
+        welcomeLabel.setHorizontalAlignment(SwingConstants.CENTER);
+
+        JLabel loadingLabel = new JLabel("Loading members...");
+        loadingLabel.setForeground(SECONDARY_COLOR);
+        loadingLabel.setHorizontalAlignment(SwingConstants.CENTER);
+
+        JPanel buttonPanel = new JPanel(new GridLayout(3, 1, 10, 10));
+        buttonPanel.setBackground(BACKGROUND_COLOR);
+
+        JButton adminButton = ScreenGroup.createStyledButton("Admin Login");
+        JButton userButton = ScreenGroup.createStyledButton("User Registration");
+        JButton checkInButton = ScreenGroup.createStyledButton("Member Check-In");
+
+        adminButton.addActionListener(e -> showLoginPage());
+        userButton.addActionListener(e -> admissionScreens().showUserAdmissionForm());
+        checkInButton.addActionListener(e -> checkInScreens().showCheckIn());
+
+        buttonPanel.add(adminButton);
+        buttonPanel.add(userButton);
+        buttonPanel.add(checkInButton);
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        centerPanel.add(welcomeLabel, gbc);
+        gbc.gridy = 1;
+        centerPanel.add(buttonPanel, gbc);
+        gbc.gridy = 2;
+        centerPanel.add(loadingLabel, gbc);
+
+        panel.add(centerPanel, BorderLayout.CENTER);
+        return new ScreenRegistry.Screen(panel, () -> {
+            adminButton.setEnabled(gym != null);
+            userButton.setEnabled(gym != null);
+            checkInButton.setEnabled(gym != null);
+            loadingLabel.setVisible(gym == null);
+        });
+    }
+
+    private void showLoginPage() {
+        screens.show("loginPage", this::buildLoginPage);
+    }
+
+    private ScreenRegistry.Screen buildLoginPage() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(10, 10, 10, 10);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        JLabel titleLabel = new JLabel("Admin Login");
+        titleLabel.setFont(Theme.TITLE);
+        titleLabel.setForeground(PRIMARY_COLOR);
+        titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
+
+        JTextField usernameField = new JTextField(20);
+        JPasswordField passwordField = new JPasswordField(20);
+        JButton loginButton = ScreenGroup.createStyledButton("Login");
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        panel.add(new JLabel("Username:"), gbc);
+        gbc.gridx = 1;
+        panel.add(usernameField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        panel.add(new JLabel("Password:"), gbc);
+        gbc.gridx = 1;
+        panel.add(passwordField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        gbc.gridwidth = 2;
+        panel.add(loginButton, gbc);
+
+        loginButton.addActionListener(e -> {
+            String username = usernameField.getText();
+            String password = new String(passwordField.getPassword());
+            if (username.equals("admin") && password.equals("12345")) {
+                adminScreens().showAdminMainMenu();
+            } else {
+                JOptionPane.showMessageDialog(frame, "Invalid credentials!", "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+
+        return new ScreenRegistry.Screen(panel, () -> {
+            usernameField.setText("");
+            passwordField.setText("");
+        });
+    }
+
+    // Lets this window's queued saves finish; called at exit, before the
+    // store is closed
+    private void shutdown() throws InterruptedException {
+        if (Boolean.getBoolean("gym.screen.timings")) {
+            System.out.print(screens.timingReport());
+        }
+        tasks.shutdown();
+        tasks.awaitTermination(5000);
+    }
+
+    // Milliseconds since the JVM started
+    private static long uptime() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+
+    public static void main(String[] args) {
+        // Headless (--headless, -Dgym.headless=true or no display) opens no
+        // windows and serves the HTTP API, on port 8080 unless gym.http.port
+        // says otherwise. With a display the API runs only if a port is given.
+        if (Arrays.asList(args).contains("--headless") || Boolean.getBoolean("gym.headless")
+                || GraphicsEnvironment.isHeadless()) {
+            GymServer.main(args);
+            return;
+        }
+        EdtWatchdog.install();
+
+        // The windows come up on the welcome page while the data loads here
+        int terminals = Math.max(1, Integer.getInteger("gym.terminals", 1));
+        List<GymManagementSystem> windows = new CopyOnWriteArrayList<>();
+        SwingUtilities.invokeLater(() -> {
+            try {
+                // Set system look and feel for better appearance
+                UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            Theme.install();
+            for (int i = 0; i < terminals; i++) {
+                windows.add(new GymManagementSystem());
+            }
+            windows.get(0).frame.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowOpened(WindowEvent e) {
+                    System.out.println("First frame after " + uptime() + " ms");
+                }
+            });
+        });
+
+        Gym gym;
+        try {
+            gym = Gym.open(Paths.get(System.getProperty("gym.data.dir", "gym-data")));
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(null, e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            System.exit(1);
+            return;
+        }
+        System.out.println("Data loaded after " + uptime() + " ms");
+        ApiServer api = null;
+        int port = Integer.getInteger("gym.http.port", -1);
+        if (port >= 0) {
+            try {
+                api = GymServer.start(gym, port);
+            } catch (IOException e) {
+                JOptionPane.showMessageDialog(null, "Could not start the HTTP API: " + e.getMessage(), "Error",
+                        JOptionPane.ERROR_MESSAGE);
+            }
+        }
+        ApiServer server = api;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                // Pending saves reach the journal and ledger before they are closed
+                if (server != null) {
+                    server.stop();
+                }
+                for (GymManagementSystem window : windows) {
+                    window.shutdown();
+                }
+                gym.close();
+            } catch (IOException | InterruptedException e) {
+                e.printStackTrace();
+            }
+        }));
+        // Queued after the windows are made, so every one of them gets it
+        SwingUtilities.invokeLater(() -> {
+            for (GymManagementSystem window : windows) {
+                window.ready(gym);
+            }
+        });
+    }
+}
@@ -0,0 +1,547 @@
+package gym;
+
+import javax.swing.*;
+import java.awt.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.List;
+
+// Member management: add, update, list and delete members, and bulk import
+final class MemberScreens extends ScreenGroup {
+    private final MemberImporter importer;
+    private Tasks.Task<MemberImporter.Result> importTask;
+
+    MemberScreens(GymManagementSystem window, Gym gym) {
+        super(window, gym);
+        importer = new MemberImporter(memberService, catalog);
+    }
+
+    void showMemberManagement() {
+        screens.show("memberManagement", this::buildMemberManagement);
+    }
+
+    private ScreenRegistry.Screen buildMemberManagement() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(10, 10, 10, 10);
+
+        JLabel titleLabel = new JLabel("Member Management");
+        titleLabel.setFont(Theme.TITLE);
+        titleLabel.setForeground(PRIMARY_COLOR);
+
+        JButton addButton = createStyledButton("Add Member");
+        JButton viewButton = createStyledButton("View Members");
+        JButton updateButton = createStyledButton("Update Member");
+        JButton deleteButton = createStyledButton("Delete Member");
+        JButton importButton = createStyledButton("Import Members");
+        JButton backButton = createStyledButton("Back to Dashboard");
+
+        addButton.addActionListener(e -> showAddMemberForm());
+        viewButton.addActionListener(e -> showViewMembers());
+        updateButton.addActionListener(e -> showUpdateMemberForm());
+        deleteButton.addActionListener(e -> showDeleteMemberForm());
+        importButton.addActionListener(e -> showImportMembers());
+        backButton.addActionListener(e -> window.adminScreens().showAdminMainMenu());
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        panel.add(addButton, gbc);
+        gbc.gridx = 1;
+        panel.add(viewButton, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        panel.add(updateButton, gbc);
+        gbc.gridx = 1;
+        panel.add(deleteButton, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        panel.add(importButton, gbc);
+        gbc.gridx = 1;
+        panel.add(backButton, gbc);
+
+        return new ScreenRegistry.Screen(panel);
+    }
+
+    void showImportMembers() {
+        screens.show("importMembers", this::buildImportMembers);
+    }
+
+    // Bulk import from a CSV or NDJSON file. The import runs in the background
+    // and can be cancelled; batches committed before that stay imported.
+    private ScreenRegistry.Screen buildImportMembers() {
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBackground(BACKGROUND_COLOR);
+        panel.setBorder(Theme.PADDING);
+
+        JLabel titleLabel = new JLabel("Import Members");
+        titleLabel.setFont(Theme.TITLE);
+        titleLabel.setForeground(PRIMARY_COLOR);
+        titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
+
+        JLabel hintLabel = new JLabel("CSV with name, age, gender, plan and trainer columns, or NDJSON with those keys");
+        hintLabel.setForeground(SECONDARY_COLOR);
+        JProgressBar progressBar = new JProgressBar(0, 1000);
+        progressBar.setStringPainted(true);
+        progressBar.setString("");
+        JLabel statusLabel = new JLabel(" ");
+        statusLabel.setForeground(SECONDARY_COLOR);
+
+        JPanel northPanel = new JPanel(new GridLayout(0, 1, 5, 5));
+        northPanel.setBackground(BACKGROUND_COLOR);
+        northPanel.add(titleLabel);
+        northPanel.add(hintLabel);
+        northPanel.add(progressBar);
+        northPanel.add(statusLabel);
+
+        JTextArea report = new JTextArea();
+        report.setEditable(false);
+        report.setBackground(Theme.CARD);
+        report.setForeground(SECONDARY_COLOR);
+        report.setFont(Theme.MONOSPACED);
+        JScrollPane scrollPane = new JScrollPane(report);
+        scrollPane.setBorder(Theme.NO_BORDER);
+
+        JButton chooseButton = createStyledButton("Choose File...");
+        JButton cancelButton = createStyledButton("Cancel Import");
+        JButton backButton = createStyledButton("Back");
+        cancelButton.setEnabled(false);
+
+        Runnable finished = () -> {
+            importTask = null;
+            chooseButton.setEnabled(true);
+            backButton.setEnabled(true);
+            cancelButton.setEnabled(false);
+        };
+        chooseButton.addActionListener(e -> {
+            JFileChooser chooser = new JFileChooser();
+            chooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter(
+                    "Member files (CSV, NDJSON)", "csv", "ndjson", "jsonl", "json"));
+            if (chooser.showOpenDialog(frame) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            java.nio.file.Path file = chooser.getSelectedFile().toPath();
+            chooseButton.setEnabled(false);
+            backButton.setEnabled(false);
+            cancelButton.setEnabled(true);
+            progressBar.setValue(0);
+            progressBar.setString("0%");
+            statusLabel.setText("Importing " + file.getFileName() + "...");
+            report.setText("");
+            importTask = tasks.run(progress -> importer.run(file, MemberImporter.Format.of(file), progress))
+                    .onProgress((done, total) -> {
+                        int permille = total == 0 ? 1000 : (int) (done * 1000 / total);
+                        progressBar.setValue(permille);
+                        progressBar.setString(permille / 10 + "%");
+                    })
+                    .onDone(result -> {
+                        finished.run();
+                        progressBar.setValue(1000);
+                        progressBar.setString("100%");
+                        statusLabel.setText(String.format("Imported %d members in %.1f s, rejected %d rows",
+                                result.imported, result.elapsedNanos / 1e9, result.rejected));
+                        StringBuilder text = new StringBuilder();
+                        for (MemberImporter.Reject reject : result.rejects) {
+                            text.append(reject).append('\n');
+                        }
+                        if (result.rejected > result.rejects.size()) {
+                            text.append("... and ").append(result.rejected - result.rejects.size()).append(" more\n");
+                        }
+                        report.setText(text.toString());
+                        report.setCaretPosition(0);
+                    })
+                    .onCancel(() -> {
+                        finished.run();
+                        statusLabel.setText("Import cancelled; " + members.size() + " members on file");
+                    })
+                    .onError(error -> {
+                        finished.run();
+                        statusLabel.setText("Import failed");
+                        JOptionPane.showMessageDialog(frame, "Could not import: " + error.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                    });
+        });
+        cancelButton.addActionListener(e -> {
+            if (importTask != null) {
+                importTask.cancel();
+            }
+        });
+        backButton.addActionListener(e -> showMemberManagement());
+
+        JPanel buttonPanel = new JPanel(new GridLayout(1, 3, 10, 10));
+        buttonPanel.setBackground(BACKGROUND_COLOR);
+        buttonPanel.add(chooseButton);
+        buttonPanel.add(cancelButton);
+        buttonPanel.add(backButton);
+
+        panel.add(northPanel, BorderLayout.NORTH);
+        panel.add(scrollPane, BorderLayout.CENTER);
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+
+        return new ScreenRegistry.Screen(panel);
+    }
+
+    void showAddMemberForm() {
+        screens.show("addMemberForm", this::buildAddMemberForm);
+    }
+
+    private ScreenRegistry.Screen buildAddMemberForm() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        JLabel titleLabel = new JLabel("Add New Member");
+        titleLabel.setFont(Theme.HEADING);
+        titleLabel.setForeground(PRIMARY_COLOR);
+
+        JTextField nameField = new JTextField(20);
+        JTextField ageField = new JTextField(20);
+        JComboBox<String> genderCombo = new JComboBox<>(new String[]{"Male", "Female", "Other"});
+        EntityCombo<MembershipPlan> planCombo = new EntityCombo<>(p -> p.name);
+        EntityCombo<Trainer> trainerCombo = new EntityCombo<>(t -> t.name);
+        JComboBox<String> focusCombo = createFocusCombo(trainerCombo);
+        JButton submitButton = createStyledButton("Add Member");
+        JButton backButton = createStyledButton("Back");
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        panel.add(new JLabel("Name:"), gbc);
+        gbc.gridx = 1;
+        panel.add(nameField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        panel.add(new JLabel("Age:"), gbc);
+        gbc.gridx = 1;
+        panel.add(ageField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        panel.add(new JLabel("Gender:"), gbc);
+        gbc.gridx = 1;
+        panel.add(genderCombo, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 4;
+        panel.add(new JLabel("Membership Plan:"), gbc);
+        gbc.gridx = 1;
+        panel.add(planCombo, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 5;
+        panel.add(new JLabel("Trainer Focus:"), gbc);
+        gbc.gridx = 1;
+        panel.add(focusCombo, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 6;
+        panel.add(new JLabel("Trainer:"), gbc);
+        gbc.gridx = 1;
+        panel.add(trainerCombo, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 7;
+        gbc.gridwidth = 1;
+        panel.add(submitButton, gbc);
+        gbc.gridx = 1;
+        panel.add(backButton, gbc);
+
+        submitButton.addActionListener(e -> {
+            if (nameField.getText().isEmpty() || ageField.getText().isEmpty()) {
+                JOptionPane.showMessageDialog(frame, "Please fill all fields!", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            int age;
+            try {
+                age = Integer.parseInt(ageField.getText().trim());
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(frame, "Age must be a number!", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            MembershipPlan plan = plans.find(planCombo.getSelectedId());
+            Member member = new Member(
+                nameField.getText(),
+                age,
+                (String) genderCombo.getSelectedItem(),
+                (String) planCombo.getSelectedItem(),
+                (String) trainerCombo.getSelectedItem()
+            ).withTerm(LocalDate.now(), plan == null ? 0 : plan.duration);
+            save(submitButton, () -> memberService.add(member), "Member added successfully!", this::showMemberManagement);
+        });
+
+        backButton.addActionListener(e -> showMemberManagement());
+
+        return new ScreenRegistry.Screen(panel, () -> {
+            nameField.setText("");
+            ageField.setText("");
+            genderCombo.setSelectedIndex(0);
+            planCombo.reload(plans.snapshot());
+            trainerCombo.reload(trainers.snapshot());
+            reloadFocusCombo(focusCombo, trainerCombo);
+        });
+    }
+
+    void showUpdateMemberForm() {
+        screens.show("updateMemberForm", this::buildUpdateMemberForm);
+    }
+
+    private ScreenRegistry.Screen buildUpdateMemberForm() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        JLabel titleLabel = new JLabel("Update Member");
+        titleLabel.setFont(Theme.HEADING);
+        titleLabel.setForeground(PRIMARY_COLOR);
+
+        SearchPicker<Member> memberPicker = createMemberPicker();
+        JTextField nameField = new JTextField(20);
+        JTextField ageField = new JTextField(20);
+        JComboBox<String> genderCombo = new JComboBox<>(new String[]{"Male", "Female", "Other"});
+        EntityCombo<MembershipPlan> planCombo = new EntityCombo<>(p -> p.name);
+        EntityCombo<Trainer> trainerCombo = new EntityCombo<>(t -> t.name);
+        JLabel termLabel = new JLabel(" ");
+        JCheckBox renewBox = new JCheckBox("Start a new term today");
+        renewBox.setOpaque(false);
+        JButton submitButton = createStyledButton("Update Member");
+        JButton backButton = createStyledButton("Back");
+
+        // Load selected member data
+        memberPicker.setOnSelect(id -> {
+            Member m = members.find(id);
+            if (m != null) {
+                nameField.setText(m.name);
+                ageField.setText(String.valueOf(m.age));
+                genderCombo.setSelectedItem(m.gender);
+                planCombo.setSelectedItem(m.plan);
+                trainerCombo.setSelectedItem(m.trainer);
+                termLabel.setText(describeTerm(m));
+                renewBox.setSelected(false);
+            }
+        });
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        panel.add(new JLabel("Find Member:"), gbc);
+        gbc.gridx = 1;
+        panel.add(memberPicker, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        panel.add(new JLabel("Name:"), gbc);
+        gbc.gridx = 1;
+        panel.add(nameField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        panel.add(new JLabel("Age:"), gbc);
+        gbc.gridx = 1;
+        panel.add(ageField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 4;
+        panel.add(new JLabel("Gender:"), gbc);
+        gbc.gridx = 1;
+        panel.add(genderCombo, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 5;
+        panel.add(new JLabel("Plan:"), gbc);
+        gbc.gridx = 1;
+        panel.add(planCombo, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 6;
+        panel.add(new JLabel("Trainer:"), gbc);
+        gbc.gridx = 1;
+        panel.add(trainerCombo, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 7;
+        panel.add(new JLabel("Membership:"), gbc);
+        gbc.gridx = 1;
+        panel.add(termLabel, gbc);
+
+        gbc.gridy = 8;
+        panel.add(renewBox, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 9;
+        gbc.gridwidth = 1;
+        panel.add(submitButton, gbc);
+        gbc.gridx = 1;
+        panel.add(backButton, gbc);
+
+        submitButton.addActionListener(e -> {
+            long id = memberPicker.getSelectedId();
+            if (id < 0) {
+                JOptionPane.showMessageDialog(frame, "Please select a member!", "Error", JOptionPane.ERROR_MESSAGE);
+            } else {
+                int age;
+                try {
+                    age = Integer.parseInt(ageField.getText().trim());
+                } catch (NumberFormatException ex) {
+                    JOptionPane.showMessageDialog(frame, "Age must be a number!", "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+
+                Member member = new Member(
+                    nameField.getText(),
+                    age,
+                    (String) genderCombo.getSelectedItem(),
+                    (String) planCombo.getSelectedItem(),
+                    (String) trainerCombo.getSelectedItem()
+                );
+                MembershipPlan plan = plans.find(planCombo.getSelectedId());
+                Member current = members.find(id);
+                if (renewBox.isSelected() && plan != null) {
+                    member.withTerm(LocalDate.now(), plan.duration);
+                } else if (current != null) {
+                    member.withTermOf(current);
+                }
+                saveUpdate(submitButton, () -> memberService.update(id, member), "member", "Member updated successfully!", this::showMemberManagement);
+            }
+        });
+        backButton.addActionListener(e -> showMemberManagement());
+
+        JPanel cards = createEmptyOr(panel, "Update Member", "No members available to update.", this::showMemberManagement);
+        return new ScreenRegistry.Screen(cards, () -> {
+            showEmptyOr(cards, members.isEmpty());
+            planCombo.reload(plans.snapshot());
+            trainerCombo.reload(trainers.snapshot());
+            memberPicker.reset();
+            termLabel.setText(" ");
+            renewBox.setSelected(false);
+        });
+    }
+
+    // e.g. "2026-01-05 to 2026-02-05 (renewal due)"
+    private String describeTerm(Member m) {
+        if (m.endDay == 0) {
+            return "No term recorded";
+        }
+        String term = LocalDate.ofEpochDay(m.startDay) + " to " + LocalDate.ofEpochDay(m.endDay);
+        ExpiryScheduler.Status status = expiry.status(m);
+        return status == ExpiryScheduler.Status.EXPIRED || status == ExpiryScheduler.Status.DUE
+                ? term + " (" + statusLabel(status).toLowerCase(Locale.ROOT) + ")"
+                : term;
+    }
+
+    void showViewMembers() {
+        screens.show("viewMembers", () -> buildBrowser("Member List", "No members registered yet.", members,
+                memberBrowserColumns(), this::showMemberManagement));
+    }
+
+    static List<EntityTableModel.Column<Member>> memberColumns() {
+        return Arrays.asList(
+                EntityTableModel.column("ID", m -> m.id),
+                EntityTableModel.column("Name", m -> m.name),
+                EntityTableModel.column("Age", m -> m.age),
+                EntityTableModel.column("Gender", m -> m.gender),
+                EntityTableModel.column("Plan", m -> m.plan),
+                EntityTableModel.column("Trainer", m -> m.trainer),
+                EntityTableModel.column("Ends", m -> m.endDay == 0 ? null : LocalDate.ofEpochDay(m.endDay)));
+    }
+
+    // Adds each membership's live status, so filtering on "expired" or
+    // "renewal" lists those members
+    private List<EntityTableModel.Column<Member>> memberBrowserColumns() {
+        List<EntityTableModel.Column<Member>> columns = new ArrayList<>(memberColumns());
+        columns.add(EntityTableModel.column("Status", m -> statusLabel(expiry.status(m))));
+        return columns;
+    }
+
+    private static String statusLabel(ExpiryScheduler.Status status) {
+        switch (status) {
+            case EXPIRED:
+                return "Expired";
+            case DUE:
+                return "Renewal due";
+            case ACTIVE:
+                return "Active";
+            default:
+                return null;
+        }
+    }
+
+    void showDeleteMemberForm() {
+        screens.show("deleteMemberForm", this::buildDeleteMemberForm);
+    }
+
+    private ScreenRegistry.Screen buildDeleteMemberForm() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(10, 10, 10, 10);
+
+        JLabel titleLabel = new JLabel("Delete Member");
+        titleLabel.setFont(Theme.HEADING);
+        titleLabel.setForeground(PRIMARY_COLOR);
+
+        SearchPicker<Member> memberPicker = createMemberPicker();
+        JButton deleteButton = createStyledButton("Delete Member");
+        JButton backButton = createStyledButton("Back");
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        panel.add(new JLabel("Find Member:"), gbc);
+        gbc.gridx = 1;
+        panel.add(memberPicker, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        gbc.gridwidth = 2;
+        panel.add(deleteButton, gbc);
+
+        gbc.gridy = 3;
+        panel.add(backButton, gbc);
+
+        deleteButton.addActionListener(e -> {
+            long id = memberPicker.getSelectedId();
+            if (id < 0) {
+                JOptionPane.showMessageDialog(frame, "Please select a member!", "Error", JOptionPane.ERROR_MESSAGE);
+            } else {
+                int confirm = JOptionPane.showConfirmDialog(frame,
+                    "Are you sure you want to delete this member?",
+                    "Confirm Deletion",
+                    JOptionPane.YES_NO_OPTION);
+                if (confirm == JOptionPane.YES_OPTION) {
+                    save(deleteButton, () -> memberService.delete(id), "Member deleted successfully!", this::showMemberManagement);
+                }
+            }
+        });
+        backButton.addActionListener(e -> showMemberManagement());
+
+        JPanel cards = createEmptyOr(panel, "Delete Member", "No members available to delete.", this::showMemberManagement);
+        return new ScreenRegistry.Screen(cards, () -> {
+            showEmptyOr(cards, members.isEmpty());
+            memberPicker.reset();
+        });
+    }
+}
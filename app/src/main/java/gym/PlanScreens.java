@@ -0,0 +1,321 @@
+package gym;
+
+import javax.swing.*;
+import java.awt.*;
+import java.math.BigDecimal;
+import java.util.*;
+
+// Membership plan management: add, update, list and delete plans
+final class PlanScreens extends ScreenGroup {
+    PlanScreens(GymManagementSystem window, Gym gym) {
+        super(window, gym);
+    }
+
+    void showPlanManagement() {
+        screens.show("planManagement", this::buildPlanManagement);
+    }
+
+    private ScreenRegistry.Screen buildPlanManagement() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(15, 15, 15, 15);
+
+        JLabel titleLabel = new JLabel("Membership Plan Management");
+        titleLabel.setFont(Theme.TITLE);
+        titleLabel.setForeground(PRIMARY_COLOR);
+
+        JButton addButton = createStyledButton("Add Plan");
+        JButton viewButton = createStyledButton("View Plans");
+        JButton updateButton = createStyledButton("Update Plan");
+        JButton deleteButton = createStyledButton("Delete Plan");
+        JButton backButton = createStyledButton("Back to Dashboard");
+
+        addButton.addActionListener(e -> showAddPlanForm());
+        viewButton.addActionListener(e -> showViewPlans());
+        updateButton.addActionListener(e -> showUpdatePlanForm());
+        deleteButton.addActionListener(e -> showDeletePlanForm());
+        backButton.addActionListener(e -> window.adminScreens().showAdminMainMenu());
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        panel.add(addButton, gbc);
+        gbc.gridx = 1;
+        panel.add(viewButton, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        panel.add(updateButton, gbc);
+        gbc.gridx = 1;
+        panel.add(deleteButton, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        gbc.gridwidth = 2;
+        panel.add(backButton, gbc);
+
+        return new ScreenRegistry.Screen(panel);
+    }
+
+    void showAddPlanForm() {
+        screens.show("addPlanForm", this::buildAddPlanForm);
+    }
+
+    private ScreenRegistry.Screen buildAddPlanForm() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        JLabel titleLabel = new JLabel("Add New Membership Plan");
+        titleLabel.setFont(Theme.HEADING);
+        titleLabel.setForeground(PRIMARY_COLOR);
+
+        JTextField nameField = new JTextField(20);
+        JTextField durationField = new JTextField(20);
+        JTextField priceField = new JTextField(20);
+        JButton submitButton = createStyledButton("Add Plan");
+        JButton backButton = createStyledButton("Back");
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        panel.add(new JLabel("Plan Name:"), gbc);
+        gbc.gridx = 1;
+        panel.add(nameField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        panel.add(new JLabel("Duration (months):"), gbc);
+        gbc.gridx = 1;
+        panel.add(durationField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        panel.add(new JLabel("Price ($):"), gbc);
+        gbc.gridx = 1;
+        panel.add(priceField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 4;
+        gbc.gridwidth = 1;
+        panel.add(submitButton, gbc);
+        gbc.gridx = 1;
+        panel.add(backButton, gbc);
+
+        submitButton.addActionListener(e -> {
+            if (nameField.getText().isEmpty() || durationField.getText().isEmpty() || priceField.getText().isEmpty()) {
+                JOptionPane.showMessageDialog(frame, "Please fill all fields!", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            int duration;
+            long priceCents;
+            try {
+                duration = Integer.parseInt(durationField.getText().trim());
+                priceCents = Money.parse(priceField.getText());
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(frame, "Duration must be a number and Price must be a valid amount", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            MembershipPlan plan = new MembershipPlan(nameField.getText(), duration, priceCents);
+            save(submitButton, () -> catalog.addPlan(plan), "Plan added successfully!", this::showPlanManagement);
+        });
+
+        backButton.addActionListener(e -> showPlanManagement());
+
+        return new ScreenRegistry.Screen(panel, () -> {
+            nameField.setText("");
+            durationField.setText("");
+            priceField.setText("");
+        });
+    }
+
+    void showUpdatePlanForm() {
+        screens.show("updatePlanForm", this::buildUpdatePlanForm);
+    }
+
+    private ScreenRegistry.Screen buildUpdatePlanForm() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        JLabel titleLabel = new JLabel("Update Membership Plan");
+        titleLabel.setFont(Theme.HEADING);
+        titleLabel.setForeground(PRIMARY_COLOR);
+
+        EntityCombo<MembershipPlan> planCombo = new EntityCombo<>(p -> p.name);
+        JTextField nameField = new JTextField(20);
+        JTextField durationField = new JTextField(20);
+        JTextField priceField = new JTextField(20);
+        JButton submitButton = createStyledButton("Update Plan");
+        JButton backButton = createStyledButton("Back");
+
+        // Load selected plan data
+        Runnable loadSelected = () -> {
+            MembershipPlan p = plans.find(planCombo.getSelectedId());
+            if (p != null) {
+                nameField.setText(p.name);
+                durationField.setText(String.valueOf(p.duration));
+                priceField.setText(Money.format(p.priceCents));
+            }
+        };
+        planCombo.addActionListener(e -> loadSelected.run());
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        panel.add(new JLabel("Select Plan:"), gbc);
+        gbc.gridx = 1;
+        panel.add(planCombo, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        panel.add(new JLabel("Plan Name:"), gbc);
+        gbc.gridx = 1;
+        panel.add(nameField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        panel.add(new JLabel("Duration (months):"), gbc);
+        gbc.gridx = 1;
+        panel.add(durationField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 4;
+        panel.add(new JLabel("Price ($):"), gbc);
+        gbc.gridx = 1;
+        panel.add(priceField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 5;
+        gbc.gridwidth = 1;
+        panel.add(submitButton, gbc);
+        gbc.gridx = 1;
+        panel.add(backButton, gbc);
+
+        submitButton.addActionListener(e -> {
+            long id = planCombo.getSelectedId();
+            if (id >= 0) {
+                int duration;
+                long priceCents;
+                try {
+                    duration = Integer.parseInt(durationField.getText().trim());
+                    priceCents = Money.parse(priceField.getText());
+                } catch (NumberFormatException ex) {
+                    JOptionPane.showMessageDialog(frame, "Duration must be a number and Price must be a valid amount!", "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+
+                MembershipPlan plan = new MembershipPlan(
+                    nameField.getText(),
+                    duration,
+                    priceCents
+                );
+                MembershipPlan current = plans.find(id);
+                if (current != null && !current.name.equals(plan.name)
+                        && !confirmRename(memberService.references().countOnPlan(current.name))) {
+                    return;
+                }
+                saveUpdate(submitButton, () -> catalog.updatePlan(id, plan), "plan", "Plan updated successfully!", this::showPlanManagement);
+            }
+        });
+        backButton.addActionListener(e -> showPlanManagement());
+
+        JPanel cards = createEmptyOr(panel, "Update Membership Plan", "No plans available to update.", this::showPlanManagement);
+        return new ScreenRegistry.Screen(cards, () -> {
+            showEmptyOr(cards, plans.isEmpty());
+            planCombo.reload(plans.snapshot());
+            loadSelected.run();
+        });
+    }
+
+    void showViewPlans() {
+        screens.show("viewPlans", () -> buildBrowser("Membership Plans", "No membership plans available yet.", plans, Arrays.asList(
+                EntityTableModel.column("ID", p -> p.id),
+                EntityTableModel.column("Name", p -> p.name),
+                EntityTableModel.column("Duration (months)", p -> p.duration),
+                EntityTableModel.column("Price ($)", p -> BigDecimal.valueOf(p.priceCents, 2))
+        ), this::showPlanManagement));
+    }
+
+    void showDeletePlanForm() {
+        screens.show("deletePlanForm", this::buildDeletePlanForm);
+    }
+
+    private ScreenRegistry.Screen buildDeletePlanForm() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(10, 10, 10, 10);
+
+        JLabel titleLabel = new JLabel("Delete Membership Plan");
+        titleLabel.setFont(Theme.HEADING);
+        titleLabel.setForeground(PRIMARY_COLOR);
+
+        EntityCombo<MembershipPlan> planCombo = new EntityCombo<>(p -> p.name);
+        JButton deleteButton = createStyledButton("Delete Plan");
+        JButton backButton = createStyledButton("Back");
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        panel.add(new JLabel("Select Plan:"), gbc);
+        gbc.gridx = 1;
+        panel.add(planCombo, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        gbc.gridwidth = 2;
+        panel.add(deleteButton, gbc);
+
+        gbc.gridy = 3;
+        panel.add(backButton, gbc);
+
+        deleteButton.addActionListener(e -> {
+            long id = planCombo.getSelectedId();
+            if (id >= 0) {
+                int confirm = JOptionPane.showConfirmDialog(frame,
+                    "Are you sure you want to delete this plan?",
+                    "Confirm Deletion",
+                    JOptionPane.YES_NO_OPTION);
+                MembershipPlan plan = plans.find(id);
+                if (confirm == JOptionPane.YES_OPTION && plan != null) {
+                    Long replacement = chooseReplacement("plan", plan.name,
+                            memberService.references().countOnPlan(plan.name), plans.snapshot(), id, p -> p.name);
+                    if (replacement != null) {
+                        save(deleteButton, () -> catalog.deletePlan(id, replacement), "Plan deleted successfully!", this::showPlanManagement);
+                    }
+                }
+            }
+        });
+        backButton.addActionListener(e -> showPlanManagement());
+
+        JPanel cards = createEmptyOr(panel, "Delete Membership Plan", "No plans available to delete.", this::showPlanManagement);
+        return new ScreenRegistry.Screen(cards, () -> {
+            showEmptyOr(cards, plans.isEmpty());
+            planCombo.reload(plans.snapshot());
+        });
+    }
+}
@@ -0,0 +1,389 @@
+package gym;
+
+import javax.swing.*;
+import java.awt.*;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.List;
+
+// Product management: add, update, list and delete products
+final class ProductScreens extends ScreenGroup {
+    ProductScreens(GymManagementSystem window, Gym gym) {
+        super(window, gym);
+    }
+
+    void showProductManagement() {
+        screens.show("productManagement", this::buildProductManagement);
+    }
+
+    private ScreenRegistry.Screen buildProductManagement() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(15, 15, 15, 15);
+
+        JLabel titleLabel = new JLabel("Product Management");
+        titleLabel.setFont(Theme.TITLE);
+        titleLabel.setForeground(PRIMARY_COLOR);
+
+        JButton addButton = createStyledButton("Add Product");
+        JButton viewButton = createStyledButton("View Products");
+        JButton updateButton = createStyledButton("Update Product");
+        JButton deleteButton = createStyledButton("Delete Product");
+        JButton backButton = createStyledButton("Back to Dashboard");
+
+        addButton.addActionListener(e -> showAddProductForm());
+        viewButton.addActionListener(e -> showViewProducts());
+        updateButton.addActionListener(e -> showUpdateProductForm());
+        deleteButton.addActionListener(e -> showDeleteProductForm());
+        backButton.addActionListener(e -> window.adminScreens().showAdminMainMenu());
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        panel.add(addButton, gbc);
+        gbc.gridx = 1;
+        panel.add(viewButton, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        panel.add(updateButton, gbc);
+        gbc.gridx = 1;
+        panel.add(deleteButton, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        gbc.gridwidth = 2;
+        panel.add(backButton, gbc);
+
+        return new ScreenRegistry.Screen(panel);
+    }
+
+    void showAddProductForm() {
+        screens.show("addProductForm", this::buildAddProductForm);
+    }
+
+    private ScreenRegistry.Screen buildAddProductForm() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        JLabel titleLabel = new JLabel("Add New Product");
+        titleLabel.setFont(Theme.HEADING);
+        titleLabel.setForeground(PRIMARY_COLOR);
+
+        JTextField nameField = new JTextField(20);
+        JTextField priceField = new JTextField(20);
+        JTextArea descriptionArea = new JTextArea(3, 20);
+        JScrollPane descriptionScroll = new JScrollPane(descriptionArea);
+        JTextField stockField = new JTextField(20);
+        JTextField categoryField = new JTextField(20);
+        JTextField imageField = new JTextField(20);
+        JButton submitButton = createStyledButton("Add Product");
+        JButton backButton = createStyledButton("Back");
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        panel.add(new JLabel("Product Name:"), gbc);
+        gbc.gridx = 1;
+        panel.add(nameField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        panel.add(new JLabel("Price ($):"), gbc);
+        gbc.gridx = 1;
+        panel.add(priceField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        panel.add(new JLabel("Description:"), gbc);
+        gbc.gridx = 1;
+        panel.add(descriptionScroll, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 4;
+        panel.add(new JLabel("Stock (blank if not kept):"), gbc);
+        gbc.gridx = 1;
+        panel.add(stockField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 5;
+        panel.add(new JLabel("Category:"), gbc);
+        gbc.gridx = 1;
+        panel.add(categoryField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 6;
+        panel.add(new JLabel("Image file or URL:"), gbc);
+        gbc.gridx = 1;
+        panel.add(imageField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 7;
+        gbc.gridwidth = 1;
+        panel.add(submitButton, gbc);
+        gbc.gridx = 1;
+        panel.add(backButton, gbc);
+
+        submitButton.addActionListener(e -> {
+            if (nameField.getText().isEmpty() || priceField.getText().isEmpty() || descriptionArea.getText().isEmpty()) {
+                JOptionPane.showMessageDialog(frame, "Please fill all fields!", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            long priceCents;
+            try {
+                priceCents = Money.parse(priceField.getText());
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(frame, "Price must be a valid amount!", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            Integer stock = parseStock(stockField.getText());
+            if (stock == null) {
+                JOptionPane.showMessageDialog(frame, "Stock must be a whole number of at least 0!", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            Product product = new Product(nameField.getText(), priceCents, descriptionArea.getText(), stock,
+                    categoryField.getText().trim(), imageField.getText().trim());
+            save(submitButton, () -> catalog.addProduct(product), "Product added successfully!", this::showProductManagement);
+        });
+
+        backButton.addActionListener(e -> showProductManagement());
+
+        return new ScreenRegistry.Screen(panel, () -> {
+            nameField.setText("");
+            priceField.setText("");
+            descriptionArea.setText("");
+            stockField.setText("");
+            categoryField.setText("");
+            imageField.setText("");
+        });
+    }
+
+    void showUpdateProductForm() {
+        screens.show("updateProductForm", this::buildUpdateProductForm);
+    }
+
+    private ScreenRegistry.Screen buildUpdateProductForm() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        JLabel titleLabel = new JLabel("Update Product");
+        titleLabel.setFont(Theme.HEADING);
+        titleLabel.setForeground(PRIMARY_COLOR);
+
+        EntityCombo<Product> productCombo = new EntityCombo<>(p -> p.name);
+        JTextField nameField = new JTextField(20);
+        JTextField priceField = new JTextField(20);
+        JTextArea descriptionArea = new JTextArea(3, 20);
+        JScrollPane descriptionScroll = new JScrollPane(descriptionArea);
+        JTextField stockField = new JTextField(20);
+        JTextField categoryField = new JTextField(20);
+        JTextField imageField = new JTextField(20);
+        JButton submitButton = createStyledButton("Update Product");
+        JButton backButton = createStyledButton("Back");
+
+        // Load selected product data
+        Runnable loadSelected = () -> {
+            Product p = products.find(productCombo.getSelectedId());
+            if (p != null) {
+                nameField.setText(p.name);
+                priceField.setText(Money.format(p.priceCents));
+                descriptionArea.setText(p.description);
+                stockField.setText(p.tracksStock() ? String.valueOf(p.stock) : "");
+                categoryField.setText(p.category);
+                imageField.setText(p.image);
+            }
+        };
+        productCombo.addActionListener(e -> loadSelected.run());
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        panel.add(new JLabel("Select Product:"), gbc);
+        gbc.gridx = 1;
+        panel.add(productCombo, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        panel.add(new JLabel("Product Name:"), gbc);
+        gbc.gridx = 1;
+        panel.add(nameField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        panel.add(new JLabel("Price ($):"), gbc);
+        gbc.gridx = 1;
+        panel.add(priceField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 4;
+        panel.add(new JLabel("Description:"), gbc);
+        gbc.gridx = 1;
+        panel.add(descriptionScroll, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 5;
+        panel.add(new JLabel("Stock (blank if not kept):"), gbc);
+        gbc.gridx = 1;
+        panel.add(stockField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 6;
+        panel.add(new JLabel("Category:"), gbc);
+        gbc.gridx = 1;
+        panel.add(categoryField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 7;
+        panel.add(new JLabel("Image file or URL:"), gbc);
+        gbc.gridx = 1;
+        panel.add(imageField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 8;
+        gbc.gridwidth = 1;
+        panel.add(submitButton, gbc);
+        gbc.gridx = 1;
+        panel.add(backButton, gbc);
+
+        submitButton.addActionListener(e -> {
+            long id = productCombo.getSelectedId();
+            if (id >= 0) {
+                long priceCents;
+                try {
+                    priceCents = Money.parse(priceField.getText());
+                } catch (NumberFormatException ex) {
+                    JOptionPane.showMessageDialog(frame, "Price must be a valid amount!", "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+
+                Integer stock = parseStock(stockField.getText());
+                if (stock == null) {
+                    JOptionPane.showMessageDialog(frame, "Stock must be a whole number of at least 0!", "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+
+                Product product = new Product(
+                    nameField.getText(),
+                    priceCents,
+                    descriptionArea.getText(),
+                    stock,
+                    categoryField.getText().trim(),
+                    imageField.getText().trim()
+                );
+                saveUpdate(submitButton, () -> catalog.updateProduct(id, product), "product", "Product updated successfully!", this::showProductManagement);
+            }
+        });
+        backButton.addActionListener(e -> showProductManagement());
+
+        JPanel cards = createEmptyOr(panel, "Update Product", "No products available to update.", this::showProductManagement);
+        return new ScreenRegistry.Screen(cards, () -> {
+            showEmptyOr(cards, products.isEmpty());
+            productCombo.reload(products.snapshot());
+            loadSelected.run();
+        });
+    }
+
+    void showViewProducts() {
+        screens.show("viewProducts", () -> buildBrowser("Product List", "No products available yet.", products, Arrays.asList(
+                EntityTableModel.column("ID", p -> p.id),
+                EntityTableModel.column("Name", p -> p.name),
+                EntityTableModel.column("Price ($)", p -> BigDecimal.valueOf(p.priceCents, 2)),
+                EntityTableModel.column("Category", p -> p.category),
+                EntityTableModel.column("Description", p -> p.description),
+                EntityTableModel.column("Stock", p -> p.tracksStock() ? String.valueOf(p.stock) : "-")
+        ), this::showProductManagement));
+    }
+
+    // Blank is Product.UNTRACKED; null if the text is not a count
+    private static Integer parseStock(String text) {
+        if (text.isBlank()) {
+            return Product.UNTRACKED;
+        }
+        try {
+            int stock = Integer.parseInt(text.trim());
+            return stock >= 0 ? stock : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    void showDeleteProductForm() {
+        screens.show("deleteProductForm", this::buildDeleteProductForm);
+    }
+
+    private ScreenRegistry.Screen buildDeleteProductForm() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(10, 10, 10, 10);
+
+        JLabel titleLabel = new JLabel("Delete Product");
+        titleLabel.setFont(Theme.HEADING);
+        titleLabel.setForeground(PRIMARY_COLOR);
+
+        EntityCombo<Product> productCombo = new EntityCombo<>(p -> p.name);
+        JButton deleteButton = createStyledButton("Delete Product");
+        JButton backButton = createStyledButton("Back");
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        panel.add(new JLabel("Select Product:"), gbc);
+        gbc.gridx = 1;
+        panel.add(productCombo, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        gbc.gridwidth = 2;
+        panel.add(deleteButton, gbc);
+
+        gbc.gridy = 3;
+        panel.add(backButton, gbc);
+
+        deleteButton.addActionListener(e -> {
+            long id = productCombo.getSelectedId();
+            if (id >= 0) {
+                int confirm = JOptionPane.showConfirmDialog(frame,
+                    "Are you sure you want to delete this product?",
+                    "Confirm Deletion",
+                    JOptionPane.YES_NO_OPTION);
+                if (confirm == JOptionPane.YES_OPTION) {
+                    save(deleteButton, () -> catalog.deleteProduct(id), "Product deleted successfully!", this::showProductManagement);
+                }
+            }
+        });
+        backButton.addActionListener(e -> showProductManagement());
+
+        JPanel cards = createEmptyOr(panel, "Delete Product", "No products available to delete.", this::showProductManagement);
+        return new ScreenRegistry.Screen(cards, () -> {
+            showEmptyOr(cards, products.isEmpty());
+            productCombo.reload(products.snapshot());
+        });
+    }
+}
@@ -0,0 +1,102 @@
+package gym;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+// QR code images for one window. A code is encoded and drawn on a background
+// task the first time its text is asked for, and the last CAPACITY images are
+// kept, so a payment screen shown again for the same payee and amount (the
+// plan prices, mostly) gets its image at once. Images pushed out go back to a
+// pool by size and are drawn over for the next code of that size instead of
+// allocating a new one. The image a screen shows is always the one asked for
+// last, which is never the one pushed out.
+//
+// render() must be called on the EDT.
+final class QrImages {
+    private static final int CAPACITY = 16;
+    // Codes are drawn at a whole number of pixels per module, as close to
+    // this width as that allows
+    private static final int TARGET_PIXELS = 240;
+
+    private final Tasks tasks;
+    private final Map<String, BufferedImage> recent = new LinkedHashMap<String, BufferedImage>(CAPACITY, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> eldest) {
+            if (size() > CAPACITY) {
+                pool.computeIfAbsent(eldest.getValue().getWidth(), width -> new ConcurrentLinkedQueue<>())
+                        .add(eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+    // Texts being rendered, with whoever is waiting for them
+    private final Map<String, List<Consumer<BufferedImage>>> waiting = new HashMap<>();
+    // Free images by width; taken from by the render tasks
+    private final Map<Integer, Queue<BufferedImage>> pool = new ConcurrentHashMap<>();
+
+    QrImages(Tasks tasks) {
+        this.tasks = tasks;
+    }
+
+    // Hands the code for text to show on the EDT: straight away if it is
+    // kept, otherwise once it is drawn. Nothing is shown if it cannot be.
+    void render(String text, Consumer<BufferedImage> show) {
+        BufferedImage image = recent.get(text);
+        if (image != null) {
+            show.accept(image);
+            return;
+        }
+        List<Consumer<BufferedImage>> callers = waiting.get(text);
+        if (callers != null) {
+            callers.add(show);
+            return;
+        }
+        callers = new ArrayList<>();
+        callers.add(show);
+        waiting.put(text, callers);
+        tasks.run(progress -> draw(QrCode.encode(text, QrCode.Ecc.MEDIUM))).onDone(drawn -> {
+            recent.put(text, drawn);
+            for (Consumer<BufferedImage> caller : waiting.remove(text)) {
+                caller.accept(drawn);
+            }
+        }).onError(error -> waiting.remove(text));
+    }
+
+    private BufferedImage draw(QrCode code) {
+        int modules = code.size + 2 * QrCode.QUIET_ZONE;
+        int scale = Math.max(2, TARGET_PIXELS / modules);
+        int width = modules * scale;
+        Queue<BufferedImage> free = pool.get(width);
+        BufferedImage image = free == null ? null : free.poll();
+        if (image == null) {
+            image = new BufferedImage(width, width, BufferedImage.TYPE_BYTE_BINARY);
+        }
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, width);
+            g.setColor(Color.BLACK);
+            for (int y = 0; y < code.size; y++) {
+                for (int x = 0; x < code.size; x++) {
+                    if (code.get(x, y)) {
+                        g.fillRect((x + QrCode.QUIET_ZONE) * scale, (y + QrCode.QUIET_ZONE) * scale, scale, scale);
+                    }
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+}
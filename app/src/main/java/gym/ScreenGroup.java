@@ -0,0 +1,310 @@
+package gym;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.util.*;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+// Base of the screen classes. Each group of related screens is its own class,
+// created (and so loaded) the first time the window navigates to one of its
+// screens; the window keeps only the welcome and login pages. Subclasses get
+// the window's frame, toast, screen registry and write lane, the gym's
+// services, and the widgets and save path the screens share.
+abstract class ScreenGroup {
+    final GymManagementSystem window;
+    final JFrame frame;
+    final Toast toast;
+    final ScreenRegistry screens;
+    final Tasks tasks;
+    final GymStore store;
+    final MemberService memberService;
+    final CatalogService catalog;
+    final SalesLedger ledger;
+    final Analytics analytics;
+    final ExpiryScheduler expiry;
+    final Attendance attendance;
+    final TrainerAssigner trainerAssigner;
+    final Payments payments;
+    // Read views of the service tables, for lists and combo boxes
+    final GymStore.Table<Member> members;
+    final GymStore.Table<Trainer> trainers;
+    final GymStore.Table<MembershipPlan> plans;
+    final GymStore.Table<Product> products;
+
+    // Color scheme, shared with the UIManager defaults installed by Theme
+    final Color BACKGROUND_COLOR = Theme.BACKGROUND;
+    final Color PRIMARY_COLOR = Theme.PRIMARY;
+    final Color SECONDARY_COLOR = Theme.SECONDARY;
+    final Color TEXT_COLOR = Theme.TEXT;
+
+    ScreenGroup(GymManagementSystem window, Gym gym) {
+        this.window = window;
+        this.frame = window.frame;
+        this.toast = window.toast;
+        this.screens = window.screens;
+        this.tasks = window.tasks;
+        this.store = gym.store;
+        this.memberService = gym.memberService;
+        this.catalog = gym.catalog;
+        this.ledger = gym.ledger;
+        this.analytics = gym.analytics;
+        this.expiry = gym.expiry;
+        this.attendance = gym.attendance;
+        this.trainerAssigner = gym.trainerAssigner;
+        this.payments = gym.payments;
+        members = memberService.table();
+        trainers = catalog.trainers();
+        plans = catalog.plans();
+        products = catalog.products();
+    }
+
+    // Buttons are styled explicitly as well as through the UIManager defaults,
+    // since some system look and feels ignore Button.background. Every value is
+    // a shared Theme constant.
+    static JButton createStyledButton(String text) {
+        JButton button = new JButton(text);
+        button.setBackground(Theme.PRIMARY);
+        button.setForeground(Theme.TEXT);
+        button.setFocusPainted(false);
+        button.setBorder(Theme.BUTTON_BORDER);
+        button.setFont(Theme.STRONG);
+        button.setPreferredSize(Theme.BUTTON_SIZE);
+        return button;
+    }
+
+    // "Any" plus each trainer specialization. Choosing one selects the
+    // least-busy trainer with it in trainerCombo.
+    JComboBox<String> createFocusCombo(EntityCombo<Trainer> trainerCombo) {
+        JComboBox<String> focusCombo = new JComboBox<>();
+        focusCombo.addActionListener(e -> suggestTrainer(focusCombo, trainerCombo));
+        return focusCombo;
+    }
+
+    // Called when the form is shown, after trainerCombo is reloaded; starts
+    // from "Any", i.e. the least-busy trainer overall
+    void reloadFocusCombo(JComboBox<String> focusCombo, EntityCombo<Trainer> trainerCombo) {
+        Vector<String> choices = new Vector<>();
+        choices.add("Any");
+        choices.addAll(trainerAssigner.specializations());
+        focusCombo.setModel(new DefaultComboBoxModel<>(choices));
+        suggestTrainer(focusCombo, trainerCombo);
+    }
+
+    void suggestTrainer(JComboBox<String> focusCombo, EntityCombo<Trainer> trainerCombo) {
+        String focus = focusCombo.getSelectedIndex() <= 0 ? null : (String) focusCombo.getSelectedItem();
+        long id = trainerAssigner.suggest(focus);
+        if (id >= 0) {
+            trainerCombo.select(id);
+        }
+    }
+
+    // Shared list screen: a lazily rendered JTable over a store table with a
+    // column filter; clicking a header sorts by that column
+    <T extends Entity> ScreenRegistry.Screen buildBrowser(String title, String emptyMessage, GymStore.Table<T> table,
+            List<EntityTableModel.Column<T>> columns, Runnable back) {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+
+        JLabel titleLabel = new JLabel(title);
+        titleLabel.setFont(Theme.TITLE);
+        titleLabel.setForeground(PRIMARY_COLOR);
+        titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
+
+        EntityTableModel<T> model = new EntityTableModel<>(table, columns);
+        JTable grid = new JTable(model);
+        grid.setRowHeight(24);
+        grid.setFillsViewportHeight(true);
+        grid.getTableHeader().setReorderingAllowed(false);
+        grid.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = grid.columnAtPoint(e.getPoint());
+                if (column >= 0) {
+                    model.toggleSort(grid.convertColumnIndexToModel(column));
+                }
+            }
+        });
+        JScrollPane scrollPane = new JScrollPane(grid);
+
+        String[] filterChoices = new String[columns.size() + 1];
+        filterChoices[0] = "All columns";
+        for (int i = 0; i < columns.size(); i++) {
+            filterChoices[i + 1] = columns.get(i).name;
+        }
+        JComboBox<String> filterCombo = new JComboBox<>(filterChoices);
+        JTextField filterField = new JTextField(20);
+        JLabel countLabel = new JLabel();
+        countLabel.setForeground(SECONDARY_COLOR);
+
+        Runnable updateCount = () -> {
+            if (model.getTotalCount() == 0) {
+                countLabel.setText(emptyMessage);
+            } else if (model.isFiltered()) {
+                countLabel.setText("Showing " + model.getRowCount() + " of " + model.getTotalCount());
+            } else {
+                countLabel.setText(model.getTotalCount() + " records");
+            }
+        };
+        model.setOnViewChanged(updateCount);
+
+        // Filter after a short pause in typing rather than on every keystroke
+        javax.swing.Timer filterTimer = new javax.swing.Timer(200, e -> model.setFilter(filterCombo.getSelectedIndex() - 1, filterField.getText()));
+        filterTimer.setRepeats(false);
+        filterField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            @Override
+            public void insertUpdate(javax.swing.event.DocumentEvent e) {
+                filterTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(javax.swing.event.DocumentEvent e) {
+                filterTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(javax.swing.event.DocumentEvent e) {
+                filterTimer.restart();
+            }
+        });
+        filterCombo.addActionListener(e -> filterTimer.restart());
+
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        filterPanel.setBackground(BACKGROUND_COLOR);
+        JLabel filterLabel = new JLabel("Filter:");
+        filterLabel.setForeground(SECONDARY_COLOR);
+        filterPanel.add(filterLabel);
+        filterPanel.add(filterCombo);
+        filterPanel.add(filterField);
+        filterPanel.add(countLabel);
+
+        JPanel northPanel = new JPanel(new BorderLayout());
+        northPanel.setBackground(BACKGROUND_COLOR);
+        northPanel.add(titleLabel, BorderLayout.NORTH);
+        northPanel.add(filterPanel, BorderLayout.SOUTH);
+
+        JButton backButton = createStyledButton("Back");
+        backButton.addActionListener(e -> back.run());
+
+        panel.add(northPanel, BorderLayout.NORTH);
+        panel.add(scrollPane, BorderLayout.CENTER);
+        panel.add(backButton, BorderLayout.SOUTH);
+
+        return new ScreenRegistry.Screen(panel, model::refresh);
+    }
+
+    // Update and delete screens are a card pair: the form, or a message when
+    // there is nothing to edit. showEmptyOr picks one each time the screen opens.
+    JPanel createEmptyOr(JPanel form, String title, String message, Runnable back) {
+        JPanel empty = new JPanel(new GridBagLayout());
+        empty.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(10, 10, 10, 10);
+
+        JLabel titleLabel = new JLabel(title);
+        titleLabel.setFont(Theme.HEADING);
+        titleLabel.setForeground(PRIMARY_COLOR);
+        JLabel messageLabel = new JLabel(message);
+        messageLabel.setForeground(TEXT_COLOR);
+        JButton backButton = createStyledButton("Back");
+        backButton.addActionListener(e -> back.run());
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        empty.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        empty.add(messageLabel, gbc);
+
+        gbc.gridy = 2;
+        empty.add(backButton, gbc);
+
+        JPanel cards = new JPanel(new CardLayout());
+        cards.add(form, "form");
+        cards.add(empty, "empty");
+        return cards;
+    }
+
+    static void showEmptyOr(JPanel cards, boolean empty) {
+        ((CardLayout) cards.getLayout()).show(cards, empty ? "empty" : "form");
+    }
+
+    // Applies a change on this window's write lane and waits until the journal
+    // and the sales ledger have it on disk, then shows the message (if any) and moves on, back on the
+    // EDT. The button stays disabled meanwhile so a second click cannot apply
+    // the change twice.
+    void save(JButton source, Runnable change, String message, Runnable next) {
+        source.setEnabled(false);
+        tasks.write(progress -> {
+            change.run();
+            store.sync();
+            ledger.sync();
+            return null;
+        }).onDone(v -> {
+            source.setEnabled(true);
+            if (message != null) {
+                JOptionPane.showMessageDialog(frame, message, "Success", JOptionPane.INFORMATION_MESSAGE);
+            }
+            next.run();
+        }).onError(error -> {
+            source.setEnabled(true);
+            JOptionPane.showMessageDialog(frame, "Could not save: " + error.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
+
+    // save() for an update that returns false when the record has gone,
+    // e.g. deleted from another window, which is then reported as an error
+    void saveUpdate(JButton source, BooleanSupplier update, String what, String message, Runnable next) {
+        save(source, () -> {
+            if (!update.getAsBoolean()) {
+                throw new IllegalStateException("this " + what + " has been deleted");
+            }
+        }, message, next);
+    }
+
+    SearchPicker<Member> createMemberPicker() {
+        return new SearchPicker<>(members, memberService.names(), m -> m.name + " (#" + m.id + ", " + m.plan + ")");
+    }
+
+    // Members keep the plan or trainer they are on by name, so a rename
+    // updates them too
+    boolean confirmRename(int members) {
+        return members == 0 || JOptionPane.showConfirmDialog(frame,
+                "Renaming will also update " + members + " member(s). Continue?",
+                "Confirm Rename",
+                JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION;
+    }
+
+    // Asks where the members of a plan or trainer being deleted should move.
+    // Returns -1 if it has no members, the replacement's id, or null if the
+    // user cancels or there is nothing to move them to.
+    <T extends Entity> Long chooseReplacement(String what, String name, int members, List<T> all, long id,
+            java.util.function.Function<T, String> label) {
+        if (members == 0) {
+            return -1L;
+        }
+        List<T> others = new ArrayList<>(all.size());
+        for (T row : all) {
+            if (row.id != id) {
+                others.add(row);
+            }
+        }
+        if (others.isEmpty()) {
+            JOptionPane.showMessageDialog(frame, members + " member(s) are on " + name + ". Add another " + what
+                    + " to move them to first.", "Error", JOptionPane.ERROR_MESSAGE);
+            return null;
+        }
+        String[] names = new String[others.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = label.apply(others.get(i));
+        }
+        Object choice = JOptionPane.showInputDialog(frame, members + " member(s) are on " + name + ".\nMove them to:",
+                "Reassign Members", JOptionPane.QUESTION_MESSAGE, null, names, names[0]);
+        if (choice == null) {
+            return null;
+        }
+        return others.get(Arrays.asList(names).indexOf(choice)).id;
+    }
+}
@@ -0,0 +1,101 @@
+package gym;
+
+import java.awt.CardLayout;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+
+// Keeps every screen as a card in one CardLayout panel. A screen's component
+// tree is built the first time it is shown; after that, showing it only runs
+// its refresh hook (reload combo models, clear fields) and flips the card.
+class ScreenRegistry {
+    private static final Logger LOG = Logger.getLogger(ScreenRegistry.class.getName());
+
+    static final class Screen {
+        final JComponent view;
+        final Runnable onShow;
+
+        Screen(JComponent view) {
+            this(view, () -> { });
+        }
+
+        Screen(JComponent view, Runnable onShow) {
+            this.view = view;
+            this.onShow = onShow;
+        }
+    }
+
+    // Switch timings for one screen, in nanoseconds. The first visit, which
+    // includes building the screen, is kept apart from later card flips.
+    static final class Timing {
+        long buildNanos;
+        long switches;
+        long totalNanos;
+        long maxNanos;
+        long lastNanos;
+
+        long averageNanos() {
+            return switches == 0 ? 0 : totalNanos / switches;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("build %.2f ms, %d switches, avg %.2f ms, max %.2f ms, last %.2f ms",
+                    buildNanos / 1e6, switches, averageNanos() / 1e6, maxNanos / 1e6, lastNanos / 1e6);
+        }
+    }
+
+    private final CardLayout layout = new CardLayout();
+    private final JPanel cards = new JPanel(layout);
+    private final Map<String, Screen> screens = new LinkedHashMap<>();
+    private final Map<String, Timing> timings = new LinkedHashMap<>();
+
+    JComponent getView() {
+        return cards;
+    }
+
+    void show(String name, Supplier<Screen> builder) {
+        long start = System.nanoTime();
+        Screen screen = screens.get(name);
+        boolean built = screen == null;
+        if (built) {
+            screen = builder.get();
+            screens.put(name, screen);
+            cards.add(screen.view, name);
+        }
+        screen.onShow.run();
+        layout.show(cards, name);
+        cards.revalidate();
+        cards.repaint();
+
+        long elapsed = System.nanoTime() - start;
+        Timing timing = timings.computeIfAbsent(name, k -> new Timing());
+        if (built) {
+            timing.buildNanos = elapsed;
+        } else {
+            timing.switches++;
+            timing.totalNanos += elapsed;
+            timing.maxNanos = Math.max(timing.maxNanos, elapsed);
+            timing.lastNanos = elapsed;
+        }
+        if (LOG.isLoggable(Level.FINE)) {
+            LOG.fine(String.format("screen %s %s in %.2f ms", name, built ? "built" : "shown", elapsed / 1e6));
+        }
+    }
+
+    Map<String, Timing> getTimings() {
+        return timings;
+    }
+
+    String timingReport() {
+        StringBuilder report = new StringBuilder();
+        for (Map.Entry<String, Timing> entry : timings.entrySet()) {
+            report.append(String.format("%-22s %s%n", entry.getKey(), entry.getValue()));
+        }
+        return report.toString();
+    }
+}
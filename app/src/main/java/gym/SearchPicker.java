@@ -0,0 +1,119 @@
+package gym;
+
+import java.awt.BorderLayout;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import javax.swing.DefaultListModel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.ListSelectionModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+// Search field with a short result list underneath, used in place of a combo
+// box holding every record. Each keystroke asks the NameIndex for the top
+// matches; with an empty field the first rows of the table are listed.
+class SearchPicker<T extends Entity> extends JPanel {
+    private static final int RESULTS = 20;
+
+    private static final class Item {
+        final long id;
+        final String text;
+
+        Item(long id, String text) {
+            this.id = id;
+            this.text = text;
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    private final GymStore.Table<T> table;
+    private final NameIndex<T> index;
+    private final Function<T, String> label;
+    private final JTextField field = new JTextField(20);
+    private final DefaultListModel<Item> results = new DefaultListModel<>();
+    private final JList<Item> list = new JList<>(results);
+    private LongConsumer onSelect = id -> { };
+
+    SearchPicker(GymStore.Table<T> table, NameIndex<T> index, Function<T, String> label) {
+        super(new BorderLayout(0, 2));
+        this.table = table;
+        this.index = index;
+        this.label = label;
+
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setVisibleRowCount(6);
+        list.addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                onSelect.accept(getSelectedId());
+            }
+        });
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                refresh();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                refresh();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                refresh();
+            }
+        });
+
+        add(field, BorderLayout.NORTH);
+        add(new JScrollPane(list), BorderLayout.CENTER);
+        refresh();
+    }
+
+    void setOnSelect(LongConsumer onSelect) {
+        this.onSelect = onSelect;
+    }
+
+    // -1 if nothing is selected
+    long getSelectedId() {
+        Item item = list.getSelectedValue();
+        return item == null ? -1 : item.id;
+    }
+
+    void selectFirst() {
+        if (!results.isEmpty()) {
+            list.setSelectedIndex(0);
+        }
+    }
+
+    // Clears the query and selects the first row; used when a cached screen
+    // is shown again
+    void reset() {
+        field.setText("");
+        refresh();
+        selectFirst();
+    }
+
+    void refresh() {
+        String query = field.getText();
+        results.clear();
+        if (query.trim().isEmpty()) {
+            for (T row : table.head(RESULTS)) {
+                results.addElement(new Item(row.id, label.apply(row)));
+            }
+        } else {
+            for (long id : index.search(query, RESULTS)) {
+                T row = table.find(id);
+                if (row != null) {
+                    results.addElement(new Item(id, label.apply(row)));
+                }
+            }
+        }
+    }
+}
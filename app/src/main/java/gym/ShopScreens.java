@@ -0,0 +1,470 @@
+package gym;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.image.BufferedImage;
+import java.util.*;
+import java.util.List;
+
+// The product shop and its checkout. The window's cart holds its units in
+// the inventory from the moment they are added until they are paid for or
+// the shopper leaves the shop. Products are shown in a grid that can be
+// narrowed to one category.
+final class ShopScreens extends ScreenGroup {
+    private static final Dimension CART_PANEL_SIZE = new Dimension(250, 0);
+    private static final Dimension PRODUCT_CELL_SIZE = new Dimension(270, 110);
+    private static final Dimension THUMBNAIL_SIZE = new Dimension(ThumbnailCache.SIZE, ThumbnailCache.SIZE);
+    // About a thousand 64 x 64 thumbnails held strongly; more are kept softly
+    private static final long THUMBNAIL_BYTES = 16L << 20;
+
+    // One click's change to the cart: quantity units of a product added, or
+    // taken out if negative; done is false if the stock was short. A null
+    // name means the cart was emptied.
+    private static final class CartChange {
+        final long productId;
+        final String name;
+        final int quantity;
+        final boolean done;
+
+        CartChange(long productId, String name, int quantity, boolean done) {
+            this.productId = productId;
+            this.name = name;
+            this.quantity = quantity;
+            this.done = done;
+        }
+    }
+
+    private final Cart cart;
+    // Brings the shop page's cart panel up to date; set once the page is built
+    private Runnable refreshCartPanel = () -> { };
+
+    ShopScreens(GymManagementSystem window, Gym gym) {
+        super(window, gym);
+        cart = new Cart(catalog.inventory());
+    }
+
+    void showProductPurchasePage() {
+        screens.show("productPurchasePage", this::buildProductPurchasePage);
+    }
+
+    private ScreenRegistry.Screen buildProductPurchasePage() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+
+        JLabel titleLabel = new JLabel("Our Products");
+        titleLabel.setFont(Theme.TITLE);
+        titleLabel.setForeground(PRIMARY_COLOR);
+        titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
+
+        JComboBox<String> categoryCombo = new JComboBox<>();
+
+        JPanel headerPanel = new JPanel(new BorderLayout(10, 10));
+        headerPanel.setBorder(Theme.PADDING);
+        headerPanel.add(titleLabel, BorderLayout.CENTER);
+        headerPanel.add(categoryCombo, BorderLayout.EAST);
+
+        // The products, as a grid of fixed-size cells. JList paints only the
+        // cells in view with one renderer, so the page costs the same for five
+        // products or five thousand; fixed cell sizes keep it from measuring
+        // every cell to lay the grid out.
+        ProductGridModel gridModel = new ProductGridModel();
+        JList<Product> productGrid = new JList<>(gridModel);
+        productGrid.setLayoutOrientation(JList.HORIZONTAL_WRAP);
+        productGrid.setVisibleRowCount(-1);
+        productGrid.setFixedCellWidth(PRODUCT_CELL_SIZE.width);
+        productGrid.setFixedCellHeight(PRODUCT_CELL_SIZE.height);
+        productGrid.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        productGrid.setBackground(BACKGROUND_COLOR);
+        // Pictures are loaded off the EDT; each one that arrives repaints the
+        // cells in view
+        ThumbnailCache thumbnails = new ThumbnailCache(THUMBNAIL_BYTES, productGrid::repaint);
+        productGrid.setCellRenderer(new ProductCell(thumbnails));
+
+        // The cart, beside the products
+        DefaultListModel<Cart.Line> cartModel = new DefaultListModel<>();
+        JList<Cart.Line> cartList = new JList<>(cartModel);
+        cartList.setBackground(Theme.CARD);
+        cartList.setForeground(SECONDARY_COLOR);
+        cartList.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                    boolean isSelected, boolean cellHasFocus) {
+                Cart.Line line = (Cart.Line) value;
+                String text = line.quantity + " x " + line.name + "  $" + Money.format2(line.cents());
+                return super.getListCellRendererComponent(list, text, index, isSelected, cellHasFocus);
+            }
+        });
+
+        JLabel cartTitle = new JLabel("Your Cart");
+        cartTitle.setFont(Theme.SUBHEADING);
+        cartTitle.setForeground(PRIMARY_COLOR);
+
+        JLabel totalLabel = new JLabel();
+        totalLabel.setFont(Theme.STRONG);
+        totalLabel.setForeground(SECONDARY_COLOR);
+
+        JButton removeButton = createStyledButton("Remove One");
+        removeButton.setPreferredSize(Theme.SMALL_BUTTON_SIZE);
+        JButton emptyButton = createStyledButton("Empty Cart");
+        emptyButton.setPreferredSize(Theme.SMALL_BUTTON_SIZE);
+
+        JPanel cartButtons = new JPanel(new GridLayout(1, 2, 5, 5));
+        cartButtons.add(removeButton);
+        cartButtons.add(emptyButton);
+
+        JPanel cartFooter = new JPanel(new BorderLayout(5, 5));
+        cartFooter.add(totalLabel, BorderLayout.NORTH);
+        cartFooter.add(cartButtons, BorderLayout.SOUTH);
+
+        JScrollPane cartScroll = new JScrollPane(cartList);
+        cartScroll.setBorder(Theme.NO_BORDER);
+
+        JPanel cartPanel = new JPanel(new BorderLayout(5, 5));
+        cartPanel.setBorder(Theme.PADDING);
+        cartPanel.setPreferredSize(CART_PANEL_SIZE);
+        cartPanel.add(cartTitle, BorderLayout.NORTH);
+        cartPanel.add(cartScroll, BorderLayout.CENTER);
+        cartPanel.add(cartFooter, BorderLayout.SOUTH);
+
+        Runnable refreshCart = () -> {
+            cartModel.clear();
+            cartModel.addAll(cart.lines());
+            totalLabel.setText(cart.units() + " item(s), $" + Money.format2(cart.totalCents()));
+        };
+        refreshCartPanel = refreshCart;
+
+        // Clicks only change the cart and queue what changed; the cart panel,
+        // the stock shown and the toast are brought up to date once per frame
+        ChangeQueue<CartChange> changes = new ChangeQueue<>(batch -> {
+            refreshCart.run();
+            productGrid.repaint();
+            int added = 0;
+            String message = null;
+            for (CartChange change : batch) {
+                if (change.name == null) {
+                    message = "Cart emptied";
+                } else if (!change.done) {
+                    message = "Not enough " + change.name + " in stock";
+                } else if (change.quantity > 0) {
+                    added += change.quantity;
+                    message = added == change.quantity
+                            ? change.quantity + " x " + change.name + " added to cart"
+                            : added + " items added to cart";
+                } else {
+                    message = -change.quantity + " x " + change.name + " removed from cart";
+                }
+            }
+            toast.show(message);
+        });
+
+        JSpinner quantitySpinner = new JSpinner(new SpinnerNumberModel(1, 1, 99, 1));
+        JButton addButton = createStyledButton("Add to Cart");
+
+        Runnable addSelected = () -> {
+            Product p = productGrid.getSelectedValue();
+            if (p == null) {
+                toast.show("Choose a product first");
+                return;
+            }
+            int quantity = (Integer) quantitySpinner.getValue();
+            changes.post(new CartChange(p.id, p.name, quantity, cart.add(p, quantity)));
+        };
+        addButton.addActionListener(e -> addSelected.run());
+        // A double click adds one
+        productGrid.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = productGrid.locationToIndex(e.getPoint());
+                if (e.getClickCount() == 2 && index >= 0 && productGrid.getCellBounds(index, index).contains(e.getPoint())) {
+                    Product p = gridModel.getElementAt(index);
+                    changes.post(new CartChange(p.id, p.name, 1, cart.add(p, 1)));
+                }
+            }
+        });
+
+        removeButton.addActionListener(e -> {
+            Cart.Line line = cartList.getSelectedValue();
+            if (line != null) {
+                cart.remove(line.productId, 1);
+                changes.post(new CartChange(line.productId, line.name, -1, true));
+            }
+        });
+        emptyButton.addActionListener(e -> {
+            cart.clear();
+            changes.post(new CartChange(-1, null, 0, true));
+        });
+
+        categoryCombo.addActionListener(e -> {
+            int index = categoryCombo.getSelectedIndex();
+            gridModel.filter(index <= 0 ? null : (String) categoryCombo.getSelectedItem());
+            productGrid.clearSelection();
+        });
+
+        JScrollPane scrollPane = new JScrollPane(productGrid);
+        scrollPane.setBorder(Theme.NO_BORDER);
+        scrollPane.getVerticalScrollBar().setUnitIncrement(PRODUCT_CELL_SIZE.height / 4);
+
+        JPanel centerPanel = new JPanel(new BorderLayout());
+        centerPanel.add(scrollPane, BorderLayout.CENTER);
+        centerPanel.add(cartPanel, BorderLayout.EAST);
+
+        JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        bottomPanel.setBackground(BACKGROUND_COLOR);
+
+        JButton checkoutButton = createStyledButton("Proceed to Checkout");
+        JButton backButton = createStyledButton("Back");
+
+        checkoutButton.addActionListener(e -> {
+            if (cart.isEmpty()) {
+                toast.show("Your cart is empty!");
+            } else {
+                showCheckoutPage();
+            }
+        });
+
+        // Leaving the shop gives the units back
+        backButton.addActionListener(e -> {
+            cart.clear();
+            window.showWelcomePage();
+        });
+
+        bottomPanel.add(backButton);
+        bottomPanel.add(quantitySpinner);
+        bottomPanel.add(addButton);
+        bottomPanel.add(checkoutButton);
+
+        panel.add(headerPanel, BorderLayout.NORTH);
+        panel.add(centerPanel, BorderLayout.CENTER);
+        panel.add(bottomPanel, BorderLayout.SOUTH);
+
+        // The products are read again each time the page is shown, keeping
+        // the chosen category if it still has products; the cart is kept when
+        // coming back from the checkout page
+        return new ScreenRegistry.Screen(panel, () -> {
+            List<Product> all = products.snapshot();
+            Object selected = categoryCombo.getSelectedItem();
+            Set<String> categories = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            for (Product p : all) {
+                if (p.category != null && !p.category.isEmpty()) {
+                    categories.add(p.category);
+                }
+            }
+            gridModel.setProducts(all);
+            categoryCombo.removeAllItems();
+            categoryCombo.addItem("All categories");
+            for (String category : categories) {
+                categoryCombo.addItem(category);
+            }
+            // Selecting fires the combo's listener, which applies the filter
+            categoryCombo.setSelectedItem(selected != null && categories.contains(selected) ? selected : "All categories");
+            refreshCart.run();
+        });
+    }
+
+    // The products shown in the grid: all of them, or those of one category
+    private static final class ProductGridModel extends AbstractListModel<Product> {
+        private List<Product> all = Collections.emptyList();
+        private List<Product> view = Collections.emptyList();
+        private String category;
+
+        void setProducts(List<Product> products) {
+            all = products;
+            apply();
+        }
+
+        // null shows every product
+        void filter(String category) {
+            this.category = category;
+            apply();
+        }
+
+        private void apply() {
+            int before = view.size();
+            if (category == null) {
+                view = all;
+            } else {
+                view = new ArrayList<>();
+                for (Product p : all) {
+                    if (category.equalsIgnoreCase(p.category)) {
+                        view.add(p);
+                    }
+                }
+            }
+            if (before > 0) {
+                fireIntervalRemoved(this, 0, before - 1);
+            }
+            if (!view.isEmpty()) {
+                fireIntervalAdded(this, 0, view.size() - 1);
+            }
+        }
+
+        @Override
+        public int getSize() {
+            return view.size();
+        }
+
+        @Override
+        public Product getElementAt(int index) {
+            return view.get(index);
+        }
+    }
+
+    // Paints one product cell: its picture, name, price, description and
+    // stock. One instance stamps every visible cell, so its components are
+    // reused and only their text and picture change.
+    private final class ProductCell extends JPanel implements ListCellRenderer<Product> {
+        private final ThumbnailCache thumbnails;
+        private BufferedImage thumbnail;
+        private final JLabel nameLabel = new JLabel();
+        private final JLabel priceLabel = new JLabel();
+        private final JLabel descLabel = new JLabel();
+        private final JLabel stockLabel = new JLabel();
+
+        ProductCell(ThumbnailCache thumbnails) {
+            super(new BorderLayout(10, 0));
+            this.thumbnails = thumbnails;
+            setBorder(Theme.PADDING);
+
+            nameLabel.setFont(Theme.SUBHEADING);
+            nameLabel.setForeground(PRIMARY_COLOR);
+            priceLabel.setFont(Theme.STRONG);
+            priceLabel.setForeground(SECONDARY_COLOR);
+            descLabel.setFont(Theme.SMALL);
+            descLabel.setForeground(SECONDARY_COLOR);
+            stockLabel.setFont(Theme.SMALL);
+            stockLabel.setForeground(SECONDARY_COLOR);
+
+            JPanel infoPanel = new JPanel(new GridLayout(4, 1));
+            infoPanel.setOpaque(false);
+            infoPanel.add(nameLabel);
+            infoPanel.add(priceLabel);
+            infoPanel.add(descLabel);
+            infoPanel.add(stockLabel);
+
+            JComponent picture = new JComponent() {
+                @Override
+                protected void paintComponent(Graphics g) {
+                    if (thumbnail != null) {
+                        g.drawImage(thumbnail, (getWidth() - thumbnail.getWidth()) / 2,
+                                (getHeight() - thumbnail.getHeight()) / 2, null);
+                    }
+                }
+            };
+            picture.setPreferredSize(THUMBNAIL_SIZE);
+
+            add(picture, BorderLayout.WEST);
+            add(infoPanel, BorderLayout.CENTER);
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends Product> list, Product p, int index,
+                boolean isSelected, boolean cellHasFocus) {
+            thumbnail = thumbnails.get(p.image);
+            nameLabel.setText(p.name);
+            priceLabel.setText("$" + Money.format(p.priceCents));
+            descLabel.setText(p.description);
+            stockLabel.setText(stockText(p.id));
+            setBackground(isSelected ? Theme.FIELD : Theme.CARD);
+            return this;
+        }
+    }
+
+    void showCheckoutPage() {
+        screens.show("checkoutPage", this::buildCheckoutPage);
+    }
+
+    private ScreenRegistry.Screen buildCheckoutPage() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+
+        JLabel titleLabel = new JLabel("Checkout");
+        titleLabel.setFont(Theme.TITLE);
+        titleLabel.setForeground(PRIMARY_COLOR);
+        titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
+
+        JTextArea cartDetails = new JTextArea();
+        cartDetails.setEditable(false);
+        cartDetails.setBackground(Theme.CARD);
+        cartDetails.setForeground(SECONDARY_COLOR);
+        cartDetails.setFont(Theme.MONOSPACED);
+
+        JScrollPane scrollPane = new JScrollPane(cartDetails);
+        scrollPane.setBorder(Theme.NO_BORDER);
+
+        JPanel paymentPanel = new JPanel(new GridLayout(1, 2, 10, 10));
+        paymentPanel.setBackground(BACKGROUND_COLOR);
+
+        JButton payButton = createStyledButton("Pay Now");
+        JButton backButton = createStyledButton("Back to Products");
+
+        // Products are paid for at the counter. The stock goes down with the
+        // sale, in the same save. The cart's contents are taken out here, on
+        // the EDT, and the order is saved on the writer thread, so the shopper
+        // can go back and fill the cart again meanwhile; if the save fails
+        // the order is put back in the cart.
+        payButton.addActionListener(e -> {
+            Cart.Order order = cart.take();
+            if (order.isEmpty()) {
+                toast.show("Your cart is empty!");
+                return;
+            }
+            payButton.setEnabled(false);
+            tasks.write(progress -> {
+                order.checkout(ledger, SalesLedger.Method.CASH);
+                store.sync();
+                ledger.sync();
+                return null;
+            }).onDone(v -> {
+                payButton.setEnabled(true);
+                JOptionPane.showMessageDialog(frame,
+                    "Payment successful!\nTotal: $" + Money.format2(order.totalCents),
+                    "Thank You",
+                    JOptionPane.INFORMATION_MESSAGE);
+                // Only if the shopper is still waiting on this page
+                if (panel.isShowing()) {
+                    window.showWelcomePage();
+                }
+            }).onError(error -> {
+                payButton.setEnabled(true);
+                cart.putBack(order);
+                refreshCartPanel.run();
+                JOptionPane.showMessageDialog(frame, "Could not save: " + error.getMessage()
+                        + "\nThe items are back in your cart.", "Error", JOptionPane.ERROR_MESSAGE);
+            });
+        });
+
+        backButton.addActionListener(e -> showProductPurchasePage());
+
+        paymentPanel.add(backButton);
+        paymentPanel.add(payButton);
+
+        panel.add(titleLabel, BorderLayout.NORTH);
+        panel.add(scrollPane, BorderLayout.CENTER);
+        panel.add(paymentPanel, BorderLayout.SOUTH);
+
+        return new ScreenRegistry.Screen(panel, () -> {
+            StringBuilder text = new StringBuilder();
+            text.append(String.format("%-30s %5s %10s\n", "Product", "Qty", "Amount"));
+            text.append("---\n");
+
+            for (Cart.Line line : cart.lines()) {
+                text.append(String.format("%-30s %5d $%9s\n", line.name, line.quantity, Money.format2(line.cents())));
+            }
+
+            text.append("---\n");
+            text.append(String.format("%-30s %5d $%9s\n", "TOTAL", cart.units(), Money.format2(cart.totalCents())));
+            cartDetails.setText(text.toString());
+            cartDetails.setCaretPosition(0);
+        });
+    }
+
+    // "In stock: n", or nothing for products whose stock is not tracked
+    private String stockText(long productId) {
+        int available = catalog.inventory().available(productId);
+        if (available == Product.UNTRACKED) {
+            return " ";
+        }
+        return available == 0 ? "Out of stock" : "In stock: " + available;
+    }
+}
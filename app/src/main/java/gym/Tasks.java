@@ -0,0 +1,198 @@
+package gym;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingUtilities;
+
+// Runs work off the event thread and hands the outcome back to it. run() gives
+// each task its own virtual thread and lets a bounded number of them execute
+// at once; write() queues tasks for one virtual thread that runs them in
+// submission order, so one window's saves are applied in the order made.
+// Callbacks are registered on the EDT right after submitting and are always
+// invoked on the EDT, so they can touch components directly:
+//
+//   tasks.write(p -> { members.insert(m); store.sync(); return null; })
+//           .onDone(v -> showMemberManagement())
+//           .onError(this::showError);
+final class Tasks {
+    private static final Logger LOG = Logger.getLogger(Tasks.class.getName());
+
+    interface Work<T> {
+        T run(Progress progress) throws Exception;
+    }
+
+    interface ProgressListener {
+        void progress(long done, long total);
+    }
+
+    private final ExecutorService threads = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("gym-task-", 0).factory());
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("gym-writer").factory());
+    private final Semaphore slots;
+
+    Tasks(int parallelism) {
+        this.slots = new Semaphore(parallelism, true);
+    }
+
+    <T> Task<T> run(Work<T> work) {
+        Task<T> task = new Task<>();
+        threads.execute(() -> task.execute(work, slots));
+        return task;
+    }
+
+    <T> Task<T> write(Work<T> work) {
+        Task<T> task = new Task<>();
+        writer.execute(() -> task.execute(work, null));
+        return task;
+    }
+
+    // Lets queued and running tasks finish; nothing new is accepted
+    void shutdown() {
+        threads.shutdown();
+        writer.shutdown();
+    }
+
+    // After shutdown(): waits up to millis for the tasks to finish
+    boolean awaitTermination(long millis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        return writer.awaitTermination(millis, TimeUnit.MILLISECONDS)
+                && threads.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    static final class Task<T> implements Progress {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicLong lastProgress = new AtomicLong();
+        private final AtomicBoolean progressQueued = new AtomicBoolean();
+        private volatile long progressTotal;
+        private volatile boolean cancelled;
+        private Thread thread;
+        private Consumer<? super T> onDone = value -> { };
+        private Consumer<Throwable> onError = error -> LOG.log(Level.WARNING, "background task failed", error);
+        private Runnable onCancel = () -> { };
+        private ProgressListener onProgress = (done, total) -> { };
+
+        Task<T> onDone(Consumer<? super T> onDone) {
+            this.onDone = onDone;
+            return this;
+        }
+
+        Task<T> onError(Consumer<Throwable> onError) {
+            this.onError = onError;
+            return this;
+        }
+
+        Task<T> onCancel(Runnable onCancel) {
+            this.onCancel = onCancel;
+            return this;
+        }
+
+        // Reports are coalesced: however often the work reports, the EDT sees
+        // at most one pending update carrying the latest numbers
+        Task<T> onProgress(ProgressListener onProgress) {
+            this.onProgress = onProgress;
+            return this;
+        }
+
+        // For callers off the EDT, e.g. to wait for the task to finish
+        CompletableFuture<T> future() {
+            return result;
+        }
+
+        // Stops the task if it has not started and interrupts it if it has.
+        // Work that ignores interrupts still runs to completion, but its result
+        // is dropped and onCancel is called instead of onDone.
+        void cancel() {
+            synchronized (this) {
+                cancelled = true;
+                if (thread != null) {
+                    thread.interrupt();
+                }
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void report(long done, long total) {
+            progressTotal = total;
+            lastProgress.set(done);
+            if (progressQueued.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(() -> {
+                    progressQueued.set(false);
+                    if (!result.isDone()) {
+                        onProgress.progress(lastProgress.get(), progressTotal);
+                    }
+                });
+            }
+        }
+
+        // slots is null on the write lane, which is already one at a time
+        private void execute(Work<T> work, Semaphore slots) {
+            synchronized (this) {
+                thread = Thread.currentThread();
+            }
+            boolean entered = false;
+            try {
+                if (cancelled) {
+                    throw new CancellationException();
+                }
+                if (slots != null) {
+                    slots.acquire();
+                }
+                entered = true;
+                if (cancelled) {
+                    throw new CancellationException();
+                }
+                T value = work.run(this);
+                if (cancelled) {
+                    throw new CancellationException();
+                }
+                finish(value, null);
+            } catch (Throwable e) {
+                // Work that was cancelled may fail in any way on the interrupt,
+                // e.g. with a ClosedByInterruptException from a file channel
+                finish(null, cancelled ? new CancellationException() : e);
+            } finally {
+                if (entered && slots != null) {
+                    slots.release();
+                }
+                // The writer thread is reused; make sure a cancel() racing with
+                // the end of this task cannot interrupt the next one
+                synchronized (this) {
+                    thread = null;
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        private void finish(T value, Throwable error) {
+            if (error == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(error);
+            }
+            SwingUtilities.invokeLater(() -> {
+                if (error instanceof CancellationException) {
+                    onCancel.run();
+                } else if (error != null) {
+                    onError.accept(error);
+                } else {
+                    onDone.accept(value);
+                }
+            });
+        }
+    }
+}
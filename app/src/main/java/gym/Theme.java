@@ -0,0 +1,98 @@
+package gym;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import javax.swing.BorderFactory;
+import javax.swing.UIManager;
+import javax.swing.border.Border;
+import javax.swing.plaf.BorderUIResource;
+import javax.swing.plaf.ColorUIResource;
+import javax.swing.plaf.FontUIResource;
+
+// Colors, fonts and borders of the dark theme, built once and shared by every
+// component. install() registers them as UIManager defaults, so a new field,
+// combo box or text area picks up its styling from the look and feel instead
+// of being walked and restyled after the screen is built. Screens set only
+// the properties that differ from the defaults, always to one of the
+// constants here, so building a screen allocates nothing for styling.
+final class Theme {
+    static final Color BACKGROUND = new Color(30, 30, 30);
+    static final Color CARD = new Color(40, 40, 40);
+    static final Color FIELD = new Color(60, 60, 60);
+    static final Color PRIMARY = new Color(0, 150, 0);
+    static final Color PRIMARY_DARK = PRIMARY.darker();
+    static final Color SECONDARY = new Color(200, 200, 200);
+    static final Color TEXT = Color.BLACK;
+
+    static final Font HEADLINE = new Font("Arial", Font.BOLD, 24);
+    static final Font TITLE = new Font("Arial", Font.BOLD, 20);
+    static final Font HEADING = new Font("Arial", Font.BOLD, 18);
+    static final Font SUBHEADING = new Font("Arial", Font.BOLD, 16);
+    static final Font STRONG = new Font("Arial", Font.BOLD, 14);
+    static final Font BODY = new Font("Arial", Font.PLAIN, 16);
+    static final Font SMALL = new Font("Arial", Font.PLAIN, 12);
+    static final Font MONOSPACED = new Font("Monospaced", Font.PLAIN, 14);
+
+    static final Border BUTTON_BORDER = BorderFactory.createLineBorder(PRIMARY_DARK, 2);
+    static final Border FIELD_BORDER = BorderFactory.createLineBorder(PRIMARY, 1);
+    static final Border PADDING = BorderFactory.createEmptyBorder(10, 10, 10, 10);
+    static final Border NO_BORDER = BorderFactory.createEmptyBorder();
+
+    // Shared sizes; Component.setPreferredSize keeps the instance it is given
+    // but never modifies it
+    static final Dimension BUTTON_SIZE = new Dimension(200, 50);
+    static final Dimension SMALL_BUTTON_SIZE = new Dimension(120, 30);
+    static final Dimension ROW_GAP = new Dimension(0, 10);
+
+    private static boolean installed;
+
+    private Theme() {
+    }
+
+    // Call on the EDT after the look and feel is set and before any component
+    // is created. The values go into the developer defaults layer, so they win
+    // over the look and feel's own and survive a later look and feel switch.
+    static void install() {
+        if (installed) {
+            return;
+        }
+        installed = true;
+
+        // Defaults are wrapped as UI resources so a value set explicitly on a
+        // component is never replaced by them
+        ColorUIResource background = new ColorUIResource(BACKGROUND);
+        ColorUIResource card = new ColorUIResource(CARD);
+        ColorUIResource field = new ColorUIResource(FIELD);
+        ColorUIResource primary = new ColorUIResource(PRIMARY);
+        ColorUIResource text = new ColorUIResource(TEXT);
+
+        UIManager.put("Panel.background", background);
+        UIManager.put("Viewport.background", background);
+        UIManager.put("ScrollPane.background", background);
+        UIManager.put("Label.foreground", text);
+
+        UIManager.put("Button.background", primary);
+        UIManager.put("Button.foreground", text);
+        UIManager.put("Button.font", new FontUIResource(STRONG));
+        UIManager.put("Button.border", new BorderUIResource(BUTTON_BORDER));
+
+        for (String prefix : new String[]{"TextField", "PasswordField"}) {
+            UIManager.put(prefix + ".background", field);
+            UIManager.put(prefix + ".foreground", text);
+            UIManager.put(prefix + ".border", new BorderUIResource(FIELD_BORDER));
+        }
+
+        // The look and feel's own renderer reads these for the popup list, so
+        // combo boxes need no renderer of their own
+        UIManager.put("ComboBox.background", field);
+        UIManager.put("ComboBox.foreground", text);
+        UIManager.put("ComboBox.selectionBackground", primary);
+        UIManager.put("ComboBox.selectionForeground", text);
+
+        UIManager.put("TextArea.background", card);
+        UIManager.put("TextArea.foreground", text);
+        UIManager.put("TextArea.border", new BorderUIResource(PADDING));
+        UIManager.put("TextArea.font", new FontUIResource(MONOSPACED));
+    }
+}
@@ -0,0 +1,199 @@
+package gym;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import javax.swing.SwingUtilities;
+
+// Product pictures scaled down to thumbnails. get() never blocks: it returns
+// the thumbnail if it is held and otherwise queues a load and returns null,
+// and onLoaded runs on the EDT once the load finishes so the caller can
+// repaint. Thumbnails are kept in least-recently-used order up to a budget in
+// bytes; those pushed out stay reachable through soft references until the
+// collector needs the memory, so scrolling back rarely decodes a picture
+// twice while the heap stays bounded however many products there are.
+//
+// Loads run on two daemon threads, newest request first, since the cells
+// just scrolled into view are the ones being looked at; requests beyond
+// MAX_QUEUED are dropped, oldest first, and made again if their cells are
+// painted again. A picture that cannot be read is not tried again.
+//
+// EDT only, apart from the loader threads.
+final class ThumbnailCache {
+    static final int SIZE = 64;
+    private static final int MAX_QUEUED = 64;
+
+    // A soft reference that remembers its key, so cleared ones can be
+    // removed from the map
+    private static final class SoftThumbnail extends SoftReference<BufferedImage> {
+        final String source;
+
+        SoftThumbnail(String source, BufferedImage image, ReferenceQueue<BufferedImage> queue) {
+            super(image, queue);
+            this.source = source;
+        }
+    }
+
+    private final long maxBytes;
+    private final Runnable onLoaded;
+    private final LinkedHashMap<String, BufferedImage> recent = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+    private final Map<String, SoftThumbnail> evicted = new HashMap<>();
+    private final ReferenceQueue<BufferedImage> cleared = new ReferenceQueue<>();
+    private final Set<String> loading = new HashSet<>();
+    private final Set<String> failed = new HashSet<>();
+    private final LinkedBlockingDeque<Runnable> queue = new LinkedBlockingDeque<>() {
+        // Taken from the head, so pushing there makes the pool last-in first-out
+        @Override
+        public boolean offer(Runnable task) {
+            offerFirst(task);
+            return true;
+        }
+    };
+    private final ThreadPoolExecutor loader;
+
+    ThumbnailCache(long maxBytes, Runnable onLoaded) {
+        this.maxBytes = maxBytes;
+        this.onLoaded = onLoaded;
+        loader = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, queue, work -> {
+            Thread thread = new Thread(work, "gym-thumbnails");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // The thumbnail for source, or null while it is loading or if it cannot
+    // be read
+    BufferedImage get(String source) {
+        if (source == null || source.isEmpty()) {
+            return null;
+        }
+        BufferedImage image = recent.get(source);
+        if (image != null) {
+            return image;
+        }
+        SoftThumbnail ref = evicted.remove(source);
+        image = ref == null ? null : ref.get();
+        if (image != null) {
+            put(source, image);
+            return image;
+        }
+        if (!failed.contains(source) && loading.add(source)) {
+            load(source);
+        }
+        return null;
+    }
+
+    // Bytes held by the strongly referenced thumbnails
+    long bytes() {
+        return bytes;
+    }
+
+    private void load(String source) {
+        // Dropped requests are forgotten, so painting their cell asks again
+        while (queue.size() >= MAX_QUEUED) {
+            Runnable dropped = queue.pollLast();
+            if (dropped instanceof Load) {
+                loading.remove(((Load) dropped).source);
+            }
+        }
+        loader.execute(new Load(source));
+    }
+
+    private final class Load implements Runnable {
+        final String source;
+
+        Load(String source) {
+            this.source = source;
+        }
+
+        @Override
+        public void run() {
+            BufferedImage thumbnail;
+            try {
+                thumbnail = scale(read(source));
+            } catch (IOException | RuntimeException e) {
+                thumbnail = null;
+            }
+            BufferedImage loaded = thumbnail;
+            SwingUtilities.invokeLater(() -> {
+                loading.remove(source);
+                if (loaded == null) {
+                    failed.add(source);
+                    return;
+                }
+                put(source, loaded);
+                onLoaded.run();
+            });
+        }
+    }
+
+    private void put(String source, BufferedImage image) {
+        purgeCleared();
+        recent.put(source, image);
+        bytes += sizeOf(image);
+        Iterator<Map.Entry<String, BufferedImage>> eldest = recent.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, BufferedImage> entry = eldest.next();
+            if (entry.getKey().equals(source)) {
+                break;
+            }
+            eldest.remove();
+            bytes -= sizeOf(entry.getValue());
+            evicted.put(entry.getKey(), new SoftThumbnail(entry.getKey(), entry.getValue(), cleared));
+        }
+    }
+
+    private void purgeCleared() {
+        for (Object ref; (ref = cleared.poll()) != null; ) {
+            SoftThumbnail thumbnail = (SoftThumbnail) ref;
+            evicted.remove(thumbnail.source, thumbnail);
+        }
+    }
+
+    private static long sizeOf(BufferedImage image) {
+        return 4L * image.getWidth() * image.getHeight();
+    }
+
+    // A file path, or a URL if it has a scheme
+    private static BufferedImage read(String source) throws IOException {
+        BufferedImage image = source.contains("://")
+                ? ImageIO.read(URI.create(source).toURL())
+                : ImageIO.read(new File(source));
+        if (image == null) {
+            throw new IOException("Not an image: " + source);
+        }
+        return image;
+    }
+
+    // Fits the image in SIZE x SIZE, keeping its proportions
+    private static BufferedImage scale(BufferedImage image) {
+        double factor = Math.min(1.0, (double) SIZE / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * factor));
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = thumbnail.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return thumbnail;
+    }
+}
@@ -0,0 +1,47 @@
+package gym;
+
+import java.awt.Dimension;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JLayeredPane;
+import javax.swing.SwingConstants;
+import javax.swing.Timer;
+
+// A short message shown over the bottom of a frame that fades out on its own,
+// for feedback that should not stop the user. One label per frame is reused;
+// a new message replaces the one showing and restarts its clock. EDT only.
+final class Toast {
+    private static final int SHOW_MILLIS = 2000;
+    private static final int MARGIN = 70;
+
+    private final JFrame frame;
+    private final JLabel label = new JLabel("", SwingConstants.CENTER);
+    private final Timer hide;
+
+    Toast(JFrame frame) {
+        this.frame = frame;
+        label.setOpaque(true);
+        label.setBackground(Theme.CARD);
+        label.setForeground(Theme.SECONDARY);
+        label.setFont(Theme.STRONG);
+        label.setBorder(Theme.FIELD_BORDER);
+        label.setVisible(false);
+        frame.getLayeredPane().add(label, JLayeredPane.POPUP_LAYER);
+        hide = new Timer(SHOW_MILLIS, e -> label.setVisible(false));
+        hide.setRepeats(false);
+    }
+
+    void show(String message) {
+        label.setText(message);
+        // Centred above the bottom edge; placed by hand since the layered
+        // pane has no layout manager
+        Dimension size = label.getPreferredSize();
+        int width = size.width + 40;
+        int height = size.height + 16;
+        JLayeredPane pane = frame.getLayeredPane();
+        label.setBounds((pane.getWidth() - width) / 2, pane.getHeight() - height - MARGIN, width, height);
+        label.setVisible(true);
+        label.repaint();
+        hide.restart();
+    }
+}
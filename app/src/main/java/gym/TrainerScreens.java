@@ -0,0 +1,282 @@
+package gym;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+
+// Trainer management: add, update, list and delete trainers
+final class TrainerScreens extends ScreenGroup {
+    TrainerScreens(GymManagementSystem window, Gym gym) {
+        super(window, gym);
+    }
+
+    void showTrainerManagement() {
+        screens.show("trainerManagement", this::buildTrainerManagement);
+    }
+
+    private ScreenRegistry.Screen buildTrainerManagement() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(15, 15, 15, 15);
+
+        JLabel titleLabel = new JLabel("Trainer Management");
+        titleLabel.setFont(Theme.TITLE);
+        titleLabel.setForeground(PRIMARY_COLOR);
+
+        JButton addButton = createStyledButton("Add Trainer");
+        JButton viewButton = createStyledButton("View Trainers");
+        JButton updateButton = createStyledButton("Update Trainer");
+        JButton deleteButton = createStyledButton("Delete Trainer");
+        JButton backButton = createStyledButton("Back to Dashboard");
+
+        addButton.addActionListener(e -> showAddTrainerForm());
+        viewButton.addActionListener(e -> showViewTrainers());
+        updateButton.addActionListener(e -> showUpdateTrainerForm());
+        deleteButton.addActionListener(e -> showDeleteTrainerForm());
+        backButton.addActionListener(e -> window.adminScreens().showAdminMainMenu());
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        panel.add(addButton, gbc);
+        gbc.gridx = 1;
+        panel.add(viewButton, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        panel.add(updateButton, gbc);
+        gbc.gridx = 1;
+        panel.add(deleteButton, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        gbc.gridwidth = 2;
+        panel.add(backButton, gbc);
+
+        return new ScreenRegistry.Screen(panel);
+    }
+
+    void showAddTrainerForm() {
+        screens.show("addTrainerForm", this::buildAddTrainerForm);
+    }
+
+    private ScreenRegistry.Screen buildAddTrainerForm() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        JLabel titleLabel = new JLabel("Add New Trainer");
+        titleLabel.setFont(Theme.HEADING);
+        titleLabel.setForeground(PRIMARY_COLOR);
+
+        JTextField nameField = new JTextField(20);
+        JTextField specializationField = new JTextField(20);
+        JButton submitButton = createStyledButton("Add Trainer");
+        JButton backButton = createStyledButton("Back");
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        panel.add(new JLabel("Name:"), gbc);
+        gbc.gridx = 1;
+        panel.add(nameField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        panel.add(new JLabel("Specialization:"), gbc);
+        gbc.gridx = 1;
+        panel.add(specializationField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        gbc.gridwidth = 1;
+        panel.add(submitButton, gbc);
+        gbc.gridx = 1;
+        panel.add(backButton, gbc);
+
+        submitButton.addActionListener(e -> {
+            if (nameField.getText().isEmpty() || specializationField.getText().isEmpty()) {
+                JOptionPane.showMessageDialog(frame, "Please fill all fields!", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            Trainer trainer = new Trainer(nameField.getText(), specializationField.getText());
+            save(submitButton, () -> catalog.addTrainer(trainer), "Trainer added successfully!", this::showTrainerManagement);
+        });
+
+        backButton.addActionListener(e -> showTrainerManagement());
+
+        return new ScreenRegistry.Screen(panel, () -> {
+            nameField.setText("");
+            specializationField.setText("");
+        });
+    }
+
+    void showUpdateTrainerForm() {
+        screens.show("updateTrainerForm", this::buildUpdateTrainerForm);
+    }
+
+    private ScreenRegistry.Screen buildUpdateTrainerForm() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        JLabel titleLabel = new JLabel("Update Trainer");
+        titleLabel.setFont(Theme.HEADING);
+        titleLabel.setForeground(PRIMARY_COLOR);
+
+        EntityCombo<Trainer> trainerCombo = new EntityCombo<>(t -> t.name);
+        JTextField nameField = new JTextField(20);
+        JTextField specializationField = new JTextField(20);
+        JButton submitButton = createStyledButton("Update Trainer");
+        JButton backButton = createStyledButton("Back");
+
+        // Load selected trainer data
+        Runnable loadSelected = () -> {
+            Trainer t = trainers.find(trainerCombo.getSelectedId());
+            if (t != null) {
+                nameField.setText(t.name);
+                specializationField.setText(t.specialization);
+            }
+        };
+        trainerCombo.addActionListener(e -> loadSelected.run());
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        panel.add(new JLabel("Select Trainer:"), gbc);
+        gbc.gridx = 1;
+        panel.add(trainerCombo, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        panel.add(new JLabel("Name:"), gbc);
+        gbc.gridx = 1;
+        panel.add(nameField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        panel.add(new JLabel("Specialization:"), gbc);
+        gbc.gridx = 1;
+        panel.add(specializationField, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 4;
+        gbc.gridwidth = 1;
+        panel.add(submitButton, gbc);
+        gbc.gridx = 1;
+        panel.add(backButton, gbc);
+
+        submitButton.addActionListener(e -> {
+            long id = trainerCombo.getSelectedId();
+            if (id >= 0) {
+                Trainer trainer = new Trainer(
+                    nameField.getText(),
+                    specializationField.getText()
+                );
+                Trainer current = trainers.find(id);
+                if (current != null && !current.name.equals(trainer.name)
+                        && !confirmRename(memberService.references().countWithTrainer(current.name))) {
+                    return;
+                }
+                saveUpdate(submitButton, () -> catalog.updateTrainer(id, trainer), "trainer", "Trainer updated successfully!", this::showTrainerManagement);
+            }
+        });
+        backButton.addActionListener(e -> showTrainerManagement());
+
+        JPanel cards = createEmptyOr(panel, "Update Trainer", "No trainers available to update.", this::showTrainerManagement);
+        return new ScreenRegistry.Screen(cards, () -> {
+            showEmptyOr(cards, trainers.isEmpty());
+            trainerCombo.reload(trainers.snapshot());
+            loadSelected.run();
+        });
+    }
+
+    void showViewTrainers() {
+        screens.show("viewTrainers", () -> buildBrowser("Trainer List", "No trainers registered yet.", trainers, Arrays.asList(
+                EntityTableModel.column("ID", t -> t.id),
+                EntityTableModel.column("Name", t -> t.name),
+                EntityTableModel.column("Specialization", t -> t.specialization)
+        ), this::showTrainerManagement));
+    }
+
+    void showDeleteTrainerForm() {
+        screens.show("deleteTrainerForm", this::buildDeleteTrainerForm);
+    }
+
+    private ScreenRegistry.Screen buildDeleteTrainerForm() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(10, 10, 10, 10);
+
+        JLabel titleLabel = new JLabel("Delete Trainer");
+        titleLabel.setFont(Theme.HEADING);
+        titleLabel.setForeground(PRIMARY_COLOR);
+
+        EntityCombo<Trainer> trainerCombo = new EntityCombo<>(t -> t.name);
+        JButton deleteButton = createStyledButton("Delete Trainer");
+        JButton backButton = createStyledButton("Back");
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        panel.add(new JLabel("Select Trainer:"), gbc);
+        gbc.gridx = 1;
+        panel.add(trainerCombo, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        gbc.gridwidth = 2;
+        panel.add(deleteButton, gbc);
+
+        gbc.gridy = 3;
+        panel.add(backButton, gbc);
+
+        deleteButton.addActionListener(e -> {
+            long id = trainerCombo.getSelectedId();
+            if (id >= 0) {
+                int confirm = JOptionPane.showConfirmDialog(frame,
+                    "Are you sure you want to delete this trainer?",
+                    "Confirm Deletion",
+                    JOptionPane.YES_NO_OPTION);
+                Trainer trainer = trainers.find(id);
+                if (confirm == JOptionPane.YES_OPTION && trainer != null) {
+                    Long replacement = chooseReplacement("trainer", trainer.name,
+                            memberService.references().countWithTrainer(trainer.name), trainers.snapshot(), id, t -> t.name);
+                    if (replacement != null) {
+                        save(deleteButton, () -> catalog.deleteTrainer(id, replacement), "Trainer deleted successfully!", this::showTrainerManagement);
+                    }
+                }
+            }
+        });
+        backButton.addActionListener(e -> showTrainerManagement());
+
+        JPanel cards = createEmptyOr(panel, "Delete Trainer", "No trainers available to delete.", this::showTrainerManagement);
+        return new ScreenRegistry.Screen(cards, () -> {
+            showEmptyOr(cards, trainers.isEmpty());
+            trainerCombo.reload(trainers.snapshot());
+        });
+    }
+}
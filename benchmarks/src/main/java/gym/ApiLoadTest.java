@@ -0,0 +1,169 @@
+package gym;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Load test for ApiServer on a local port: client threads, sharing one
+// keep-alive HttpClient, send a mix of member lookups, name searches,
+// check-ins, checkouts and member updates. Every response must have the
+// expected status, and the ledger must hold exactly the checkouts that
+// succeeded. Then the same updates are timed one request each and as a
+// single batch, and the server's per-route latencies are printed.
+//
+//   java -cp benchmarks/target/benchmarks.jar gym.ApiLoadTest [clients] [requests per client]
+class ApiLoadTest {
+    private static final int MEMBERS = 20000;
+    private static final int BATCH = 50;
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        BenchmarkData data = new BenchmarkData();
+        try {
+            run(data, clients, requests);
+        } finally {
+            data.close();
+        }
+    }
+
+    private static void run(BenchmarkData data, int clients, int requests) throws Exception {
+        long[] ids = data.addMembers(MEMBERS);
+        data.members.indexNames();
+        for (int i = 0; i < 10; i++) {
+            data.catalog.addProduct(BenchmarkData.product(i));
+        }
+        SalesLedger ledger = new SalesLedger(data.dir.resolve("ledger"));
+        ledger.open();
+        GymStore.Table<Member> table = data.members.table();
+        Attendance attendance = new Attendance(data.dir.resolve("attendance"), table,
+                new ExpiryScheduler(table, Clock.systemDefaultZone(), null), Clock.systemDefaultZone());
+        attendance.open();
+        TrainerAssigner trainerAssigner = new TrainerAssigner();
+        trainerAssigner.start(data.catalog.trainers(), table);
+        // A gateway that answers at once, so the figures are the server's own
+        Payments payments = new Payments(new SimulatedGateway(0, 0), 2000, 4, 200);
+        ApiServer server = new ApiServer(data.store, data.members, data.catalog, ledger, attendance, trainerAssigner,
+                payments, null);
+        int port = server.start("localhost", 0);
+        String base = "http://localhost:" + port;
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        long[][] latencies = new long[clients][requests];
+        AtomicLong checkouts = new AtomicLong();
+        List<Throwable> failures = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            int id = c;
+            threads.add(Thread.ofVirtual().start(() -> {
+                try {
+                    start.await();
+                    work(client, base, ids, new SplittableRandom(id), latencies[id], checkouts);
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            }));
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - began;
+        if (!failures.isEmpty()) {
+            failures.get(0).printStackTrace();
+            throw new AssertionError(failures.size() + " client(s) failed");
+        }
+        ledger.sync();
+        check(ledger.transactionCount() == checkouts.get(),
+                "ledger holds " + ledger.transactionCount() + " sales, expected " + checkouts.get());
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("%d clients x %d requests: %.0f requests/s, client p50 %.2f ms, p99 %.2f ms%n",
+                clients, requests, (double) clients * requests * 1e9 / elapsed,
+                all[all.length / 2] / 1e6, all[(int) (all.length * 0.99)] / 1e6);
+
+        // The same updates, one request each and then as one batch
+        long single = System.nanoTime();
+        for (int i = 0; i < BATCH; i++) {
+            send(client, "PUT", base + "/api/members/" + ids[i], memberJson(i), 200);
+        }
+        single = System.nanoTime() - single;
+        StringBuilder batch = new StringBuilder("[");
+        for (int i = 0; i < BATCH; i++) {
+            batch.append(i > 0 ? "," : "").append("{\"method\":\"PUT\",\"path\":\"/api/members/").append(ids[i])
+                    .append("\",\"body\":").append(memberJson(i)).append('}');
+        }
+        long batched = System.nanoTime();
+        String response = send(client, "POST", base + "/api/batch", batch.append(']').toString(), 200);
+        batched = System.nanoTime() - batched;
+        check(!response.contains("\"status\":4") && !response.contains("\"status\":5"), "batch had failures: " + response);
+        System.out.printf("%d updates: %.1f ms one by one, %.1f ms as one batch%n", BATCH, single / 1e6, batched / 1e6);
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> routes = (Map<String, Object>) server.metrics().get("routes");
+        routes.forEach((route, report) -> System.out.printf("  %-28s %s%n", route, report));
+
+        server.stop();
+        payments.close();
+        attendance.close();
+        ledger.close();
+    }
+
+    private static void work(HttpClient client, String base, long[] ids, SplittableRandom random, long[] latencies,
+            AtomicLong checkouts) throws Exception {
+        for (int r = 0; r < latencies.length; r++) {
+            long id = ids[random.nextInt(ids.length)];
+            int kind = random.nextInt(100);
+            long began = System.nanoTime();
+            if (kind < 60) {
+                send(client, "GET", base + "/api/members/" + id, null, 200);
+            } else if (kind < 75) {
+                send(client, "GET", base + "/api/members?q=" + (kind % 2 == 0 ? "jo" : "emma") + "&limit=20", null, 200);
+            } else if (kind < 90) {
+                send(client, "POST", base + "/api/checkins", "{\"memberId\":" + id + "}", 200);
+            } else if (kind < 95) {
+                send(client, "POST", base + "/api/checkout",
+                        "{\"method\":\"CARD\",\"paymentKey\":\"" + UUID.randomUUID() + "\",\"cardNumber\":\"4111111111111111\","
+                        + "\"items\":[{\"productId\":" + (1 + random.nextInt(10)) + ",\"quantity\":2}]}", 201);
+                checkouts.incrementAndGet();
+            } else {
+                send(client, "PUT", base + "/api/members/" + id, memberJson((int) id), 200);
+            }
+            latencies[r] = System.nanoTime() - began;
+        }
+    }
+
+    private static String memberJson(int i) {
+        Member m = BenchmarkData.member(i);
+        return "{\"name\":\"" + m.name + "\",\"age\":" + m.age + ",\"gender\":\"" + m.gender + "\",\"plan\":\"" + m.plan
+                + "\",\"trainer\":\"" + m.trainer + "\"}";
+    }
+
+    private static String send(HttpClient client, String method, String url, String body, int expected) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url));
+        request.method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        check(response.statusCode() == expected, method + " " + url + " gave " + response.statusCode() + ": " + response.body());
+        return response.body();
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package gym;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+// Shared setup for the JMH benchmarks: a store in a temporary directory with
+// the app's four tables, filled with generated records.
+final class BenchmarkData {
+    private static final String[] FIRST = {
+        "John", "Jane", "Mike", "Sarah", "David", "Emma", "Chris", "Olivia", "Daniel", "Sophia",
+        "James", "Mia", "Robert", "Ava", "Michael", "Isabella", "William", "Emily", "Thomas", "Grace"
+    };
+    private static final String[] LAST = {
+        "Doe", "Smith", "Johnson", "Brown", "Jones", "Garcia", "Miller", "Davis", "Wilson", "Moore",
+        "Taylor", "Anderson", "Thomas", "Jackson", "White", "Harris", "Martin", "Thompson", "Clark", "Lewis"
+    };
+    private static final String[] GENDERS = {"Male", "Female", "Other"};
+    private static final String[] PLANS = {"Basic", "Standard", "Premium", "Annual"};
+    private static final String[] TRAINERS = {"John Doe", "Jane Smith", "Mike Johnson"};
+
+    final Path dir;
+    final GymStore store;
+    final MemberService members;
+    final CatalogService catalog;
+
+    BenchmarkData() {
+        try {
+            dir = Files.createTempDirectory("gym-bench");
+            store = new GymStore(dir);
+            GymStore.Table<Member> memberTable = store.table(1, Codecs.MEMBER);
+            GymStore.Table<Trainer> trainerTable = store.table(2, Codecs.TRAINER);
+            GymStore.Table<MembershipPlan> planTable = store.table(3, Codecs.PLAN);
+            members = new MemberService(store, memberTable,
+                    new MemberReferences(store, memberTable, trainerTable, planTable));
+            catalog = new CatalogService(store, members, trainerTable, planTable,
+                    store.table(4, Codecs.PRODUCT));
+            store.open();
+            // Members must name an existing plan and trainer
+            for (String plan : PLANS) {
+                catalog.addPlan(new MembershipPlan(plan, 1, 3000));
+            }
+            for (String trainer : TRAINERS) {
+                catalog.addTrainer(new Trainer(trainer, "General"));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Adds count members and returns their ids
+    long[] addMembers(int count) {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = members.add(member(i));
+        }
+        return ids;
+    }
+
+    // Unique names made of common first and last names plus a number, so
+    // prefix searches hit many records as they would in a real gym
+    static Member member(int i) {
+        String name = FIRST[i % FIRST.length] + " " + LAST[(i / FIRST.length) % LAST.length] + " " + i;
+        return new Member(name, 18 + i % 50, GENDERS[i % GENDERS.length],
+                PLANS[i % PLANS.length], TRAINERS[i % TRAINERS.length]);
+    }
+
+    static Product product(int i) {
+        return new Product("Product " + i, 100 + (i * 37L) % 20000, "Benchmark product " + i);
+    }
+
+    void close() {
+        try {
+            store.sync();
+            store.close();
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package gym;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The checkout page's total and sale lines over a cart holding size units of
+// a handful of products, and adding and removing one unit against the
+// inventory's reservations
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckoutBenchmark {
+    private static final int PRODUCTS = 5;
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    private BenchmarkData data;
+    private Product[] products;
+    private Cart cart;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = new BenchmarkData();
+        products = new Product[PRODUCTS];
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product p = BenchmarkData.product(i);
+            data.catalog.addProduct(p);
+            products[i] = p;
+        }
+        cart = new Cart(data.catalog.inventory());
+        for (int i = 0; i < size; i++) {
+            cart.add(products[i % PRODUCTS], 1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cart.clear();
+        data.close();
+    }
+
+    @Benchmark
+    public long cartTotal() {
+        return cart.totalCents();
+    }
+
+    @Benchmark
+    public List<SalesLedger.Line> saleLines() {
+        return cart.saleLines();
+    }
+
+    @Benchmark
+    public int addThenRemove() {
+        Product p = products[next];
+        next = next + 1 == PRODUCTS ? 0 : next + 1;
+        cart.add(p, 1);
+        return cart.remove(p.id, 1);
+    }
+}
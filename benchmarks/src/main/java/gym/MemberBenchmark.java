@@ -0,0 +1,68 @@
+package gym;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Member add, update and delete through MemberService, including journaling
+// and the name index, against a table already holding size members. Add and
+// delete are measured as a pair so the table stays at size throughout.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemberBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    private BenchmarkData data;
+    private long[] ids;
+    private int next;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = new BenchmarkData();
+        ids = data.addMembers(size);
+        data.members.indexNames();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        data.close();
+    }
+
+    @Benchmark
+    public long addThenDelete() {
+        long id = data.members.add(BenchmarkData.member(size + counter++));
+        data.members.delete(id);
+        return id;
+    }
+
+    @Benchmark
+    public boolean update() {
+        long id = ids[next];
+        next = next + 1 == ids.length ? 0 : next + 1;
+        return data.members.update(id, BenchmarkData.member(counter++));
+    }
+
+    @Benchmark
+    public Member findById() {
+        long id = ids[next];
+        next = next + 1 == ids.length ? 0 : next + 1;
+        return data.members.find(id);
+    }
+}
@@ -0,0 +1,71 @@
+package gym;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// The member list screen's table model with size members. visibleRows is
+// what JTable asks for when it paints one screenful at some scroll position;
+// the sort and filter benchmarks are the background work behind a header
+// click or a filter keystroke.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemberListBenchmark {
+    private static final int VISIBLE_ROWS = 25;
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    private BenchmarkData data;
+    private EntityTableModel<Member> model;
+    private int top;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = new BenchmarkData();
+        data.addMembers(size);
+        model = new EntityTableModel<>(data.members.table(), MemberScreens.memberColumns());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        data.close();
+    }
+
+    @Benchmark
+    public void visibleRows(Blackhole blackhole) {
+        top = (top + 7919) % Math.max(1, model.getRowCount() - VISIBLE_ROWS);
+        int columns = model.getColumnCount();
+        for (int row = top; row < top + VISIBLE_ROWS; row++) {
+            for (int column = 0; column < columns; column++) {
+                blackhole.consume(model.getValueAt(row, column));
+            }
+        }
+    }
+
+    @Benchmark
+    public long[] sortByName() {
+        return model.computeView(data.members.table().toArray(), 1, true, -1, "");
+    }
+
+    @Benchmark
+    public long[] filterAllColumns() {
+        return model.computeView(data.members.table().toArray(), -1, true, -1, "smith");
+    }
+}
@@ -0,0 +1,87 @@
+package gym;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Finding a record by name. streamScan is how the admission form used to
+// resolve the chosen plan (plans.stream().filter(p -> p.name.equals(plan))),
+// run over a list of size members; the others are what the app does now:
+// the form keeps ids, and type-ahead goes through the name index.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameLookupBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    private BenchmarkData data;
+    private List<Member> list;
+    private long[] ids;
+    private String[] names;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = new BenchmarkData();
+        ids = data.addMembers(size);
+        data.members.indexNames();
+        list = data.members.list();
+        // A fixed spread of targets, so every size scans about half the list
+        names = new String[1024];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = list.get((int) ((long) i * 7919 % size)).name;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        data.close();
+    }
+
+    private String nextName() {
+        String name = names[next];
+        next = (next + 1) & (names.length - 1);
+        return name;
+    }
+
+    @Benchmark
+    public Member streamScan() {
+        String name = nextName();
+        return list.stream().filter(m -> m.name.equals(name)).findFirst().orElse(null);
+    }
+
+    @Benchmark
+    public Member findById() {
+        long id = ids[next];
+        next = (next + 1) % ids.length;
+        return data.members.find(id);
+    }
+
+    // A full name: every token must match, driven by the rarest one
+    @Benchmark
+    public long[] indexSearchFullName() {
+        return data.members.search(nextName(), 20);
+    }
+
+    // A short prefix shared by many members, as typed into the picker
+    @Benchmark
+    public long[] indexSearchPrefix() {
+        return data.members.search("jo", 20);
+    }
+}
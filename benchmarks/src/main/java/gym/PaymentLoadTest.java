@@ -0,0 +1,208 @@
+package gym;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Load test for Payments against the simulated gateway: payments admissions
+// start at once, each one paid for by two callers together, like a
+// double-clicked "Pay Now". The gateway is slow enough that some calls time
+// out and fails often, half the time after taking the payment. One card in
+// 25 does not pass the Luhn check and is declined, and one payment in 40
+// fails in its commit after being charged. Payments that still fail after
+// their retries are paid again with the same key, as a user trying again
+// would, until none are left. Afterwards:
+//
+//   - both callers of a payment got the same future;
+//   - each approved payment was charged and its member added exactly once;
+//   - declined payments were not charged and added nobody;
+//   - a failed commit was charged once and not run again when paid again;
+//   - the ledger holds one sale per approved payment.
+//
+// core's PaymentsTest runs a bounded version under mvn test.
+//
+//   java -cp benchmarks/target/benchmarks.jar gym.PaymentLoadTest [payments] [latency ms] [failure rate] [timeout ms]
+class PaymentLoadTest {
+    private static final String GOOD_CARD = "4111111111111111";
+    private static final String BAD_CARD = "4111111111111112";
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        long latency = args.length > 1 ? Long.parseLong(args[1]) : 50;
+        double failureRate = args.length > 2 ? Double.parseDouble(args[2]) : 0.2;
+        long timeout = args.length > 3 ? Long.parseLong(args[3]) : 70;
+        BenchmarkData data = new BenchmarkData();
+        try {
+            run(data, count, latency, failureRate, timeout);
+        } finally {
+            data.close();
+        }
+    }
+
+    private static void run(BenchmarkData data, int count, long latency, double failureRate, long timeout)
+            throws Exception {
+        SalesLedger ledger = new SalesLedger(data.dir.resolve("ledger"));
+        ledger.open();
+        SimulatedGateway gateway = new SimulatedGateway(latency, failureRate);
+        Payments payments = new Payments(gateway, timeout, 4, 10);
+        AtomicIntegerArray commits = new AtomicIntegerArray(count);
+        long[] latencies = new long[count];
+        boolean[] declined = new boolean[count];
+        boolean[] paid = new boolean[count];
+        boolean[] broken = new boolean[count];
+        int rounds = 0;
+        int retried = 0;
+
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            pending.add(i);
+        }
+        long began = System.nanoTime();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (!pending.isEmpty()) {
+                check(++rounds <= 20, pending.size() + " payment(s) still failing after 20 rounds");
+                if (rounds > 1) {
+                    retried += pending.size();
+                }
+                List<List<CompletableFuture<?>>> futures = pay(payments, data, ledger, callers, pending, commits, latencies,
+                        rounds == 1);
+                List<Integer> failed = new ArrayList<>();
+                for (int n = 0; n < pending.size(); n++) {
+                    int i = pending.get(n);
+                    CompletableFuture<?> first = futures.get(n).get(0);
+                    check(first == futures.get(n).get(1), "payment " + i + " was started twice");
+                    try {
+                        first.join();
+                        paid[i] = true;
+                    } catch (Exception e) {
+                        Throwable cause = Payments.unwrap(e);
+                        if (cause instanceof PaymentGateway.DeclinedException) {
+                            declined[i] = true;
+                        } else if (cause instanceof Payments.CommitFailedException) {
+                            broken[i] = true;
+                        } else {
+                            failed.add(i);
+                        }
+                    }
+                }
+                pending = failed;
+            }
+        }
+        long elapsed = System.nanoTime() - began;
+        ledger.sync();
+
+        // Paying again after a failed commit gets the same failure
+        for (int i = 0; i < count; i++) {
+            if (broken[i]) {
+                PaymentGateway.Request request = new PaymentGateway.Request("payment-" + i, SalesLedger.Method.CARD,
+                        3000 + i, GOOD_CARD);
+                CompletableFuture<Long> again = payments.charge(request, authorization -> {
+                    throw new AssertionError("commit run again");
+                });
+                try {
+                    again.join();
+                    check(false, "payment " + i + " succeeded after its commit failed");
+                } catch (Exception e) {
+                    check(Payments.unwrap(e) instanceof Payments.CommitFailedException,
+                            "payment " + i + " failed again with " + Payments.unwrap(e));
+                }
+            }
+        }
+
+        int approved = 0;
+        int failedCommits = 0;
+        for (int i = 0; i < count; i++) {
+            check((paid[i] ? 1 : 0) + (declined[i] ? 1 : 0) + (broken[i] ? 1 : 0) == 1,
+                    "payment " + i + " neither paid, declined nor failed in its commit");
+            check(declined[i] == (i % 25 == 0), "payment " + i + (declined[i] ? " declined" : " approved"));
+            check(broken[i] == (!declined[i] && breaks(i)), "payment " + i
+                    + (broken[i] ? " failed in its commit" : " committed"));
+            check(commits.get(i) == (declined[i] ? 0 : 1), "payment " + i + " committed " + commits.get(i) + " times");
+            if (paid[i]) {
+                approved++;
+            }
+            if (broken[i]) {
+                failedCommits++;
+            }
+        }
+        check(gateway.charges() == approved + failedCommits, gateway.charges() + " charges for " + approved
+                + " approved payments and " + failedCommits + " failed commits");
+        check(data.members.table().size() == approved, data.members.table().size() + " members for " + approved
+                + " approved payments");
+        check(ledger.transactionCount() == approved, ledger.transactionCount() + " sales for " + approved
+                + " approved payments");
+        ledger.close();
+        payments.close();
+
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%d payments: %.0f payments/s, first round p50 %.1f ms, p99 %.1f ms, max %.1f ms, "
+                        + "%d gateway calls, %d paid again by hand over %d rounds, %d declined, %d failed commits, "
+                        + "each charged and committed once%n",
+                count, count * 1e9 / elapsed, sorted[count / 2] / 1e6, sorted[(int) (count * 0.99)] / 1e6,
+                sorted[count - 1] / 1e6, gateway.calls(), retried, rounds, count - approved - failedCommits,
+                failedCommits);
+    }
+
+    // Starts the pending payments, two callers each, all released together.
+    // Returns both callers' futures per payment.
+    private static List<List<CompletableFuture<?>>> pay(Payments payments, BenchmarkData data, SalesLedger ledger,
+            ExecutorService callers, List<Integer> pending, AtomicIntegerArray commits, long[] latencies,
+            boolean timed) throws InterruptedException {
+        List<List<CompletableFuture<?>>> futures = new ArrayList<>(pending.size());
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(pending.size() * 2);
+        for (int n = 0; n < pending.size(); n++) {
+            int i = pending.get(n);
+            List<CompletableFuture<?>> both = Collections.synchronizedList(new ArrayList<>());
+            futures.add(both);
+            PaymentGateway.Request request = new PaymentGateway.Request("payment-" + i, SalesLedger.Method.CARD,
+                    3000 + i, i % 25 == 0 ? BAD_CARD : GOOD_CARD);
+            Member member = BenchmarkData.member(i);
+            for (int click = 0; click < 2; click++) {
+                callers.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    long began = System.nanoTime();
+                    CompletableFuture<Long> future = payments.charge(request, authorization -> {
+                        commits.incrementAndGet(i);
+                        if (breaks(i)) {
+                            throw new IllegalStateException("plan deleted");
+                        }
+                        long id = data.members.add(member);
+                        ledger.record(request.method, Collections.singletonList(new SalesLedger.Line(
+                                SalesLedger.Kind.MEMBERSHIP, 1, "Basic", 1, request.amountCents)));
+                        return id;
+                    });
+                    if (timed) {
+                        future.whenComplete((id, error) -> latencies[i] = System.nanoTime() - began);
+                    }
+                    both.add(future);
+                    started.countDown();
+                });
+            }
+        }
+        start.countDown();
+        started.await();
+        return futures;
+    }
+
+    private static boolean breaks(int payment) {
+        return payment % 40 == 7;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package gym;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Stress test for MemberService and CatalogService: threads doing a random mix
+// of adds, updates, deletes, lookups, list copies and name searches against
+// one store, like many front-desk windows at once. Invariants checked:
+//
+//   - every thread owns the members it added, and a lookup of one always
+//     returns exactly the version it last wrote (or null once deleted);
+//   - list copies never hold nulls or duplicate ids, and a row found by id
+//     carries that id;
+//   - afterwards the member count is what the threads account for, the name
+//     index finds every live member by its current name and no other;
+//   - reopening the store from disk gives back exactly the rows in memory,
+//     including the shared members every thread kept overwriting, so the
+//     journal order matches the order the changes were applied in.
+//
+//
+// core's ConcurrentServicesTest runs a bounded version of the same workload
+// under mvn test.
+//
+//   java -cp benchmarks/target/benchmarks.jar gym.ServiceStressTest [threads] [operations per thread]
+class ServiceStressTest {
+    private static final int SHARED = 64;
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+        Path dir = Files.createTempDirectory("gym-stress");
+        try {
+            run(dir, threads, operations);
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static void run(Path dir, int threads, int operations) throws Exception {
+        GymStore store = new GymStore(dir);
+        GymStore.Table<Member> memberTable = store.table(1, Codecs.MEMBER);
+        GymStore.Table<Trainer> trainerTable = store.table(2, Codecs.TRAINER);
+        GymStore.Table<MembershipPlan> planTable = store.table(3, Codecs.PLAN);
+        MemberService members = new MemberService(store, memberTable,
+                new MemberReferences(store, memberTable, trainerTable, planTable));
+        CatalogService catalog = new CatalogService(store, members, trainerTable, planTable,
+                store.table(4, Codecs.PRODUCT));
+        store.open();
+        members.indexNames();
+        catalog.addPlan(new MembershipPlan("Basic", 1, 3000));
+        catalog.addTrainer(new Trainer("John Doe", "General"));
+        long[] shared = new long[SHARED];
+        for (int i = 0; i < SHARED; i++) {
+            shared[i] = members.add(member("shared" + i, 0));
+            catalog.addProduct(new Product("product" + i, 100 + i, "stress"));
+        }
+
+        List<Map<Long, Member>> owned = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        AtomicLong reads = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Map<Long, Member> mine = new ConcurrentHashMap<>();
+            owned.add(mine);
+            int thread = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    work(thread, operations, members, catalog, shared, mine, reads);
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            }, "stress-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - began;
+        members.sync();
+        if (!failures.isEmpty()) {
+            failures.get(0).printStackTrace();
+            throw new AssertionError(failures.size() + " worker(s) failed");
+        }
+
+        // Quiescent checks
+        int live = SHARED;
+        for (Map<Long, Member> mine : owned) {
+            live += mine.size();
+            for (Map.Entry<Long, Member> entry : mine.entrySet()) {
+                check(members.find(entry.getKey()) == entry.getValue(), "lost write to member " + entry.getKey());
+                long[] hits = members.search(entry.getValue().name, 10);
+                check(hits.length == 1 && hits[0] == entry.getKey(), "name index out of date for " + entry.getValue().name);
+            }
+        }
+        check(members.count() == live, "member count " + members.count() + ", expected " + live);
+        check(catalog.listProducts().size() == SHARED, "product count changed");
+
+        // Everything in memory must come back from disk
+        List<Member> before = members.list();
+        store.close();
+        GymStore reopened = new GymStore(dir);
+        GymStore.Table<Member> table = reopened.table(1, Codecs.MEMBER);
+        reopened.table(2, Codecs.TRAINER);
+        reopened.table(3, Codecs.PLAN);
+        reopened.table(4, Codecs.PRODUCT);
+        reopened.open();
+        check(table.size() == before.size(), "reopened with " + table.size() + " members, expected " + before.size());
+        for (Member expected : before) {
+            Member actual = table.find(expected.id);
+            check(actual != null && actual.name.equals(expected.name) && actual.age == expected.age,
+                    "member " + expected.id + " differs after reopen");
+        }
+        reopened.close();
+
+        long total = (long) threads * operations;
+        System.out.printf("%d threads x %d ops: %.0f ops/s (%d reads), %d members, all invariants held%n",
+                threads, operations, total / (elapsed / 1e9), reads.get(), live);
+    }
+
+    private static void work(int thread, int operations, MemberService members, CatalogService catalog,
+            long[] shared, Map<Long, Member> mine, AtomicLong reads) {
+        SplittableRandom random = new SplittableRandom(thread);
+        List<Long> ids = new ArrayList<>();
+        int created = 0;
+        long readCount = 0;
+        for (int op = 0; op < operations; op++) {
+            int roll = random.nextInt(100);
+            if (roll < 15 || ids.isEmpty()) {
+                Member member = member(String.format("t%03dm%07d", thread, created++), 1);
+                long id = members.add(member);
+                ids.add(id);
+                mine.put(id, member);
+            } else if (roll < 30) {
+                long id = ids.get(random.nextInt(ids.size()));
+                Member old = mine.get(id);
+                Member member = member(old.name, old.age + 1);
+                check(members.update(id, member), "update of own member " + id + " failed");
+                mine.put(id, member);
+            } else if (roll < 40) {
+                int at = random.nextInt(ids.size());
+                long id = ids.get(at);
+                ids.set(at, ids.get(ids.size() - 1));
+                ids.remove(ids.size() - 1);
+                check(members.delete(id) == mine.remove(id), "delete of own member " + id + " returned another row");
+                check(members.find(id) == null, "deleted member " + id + " still found");
+            } else if (roll < 60) {
+                long id = shared[random.nextInt(shared.length)];
+                members.update(id, member("shared" + (id % SHARED), thread + 1));
+            } else {
+                readCount++;
+                read(random, members, catalog, shared, ids, mine);
+            }
+        }
+        reads.addAndGet(readCount);
+    }
+
+    private static void read(SplittableRandom random, MemberService members, CatalogService catalog,
+            long[] shared, List<Long> ids, Map<Long, Member> mine) {
+        int roll = random.nextInt(100);
+        if (roll < 50 && !ids.isEmpty()) {
+            long id = ids.get(random.nextInt(ids.size()));
+            check(members.find(id) == mine.get(id), "stale read of own member " + id);
+        } else if (roll < 75) {
+            long id = shared[random.nextInt(shared.length)];
+            Member member = members.find(id);
+            check(member != null && member.id == id, "shared member " + id + " missing");
+        } else if (roll < 80) {
+            Set<Long> seen = new HashSet<>();
+            for (Member member : members.list()) {
+                check(member != null && seen.add(member.id), "list copy holds a null or duplicate");
+            }
+        } else if (roll < 90) {
+            for (long id : members.search("shared", 5)) {
+                Member member = members.find(id);
+                check(member == null || member.id == id, "search hit " + id + " resolves to another row");
+            }
+        } else {
+            Product product = catalog.findProduct(1 + random.nextInt(SHARED));
+            check(product != null, "product missing");
+        }
+    }
+
+    private static Member member(String name, int age) {
+        return new Member(name, age, "Other", "Basic", "John Doe");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
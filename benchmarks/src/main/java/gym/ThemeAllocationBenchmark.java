@@ -0,0 +1,167 @@
+package gym;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.GridLayout;
+import java.lang.management.ManagementFactory;
+import javax.swing.BorderFactory;
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JPasswordField;
+import javax.swing.JTextArea;
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+
+// Bytes allocated per screen build under the old theming path (new fonts,
+// colors and borders per component, then a recursive restyling walk with a
+// new renderer per combo box) and under Theme (shared constants plus UIManager
+// defaults). The screen is a typical form: title, five labelled inputs, a
+// text area and two buttons. A bare build with no styling at all is measured
+// too, so the styling cost of each path can be read off as the difference.
+//
+//   java -Djava.awt.headless=true -cp benchmarks/target/benchmarks.jar gym.ThemeAllocationBenchmark [iterations]
+class ThemeAllocationBenchmark {
+    private static final Color PRIMARY_COLOR = new Color(0, 150, 0);
+    private static final Color TEXT_COLOR = Color.BLACK;
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        Theme.install();
+        SwingUtilities.invokeAndWait(() -> {
+            com.sun.management.ThreadMXBean threads =
+                    (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            String[] names = {"bare", "legacy", "theme"};
+            long[] bytes = new long[names.length];
+            // Warm up every path before measuring any of them
+            for (int round = 0; round < 2; round++) {
+                for (int path = 0; path < names.length; path++) {
+                    long start = threads.getCurrentThreadAllocatedBytes();
+                    Object sink = null;
+                    for (int i = 0; i < iterations; i++) {
+                        sink = build(path);
+                    }
+                    bytes[path] = (threads.getCurrentThreadAllocatedBytes() - start) / iterations;
+                    if (sink == null) {
+                        throw new AssertionError();
+                    }
+                }
+            }
+            for (int path = 0; path < names.length; path++) {
+                System.out.printf("%-7s %8d bytes/screen, styling %7d bytes/screen%n",
+                        names[path], bytes[path], bytes[path] - bytes[0]);
+            }
+        });
+    }
+
+    private static JPanel build(int path) {
+        JPanel panel = new JPanel(new BorderLayout());
+        JLabel title = new JLabel("Update Member");
+        JPanel form = new JPanel(new GridLayout(0, 2));
+        JComponent[] inputs = {
+            new JTextField(20), new JPasswordField(20), new JTextField(20),
+            new JComboBox<>(new String[]{"Male", "Female", "Other"}),
+            new JComboBox<>(new String[]{"Basic", "Standard", "Premium"})
+        };
+        for (JComponent input : inputs) {
+            form.add(new JLabel("Field:"));
+            form.add(input);
+        }
+        JTextArea notes = new JTextArea(3, 20);
+        JPanel buttons = new JPanel();
+        buttons.add(button("Submit", path));
+        buttons.add(button("Back", path));
+        panel.add(title, BorderLayout.NORTH);
+        panel.add(form, BorderLayout.CENTER);
+        panel.add(notes, BorderLayout.EAST);
+        panel.add(buttons, BorderLayout.SOUTH);
+
+        if (path == 1) {
+            title.setFont(new Font("Arial", Font.BOLD, 18));
+            title.setForeground(PRIMARY_COLOR);
+            legacyTheme(panel);
+        } else if (path == 2) {
+            title.setFont(Theme.HEADING);
+            title.setForeground(Theme.PRIMARY);
+        }
+        return panel;
+    }
+
+    private static JButton button(String text, int path) {
+        JButton button = new JButton(text);
+        if (path == 1) {
+            button.setBackground(PRIMARY_COLOR);
+            button.setForeground(TEXT_COLOR);
+            button.setFocusPainted(false);
+            button.setBorder(BorderFactory.createLineBorder(PRIMARY_COLOR.darker(), 2));
+            button.setFont(new Font("Arial", Font.BOLD, 14));
+            button.setPreferredSize(new Dimension(200, 50));
+        } else if (path == 2) {
+            button.setBackground(Theme.PRIMARY);
+            button.setForeground(Theme.TEXT);
+            button.setFocusPainted(false);
+            button.setBorder(Theme.BUTTON_BORDER);
+            button.setFont(Theme.STRONG);
+            button.setPreferredSize(Theme.BUTTON_SIZE);
+        }
+        return button;
+    }
+
+    // The applyDarkTheme walk as it was before Theme
+    private static void legacyTheme(Container container) {
+        container.setBackground(new Color(30, 30, 30));
+        for (Component comp : container.getComponents()) {
+            if (comp instanceof Container) {
+                legacyTheme((Container) comp);
+            }
+            if (comp instanceof JLabel || comp instanceof JButton) {
+                comp.setForeground(TEXT_COLOR);
+            }
+            if (comp instanceof JButton) {
+                JButton button = (JButton) comp;
+                button.setBackground(PRIMARY_COLOR);
+                button.setFocusPainted(false);
+                button.setBorder(BorderFactory.createLineBorder(PRIMARY_COLOR.darker(), 2));
+                button.setFont(new Font("Arial", Font.BOLD, 14));
+            }
+            if (comp instanceof JTextField || comp instanceof JPasswordField) {
+                comp.setBackground(new Color(60, 60, 60));
+                comp.setForeground(TEXT_COLOR);
+                ((JComponent) comp).setBorder(BorderFactory.createLineBorder(PRIMARY_COLOR, 1));
+            }
+            if (comp instanceof JComboBox) {
+                JComboBox<?> combo = (JComboBox<?>) comp;
+                combo.setBackground(new Color(60, 60, 60));
+                combo.setForeground(TEXT_COLOR);
+                combo.setRenderer(new DefaultListCellRenderer() {
+                    @Override
+                    public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                            boolean isSelected, boolean cellHasFocus) {
+                        super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+                        setBackground(new Color(60, 60, 60));
+                        setForeground(TEXT_COLOR);
+                        if (isSelected) {
+                            setBackground(PRIMARY_COLOR);
+                        }
+                        return this;
+                    }
+                });
+            }
+            if (comp instanceof JTextArea) {
+                JTextArea area = (JTextArea) comp;
+                area.setBackground(new Color(40, 40, 40));
+                area.setForeground(TEXT_COLOR);
+                area.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+                area.setFont(new Font("Monospaced", Font.PLAIN, 14));
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package gym;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Load test for Attendance: turnstile threads all start scanning at once, as
+// at opening time, against a store of generated members. About one scan in a
+// hundred is a card the store does not know. A scan refused as BUSY is
+// scanned again straight away, like a member retrying at the gate.
+// Afterwards:
+//
+//   - the log holds exactly the admitted scans, per member and in total;
+//   - the hourly counts add up to the same total;
+//   - reopening the log rebuilds the same aggregates.
+//
+// core's AttendanceTest runs a bounded version under mvn test.
+//
+//   java -cp benchmarks/target/benchmarks.jar gym.TurnstileSimulator [turnstiles] [scans per turnstile] [members]
+class TurnstileSimulator {
+    public static void main(String[] args) throws Exception {
+        int turnstiles = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int scans = args.length > 1 ? Integer.parseInt(args[1]) : 100000;
+        int memberCount = args.length > 2 ? Integer.parseInt(args[2]) : 100000;
+        BenchmarkData data = new BenchmarkData();
+        try {
+            run(data, turnstiles, scans, memberCount);
+        } finally {
+            data.close();
+        }
+    }
+
+    private static void run(BenchmarkData data, int turnstiles, int scans, int memberCount) throws Exception {
+        long[] ids = data.addMembers(memberCount);
+        GymStore.Table<Member> table = data.members.table();
+        ExpiryScheduler expiry = new ExpiryScheduler(table, Clock.systemDefaultZone(), null);
+        Attendance attendance = new Attendance(data.dir.resolve("attendance"), table, expiry, Clock.systemDefaultZone());
+        attendance.open();
+
+        // admitted[t][i] counts turnstile t's admissions of member ids[i]
+        int[][] admitted = new int[turnstiles][memberCount];
+        long[][] latencies = new long[turnstiles][scans];
+        AtomicLong retries = new AtomicLong();
+        AtomicLong unknown = new AtomicLong();
+        List<Throwable> failures = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> gates = new ArrayList<>();
+        for (int t = 0; t < turnstiles; t++) {
+            int gate = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    scan(attendance, ids, new SplittableRandom(gate), admitted[gate], latencies[gate], retries, unknown);
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            }, "turnstile-" + t);
+            gates.add(thread);
+            thread.start();
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Thread gate : gates) {
+            gate.join();
+        }
+        attendance.sync();
+        long elapsed = System.nanoTime() - began;
+        if (!failures.isEmpty()) {
+            failures.get(0).printStackTrace();
+            throw new AssertionError(failures.size() + " turnstile(s) failed");
+        }
+
+        int[] expected = new int[memberCount];
+        long total = 0;
+        for (int[] counts : admitted) {
+            for (int i = 0; i < memberCount; i++) {
+                expected[i] += counts[i];
+                total += counts[i];
+            }
+        }
+        check(total + unknown.get() == (long) turnstiles * scans, "scans unaccounted for");
+        verify(attendance, ids, expected, total);
+        attendance.close();
+
+        Attendance reopened = new Attendance(data.dir.resolve("attendance"), table, expiry, Clock.systemDefaultZone());
+        reopened.open();
+        verify(reopened, ids, expected, total);
+        reopened.close();
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("%d turnstiles x %d scans: %.0f scans/s, p50 %.1f us, p99 %.1f us, max %.1f ms, "
+                        + "%d busy retries, %d unknown cards, all counts matched%n",
+                turnstiles, scans, (double) turnstiles * scans * 1e9 / elapsed,
+                all[all.length / 2] / 1e3, all[(int) (all.length * 0.99)] / 1e3, all[all.length - 1] / 1e6,
+                retries.get(), unknown.get());
+    }
+
+    // One turnstile's scans; latencies.length of them
+    private static void scan(Attendance attendance, long[] ids, SplittableRandom random, int[] admitted,
+            long[] latencies, AtomicLong retries, AtomicLong unknown) {
+        for (int s = 0; s < latencies.length; s++) {
+            boolean stranger = random.nextInt(100) == 0;
+            int index = random.nextInt(ids.length);
+            long id = stranger ? ids[ids.length - 1] + 1 + random.nextInt(1000) : ids[index];
+            long began = System.nanoTime();
+            Attendance.Result result;
+            while ((result = attendance.checkIn(id)) == Attendance.Result.BUSY) {
+                retries.incrementAndGet();
+                Thread.onSpinWait();
+            }
+            latencies[s] = System.nanoTime() - began;
+            if (result == Attendance.Result.ADMITTED) {
+                admitted[index]++;
+            } else {
+                check(stranger && result == Attendance.Result.UNKNOWN_MEMBER, "scan of " + id + " gave " + result);
+                unknown.incrementAndGet();
+            }
+        }
+    }
+
+    private static void verify(Attendance attendance, long[] ids, int[] expected, long total) {
+        check(attendance.totalVisits() == total, "logged " + attendance.totalVisits() + " visits, expected " + total);
+        for (int i = 0; i < ids.length; i++) {
+            check(attendance.visits(ids[i]) == expected[i], "member " + ids[i] + " has " + attendance.visits(ids[i])
+                    + " visits, expected " + expected[i]);
+            check((attendance.lastVisit(ids[i]) != null) == (expected[i] > 0), "last visit of member " + ids[i]);
+        }
+        // Scans near midnight may count towards either day
+        long hourly = 0;
+        LocalDate today = LocalDate.now();
+        for (LocalDate day = today.minusDays(1); !day.isAfter(today.plusDays(1)); day = day.plusDays(1)) {
+            hourly += Arrays.stream(attendance.visitsByHour(day)).sum();
+        }
+        check(hourly == total, "hourly counts add up to " + hourly + ", expected " + total);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package gym;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Live counters behind the admin analytics screen: members per plan, trainer,
+// gender and age band, and revenue per day and per product.
+//
+// Nothing here scans the members table or the ledger after start(). Every
+// member insert, update and delete adjusts the counters it touches (an update
+// moves one count from the old values to the new), and every recorded sale
+// adds to its day and items. Reading the dashboard therefore costs the same
+// at ten members or ten million. The counters are LongAdders, so the front
+// desks writing concurrently do not contend on them, and a reader sees each
+// counter's current sum without taking any lock.
+final class Analytics {
+    static final String[] AGE_BANDS = {"Under 20", "20-29", "30-39", "40-49", "50-59", "60+"};
+
+    // Quantity and revenue of one product or plan; name is the latest seen
+    private static final class ItemCounter {
+        final SalesLedger.Kind kind;
+        final long refId;
+        volatile String name;
+        final LongAdder quantity = new LongAdder();
+        final LongAdder cents = new LongAdder();
+
+        ItemCounter(SalesLedger.Kind kind, long refId, String name) {
+            this.kind = kind;
+            this.refId = refId;
+            this.name = name;
+        }
+    }
+
+    private final LongAdder members = new LongAdder();
+    private final Map<String, LongAdder> byPlan = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> byTrainer = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> byGender = new ConcurrentHashMap<>();
+    private final LongAdder[] byAge = new LongAdder[AGE_BANDS.length];
+    private final Map<Long, LongAdder> revenueByDay = new ConcurrentHashMap<>();
+    private final Map<String, ItemCounter> items = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    Analytics() {
+        for (int i = 0; i < byAge.length; i++) {
+            byAge[i] = new LongAdder();
+        }
+    }
+
+    // Counts the members and sales there are now and follows every change
+    // from then on. Reads the whole members table once, so call it off the EDT.
+    void start(GymStore.Table<Member> memberTable, SalesLedger ledger) {
+        memberTable.addListener(this::memberChanged, rows -> {
+            for (Member member : rows) {
+                count(member, 1);
+            }
+        });
+        ledger.addListener(this::recorded, (days, totals) -> {
+            for (Map.Entry<LocalDate, Long> day : days.entrySet()) {
+                revenueByDay.computeIfAbsent(day.getKey().toEpochDay(), d -> new LongAdder()).add(day.getValue());
+            }
+            for (SalesLedger.ItemTotal total : totals) {
+                ItemCounter item = item(total.kind, total.refId, total.name);
+                item.quantity.add(total.quantity);
+                item.cents.add(total.cents);
+            }
+        });
+        ready = true;
+    }
+
+    // False until start() has counted what was already there
+    boolean isReady() {
+        return ready;
+    }
+
+    private void memberChanged(Member before, Member after) {
+        if (before != null) {
+            count(before, -1);
+        }
+        if (after != null) {
+            count(after, 1);
+        }
+    }
+
+    private void count(Member member, int delta) {
+        members.add(delta);
+        adder(byPlan, member.plan).add(delta);
+        adder(byTrainer, member.trainer).add(delta);
+        adder(byGender, member.gender).add(delta);
+        byAge[ageBand(member.age)].add(delta);
+    }
+
+    private void recorded(SalesLedger.Sale sale) {
+        revenueByDay.computeIfAbsent((long) sale.epochDay, d -> new LongAdder()).add(sale.totalCents());
+        for (SalesLedger.Line line : sale.lines) {
+            ItemCounter item = item(line.kind, line.refId, line.name);
+            item.name = line.name;
+            item.quantity.add(line.quantity);
+            item.cents.add(line.amountCents());
+        }
+    }
+
+    private ItemCounter item(SalesLedger.Kind kind, long refId, String name) {
+        return items.computeIfAbsent(kind + ":" + refId, key -> new ItemCounter(kind, refId, name));
+    }
+
+    private static LongAdder adder(Map<String, LongAdder> counters, String key) {
+        return counters.computeIfAbsent(key == null ? "" : key, k -> new LongAdder());
+    }
+
+    static int ageBand(int age) {
+        if (age < 20) {
+            return 0;
+        }
+        return Math.min(AGE_BANDS.length - 1, (age - 10) / 10);
+    }
+
+    long memberCount() {
+        return members.sum();
+    }
+
+    Map<String, Long> membersPerPlan() {
+        return nonZero(byPlan);
+    }
+
+    Map<String, Long> membersPerTrainer() {
+        return nonZero(byTrainer);
+    }
+
+    Map<String, Long> membersPerGender() {
+        return nonZero(byGender);
+    }
+
+    // Indexed like AGE_BANDS
+    long[] membersPerAgeBand() {
+        long[] counts = new long[byAge.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = byAge[i].sum();
+        }
+        return counts;
+    }
+
+    long revenueOn(LocalDate day) {
+        LongAdder revenue = revenueByDay.get(day.toEpochDay());
+        return revenue == null ? 0 : revenue.sum();
+    }
+
+    // The given number of days up to and including the last, oldest first
+    Map<LocalDate, Long> revenueForDays(LocalDate last, int days) {
+        Map<LocalDate, Long> revenue = new LinkedHashMap<>();
+        for (int i = days - 1; i >= 0; i--) {
+            LocalDate day = last.minusDays(i);
+            revenue.put(day, revenueOn(day));
+        }
+        return revenue;
+    }
+
+    // Products (or plans) that have sold, highest revenue first. Grows with the
+    // catalogue, not with the number of sales.
+    List<SalesLedger.ItemTotal> topItems(SalesLedger.Kind kind, int limit) {
+        List<SalesLedger.ItemTotal> sold = new ArrayList<>();
+        for (ItemCounter item : items.values()) {
+            if (item.kind == kind) {
+                SalesLedger.ItemTotal total = new SalesLedger.ItemTotal(kind, item.refId, item.name);
+                total.quantity = item.quantity.sum();
+                total.cents = item.cents.sum();
+                sold.add(total);
+            }
+        }
+        sold.sort(Comparator.comparingLong((SalesLedger.ItemTotal item) -> item.cents).reversed());
+        return sold.size() > limit ? sold.subList(0, limit) : sold;
+    }
+
+    // Largest first; keys whose count dropped back to zero are left out
+    private static Map<String, Long> nonZero(Map<String, LongAdder> counters) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>();
+        for (Map.Entry<String, LongAdder> counter : counters.entrySet()) {
+            long count = counter.getValue().sum();
+            if (count != 0) {
+                entries.add(Map.entry(counter.getKey(), count));
+            }
+        }
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : entries) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+}
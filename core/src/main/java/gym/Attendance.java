@@ -0,0 +1,344 @@
+package gym;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32;
+
+// Member check-ins from the front desk and the turnstiles.
+//
+// checkIn() may be called from any number of scanner threads at once. It
+// looks the member up, then claims the next slot of a fixed ring of scans
+// with one compare-and-set and publishes it, so scanners never wait on each
+// other or on the disk. If the writer has fallen a whole ring behind, the scan
+// is refused as BUSY rather than queued without limit. One writer thread
+// drains the ring in order. It appends each run of scans it finds to
+// attendance.log and forces the file once per run, so an opening-time burst
+// costs a handful of fsyncs. It then adds the run to the aggregates.
+//
+// Aggregates are visits and last visit per member, and visits per clock hour.
+// open() rebuilds them from the log, which is only ever appended to.
+//
+// Record: [long memberId][long timeMillis][int crc32 of the first 16 bytes]
+final class Attendance implements Closeable {
+    static final int RING_SIZE = 1 << 16;
+    private static final int MASK = RING_SIZE - 1;
+    private static final int RECORD_BYTES = 20;
+    // Scans written per run, at most
+    private static final int BATCH = RING_SIZE / 4;
+    private static final int FILE_HEADER = 8;
+    private static final int MAGIC = 0x474d5941;  // "GMYA"
+    private static final int FORMAT_VERSION = 1;
+
+    // FAILED: the log could not be written, so nothing more is admitted
+    enum Result { ADMITTED, UNKNOWN_MEMBER, EXPIRED, BUSY, FAILED }
+
+    private final Path file;
+    private final GymStore.Table<Member> members;
+    private final ExpiryScheduler expiry;
+    private final Clock clock;
+    private final ZoneId zone;
+
+    // The ring. Scan seq lives in slot seq & MASK; published holds seq + 1
+    // once the slot's fields are written.
+    private final long[] ringIds = new long[RING_SIZE];
+    private final long[] ringTimes = new long[RING_SIZE];
+    private final AtomicLongArray published = new AtomicLongArray(RING_SIZE);
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong drained = new AtomicLong();
+    private final AtomicLong refused = new AtomicLong();
+    private volatile boolean writerWaiting;
+    private volatile boolean closed;
+    private Thread writer;
+    private FileChannel log;
+
+    // Guarded by this
+    private final LongIntHashMap visits = new LongIntHashMap();
+    private final LongIntHashMap lastVisitMinute = new LongIntHashMap();
+    private final LongIntHashMap visitsPerHour = new LongIntHashMap();
+    private long totalVisits;
+    private long written;
+    // Set once, when the writer stops on an error; checkIn() reads it
+    // without the lock
+    private volatile IOException failure;
+
+    // The clock stamps scans; its zone decides which hour and day they count towards
+    Attendance(Path dir, GymStore.Table<Member> members, ExpiryScheduler expiry, Clock clock) {
+        this.file = dir.resolve("attendance.log");
+        this.members = members;
+        this.expiry = expiry;
+        this.clock = clock;
+        this.zone = clock.getZone();
+    }
+
+    // Rebuilds the aggregates from the log, cutting off a torn last record,
+    // and starts the writer
+    void open() throws IOException {
+        Files.createDirectories(file.getParent());
+        log = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long end = replay();
+        log.truncate(end);
+        log.position(end);
+        writer = new Thread(this::writeLoop, "gym-attendance");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Admits a member unless they are unknown or their membership has
+    // expired, or the log has failed
+    Result checkIn(long memberId) {
+        if (closed) {
+            throw new IllegalStateException("attendance is closed");
+        }
+        if (failure != null) {
+            return Result.FAILED;
+        }
+        if (memberId <= 0) {
+            return Result.UNKNOWN_MEMBER;
+        }
+        Member member = members.find(memberId);
+        if (member == null) {
+            return Result.UNKNOWN_MEMBER;
+        }
+        if (expiry.status(member) == ExpiryScheduler.Status.EXPIRED) {
+            return Result.EXPIRED;
+        }
+        long time = clock.millis();
+        long seq;
+        do {
+            seq = claimed.get();
+            // The writer has stopped, so a slot claimed now would never be
+            // drained
+            if (failure != null) {
+                return Result.FAILED;
+            }
+            if (seq - drained.get() >= RING_SIZE) {
+                refused.incrementAndGet();
+                return Result.BUSY;
+            }
+        } while (!claimed.compareAndSet(seq, seq + 1));
+        int slot = (int) seq & MASK;
+        ringIds[slot] = memberId;
+        ringTimes[slot] = time;
+        published.set(slot, seq + 1);
+        if (writerWaiting) {
+            LockSupport.unpark(writer);
+        }
+        return Result.ADMITTED;
+    }
+
+    // Waits until every scan admitted so far is in the log and the aggregates
+    void sync() throws IOException {
+        long target = claimed.get();
+        synchronized (this) {
+            while (written < target && failure == null) {
+                LockSupport.unpark(writer);
+                try {
+                    wait(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("interrupted while waiting for attendance log", e);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    synchronized long totalVisits() {
+        return totalVisits;
+    }
+
+    synchronized int visits(long memberId) {
+        return visitsOf(memberId);
+    }
+
+    // null if the member has never checked in
+    synchronized LocalDateTime lastVisit(long memberId) {
+        int minute = lastVisitMinute.get(memberId);
+        if (minute == LongIntHashMap.MISSING) {
+            return null;
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(minute * 60L), zone);
+    }
+
+    // Visits in each hour of the day, midnight first
+    synchronized int[] visitsByHour(LocalDate day) {
+        long first = day.atStartOfDay().toEpochSecond(ZoneOffset.UTC) / 3600;
+        int[] counts = new int[24];
+        for (int hour = 0; hour < 24; hour++) {
+            counts[hour] = Math.max(0, visitsPerHour.get(first + hour));
+        }
+        return counts;
+    }
+
+    // Scans turned away because the ring was full
+    long refusedCount() {
+        return refused.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed || writer == null) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while closing attendance log", e);
+        }
+        log.close();
+        synchronized (this) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    // A write or aggregation failure stops the writer; sync() and close()
+    // then report it instead of waiting
+    private void writeLoop() {
+        try {
+            writeRuns();
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {
+                failure = e instanceof IOException ? (IOException) e
+                        : new IOException("attendance writer failed", e);
+                notifyAll();
+            }
+        }
+    }
+
+    private void writeRuns() throws IOException {
+        ByteBuffer out = ByteBuffer.allocateDirect(BATCH * RECORD_BYTES);
+        long[] ids = new long[BATCH];
+        long[] times = new long[BATCH];
+        CRC32 crc = new CRC32();
+        long next = 0;
+        while (true) {
+            int count = 0;
+            while (count < BATCH && published.get((int) (next + count) & MASK) == next + count + 1) {
+                int slot = (int) (next + count) & MASK;
+                ids[count] = ringIds[slot];
+                times[count] = ringTimes[slot];
+                count++;
+            }
+            if (count == 0) {
+                // Scans claimed before close are still written
+                if (closed && claimed.get() == next) {
+                    return;
+                }
+                writerWaiting = true;
+                if (published.get((int) next & MASK) != next + 1) {
+                    LockSupport.parkNanos(closed ? 100_000 : 50_000_000);
+                }
+                writerWaiting = false;
+                continue;
+            }
+            // The slots are copied out, so scanners may reuse them
+            next += count;
+            drained.set(next);
+
+            out.clear();
+            for (int i = 0; i < count; i++) {
+                int start = out.position();
+                out.putLong(ids[i]).putLong(times[i]);
+                crc.reset();
+                ByteBuffer record = out.duplicate();
+                record.position(start).limit(start + 16);
+                crc.update(record);
+                out.putInt((int) crc.getValue());
+            }
+            out.flip();
+            while (out.hasRemaining()) {
+                log.write(out);
+            }
+            log.force(false);
+            synchronized (this) {
+                for (int i = 0; i < count; i++) {
+                    count(ids[i], times[i]);
+                }
+                written = next;
+                notifyAll();
+            }
+        }
+    }
+
+    // Reads the log into the aggregates and returns where valid records end
+    private long replay() throws IOException {
+        long size = log.size();
+        if (size < FILE_HEADER) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER).putInt(MAGIC).putInt(FORMAT_VERSION);
+            header.flip();
+            log.write(header, 0);
+            return FILE_HEADER;
+        }
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER);
+        log.read(header, 0);
+        if (header.getInt(0) != MAGIC || header.getInt(4) != FORMAT_VERSION) {
+            throw new IOException(file + " is not an attendance log");
+        }
+        ByteBuffer in = ByteBuffer.allocate(BATCH * RECORD_BYTES);
+        CRC32 crc = new CRC32();
+        long position = FILE_HEADER;
+        synchronized (this) {
+            while (position + RECORD_BYTES <= size) {
+                in.clear();
+                log.read(in, position);
+                in.flip();
+                while (in.remaining() >= RECORD_BYTES) {
+                    int start = in.position();
+                    crc.reset();
+                    crc.update(in.array(), start, 16);
+                    long memberId = in.getLong();
+                    long time = in.getLong();
+                    if (in.getInt() != (int) crc.getValue()) {
+                        return position;
+                    }
+                    // Ids below 1 were never members; older versions could
+                    // still log them
+                    if (memberId > 0) {
+                        count(memberId, time);
+                    }
+                    position += RECORD_BYTES;
+                }
+            }
+        }
+        return position;
+    }
+
+    private void count(long memberId, long timeMillis) {
+        visits.put(memberId, visitsOf(memberId) + 1);
+        int minute = (int) (timeMillis / 60_000);
+        if (lastVisitMinute.get(memberId) < minute) {
+            lastVisitMinute.put(memberId, minute);
+        }
+        // Hours are counted in local time, so zones offset by half an hour
+        // still split at the hour
+        Instant instant = Instant.ofEpochMilli(timeMillis);
+        long hour = (instant.getEpochSecond() + zone.getRules().getOffset(instant).getTotalSeconds()) / 3600;
+        visitsPerHour.put(hour, Math.max(0, visitsPerHour.get(hour)) + 1);
+        totalVisits++;
+    }
+
+    private int visitsOf(long memberId) {
+        return Math.max(0, visits.get(memberId));
+    }
+}
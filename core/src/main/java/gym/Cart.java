@@ -0,0 +1,189 @@
+package gym;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// A shopping cart: one line per product with its quantity, in the order the
+// products were first added, and a running total in cents kept up to date on
+// every add and remove. Units in the cart are reserved in the inventory, so
+// two carts cannot both take the last one; clear() gives them back and
+// checkout() sells them. Price and name are taken when a product is first
+// added. Adding thousands of units of one product is still one line, so the
+// total, the sale lines and the checkout are O(distinct products).
+//
+// A cart belongs to one window or request; it is not safe to share. To pay
+// on another thread, take() its contents out as an Order first.
+final class Cart {
+    // One product in the cart
+    static final class Line {
+        final long productId;
+        final String name;
+        final long unitCents;
+        int quantity;
+
+        Line(long productId, String name, long unitCents) {
+            this.productId = productId;
+            this.name = name;
+            this.unitCents = unitCents;
+        }
+
+        long cents() {
+            return unitCents * quantity;
+        }
+    }
+
+    // Lines taken out of a cart to be paid for. The units stay reserved until
+    // the order is checked out or put back; nothing else touches its lines,
+    // so it may be checked out on any thread.
+    static final class Order {
+        private final Inventory inventory;
+        private final List<Line> lines;
+        final long totalCents;
+        final int units;
+
+        private Order(Inventory inventory, List<Line> lines, long totalCents, int units) {
+            this.inventory = inventory;
+            this.lines = lines;
+            this.totalCents = totalCents;
+            this.units = units;
+        }
+
+        boolean isEmpty() {
+            return lines.isEmpty();
+        }
+
+        // Records the sale and takes the units off the stock on hand
+        SalesLedger.Sale checkout(SalesLedger ledger, SalesLedger.Method method) {
+            SalesLedger.Sale sale = ledger.record(method, saleLines(lines));
+            Map<Long, Integer> sold = new LinkedHashMap<>();
+            for (Line line : lines) {
+                sold.merge(line.productId, line.quantity, Integer::sum);
+            }
+            inventory.commit(sold);
+            return sale;
+        }
+    }
+
+    private final Inventory inventory;
+    private final Map<Long, Line> lines = new LinkedHashMap<>();
+    private long totalCents;
+    private int units;
+
+    Cart(Inventory inventory) {
+        this.inventory = inventory;
+    }
+
+    // Reserves and adds quantity units. False, changing nothing, if fewer are
+    // available.
+    boolean add(Product product, int quantity) {
+        if (!inventory.reserve(product.id, quantity)) {
+            return false;
+        }
+        Line line = lines.computeIfAbsent(product.id, id -> new Line(id, product.name, product.priceCents));
+        line.quantity += quantity;
+        totalCents += line.unitCents * quantity;
+        units += quantity;
+        return true;
+    }
+
+    // Takes up to quantity units of the product out and releases them;
+    // returns how many were taken
+    int remove(long productId, int quantity) {
+        Line line = lines.get(productId);
+        if (line == null) {
+            return 0;
+        }
+        int taken = Math.min(quantity, line.quantity);
+        line.quantity -= taken;
+        totalCents -= line.unitCents * taken;
+        units -= taken;
+        if (line.quantity == 0) {
+            lines.remove(productId);
+        }
+        inventory.release(productId, taken);
+        return taken;
+    }
+
+    // Empties the cart, releasing everything in it
+    void clear() {
+        for (Line line : lines.values()) {
+            inventory.release(line.productId, line.quantity);
+        }
+        lines.clear();
+        totalCents = 0;
+        units = 0;
+    }
+
+    long totalCents() {
+        return totalCents;
+    }
+
+    // Units across all lines
+    int units() {
+        return units;
+    }
+
+    int quantity(long productId) {
+        Line line = lines.get(productId);
+        return line == null ? 0 : line.quantity;
+    }
+
+    boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    Collection<Line> lines() {
+        return Collections.unmodifiableCollection(lines.values());
+    }
+
+    // One ledger line per product
+    List<SalesLedger.Line> saleLines() {
+        return saleLines(lines.values());
+    }
+
+    private static List<SalesLedger.Line> saleLines(Collection<Line> lines) {
+        List<SalesLedger.Line> sale = new ArrayList<>(lines.size());
+        for (Line line : lines) {
+            sale.add(new SalesLedger.Line(SalesLedger.Kind.PRODUCT, line.productId, line.name, line.quantity,
+                    line.unitCents));
+        }
+        return sale;
+    }
+
+    // Empties the cart into an Order, keeping the units reserved
+    Order take() {
+        Order order = new Order(inventory, new ArrayList<>(lines.values()), totalCents, units);
+        lines.clear();
+        totalCents = 0;
+        units = 0;
+        return order;
+    }
+
+    // Puts an order that was not paid for back, with its reserved units,
+    // alongside whatever the cart holds now
+    void putBack(Order order) {
+        for (Line taken : order.lines) {
+            Line line = lines.computeIfAbsent(taken.productId, id -> new Line(id, taken.name, taken.unitCents));
+            line.quantity += taken.quantity;
+            totalCents += line.unitCents * taken.quantity;
+            units += taken.quantity;
+        }
+    }
+
+    // Records the sale, takes the units off the stock on hand and empties the
+    // cart. If the ledger write fails the cart is left as it was, still
+    // holding its units.
+    SalesLedger.Sale checkout(SalesLedger ledger, SalesLedger.Method method) {
+        Order order = take();
+        try {
+            return order.checkout(ledger, method);
+        } catch (RuntimeException e) {
+            putBack(order);
+            throw e;
+        }
+    }
+}
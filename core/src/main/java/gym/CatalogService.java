@@ -0,0 +1,255 @@
+package gym;
+
+import java.io.IOException;
+import java.util.List;
+
+// Trainers, membership plans and products: the catalogue the front desk sells
+// from. Safe to call from any thread, like MemberService; the table views are
+// for reading, changes go through the methods here.
+//
+// Plan and trainer names are unique, since members refer to them by name.
+// Renaming one renames it on its members, and deleting one that members still
+// refer to is refused unless they are moved to a replacement; either way the
+// catalogue change and the member updates are one unit (GymStore.atomically),
+// found through MemberReferences rather than a scan.
+//
+// Product stock is sold through inventory(), which holds units for carts.
+final class CatalogService {
+    private final GymStore store;
+    private final MemberService members;
+    private final MemberReferences references;
+    private final GymStore.Table<Trainer> trainers;
+    private final GymStore.Table<MembershipPlan> plans;
+    private final GymStore.Table<Product> products;
+    private final Inventory inventory;
+
+    CatalogService(GymStore store, MemberService members, GymStore.Table<Trainer> trainers,
+            GymStore.Table<MembershipPlan> plans,
+            GymStore.Table<Product> products) {
+        this.store = store;
+        this.members = members;
+        this.references = members.references();
+        this.trainers = trainers;
+        this.plans = plans;
+        this.products = products;
+        this.inventory = new Inventory(store, products);
+    }
+
+    GymStore.Table<Trainer> trainers() {
+        return trainers;
+    }
+
+    GymStore.Table<MembershipPlan> plans() {
+        return plans;
+    }
+
+    GymStore.Table<Product> products() {
+        return products;
+    }
+
+    Inventory inventory() {
+        return inventory;
+    }
+
+    // Trainers
+
+    long addTrainer(Trainer trainer) {
+        requireName(trainer.name, "Trainer");
+        long[] id = new long[1];
+        store.atomically(() -> {
+            requireUnique(references.trainerExists(trainer.name), "trainer", trainer.name);
+            id[0] = trainers.insert(trainer);
+        });
+        return id[0];
+    }
+
+    // A new name is carried over to the trainer's members. False if the
+    // trainer was deleted meanwhile.
+    boolean updateTrainer(long id, Trainer trainer) {
+        requireName(trainer.name, "Trainer");
+        boolean[] updated = new boolean[1];
+        store.atomically(() -> {
+            Trainer before = trainers.find(id);
+            if (before == null) {
+                return;
+            }
+            if (!MemberReferences.sameName(before.name, trainer.name)) {
+                requireUnique(references.trainerExists(trainer.name), "trainer", trainer.name);
+            }
+            // Members take any change of spelling, case included
+            boolean renamed = !before.name.equals(trainer.name);
+            long[] affected = renamed ? references.membersWithTrainer(before.name) : new long[0];
+            updated[0] = trainers.update(id, trainer);
+            for (long memberId : affected) {
+                Member m = members.find(memberId);
+                members.update(memberId, new Member(m.name, m.age, m.gender, m.plan, trainer.name).withTermOf(m));
+            }
+        });
+        return updated[0];
+    }
+
+    // Refused while members have the trainer; see the overload below
+    Trainer deleteTrainer(long id) {
+        return deleteTrainer(id, -1);
+    }
+
+    // Moves the trainer's members to the replacement, then deletes it. With
+    // no replacement (-1) the delete is refused if the trainer has members.
+    // Returns the deleted trainer, or null if it was already gone.
+    Trainer deleteTrainer(long id, long replacementId) {
+        Object[] deleted = new Object[1];
+        store.atomically(() -> {
+            Trainer trainer = trainers.find(id);
+            if (trainer == null) {
+                return;
+            }
+            long[] affected = references.membersWithTrainer(trainer.name);
+            if (affected.length > 0) {
+                Trainer replacement = replacementId == id ? null : trainers.find(replacementId);
+                if (replacement == null) {
+                    throw new IllegalStateException(affected.length + " member(s) still train with " + trainer.name);
+                }
+                for (long memberId : affected) {
+                    Member m = members.find(memberId);
+                    members.update(memberId, new Member(m.name, m.age, m.gender, m.plan, replacement.name).withTermOf(m));
+                }
+            }
+            deleted[0] = trainers.delete(id);
+        });
+        return (Trainer) deleted[0];
+    }
+
+    Trainer findTrainer(long id) {
+        return trainers.find(id);
+    }
+
+    List<Trainer> listTrainers() {
+        return trainers.snapshot();
+    }
+
+    // Membership plans
+
+    long addPlan(MembershipPlan plan) {
+        requireName(plan.name, "Plan");
+        long[] id = new long[1];
+        store.atomically(() -> {
+            requireUnique(references.planExists(plan.name), "plan", plan.name);
+            id[0] = plans.insert(plan);
+        });
+        return id[0];
+    }
+
+    // A new name is carried over to the plan's members. False if the plan was
+    // deleted meanwhile.
+    boolean updatePlan(long id, MembershipPlan plan) {
+        requireName(plan.name, "Plan");
+        boolean[] updated = new boolean[1];
+        store.atomically(() -> {
+            MembershipPlan before = plans.find(id);
+            if (before == null) {
+                return;
+            }
+            if (!MemberReferences.sameName(before.name, plan.name)) {
+                requireUnique(references.planExists(plan.name), "plan", plan.name);
+            }
+            // Members take any change of spelling, case included
+            boolean renamed = !before.name.equals(plan.name);
+            long[] affected = renamed ? references.membersOnPlan(before.name) : new long[0];
+            updated[0] = plans.update(id, plan);
+            for (long memberId : affected) {
+                Member m = members.find(memberId);
+                members.update(memberId, new Member(m.name, m.age, m.gender, plan.name, m.trainer).withTermOf(m));
+            }
+        });
+        return updated[0];
+    }
+
+    // Refused while members are on the plan; see the overload below
+    MembershipPlan deletePlan(long id) {
+        return deletePlan(id, -1);
+    }
+
+    // Moves the plan's members to the replacement, then deletes it. With no
+    // replacement (-1) the delete is refused if anyone is on the plan.
+    // Returns the deleted plan, or null if it was already gone.
+    MembershipPlan deletePlan(long id, long replacementId) {
+        Object[] deleted = new Object[1];
+        store.atomically(() -> {
+            MembershipPlan plan = plans.find(id);
+            if (plan == null) {
+                return;
+            }
+            long[] affected = references.membersOnPlan(plan.name);
+            if (affected.length > 0) {
+                MembershipPlan replacement = replacementId == id ? null : plans.find(replacementId);
+                if (replacement == null) {
+                    throw new IllegalStateException(affected.length + " member(s) are still on " + plan.name);
+                }
+                for (long memberId : affected) {
+                    Member m = members.find(memberId);
+                    members.update(memberId, new Member(m.name, m.age, m.gender, replacement.name, m.trainer).withTermOf(m));
+                }
+            }
+            deleted[0] = plans.delete(id);
+        });
+        return (MembershipPlan) deleted[0];
+    }
+
+    MembershipPlan findPlan(long id) {
+        return plans.find(id);
+    }
+
+    List<MembershipPlan> listPlans() {
+        return plans.snapshot();
+    }
+
+    // Products
+
+    long addProduct(Product product) {
+        requireName(product.name, "Product");
+        requireStock(product.stock);
+        return products.insert(product);
+    }
+
+    // Sets the stock on hand along with the rest; units held by carts are
+    // counted against the new stock
+    boolean updateProduct(long id, Product product) {
+        requireName(product.name, "Product");
+        requireStock(product.stock);
+        return products.update(id, product);
+    }
+
+    Product deleteProduct(long id) {
+        return products.delete(id);
+    }
+
+    Product findProduct(long id) {
+        return products.find(id);
+    }
+
+    List<Product> listProducts() {
+        return products.snapshot();
+    }
+
+    void sync() throws IOException {
+        store.sync();
+    }
+
+    private static void requireUnique(boolean exists, String what, String name) {
+        if (exists) {
+            throw new IllegalArgumentException("There is already a " + what + " named " + name);
+        }
+    }
+
+    private static void requireStock(int stock) {
+        if (stock < 0 && stock != Product.UNTRACKED) {
+            throw new IllegalArgumentException("Stock cannot be negative");
+        }
+    }
+
+    private static void requireName(String name, String what) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException(what + " name is required");
+        }
+    }
+}
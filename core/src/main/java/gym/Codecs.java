@@ -0,0 +1,89 @@
+package gym;
+
+import java.nio.ByteBuffer;
+
+// Journal and snapshot encodings of the four record types, stored as table
+// kinds 1 (members), 2 (trainers), 3 (plans) and 4 (products).
+final class Codecs {
+    static final GymStore.Codec<Member> MEMBER = new GymStore.Codec<Member>() {
+        @Override
+        public void encode(Member m, ByteBuffer out) {
+            GymStore.putString(out, m.name);
+            out.putInt(m.age);
+            GymStore.putString(out, m.gender);
+            GymStore.putString(out, m.plan);
+            GymStore.putString(out, m.trainer);
+            out.putLong(m.startDay);
+            out.putLong(m.endDay);
+        }
+
+        // Records written before terms were kept end after the trainer
+        @Override
+        public Member decode(ByteBuffer in) {
+            Member m = new Member(GymStore.getString(in), in.getInt(), GymStore.getString(in),
+                    GymStore.getString(in), GymStore.getString(in));
+            if (in.hasRemaining()) {
+                m.startDay = in.getLong();
+                m.endDay = in.getLong();
+            }
+            return m;
+        }
+    };
+
+    static final GymStore.Codec<Trainer> TRAINER = new GymStore.Codec<Trainer>() {
+        @Override
+        public void encode(Trainer t, ByteBuffer out) {
+            GymStore.putString(out, t.name);
+            GymStore.putString(out, t.specialization);
+        }
+
+        @Override
+        public Trainer decode(ByteBuffer in) {
+            return new Trainer(GymStore.getString(in), GymStore.getString(in));
+        }
+    };
+
+    static final GymStore.Codec<MembershipPlan> PLAN = new GymStore.Codec<MembershipPlan>() {
+        @Override
+        public void encode(MembershipPlan p, ByteBuffer out) {
+            GymStore.putString(out, p.name);
+            out.putInt(p.duration);
+            out.putLong(p.priceCents);
+        }
+
+        @Override
+        public MembershipPlan decode(ByteBuffer in) {
+            return new MembershipPlan(GymStore.getString(in), in.getInt(), in.getLong());
+        }
+    };
+
+    static final GymStore.Codec<Product> PRODUCT = new GymStore.Codec<Product>() {
+        @Override
+        public void encode(Product p, ByteBuffer out) {
+            GymStore.putString(out, p.name);
+            out.putLong(p.priceCents);
+            GymStore.putString(out, p.description);
+            out.putInt(p.stock);
+            GymStore.putString(out, p.category);
+            GymStore.putString(out, p.image);
+        }
+
+        // Records written before stock was kept end after the description,
+        // and those written before categories and images after the stock
+        @Override
+        public Product decode(ByteBuffer in) {
+            Product p = new Product(GymStore.getString(in), in.getLong(), GymStore.getString(in));
+            if (in.hasRemaining()) {
+                p.stock = in.getInt();
+            }
+            if (in.hasRemaining()) {
+                p.category = GymStore.getString(in);
+                p.image = GymStore.getString(in);
+            }
+            return p;
+        }
+    };
+
+    private Codecs() {
+    }
+}
@@ -0,0 +1,347 @@
+package gym;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Tracks which memberships are active, due for renewal (ending within
+// REMINDER_DAYS) or expired, and moves members between those states on the
+// day it happens, without ever rescanning the members.
+//
+// Each member with a term has two timers, a renewal reminder and an expiry,
+// kept in a hierarchical timing wheel with a one-day tick: 256 daily slots,
+// then 256 slots of 256 days each (about 179 years), then an overflow list.
+// Adding a timer is O(1); each day the ticker fires the day's slot and, every
+// 256 days, spreads the next coarse slot over the daily ones. Timers are never
+// removed when a member changes: a timer that no longer matches its member's
+// end day when it fires is simply dropped.
+//
+// The members table is read once, at start(). Anything that ended while the
+// application was closed is caught up then, and counted against the last day
+// the scheduler saw (kept in a small file) so the dashboard can report it.
+final class ExpiryScheduler {
+    private static final Logger LOG = Logger.getLogger(ExpiryScheduler.class.getName());
+    static final int REMINDER_DAYS = 7;
+    private static final int SLOT_BITS = 8;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 2;
+    private static final int REMIND = 0;
+    private static final int EXPIRE = 1;
+
+    enum Status { NONE, ACTIVE, DUE, EXPIRED }
+
+    private final GymStore.Table<Member> members;
+    private final Clock clock;
+    private final Path stateFile;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean notifying = new AtomicBoolean();
+
+    // Guarded by this
+    private final Bucket[][] wheel = new Bucket[LEVELS][SLOTS];
+    private final Bucket overflow = new Bucket();
+    private final LongIntHashMap due = new LongIntHashMap();
+    private final LongIntHashMap expired = new LongIntHashMap();
+    private long today;
+    private long expiredWhileClosed;
+    private boolean ready;
+    private Thread ticker;
+
+    // stateFile remembers the last day seen, for the catch-up report; null to
+    // skip that
+    ExpiryScheduler(GymStore.Table<Member> members, Clock clock, Path stateFile) {
+        this.members = members;
+        this.clock = clock;
+        this.stateFile = stateFile;
+        for (Bucket[] level : wheel) {
+            for (int i = 0; i < SLOTS; i++) {
+                level[i] = new Bucket();
+            }
+        }
+    }
+
+    // Reads every member once to set up their timers, catching up on whatever
+    // ended while closed, then follows the table. Call it off the EDT.
+    void start() {
+        long lastSeen = readLastDay();
+        synchronized (this) {
+            today = LocalDate.now(clock).toEpochDay();
+        }
+        members.addListener(this::memberChanged, rows -> {
+            synchronized (this) {
+                for (Member member : rows) {
+                    schedule(member);
+                    if (lastSeen > 0 && member.endDay > lastSeen && member.endDay <= today) {
+                        expiredWhileClosed++;
+                    }
+                }
+                ready = true;
+            }
+        });
+        saveLastDay();
+        fireChanged();
+    }
+
+    // Advances the wheel to today once a minute, so it also catches up after
+    // the machine has slept
+    void startTicker() {
+        ticker = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                advanceTo(LocalDate.now(clock));
+            }
+        }, "gym-expiry");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    void stop() {
+        if (ticker != null) {
+            ticker.interrupt();
+        }
+    }
+
+    // Told, on the ticker's thread, whenever members change state
+    void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    // Ticks one day at a time up to day; does nothing if already there
+    void advanceTo(LocalDate day) {
+        long target = day.toEpochDay();
+        boolean changed = false;
+        synchronized (this) {
+            while (ready && today < target) {
+                changed |= tick();
+            }
+        }
+        if (changed) {
+            saveLastDay();
+            fireChanged();
+        }
+    }
+
+    synchronized Status status(long id, long endDay) {
+        if (expired.containsKey(id)) {
+            return Status.EXPIRED;
+        }
+        if (due.containsKey(id)) {
+            return Status.DUE;
+        }
+        return endDay == 0 ? Status.NONE : Status.ACTIVE;
+    }
+
+    Status status(Member member) {
+        return status(member.id, member.endDay);
+    }
+
+    synchronized int expiredCount() {
+        return expired.size();
+    }
+
+    synchronized int dueCount() {
+        return due.size();
+    }
+
+    synchronized long expiredWhileClosed() {
+        return expiredWhileClosed;
+    }
+
+    synchronized boolean isReady() {
+        return ready;
+    }
+
+    private synchronized void memberChanged(Member before, Member after) {
+        if (after == null) {
+            due.remove(before.id);
+            expired.remove(before.id);
+        } else if (before == null || before.endDay != after.endDay) {
+            due.remove(after.id);
+            expired.remove(after.id);
+            schedule(after);
+        } else {
+            return;
+        }
+        fireChangedLater();
+    }
+
+    // Puts the member in its state for today and sets timers for what is to come
+    private void schedule(Member member) {
+        long end = member.endDay;
+        if (end == 0) {
+            return;
+        }
+        if (end <= today) {
+            expired.put(member.id, 0);
+            return;
+        }
+        if (end - REMINDER_DAYS <= today) {
+            due.put(member.id, 0);
+        } else {
+            add(member.id, REMIND, end - REMINDER_DAYS);
+        }
+        add(member.id, EXPIRE, end);
+    }
+
+    private void add(long id, int kind, long day) {
+        long delta = day - today;
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                wheel[level][(int) (day >>> (SLOT_BITS * level)) & (SLOTS - 1)].add(id, kind, day);
+                return;
+            }
+        }
+        overflow.add(id, kind, day);
+    }
+
+    // Moves to the next day; true if any member changed state
+    private boolean tick() {
+        today++;
+        // Timers from coarser levels whose range starts today move down
+        for (int level = 1; level < LEVELS; level++) {
+            if ((today & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                break;
+            }
+            Bucket bucket = wheel[level][(int) (today >>> (SLOT_BITS * level)) & (SLOTS - 1)];
+            redistribute(bucket);
+            if (level == LEVELS - 1) {
+                redistribute(overflow);
+            }
+        }
+        Bucket bucket = wheel[0][(int) today & (SLOTS - 1)];
+        boolean changed = false;
+        for (int i = 0; i < bucket.size; i++) {
+            changed |= fire(bucket.ids[i], bucket.kinds[i], bucket.days[i]);
+        }
+        bucket.clear();
+        return changed;
+    }
+
+    private void redistribute(Bucket bucket) {
+        Bucket moving = bucket.takeAll();
+        for (int i = 0; i < moving.size; i++) {
+            add(moving.ids[i], moving.kinds[i], moving.days[i]);
+        }
+    }
+
+    // Applies a timer if its member still ends when it was set for
+    private boolean fire(long id, int kind, long day) {
+        Member member = members.find(id);
+        if (member == null) {
+            return false;
+        }
+        if (kind == EXPIRE && member.endDay == day) {
+            due.remove(id);
+            expired.put(id, 0);
+            return true;
+        }
+        if (kind == REMIND && member.endDay - REMINDER_DAYS == day) {
+            due.put(id, 0);
+            return true;
+        }
+        return false;
+    }
+
+    private void fireChanged() {
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    // Member changes arrive under the store's write lock; listeners are told
+    // from elsewhere so they never run inside it, once per burst of changes
+    private void fireChangedLater() {
+        if (!listeners.isEmpty() && notifying.compareAndSet(false, true)) {
+            Thread.startVirtualThread(() -> {
+                notifying.set(false);
+                fireChanged();
+            });
+        }
+    }
+
+    private long readLastDay() {
+        if (stateFile == null || !Files.exists(stateFile)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(new String(Files.readAllBytes(stateFile), StandardCharsets.US_ASCII).trim());
+        } catch (IOException | NumberFormatException e) {
+            LOG.log(Level.WARNING, "Could not read " + stateFile, e);
+            return 0;
+        }
+    }
+
+    private void saveLastDay() {
+        if (stateFile == null) {
+            return;
+        }
+        long day;
+        synchronized (this) {
+            day = today;
+        }
+        try {
+            Path temp = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+            Files.write(temp, Long.toString(day).getBytes(StandardCharsets.US_ASCII));
+            Files.move(temp, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not save " + stateFile, e);
+        }
+    }
+
+    // Timers in one slot, as parallel primitive arrays
+    private static final class Bucket {
+        long[] ids = new long[0];
+        long[] days = new long[0];
+        int[] kinds = new int[0];
+        int size;
+
+        void add(long id, int kind, long day) {
+            if (size == ids.length) {
+                int capacity = Math.max(4, size * 2);
+                ids = Arrays.copyOf(ids, capacity);
+                days = Arrays.copyOf(days, capacity);
+                kinds = Arrays.copyOf(kinds, capacity);
+            }
+            ids[size] = id;
+            days[size] = day;
+            kinds[size] = kind;
+            size++;
+        }
+
+        // Empties this bucket, returning its timers
+        Bucket takeAll() {
+            Bucket taken = new Bucket();
+            taken.ids = ids;
+            taken.days = days;
+            taken.kinds = kinds;
+            taken.size = size;
+            ids = new long[0];
+            days = new long[0];
+            kinds = new int[0];
+            size = 0;
+            return taken;
+        }
+
+        void clear() {
+            if (ids.length > 64) {
+                ids = new long[0];
+                days = new long[0];
+                kinds = new int[0];
+            }
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,508 @@
+package gym;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+// Writes the members, trainers, plans and products tables, and the sales
+// ledger one line item per row, out as CSV, NDJSON or a compact columnar
+// binary format, one file per table.
+//
+// Each table is captured as an array of row references when its export
+// starts, so the file is a consistent copy even while others keep editing;
+// rows are never copied or formatted ahead of time. Sales are streamed from
+// the ledger's segment files up to the last payment committed at the start.
+// Output goes through one direct buffer that is reused for every file and
+// flushed to the channel whenever it fills, so the memory an export needs
+// does not grow with the number of rows. Every file is written under a
+// temporary name, and they are moved into place together once all of them
+// are complete, so a cancelled or failed export leaves the files of the
+// previous one as they were.
+//
+// Columnar layout (.gymc), all integers unsigned LEB128 varints:
+//   "GYMC" [version=1] [table name] [column count] ([column name] [type])...
+//   then row groups of up to GROUP_ROWS rows: [row count] [column]...
+//   and a final [0]. Within a group each column is stored contiguously:
+//   numbers as zigzag deltas from the previous row, strings as [byte length]
+//   [UTF-8]. Names are strings too; type 1 is a number, 2 a string.
+final class Exporter {
+    static final int BUFFER_BYTES = 64 << 10;
+    static final int GROUP_ROWS = 4096;
+    private static final int PROGRESS_ROWS = 1024;
+    private static final byte NUMBER = 1;
+    private static final byte STRING = 2;
+    private static final String PART = ".part";
+
+    enum Format {
+        CSV("csv"), NDJSON("ndjson"), COLUMNAR("gymc");
+
+        final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+    }
+
+    // One exported column: either a number or a string accessor
+    static final class Field<T> {
+        final String name;
+        final ToLongFunction<T> number;
+        final Function<T, String> text;
+
+        private Field(String name, ToLongFunction<T> number, Function<T, String> text) {
+            this.name = name;
+            this.number = number;
+            this.text = text;
+        }
+
+        static <T> Field<T> number(String name, ToLongFunction<T> value) {
+            return new Field<>(name, value, null);
+        }
+
+        static <T> Field<T> text(String name, Function<T, String> value) {
+            return new Field<>(name, null, value);
+        }
+    }
+
+    static final List<Field<Member>> MEMBER_FIELDS = Arrays.asList(
+            Field.number("id", m -> m.id),
+            Field.text("name", m -> m.name),
+            Field.number("age", m -> m.age),
+            Field.text("gender", m -> m.gender),
+            Field.text("plan", m -> m.plan),
+            Field.text("trainer", m -> m.trainer),
+            Field.text("start", m -> m.startDay == 0 ? null : LocalDate.ofEpochDay(m.startDay).toString()),
+            Field.text("end", m -> m.endDay == 0 ? null : LocalDate.ofEpochDay(m.endDay).toString()));
+    static final List<Field<Trainer>> TRAINER_FIELDS = Arrays.asList(
+            Field.number("id", t -> t.id),
+            Field.text("name", t -> t.name),
+            Field.text("specialization", t -> t.specialization));
+    static final List<Field<MembershipPlan>> PLAN_FIELDS = Arrays.asList(
+            Field.number("id", p -> p.id),
+            Field.text("name", p -> p.name),
+            Field.number("durationMonths", p -> p.duration),
+            Field.number("priceCents", p -> p.priceCents));
+    static final List<Field<Product>> PRODUCT_FIELDS = Arrays.asList(
+            Field.number("id", p -> p.id),
+            Field.text("name", p -> p.name),
+            Field.number("priceCents", p -> p.priceCents),
+            Field.text("description", p -> p.description),
+            Field.number("stock", p -> p.stock),
+            Field.text("category", p -> p.category),
+            Field.text("image", p -> p.image));
+
+    // One line item of a sale
+    static final class SaleLine {
+        final SalesLedger.Sale sale;
+        final SalesLedger.Line line;
+
+        SaleLine(SalesLedger.Sale sale, SalesLedger.Line line) {
+            this.sale = sale;
+            this.line = line;
+        }
+    }
+
+    static final List<Field<SaleLine>> SALE_FIELDS = Arrays.asList(
+            Field.number("sale", s -> s.sale.seq),
+            Field.number("timeMillis", s -> s.sale.timeMillis),
+            Field.text("day", s -> LocalDate.ofEpochDay(s.sale.epochDay).toString()),
+            Field.text("method", s -> s.sale.method.name()),
+            Field.text("kind", s -> s.line.kind.name()),
+            Field.number("itemId", s -> s.line.refId),
+            Field.text("item", s -> s.line.name),
+            Field.number("quantity", s -> s.line.quantity),
+            Field.number("unitCents", s -> s.line.unitCents),
+            Field.number("amountCents", s -> s.line.amountCents()));
+
+    private final MemberService members;
+    private final CatalogService catalog;
+    private final SalesLedger ledger;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    // Unpaired surrogates become '?', which utf8Length() counts as one byte
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private FileChannel out;
+
+    Exporter(MemberService members, CatalogService catalog, SalesLedger ledger) {
+        this.members = members;
+        this.catalog = catalog;
+        this.ledger = ledger;
+    }
+
+    // Exports every table into dir as <table>.<extension> and returns the
+    // number of rows written. Progress is in rows over all tables. One export
+    // at a time per Exporter, since they share the buffer.
+    synchronized long exportAll(Path dir, Format format, Progress progress) throws IOException {
+        Object[][] tables = {
+            members.table().toArray(), catalog.trainers().toArray(),
+            catalog.plans().toArray(), catalog.products().toArray()
+        };
+        long total = ledger.lineCount();
+        for (Object[] rows : tables) {
+            total += rows.length;
+        }
+        long done = 0;
+        List<Path> parts = new ArrayList<>();
+        boolean complete = false;
+        try {
+            done = export(dir, "members", MEMBER_FIELDS, rows(tables[0]), format, progress, done, total, parts);
+            done = export(dir, "trainers", TRAINER_FIELDS, rows(tables[1]), format, progress, done, total, parts);
+            done = export(dir, "plans", PLAN_FIELDS, rows(tables[2]), format, progress, done, total, parts);
+            done = export(dir, "products", PRODUCT_FIELDS, rows(tables[3]), format, progress, done, total, parts);
+            try (SalesLedger.Reader sales = ledger.read()) {
+                done = export(dir, "sales", SALE_FIELDS, saleLines(sales), format, progress, done, total, parts);
+            }
+            complete = true;
+        } finally {
+            if (!complete) {
+                for (Path part : parts) {
+                    Files.deleteIfExists(part);
+                }
+            }
+        }
+        for (Path part : parts) {
+            String name = part.getFileName().toString();
+            Files.move(part, part.resolveSibling(name.substring(0, name.length() - PART.length())),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return done;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Iterator<T> rows(Object[] rows) {
+        return (Iterator<T>) Arrays.asList(rows).iterator();
+    }
+
+    private static Iterator<SaleLine> saleLines(Iterator<SalesLedger.Sale> sales) {
+        return new Iterator<SaleLine>() {
+            private SalesLedger.Sale sale;
+            private Iterator<SalesLedger.Line> lines = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!lines.hasNext() && sales.hasNext()) {
+                    sale = sales.next();
+                    lines = sale.lines.iterator();
+                }
+                return lines.hasNext();
+            }
+
+            @Override
+            public SaleLine next() {
+                hasNext();
+                return new SaleLine(sale, lines.next());
+            }
+        };
+    }
+
+    // Writes the table to <table>.<extension>.part, added to parts before it
+    // is created, and returns done plus the rows written
+    private <T> long export(Path dir, String table, List<Field<T>> fields, Iterator<T> rows, Format format,
+            Progress progress, long done, long total, List<Path> parts) throws IOException {
+        Path part = dir.resolve(table + "." + format.extension + PART);
+        parts.add(part);
+        long written;
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            out = channel;
+            buffer.clear();
+            switch (format) {
+                case CSV:
+                    written = writeCsv(fields, rows, progress, done, total);
+                    break;
+                case NDJSON:
+                    written = writeNdjson(fields, rows, progress, done, total);
+                    break;
+                default:
+                    written = writeColumnar(table, fields, rows, progress, done, total);
+            }
+            flush();
+            channel.force(false);
+        } finally {
+            out = null;
+        }
+        return done + written;
+    }
+
+    private <T> long writeCsv(List<Field<T>> fields, Iterator<T> rows, Progress progress, long done, long total)
+            throws IOException {
+        for (int f = 0; f < fields.size(); f++) {
+            if (f > 0) {
+                put((byte) ',');
+            }
+            text(fields.get(f).name);
+        }
+        put((byte) '\n');
+        long count = 0;
+        for (; rows.hasNext(); count++) {
+            checkpoint(count, progress, done, total);
+            T row = rows.next();
+            for (int f = 0; f < fields.size(); f++) {
+                if (f > 0) {
+                    put((byte) ',');
+                }
+                Field<T> field = fields.get(f);
+                if (field.number != null) {
+                    number(field.number.applyAsLong(row));
+                } else {
+                    csvField(field.text.apply(row));
+                }
+            }
+            put((byte) '\n');
+        }
+        return count;
+    }
+
+    private <T> long writeNdjson(List<Field<T>> fields, Iterator<T> rows, Progress progress, long done, long total)
+            throws IOException {
+        long count = 0;
+        for (; rows.hasNext(); count++) {
+            checkpoint(count, progress, done, total);
+            T row = rows.next();
+            put((byte) '{');
+            for (int f = 0; f < fields.size(); f++) {
+                Field<T> field = fields.get(f);
+                if (f > 0) {
+                    put((byte) ',');
+                }
+                jsonString(field.name);
+                put((byte) ':');
+                if (field.number != null) {
+                    number(field.number.applyAsLong(row));
+                } else {
+                    String value = field.text.apply(row);
+                    if (value == null) {
+                        text("null");
+                    } else {
+                        jsonString(value);
+                    }
+                }
+            }
+            put((byte) '}');
+            put((byte) '\n');
+        }
+        return count;
+    }
+
+    // Rows are pulled a group at a time, since a group is written column by column
+    @SuppressWarnings("unchecked")
+    private <T> long writeColumnar(String table, List<Field<T>> fields, Iterator<T> rows, Progress progress,
+            long done, long total) throws IOException {
+        text("GYMC");
+        varint(1);
+        lengthPrefixed(table);
+        varint(fields.size());
+        for (Field<T> field : fields) {
+            lengthPrefixed(field.name);
+            put(field.number != null ? NUMBER : STRING);
+        }
+        Object[] group = new Object[GROUP_ROWS];
+        long count = 0;
+        while (rows.hasNext()) {
+            checkpoint(count, progress, done, total);
+            int size = 0;
+            while (size < GROUP_ROWS && rows.hasNext()) {
+                group[size++] = rows.next();
+            }
+            count += size;
+            varint(size);
+            for (Field<T> field : fields) {
+                long previous = 0;
+                for (int i = 0; i < size; i++) {
+                    T row = (T) group[i];
+                    if (field.number != null) {
+                        long value = field.number.applyAsLong(row);
+                        long delta = value - previous;
+                        varint((delta << 1) ^ (delta >> 63));
+                        previous = value;
+                    } else {
+                        String value = field.text.apply(row);
+                        lengthPrefixed(value == null ? "" : value);
+                    }
+                }
+            }
+        }
+        varint(0);
+        return count;
+    }
+
+    // Reports progress and stops a cancelled export every so many rows
+    private static void checkpoint(long row, Progress progress, long done, long total) {
+        if (row % PROGRESS_ROWS != 0) {
+            return;
+        }
+        if (progress.isCancelled()) {
+            throw new CancellationException();
+        }
+        progress.report(done + row, total);
+    }
+
+    private void csvField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            text(value);
+            return;
+        }
+        put((byte) '"');
+        text(value.replace("\"", "\"\""));
+        put((byte) '"');
+    }
+
+    private void jsonString(String value) throws IOException {
+        put((byte) '"');
+        int plain = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            text(value, plain, i);
+            plain = i + 1;
+            switch (c) {
+                case '"':
+                    text("\\\"");
+                    break;
+                case '\\':
+                    text("\\\\");
+                    break;
+                case '\n':
+                    text("\\n");
+                    break;
+                case '\r':
+                    text("\\r");
+                    break;
+                case '\t':
+                    text("\\t");
+                    break;
+                default:
+                    text(String.format("\\u%04x", (int) c));
+            }
+        }
+        text(value, plain, value.length());
+        put((byte) '"');
+    }
+
+    private void number(long value) throws IOException {
+        if (value >= 0 && value < 10) {
+            put((byte) ('0' + value));
+        } else {
+            text(Long.toString(value));
+        }
+    }
+
+    private void lengthPrefixed(String value) throws IOException {
+        varint(utf8Length(value));
+        text(value);
+    }
+
+    private void varint(long value) throws IOException {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private void put(byte b) throws IOException {
+        ensure(1);
+        buffer.put(b);
+    }
+
+    private void text(String s) throws IOException {
+        text(s, 0, s.length());
+    }
+
+    // ASCII is copied straight into the buffer; anything else goes through
+    // the encoder, flushing whenever the buffer fills
+    private void text(String s, int from, int to) throws IOException {
+        int i = from;
+        while (i < to) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                break;
+            }
+            ensure(1);
+            buffer.put((byte) c);
+            i++;
+        }
+        if (i == to) {
+            return;
+        }
+        CharBuffer chars = CharBuffer.wrap(s, i, to);
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, true);
+            if (result.isOverflow()) {
+                flush();
+            } else if (result.isError()) {
+                result.throwException();
+            } else {
+                break;
+            }
+        }
+        while (encoder.flush(buffer).isOverflow()) {
+            flush();
+        }
+    }
+
+    private static int utf8Length(String s) {
+        int length = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+}
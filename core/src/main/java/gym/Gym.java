@@ -0,0 +1,134 @@
+package gym;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+
+// The data and services one gym runs on, shared by the Swing windows and the
+// HTTP API. open() replays the store and opens the logs; the member index,
+// trainer loads, analytics counters and expiry pass are built afterwards on
+// daemon threads, and each service reports itself not ready until then.
+final class Gym implements Closeable {
+    final GymStore store;
+    final MemberService memberService;
+    final CatalogService catalog;
+    final SalesLedger ledger;
+    final Analytics analytics;
+    final TrainerAssigner trainerAssigner;
+    final ExpiryScheduler expiry;
+    final Attendance attendance;
+    final Payments payments;
+
+    private Gym(GymStore store, MemberService memberService, CatalogService catalog, SalesLedger ledger,
+            Analytics analytics, TrainerAssigner trainerAssigner, ExpiryScheduler expiry, Attendance attendance,
+            Payments payments) {
+        this.store = store;
+        this.memberService = memberService;
+        this.catalog = catalog;
+        this.ledger = ledger;
+        this.analytics = analytics;
+        this.trainerAssigner = trainerAssigner;
+        this.expiry = expiry;
+        this.attendance = attendance;
+        this.payments = payments;
+    }
+
+    // Opens the data kept in dir, taking card and UPI payments through the
+    // simulated gateway
+    static Gym open(Path dir) throws IOException {
+        return open(dir, SimulatedGateway.fromProperties());
+    }
+
+    // Opens the data kept in dir; predefined data is only loaded into a fresh
+    // store. The message of a failure says which part could not be opened.
+    static Gym open(Path dir, PaymentGateway gateway) throws IOException {
+        GymStore store = new GymStore(dir);
+        GymStore.Table<Member> memberTable = store.table(1, Codecs.MEMBER);
+        GymStore.Table<Trainer> trainerTable = store.table(2, Codecs.TRAINER);
+        GymStore.Table<MembershipPlan> planTable = store.table(3, Codecs.PLAN);
+        MemberService memberService = new MemberService(store, memberTable,
+                new MemberReferences(store, memberTable, trainerTable, planTable));
+        CatalogService catalog = new CatalogService(store, memberService, trainerTable, planTable,
+                store.table(4, Codecs.PRODUCT));
+        try {
+            if (!store.open()) {
+                initializeSampleData(catalog);
+            }
+        } catch (IOException e) {
+            throw new IOException("Could not open data store: " + e.getMessage(), e);
+        }
+        SalesLedger ledger = new SalesLedger(dir.resolve("ledger"));
+        try {
+            ledger.open();
+        } catch (IOException e) {
+            throw new IOException("Could not open sales ledger: " + e.getMessage(), e);
+        }
+        // The analytics screen shows a placeholder until the counters are seeded
+        Analytics analytics = new Analytics();
+        daemon("gym-analytics", () -> analytics.start(memberTable, ledger));
+        // Trainer suggestions are off until every member's trainer is counted
+        TrainerAssigner trainerAssigner = new TrainerAssigner();
+        daemon("gym-trainer-loads", () -> trainerAssigner.start(trainerTable, memberTable));
+        // Searches find nothing until the names are indexed. Plan and trainer
+        // references would otherwise be indexed by the first write that needs them.
+        daemon("gym-member-index", () -> {
+            memberService.references().start();
+            memberService.indexNames();
+        });
+        // Memberships show no status until the catch-up pass has run
+        ExpiryScheduler expiry = new ExpiryScheduler(memberTable, Clock.systemDefaultZone(), dir.resolve("expiry.day"));
+        daemon("gym-expiry-start", () -> {
+            expiry.start();
+            expiry.startTicker();
+        });
+        Attendance attendance = new Attendance(dir.resolve("attendance"), memberTable, expiry, Clock.systemDefaultZone());
+        try {
+            attendance.open();
+        } catch (IOException e) {
+            throw new IOException("Could not open attendance log: " + e.getMessage(), e);
+        }
+        return new Gym(store, memberService, catalog, ledger, analytics, trainerAssigner, expiry, attendance,
+                Payments.fromProperties(gateway));
+    }
+
+    private static void daemon(String name, Runnable work) {
+        Thread thread = new Thread(work, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void initializeSampleData(CatalogService catalog) {
+        // Initialize predefined trainers
+        catalog.addTrainer(new Trainer("John Doe", "Weight Training"));
+        catalog.addTrainer(new Trainer("Jane Smith", "Yoga"));
+        catalog.addTrainer(new Trainer("Mike Johnson", "Cardio"));
+
+        // Initialize predefined plans
+        catalog.addPlan(new MembershipPlan("Basic", 1, 3000));
+        catalog.addPlan(new MembershipPlan("Standard", 3, 7500));
+        catalog.addPlan(new MembershipPlan("Premium", 6, 12000));
+        catalog.addPlan(new MembershipPlan("Annual", 12, 20000));
+
+        // Initialize predefined products
+        catalog.addProduct(new Product("Protein Powder", 5000, "Whey protein isolate, 5lbs", 50, "Supplements", ""));
+        catalog.addProduct(new Product("Gym Gloves", 2000, "Padded weightlifting gloves", 50, "Accessories", ""));
+        catalog.addProduct(new Product("Water Bottle", 1000, "1L insulated stainless steel", 50, "Accessories", ""));
+        catalog.addProduct(new Product("Resistance Bands", 2500, "Set of 5 with different resistance levels", 50, "Equipment", ""));
+        catalog.addProduct(new Product("Fitness Tracker", 8000, "Heart rate monitor and step counter", 50, "Equipment", ""));
+    }
+
+    // Pending saves must have finished; payments being committed are waited
+    // for, and the logs are closed before the store
+    @Override
+    public void close() throws IOException {
+        try {
+            payments.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        attendance.close();
+        ledger.close();
+        store.close();
+    }
+}
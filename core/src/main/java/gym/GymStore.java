@@ -0,0 +1,1037 @@
+package gym;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+// Persistent storage for the in-memory lists: an append-only, checksummed journal
+// of puts and deletes keyed by record id, plus periodic compacted snapshots.
+//
+// Layout of the data directory:
+//   snapshot-<seq>.dat   full copy of every table as of journal record <seq>
+//   journal-<seq>.log    journal segment whose first record is <seq>
+//
+// Journal record: [int length][int crc32][long seq][byte op][byte kind][long id][payload]
+// A unit (op 3, kind 0, id = entry count) holds the mutations made in one
+// atomically() call as entries of [byte op][byte kind][long id][int length]
+// [payload]; being one record, it is replayed whole or not at all.
+class GymStore implements Closeable {
+    private static final Logger LOG = Logger.getLogger(GymStore.class.getName());
+
+    interface Codec<T> {
+        void encode(T value, ByteBuffer out);
+
+        T decode(ByteBuffer in);
+    }
+
+    static final byte OP_PUT = 1;
+    static final byte OP_DELETE = 2;
+    static final byte OP_UNIT = 3;
+
+    private static final int JOURNAL_MAGIC = 0x474d594a;  // "GMYJ"
+    private static final int SNAPSHOT_MAGIC = 0x474d5953; // "GMYS"
+    private static final int FORMAT_VERSION = 3;
+    private static final int FILE_HEADER = 8;
+    private static final int RECORD_HEADER = 8;
+    private static final int BODY_HEADER = 18;
+    private static final long COMPACT_THRESHOLD = 32L << 20;
+    private static final int MAX_SEGMENTS_ON_OPEN = 4;
+    private static final int SHORT_STRING = 24;
+    private static final int STRING_CACHE_SIZE = 1024;
+    private static final ThreadLocal<Object[]> STRING_CACHE =
+            ThreadLocal.withInitial(() -> new Object[STRING_CACHE_SIZE * 2]);
+
+    private final Path dir;
+    private final Table<?>[] tablesByKind = new Table<?>[128];
+    private final List<Table<?>> tables = new ArrayList<>();
+
+    // Held by every table mutation from applying the change through logging it
+    // and telling the listeners, so the journal and listeners see changes in
+    // the order they were made, whichever threads make them. Taken before lock.
+    private final Object writes = new Object();
+    // Entries of the atomically() call in progress; guarded by writes
+    private ByteBuffer unit = ByteBuffer.allocate(4 << 10);
+    private int unitDepth;
+    private int unitEntries;
+
+    // Guards everything below; the committer thread waits on it for new records
+    private final Object lock = new Object();
+    private ByteBuffer pending = ByteBuffer.allocate(64 << 10);
+    private ByteBuffer writing = ByteBuffer.allocate(64 << 10);
+    private ByteBuffer scratch = ByteBuffer.allocate(4 << 10);
+    private final CRC32 crc = new CRC32();
+    private FileChannel journal;
+    private long nextSeq = 1;
+    private long committedSeq;
+    private long journalBytes;
+    private long segmentSeq;
+    private int rollMark = -1;
+    private long rollSeq;
+    private boolean compacting;
+    private boolean opened;
+    private boolean closed;
+    private IOException failure;
+    private Thread committer;
+    private Thread compactor;
+
+    GymStore(Path dir) {
+        this.dir = dir;
+    }
+
+    // Registers a table; all tables must be registered before open()
+    <T extends Entity> Table<T> table(int kind, Codec<T> codec) {
+        if (opened) {
+            throw new IllegalStateException("tables must be registered before open()");
+        }
+        if (tablesByKind[kind] != null) {
+            throw new IllegalArgumentException("duplicate table kind " + kind);
+        }
+        Table<T> table = new Table<>(this, (byte) kind, codec);
+        tablesByKind[kind] = table;
+        tables.add(table);
+        return table;
+    }
+
+    // Loads the latest snapshot and replays the journal tail. Returns false if the
+    // directory held no data, i.e. this is a fresh store.
+    boolean open() throws IOException {
+        if (opened) {
+            throw new IllegalStateException("store already open");
+        }
+        opened = true;
+        Files.createDirectories(dir);
+
+        TreeMap<Long, Path> snapshots = listFiles("snapshot-", ".dat");
+        TreeMap<Long, Path> segments = listFiles("journal-", ".log");
+        long snapshotSeq = 0;
+        if (!snapshots.isEmpty()) {
+            snapshotSeq = readSnapshot(snapshots.lastEntry().getValue());
+        }
+
+        long lastSeq = snapshotSeq;
+        long replayedBytes = 0;
+        Path last = segments.isEmpty() ? null : segments.lastEntry().getValue();
+        for (Path segment : segments.values()) {
+            long[] result = replaySegment(segment, snapshotSeq, segment.equals(last));
+            lastSeq = Math.max(lastSeq, result[0]);
+            replayedBytes += result[1];
+        }
+
+        nextSeq = lastSeq + 1;
+        committedSeq = lastSeq;
+        journalBytes = replayedBytes;
+        segmentSeq = nextSeq;
+        journal = openSegment(segmentSeq);
+
+        committer = new Thread(this::commitLoop, "gym-store-committer");
+        committer.setDaemon(true);
+        committer.start();
+
+        if (segments.size() > MAX_SEGMENTS_ON_OPEN || replayedBytes >= COMPACT_THRESHOLD) {
+            synchronized (lock) {
+                startCompaction();
+            }
+        }
+        return !snapshots.isEmpty() || lastSeq > 0;
+    }
+
+    // Blocks until every record logged so far has been forced to disk
+    void sync() throws IOException {
+        synchronized (lock) {
+            long target = nextSeq - 1;
+            while (committedSeq < target && failure == null && !closed) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("interrupted while waiting for journal commit", e);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        Thread committerThread;
+        Thread compactorThread;
+        synchronized (lock) {
+            if (closed || !opened) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+            committerThread = committer;
+            compactorThread = compactor;
+        }
+        join(committerThread);
+        join(compactorThread);
+        journal.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static void join(Thread thread) throws IOException {
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while closing store", e);
+        }
+    }
+
+    // Runs work holding the write lock, so other writers wait until it is done,
+    // and journals every mutation it makes as one record: after a crash either
+    // all of them are replayed or none. Listeners still hear of each mutation
+    // as it is applied. Nothing is rolled back if work throws part way; the
+    // mutations made until then are applied and journaled together.
+    void atomically(Runnable work) {
+        synchronized (writes) {
+            unitDepth++;
+            try {
+                work.run();
+            } finally {
+                if (--unitDepth == 0 && unitEntries > 0) {
+                    logUnit();
+                }
+            }
+        }
+    }
+
+    // Called by a table after it has applied a mutation to its rows, with the
+    // write lock still held
+    private <T extends Entity> void log(byte op, Table<T> table, long id, T value) {
+        if (unitDepth > 0) {
+            addToUnit(op, table, id, value);
+            return;
+        }
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("store is closed");
+            }
+            if (failure != null) {
+                throw new UncheckedIOException("journal write failed", failure);
+            }
+
+            long seq = nextSeq++;
+            int length;
+            while (true) {
+                try {
+                    scratch.clear();
+                    scratch.putLong(seq).put(op).put(table.kind).putLong(id);
+                    if (value != null) {
+                        table.codec.encode(value, scratch);
+                    }
+                    length = scratch.position();
+                    break;
+                } catch (BufferOverflowException e) {
+                    scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+                }
+            }
+            append(length);
+        }
+    }
+
+    private <T extends Entity> void addToUnit(byte op, Table<T> table, long id, T value) {
+        int start = unit.position();
+        while (true) {
+            try {
+                unit.put(op).put(table.kind).putLong(id).putInt(0);
+                if (value != null) {
+                    table.codec.encode(value, unit);
+                }
+                unit.putInt(start + 10, unit.position() - start - 14);
+                unitEntries++;
+                return;
+            } catch (BufferOverflowException e) {
+                ByteBuffer grown = ByteBuffer.allocate(unit.capacity() * 2);
+                unit.flip().limit(start);
+                grown.put(unit);
+                unit = grown;
+            }
+        }
+    }
+
+    private void logUnit() {
+        try {
+            synchronized (lock) {
+                if (closed) {
+                    throw new IllegalStateException("store is closed");
+                }
+                if (failure != null) {
+                    throw new UncheckedIOException("journal write failed", failure);
+                }
+                long seq = nextSeq++;
+                int length = BODY_HEADER + unit.position();
+                if (scratch.capacity() < length) {
+                    scratch = ByteBuffer.allocate(Math.max(scratch.capacity() * 2, length));
+                }
+                scratch.clear();
+                if (unitEntries == 1) {
+                    // A lone mutation is logged as the plain record it would have been
+                    scratch.putLong(seq).put(unit.array(), 0, 10).put(unit.array(), 14, unit.position() - 14);
+                    length -= 4;
+                } else {
+                    scratch.putLong(seq).put(OP_UNIT).put((byte) 0).putLong(unitEntries);
+                    scratch.put(unit.array(), 0, unit.position());
+                }
+                append(length);
+            }
+        } finally {
+            unit.clear();
+            unitEntries = 0;
+        }
+    }
+
+    // Adds the record body encoded in scratch to the pending batch; lock held
+    private void append(int length) {
+        crc.reset();
+        crc.update(scratch.array(), 0, length);
+        if (pending.remaining() < RECORD_HEADER + length) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + RECORD_HEADER + length));
+            pending.flip();
+            grown.put(pending);
+            pending = grown;
+        }
+        pending.putInt(length).putInt((int) crc.getValue()).put(scratch.array(), 0, length);
+        journalBytes += RECORD_HEADER + length;
+        lock.notifyAll();
+
+        if (journalBytes >= COMPACT_THRESHOLD) {
+            startCompaction();
+        }
+    }
+
+    // Group commit: everything logged while the previous batch was being forced
+    // goes out in the next single write + force
+    private void commitLoop() {
+        while (true) {
+            ByteBuffer batch;
+            long upTo;
+            int mark;
+            long markSeq;
+            synchronized (lock) {
+                while (pending.position() == 0 && rollMark < 0 && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending.position() == 0 && rollMark < 0) {
+                    return;
+                }
+                batch = pending;
+                pending = writing;
+                writing = batch;
+                upTo = nextSeq - 1;
+                mark = rollMark;
+                markSeq = rollSeq;
+                rollMark = -1;
+            }
+
+            try {
+                batch.flip();
+                if (mark >= 0) {
+                    ByteBuffer head = batch.duplicate();
+                    head.limit(mark);
+                    writeFully(head);
+                    journal.force(false);
+                    journal.close();
+                    journal = openSegment(markSeq + 1);
+                    batch.position(mark);
+                }
+                writeFully(batch);
+                journal.force(false);
+            } catch (IOException e) {
+                synchronized (lock) {
+                    failure = e;
+                    lock.notifyAll();
+                }
+                return;
+            } finally {
+                batch.clear();
+            }
+
+            synchronized (lock) {
+                committedSeq = upTo;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            journal.write(buffer);
+        }
+    }
+
+    // Must be called with the lock held, from append(). Captures every table as of
+    // the last logged record (log() runs under the write lock, so no table is
+    // mid-change), asks the committer to start a new segment after it, and
+    // writes the snapshot in the background.
+    private void startCompaction() {
+        if (compacting || closed) {
+            return;
+        }
+        compacting = true;
+        long seq = nextSeq - 1;
+        List<TableCopy> copies = new ArrayList<>(tables.size());
+        for (Table<?> table : tables) {
+            copies.add(new TableCopy(table));
+        }
+        if (segmentSeq <= seq) {
+            rollMark = pending.position();
+            rollSeq = seq;
+            segmentSeq = seq + 1;
+        }
+        journalBytes = 0;
+        lock.notifyAll();
+
+        compactor = new Thread(() -> compact(seq, copies), "gym-store-compactor");
+        compactor.setDaemon(true);
+        compactor.start();
+    }
+
+    private void compact(long seq, List<TableCopy> copies) {
+        try {
+            writeSnapshot(seq, copies);
+            synchronized (lock) {
+                // Old segments may only go once the committer has moved past them
+                while (rollMark >= 0 && failure == null) {
+                    lock.wait();
+                }
+            }
+            for (Path old : listFiles("snapshot-", ".dat").headMap(seq).values()) {
+                Files.deleteIfExists(old);
+            }
+            for (Path old : listFiles("journal-", ".log").headMap(seq, true).values()) {
+                Files.deleteIfExists(old);
+            }
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "snapshot failed, journal kept", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (lock) {
+                compacting = false;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeSnapshot(long seq, List<TableCopy> copies) throws IOException {
+        Path target = dir.resolve(fileName("snapshot-", seq, ".dat"));
+        Path temp = dir.resolve(target.getFileName() + ".tmp");
+        CRC32 checksum = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+        ByteBuffer record = ByteBuffer.allocate(4 << 10);
+
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            buffer.putInt(SNAPSHOT_MAGIC).putInt(FORMAT_VERSION).putLong(seq).putInt(copies.size());
+            for (TableCopy copy : copies) {
+                Table<Entity> table = (Table<Entity>) copy.table;
+                buffer = ensure(buffer, 13, out, checksum);
+                buffer.put(table.kind).putLong(copy.nextId).putInt(copy.rows.length);
+                for (Object row : copy.rows) {
+                    Entity entity = (Entity) row;
+                    while (true) {
+                        try {
+                            record.clear();
+                            record.putLong(entity.id);
+                            table.codec.encode(entity, record);
+                            break;
+                        } catch (BufferOverflowException e) {
+                            record = ByteBuffer.allocate(record.capacity() * 2);
+                        }
+                    }
+                    record.flip();
+                    buffer = ensure(buffer, 4 + record.remaining(), out, checksum);
+                    buffer.putInt(record.remaining()).put(record);
+                }
+            }
+            flush(buffer, out, checksum);
+            ByteBuffer trailer = ByteBuffer.allocate(4).putInt((int) checksum.getValue());
+            trailer.flip();
+            while (trailer.hasRemaining()) {
+                out.write(trailer);
+            }
+            out.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static ByteBuffer ensure(ByteBuffer buffer, int needed, FileChannel out, CRC32 checksum) throws IOException {
+        if (buffer.remaining() >= needed) {
+            return buffer;
+        }
+        flush(buffer, out, checksum);
+        return needed <= buffer.capacity() ? buffer : ByteBuffer.allocate(needed);
+    }
+
+    private static void flush(ByteBuffer buffer, FileChannel out, CRC32 checksum) throws IOException {
+        buffer.flip();
+        checksum.update(buffer.array(), 0, buffer.limit());
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private long readSnapshot(Path file) throws IOException {
+        ByteBuffer data = readAll(file);
+        if (data.limit() < 24 || data.getInt(0) != SNAPSHOT_MAGIC) {
+            throw new IOException("Not a snapshot file: " + file);
+        }
+        if (data.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot version " + data.getInt(4) + " in " + file);
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(data.array(), 0, data.limit() - 4);
+        if ((int) checksum.getValue() != data.getInt(data.limit() - 4)) {
+            throw new IOException("Snapshot checksum mismatch: " + file);
+        }
+
+        int contentEnd = data.limit() - 4;
+        data.position(8);
+        data.limit(contentEnd);
+        long seq = data.getLong();
+        int tableCount = data.getInt();
+        try {
+            for (int t = 0; t < tableCount; t++) {
+                byte kind = data.get();
+                long nextId = data.getLong();
+                int count = data.getInt();
+                Table<?> table = kind >= 0 ? tablesByKind[kind] : null;
+                if (table != null) {
+                    table.nextId = Math.max(table.nextId, nextId);
+                }
+                for (int i = 0; i < count; i++) {
+                    int length = data.getInt();
+                    int end = data.position() + length;
+                    if (table != null) {
+                        data.limit(end);
+                        table.restore(data);
+                        data.limit(contentEnd);
+                    }
+                    data.position(end);
+                }
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Corrupt snapshot: " + file, e);
+        }
+        return seq;
+    }
+
+    // Applies every intact record newer than afterSeq. A torn or corrupt record at
+    // the end of the newest segment is a crash mid-commit: the file is cut there.
+    // Returns { last seq seen, bytes of records read }.
+    private long[] replaySegment(Path file, long afterSeq, boolean newest) throws IOException {
+        ByteBuffer data = readAll(file);
+        if (data.limit() < FILE_HEADER || data.getInt(0) != JOURNAL_MAGIC) {
+            if (newest) {
+                return new long[]{afterSeq, 0};
+            }
+            throw new IOException("Not a journal segment: " + file);
+        }
+        if (data.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported journal version " + data.getInt(4) + " in " + file);
+        }
+
+        CRC32 checksum = new CRC32();
+        long lastSeq = afterSeq;
+        data.position(FILE_HEADER);
+        while (data.remaining() >= RECORD_HEADER) {
+            int start = data.position();
+            int length = data.getInt();
+            int expected = data.getInt();
+            if (length < BODY_HEADER || length > data.remaining()) {
+                data.position(start);
+                break;
+            }
+            checksum.reset();
+            checksum.update(data.array(), data.position(), length);
+            if ((int) checksum.getValue() != expected) {
+                data.position(start);
+                break;
+            }
+
+            ByteBuffer body = data.duplicate();
+            body.limit(data.position() + length);
+            data.position(data.position() + length);
+            long seq = body.getLong();
+            byte op = body.get();
+            byte kind = body.get();
+            long id = body.getLong();
+            lastSeq = Math.max(lastSeq, seq);
+            if (seq <= afterSeq) {
+                continue;
+            }
+            try {
+                if (op == OP_UNIT) {
+                    for (long i = 0; i < id; i++) {
+                        byte entryOp = body.get();
+                        byte entryKind = body.get();
+                        long entryId = body.getLong();
+                        int entryLength = body.getInt();
+                        ByteBuffer entry = body.duplicate();
+                        entry.limit(body.position() + entryLength);
+                        body.position(body.position() + entryLength);
+                        replay(file, entryOp, entryKind, entryId, entry);
+                    }
+                } else {
+                    replay(file, op, kind, id, body);
+                }
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                throw new IOException("Journal record " + seq + " does not apply cleanly in " + file, e);
+            }
+        }
+
+        if (data.hasRemaining()) {
+            if (!newest) {
+                throw new IOException("Corrupt record in sealed journal segment " + file);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(data.position());
+                channel.force(true);
+            }
+        }
+        return new long[]{lastSeq, data.position() - FILE_HEADER};
+    }
+
+    private void replay(Path file, byte op, byte kind, long id, ByteBuffer body) throws IOException {
+        Table<?> table = kind >= 0 ? tablesByKind[kind] : null;
+        if (table == null) {
+            throw new IOException("Unknown table kind " + kind + " in " + file);
+        }
+        table.replay(op, id, body);
+    }
+
+    private FileChannel openSegment(long firstSeq) throws IOException {
+        Path file = dir.resolve(fileName("journal-", firstSeq, ".log"));
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER).putInt(JOURNAL_MAGIC).putInt(FORMAT_VERSION);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(true);
+        return channel;
+    }
+
+    private static ByteBuffer readAll(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File too large: " + file);
+            }
+            ByteBuffer data = ByteBuffer.allocate((int) size);
+            while (data.hasRemaining() && channel.read(data) >= 0) {
+                // keep reading
+            }
+            data.flip();
+            return data;
+        }
+    }
+
+    private TreeMap<Long, Path> listFiles(String prefix, String suffix) throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, prefix + "*" + suffix)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                try {
+                    files.put(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())), file);
+                } catch (NumberFormatException e) {
+                    // not one of ours
+                }
+            }
+        }
+        return files;
+    }
+
+    private static String fileName(String prefix, long seq, String suffix) {
+        return prefix + String.format("%020d", seq) + suffix;
+    }
+
+    static void putString(ByteBuffer out, String value) {
+        if (value == null) {
+            out.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putInt(bytes.length).put(bytes);
+    }
+
+    static String getString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] array = in.array();
+        int offset = in.arrayOffset() + in.position();
+        in.position(in.position() + length);
+        if (length > SHORT_STRING) {
+            return new String(array, offset, length, StandardCharsets.UTF_8);
+        }
+
+        // Genders, plan and trainer names repeat on every member row; share one
+        // String per distinct short value instead of allocating each time
+        int hash = 1;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + array[i];
+        }
+        Object[] cache = STRING_CACHE.get();
+        int slot = (hash & (STRING_CACHE_SIZE - 1)) * 2;
+        byte[] cachedBytes = (byte[]) cache[slot];
+        if (cachedBytes != null && cachedBytes.length == length && regionEquals(cachedBytes, array, offset)) {
+            return (String) cache[slot + 1];
+        }
+        String value = new String(array, offset, length, StandardCharsets.UTF_8);
+        cache[slot] = Arrays.copyOfRange(array, offset, offset + length);
+        cache[slot + 1] = value;
+        return value;
+    }
+
+    private static boolean regionEquals(byte[] cached, byte[] array, int offset) {
+        for (int i = 0; i < cached.length; i++) {
+            if (cached[i] != array[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class TableCopy {
+        final Table<?> table;
+        final long nextId;
+        final Object[] rows;
+
+        TableCopy(Table<?> table) {
+            this.table = table;
+            this.nextId = table.nextId;
+            this.rows = table.rows.toArray();
+        }
+    }
+
+    // A table of records addressed by id. Lookups, updates and deletes go through
+    // a primitive id -> row index, so they cost O(1) regardless of table size.
+    // Rows are kept dense: a delete moves the last row into the freed slot, so
+    // positional order is insertion order only until the first delete.
+    // The List view is read-only apart from add(), which inserts.
+    //
+    // Safe to use from any thread. Mutations hold the store's write lock, so
+    // they are applied, journaled and reported one at a time. Reads take no
+    // lock: they run optimistically against the table's StampedLock and are
+    // only repeated under its read lock if a write overlapped them, so a
+    // reader never holds up a writer unless the two actually collide. Each
+    // call sees the table between mutations; iterating the List view while
+    // others write can still fail, so such readers use snapshot() or head().
+    static final class Table<T extends Entity> extends AbstractList<T> implements RandomAccess {
+        // Told about every live insert (before == null), update and delete
+        // (after == null). Replay on open() is not reported; derived indexes are
+        // built from the loaded rows instead.
+        interface Listener<T> {
+            void changed(T before, T after);
+        }
+
+        private final GymStore store;
+        private final byte kind;
+        private final Codec<T> codec;
+        private final ArrayList<T> rows = new ArrayList<>();
+        private final LongIntHashMap index = new LongIntHashMap();
+        private final List<Listener<? super T>> listeners = new ArrayList<>();
+        private final StampedLock lock = new StampedLock();
+        private long nextId = 1;
+
+        private Table(GymStore store, byte kind, Codec<T> codec) {
+            this.store = store;
+            this.kind = kind;
+            this.codec = codec;
+        }
+
+        @Override
+        public T get(int position) {
+            return read(() -> rows.get(position));
+        }
+
+        // null when position is past the end, e.g. after a concurrent delete
+        T getOrNull(int position) {
+            return read(() -> position < rows.size() ? rows.get(position) : null);
+        }
+
+        @Override
+        public int size() {
+            long stamp = lock.tryOptimisticRead();
+            int size = rows.size();
+            if (lock.validate(stamp)) {
+                return size;
+            }
+            stamp = lock.readLock();
+            try {
+                return rows.size();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @Override
+        public Object[] toArray() {
+            return read(rows::toArray);
+        }
+
+        List<T> snapshot() {
+            return read(() -> new ArrayList<>(rows));
+        }
+
+        // The first limit rows, copied
+        List<T> head(int limit) {
+            return read(() -> new ArrayList<>(rows.subList(0, Math.min(limit, rows.size()))));
+        }
+
+        // Up to limit rows from position from, copied
+        List<T> slice(int from, int limit) {
+            return read(() -> {
+                int start = Math.min(from, rows.size());
+                return new ArrayList<>(rows.subList(start, start + Math.min(limit, rows.size() - start)));
+            });
+        }
+
+        // Runs the read without locking and keeps the result if no write
+        // happened meanwhile. A read torn by a write may see the row list or
+        // index half-changed and fail, which counts as overlapping too; the
+        // read is then repeated under the read lock.
+        private <R> R read(Supplier<R> read) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                try {
+                    R result = read.get();
+                    if (lock.validate(stamp)) {
+                        return result;
+                    }
+                } catch (RuntimeException torn) {
+                    // repeated below
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return read.get();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @Override
+        public boolean add(T value) {
+            insert(value);
+            return true;
+        }
+
+        void addListener(Listener<? super T> listener) {
+            synchronized (store.writes) {
+                listeners.add(listener);
+            }
+        }
+
+        // Hands the current rows to seed and then registers the listener, with
+        // no change possible in between; for indexes built from the table
+        void addListener(Listener<? super T> listener, Consumer<? super List<T>> seed) {
+            synchronized (store.writes) {
+                seed.accept(Collections.unmodifiableList(rows));
+                listeners.add(listener);
+            }
+        }
+
+        private void fire(T before, T after) {
+            for (Listener<? super T> listener : listeners) {
+                listener.changed(before, after);
+            }
+        }
+
+        // Assigns a new id to the value, stores it and returns the id
+        long insert(T value) {
+            synchronized (store.writes) {
+                long id;
+                long stamp = lock.writeLock();
+                try {
+                    id = nextId++;
+                    value.id = id;
+                    index.put(id, rows.size());
+                    rows.add(value);
+                    modCount++;
+                } finally {
+                    lock.unlockWrite(stamp);
+                }
+                store.log(OP_PUT, this, id, value);
+                fire(null, value);
+                return id;
+            }
+        }
+
+        // Inserts the values as one unit: nothing else is applied in between,
+        // the rows become visible to readers together and they are journaled
+        // as one record (see atomically). Returns the new ids in order.
+        long[] insertAll(List<? extends T> values) {
+            long[] ids = new long[values.size()];
+            store.atomically(() -> {
+                long stamp = lock.writeLock();
+                try {
+                    for (int i = 0; i < ids.length; i++) {
+                        T value = values.get(i);
+                        long id = nextId++;
+                        value.id = id;
+                        index.put(id, rows.size());
+                        rows.add(value);
+                        ids[i] = id;
+                    }
+                    modCount++;
+                } finally {
+                    lock.unlockWrite(stamp);
+                }
+                for (T value : values) {
+                    store.log(OP_PUT, this, value.id, value);
+                }
+                for (T value : values) {
+                    fire(null, value);
+                }
+            });
+            return ids;
+        }
+
+        T find(long id) {
+            if (id <= 0) {
+                return null;
+            }
+            return read(() -> {
+                int position = index.get(id);
+                return position == LongIntHashMap.MISSING ? null : rows.get(position);
+            });
+        }
+
+        // Replaces the record with the given id; returns false if there is none
+        boolean update(long id, T value) {
+            if (id <= 0) {
+                return false;
+            }
+            synchronized (store.writes) {
+                T old;
+                long stamp = lock.writeLock();
+                try {
+                    int position = index.get(id);
+                    if (position == LongIntHashMap.MISSING) {
+                        return false;
+                    }
+                    value.id = id;
+                    old = rows.set(position, value);
+                } finally {
+                    lock.unlockWrite(stamp);
+                }
+                store.log(OP_PUT, this, id, value);
+                fire(old, value);
+                return true;
+            }
+        }
+
+        // Removes the record with the given id and returns it, or null if there is none
+        T delete(long id) {
+            if (id <= 0) {
+                return null;
+            }
+            synchronized (store.writes) {
+                T old;
+                long stamp = lock.writeLock();
+                try {
+                    old = unlink(id);
+                } finally {
+                    lock.unlockWrite(stamp);
+                }
+                if (old != null) {
+                    store.log(OP_DELETE, this, id, null);
+                    fire(old, null);
+                }
+                return old;
+            }
+        }
+
+        private T unlink(long id) {
+            int position = index.remove(id);
+            if (position == LongIntHashMap.MISSING) {
+                return null;
+            }
+            T old = rows.get(position);
+            T last = rows.remove(rows.size() - 1);
+            if (last != old) {
+                rows.set(position, last);
+                index.put(last.id, position);
+            }
+            modCount++;
+            return old;
+        }
+
+        private void restore(ByteBuffer in) {
+            long id = in.getLong();
+            T value = codec.decode(in);
+            value.id = id;
+            index.put(id, rows.size());
+            rows.add(value);
+            nextId = Math.max(nextId, id + 1);
+        }
+
+        private void replay(byte op, long id, ByteBuffer in) {
+            switch (op) {
+                case OP_PUT:
+                    T value = codec.decode(in);
+                    value.id = id;
+                    int position = index.get(id);
+                    if (position == LongIntHashMap.MISSING) {
+                        index.put(id, rows.size());
+                        rows.add(value);
+                    } else {
+                        rows.set(position, value);
+                    }
+                    nextId = Math.max(nextId, id + 1);
+                    break;
+                case OP_DELETE:
+                    if (unlink(id) == null) {
+                        throw new IllegalArgumentException("delete of unknown id " + id);
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown journal op " + op);
+            }
+        }
+    }
+}
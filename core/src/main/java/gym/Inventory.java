@@ -0,0 +1,87 @@
+package gym;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Product stock with the units held by open carts. Stock on hand is kept on
+// each Product in the store; the units reserved by carts are only counted
+// here, so they are given back by a restart. A product's available units are
+// its stock less what is reserved. Products with untracked stock can always
+// be reserved.
+//
+// Safe to call from any thread. reserve() and release() are lock-free: each
+// product's reserved count is a CAS counter, and a reserve re-reads the stock
+// whenever its CAS loses a race. commit() lowers the stored stock before it
+// takes the units off the reserved count, so a reserve running alongside can
+// only see too few units available, never too many.
+final class Inventory {
+    private final GymStore store;
+    private final GymStore.Table<Product> products;
+    private final Map<Long, AtomicInteger> reserved = new ConcurrentHashMap<>();
+
+    Inventory(GymStore store, GymStore.Table<Product> products) {
+        this.store = store;
+        this.products = products;
+    }
+
+    // Holds quantity units of the product. False, holding nothing, if the
+    // product is gone or fewer units are available.
+    boolean reserve(long productId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("quantity must be positive: " + quantity);
+        }
+        AtomicInteger count = reserved.computeIfAbsent(productId, id -> new AtomicInteger());
+        while (true) {
+            // The count is read before the stock; see the class comment
+            int held = count.get();
+            Product product = products.find(productId);
+            if (product == null || (product.tracksStock() && product.stock - held < quantity)) {
+                return false;
+            }
+            if (count.compareAndSet(held, held + quantity)) {
+                return true;
+            }
+        }
+    }
+
+    // Gives back units held by reserve()
+    void release(long productId, int quantity) {
+        AtomicInteger count = reserved.get(productId);
+        if (count != null) {
+            count.addAndGet(-quantity);
+        }
+    }
+
+    // Sells units held by reserve(): takes them off each product's stock on
+    // hand, as one store unit, and then off the reserved counts. quantities
+    // maps product ids to units.
+    void commit(Map<Long, Integer> quantities) {
+        store.atomically(() -> {
+            for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+                Product product = products.find(entry.getKey());
+                if (product != null && product.tracksStock()) {
+                    products.update(product.id, new Product(product.name, product.priceCents, product.description,
+                            Math.max(0, product.stock - entry.getValue()), product.category, product.image));
+                }
+            }
+        });
+        quantities.forEach(this::release);
+    }
+
+    // Units that can still be reserved, or Product.UNTRACKED
+    int available(long productId) {
+        AtomicInteger count = reserved.get(productId);
+        int held = count == null ? 0 : count.get();
+        Product product = products.find(productId);
+        if (product == null) {
+            return 0;
+        }
+        return product.tracksStock() ? Math.max(0, product.stock - held) : Product.UNTRACKED;
+    }
+
+    int reserved(long productId) {
+        AtomicInteger count = reserved.get(productId);
+        return count == null ? 0 : count.get();
+    }
+}
@@ -0,0 +1,510 @@
+package gym;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+// Bulk member import from CSV or NDJSON (one JSON object per line, e.g.
+// {"name": "Jane Doe", "age": 31, "gender": "Female", "plan": "Basic", "trainer": "Yoga Sam"}).
+// Optional "start" and "end" ISO dates give the membership term, as exported;
+// without them it runs the plan's length from today.
+//
+// The file is cut into chunks of a few megabytes. Each chunk is memory-mapped
+// and parsed on the fork-join pool, and a few chunks are in flight at a time,
+// so memory stays flat however large the file is. Results are taken back in
+// file order and inserted in batches. Each batch is one insertAll() and one
+// journal sync, so a crash loses at most the batch being written. Rows that
+// fail to parse or name an unknown plan or trainer are skipped and reported
+// with their line number; they never abort the import.
+//
+// A record has to fit on one line: quoted CSV fields may hold commas and
+// doubled quotes but not line breaks.
+final class MemberImporter {
+    static final int CHUNK_BYTES = 4 << 20;
+    static final int BATCH_SIZE = 1000;
+    // Only this many rejects are kept with their reason; the rest are counted
+    static final int MAX_REPORTED_REJECTS = 1000;
+    private static final int MAX_LINE_BYTES = 64 << 10;
+    private static final String[] FIELDS = {"name", "age", "gender", "plan", "trainer", "start", "end"};
+    // FIELDS from here on may be left out
+    private static final int REQUIRED_FIELDS = 5;
+    private static final String[] GENDERS = {"Male", "Female", "Other"};
+
+    enum Format {
+        CSV, NDJSON;
+
+        static Format of(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            return name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json") ? NDJSON : CSV;
+        }
+    }
+
+    static final class Reject {
+        final long line;
+        final String reason;
+
+        Reject(long line, String reason) {
+            this.line = line;
+            this.reason = reason;
+        }
+
+        @Override
+        public String toString() {
+            return "Line " + line + ": " + reason;
+        }
+    }
+
+    static final class Result {
+        long imported;
+        long rejected;
+        final List<Reject> rejects = new ArrayList<>();
+        long elapsedNanos;
+    }
+
+    private final MemberService members;
+    private final CatalogService catalog;
+    private final ForkJoinPool pool;
+
+    MemberImporter(MemberService members, CatalogService catalog) {
+        this(members, catalog, ForkJoinPool.commonPool());
+    }
+
+    MemberImporter(MemberService members, CatalogService catalog, ForkJoinPool pool) {
+        this.members = members;
+        this.catalog = catalog;
+        this.pool = pool;
+    }
+
+    // Imports the file, reporting progress in bytes. If cancelled, whatever
+    // batches were committed so far stay imported.
+    Result run(Path file, Format format, Progress progress) throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        Result result = new Result();
+        List<MembershipPlan> plans = catalog.listPlans();
+        Map<String, Integer> months = new HashMap<>();
+        for (MembershipPlan plan : plans) {
+            months.put(plan.name, plan.duration);
+        }
+        Rules rules = new Rules(names(plans, p -> p.name), months, names(catalog.listTrainers(), t -> t.name),
+                LocalDate.now());
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            // A CSV header names the columns; without one they are in FIELDS order
+            String firstLine = format == Format.CSV ? firstLine(channel) : null;
+            int[] header = firstLine == null ? null : header(parseCsv(firstLine));
+            int[] columns = header != null ? header : new int[] {0, 1, 2, 3, 4, -1, -1};
+            long dataStart = header != null ? firstLine.getBytes(StandardCharsets.UTF_8).length + 1 : 0;
+            long line = header != null ? 2 : 1;
+
+            int window = Math.max(2, pool.getParallelism() * 2);
+            ArrayDeque<ForkJoinTask<Chunk>> inFlight = new ArrayDeque<>();
+            List<Member> batch = new ArrayList<>(BATCH_SIZE);
+            long next = dataStart;
+            while (!progress.isCancelled() && (next < size || !inFlight.isEmpty())) {
+                while (next < size && inFlight.size() < window) {
+                    long start = next;
+                    long end = Math.min(size, start + CHUNK_BYTES);
+                    inFlight.add(pool.submit(() -> parse(channel, format, columns, rules, dataStart, start, end, size)));
+                    next = end;
+                }
+
+                Chunk chunk;
+                try {
+                    chunk = inFlight.remove().get();
+                } catch (ExecutionException e) {
+                    throw new IOException("could not read " + file.getFileName(), e.getCause());
+                }
+                for (Member member : chunk.members) {
+                    batch.add(member);
+                    if (batch.size() == BATCH_SIZE) {
+                        commit(batch, result);
+                    }
+                }
+                for (Reject reject : chunk.rejects) {
+                    if (result.rejects.size() < MAX_REPORTED_REJECTS) {
+                        result.rejects.add(new Reject(line + reject.line, reject.reason));
+                    }
+                }
+                result.rejected += chunk.rejects.size();
+                line += chunk.lines;
+                progress.report(chunk.end, size);
+            }
+            for (ForkJoinTask<Chunk> task : inFlight) {
+                task.cancel(false);
+            }
+            if (!batch.isEmpty() && !progress.isCancelled()) {
+                commit(batch, result);
+            }
+        }
+        result.elapsedNanos = System.nanoTime() - started;
+        return result;
+    }
+
+    private void commit(List<Member> batch, Result result) throws IOException {
+        members.addAll(batch);
+        members.sync();
+        result.imported += batch.size();
+        batch.clear();
+    }
+
+    // What one chunk parsed to. Reject line numbers count from the chunk's
+    // first line (0); lines is how many lines started in the chunk.
+    private static final class Chunk {
+        final List<Member> members = new ArrayList<>();
+        final List<Reject> rejects = new ArrayList<>();
+        long lines;
+        long end;
+    }
+
+    // Parses the lines that start in [start, end): a chunk skips the partial
+    // line it begins in, which belongs to the chunk before, and reads past its
+    // end to finish its last line.
+    private static Chunk parse(FileChannel channel, Format format, int[] columns, Rules rules,
+            long dataStart, long start, long end, long size) throws IOException {
+        Chunk chunk = new Chunk();
+        chunk.end = end;
+        long from = start == dataStart ? start : start - 1;
+        long mapped = Math.min(size, end + MAX_LINE_BYTES);
+        MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, from, mapped - from);
+        int limit = data.limit();
+        int stop = (int) (end - from);
+
+        int pos = 0;
+        if (start != dataStart) {
+            while (pos < limit && data.get(pos) != '\n') {
+                pos++;
+            }
+            pos++;
+        }
+        byte[] bytes = new byte[256];
+        while (pos < stop && pos < limit) {
+            int eol = pos;
+            while (eol < limit && data.get(eol) != '\n') {
+                eol++;
+            }
+            long lineIndex = chunk.lines++;
+            if (eol == limit && mapped < size) {
+                chunk.rejects.add(new Reject(lineIndex, "line longer than " + MAX_LINE_BYTES + " bytes"));
+                break;
+            }
+            int length = eol - pos;
+            if (length > 0 && data.get(eol - 1) == '\r') {
+                length--;
+            }
+            if (length > bytes.length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            data.get(pos, bytes, 0, length);
+            pos = eol + 1;
+            String text = new String(bytes, 0, length, StandardCharsets.UTF_8);
+            if (text.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                String[] fields = format == Format.CSV ? pick(parseCsv(text), columns) : pick(parseJson(text));
+                chunk.members.add(rules.member(fields));
+            } catch (IllegalArgumentException e) {
+                chunk.rejects.add(new Reject(lineIndex, e.getMessage()));
+            }
+        }
+        return chunk;
+    }
+
+    // Checks a row's fields and makes the member. Plan, trainer and gender
+    // are matched ignoring case and stored as the catalogue spells them.
+    private static final class Rules {
+        final Map<String, String> plans;
+        final Map<String, Integer> months;
+        final Map<String, String> trainers;
+        final LocalDate today;
+
+        Rules(Map<String, String> plans, Map<String, Integer> months, Map<String, String> trainers, LocalDate today) {
+            this.plans = plans;
+            this.months = months;
+            this.trainers = trainers;
+            this.today = today;
+        }
+
+        Member member(String[] fields) {
+            String name = require(fields[0], "name");
+            String ageText = require(fields[1], "age");
+            int age;
+            try {
+                age = Integer.parseInt(ageText);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("age is not a number: " + ageText);
+            }
+            if (age <= 0 || age > 150) {
+                throw new IllegalArgumentException("age out of range: " + age);
+            }
+            String genderText = require(fields[2], "gender");
+            String gender = null;
+            for (String g : GENDERS) {
+                if (g.equalsIgnoreCase(genderText)) {
+                    gender = g;
+                }
+            }
+            if (gender == null) {
+                throw new IllegalArgumentException("unknown gender: " + fields[2]);
+            }
+            String plan = plans.get(require(fields[3], "plan").toLowerCase(Locale.ROOT));
+            if (plan == null) {
+                throw new IllegalArgumentException("unknown plan: " + fields[3]);
+            }
+            String trainer = trainers.get(require(fields[4], "trainer").toLowerCase(Locale.ROOT));
+            if (trainer == null) {
+                throw new IllegalArgumentException("unknown trainer: " + fields[4]);
+            }
+            Member member = new Member(name, age, gender, plan, trainer);
+            LocalDate start = date(fields[5], "start");
+            LocalDate end = date(fields[6], "end");
+            member.withTerm(start == null ? today : start, months.get(plan));
+            if (end != null) {
+                if (end.isBefore(start == null ? today : start)) {
+                    throw new IllegalArgumentException("end before start: " + fields[6]);
+                }
+                member.endDay = end.toEpochDay();
+            }
+            return member;
+        }
+
+        private static LocalDate date(String value, String field) {
+            if (value == null || value.trim().isEmpty()) {
+                return null;
+            }
+            try {
+                return LocalDate.parse(value.trim());
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException(field + " is not a date: " + value);
+            }
+        }
+
+        private static String require(String value, String field) {
+            if (value == null || value.trim().isEmpty()) {
+                throw new IllegalArgumentException("missing " + field);
+            }
+            return value.trim();
+        }
+    }
+
+    private static <T> Map<String, String> names(List<T> rows, Function<T, String> name) {
+        Map<String, String> byKey = new HashMap<>();
+        for (T row : rows) {
+            byKey.put(name.apply(row).toLowerCase(Locale.ROOT), name.apply(row));
+        }
+        return byKey;
+    }
+
+    private static String firstLine(FileChannel channel) throws IOException {
+        long length = Math.min(channel.size(), MAX_LINE_BYTES);
+        if (length == 0) {
+            return null;
+        }
+        MappedByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        int eol = 0;
+        while (eol < length && head.get(eol) != '\n') {
+            eol++;
+        }
+        byte[] bytes = new byte[eol];
+        head.get(0, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Column positions of FIELDS (-1 for an optional one that is missing) if
+    // the row is a header naming all the required ones, otherwise null (the
+    // file has no header)
+    private static int[] header(List<String> cells) {
+        int[] columns = new int[FIELDS.length];
+        for (int f = 0; f < FIELDS.length; f++) {
+            columns[f] = -1;
+            for (int c = 0; c < cells.size(); c++) {
+                if (cells.get(c).trim().equalsIgnoreCase(FIELDS[f])) {
+                    columns[f] = c;
+                }
+            }
+            if (columns[f] < 0 && f < REQUIRED_FIELDS) {
+                return null;
+            }
+        }
+        return columns;
+    }
+
+    private static String[] pick(List<String> cells, int[] columns) {
+        String[] fields = new String[FIELDS.length];
+        for (int f = 0; f < FIELDS.length; f++) {
+            fields[f] = columns[f] >= 0 && columns[f] < cells.size() ? cells.get(columns[f]) : null;
+        }
+        return fields;
+    }
+
+    private static String[] pick(Map<String, String> object) {
+        String[] fields = new String[FIELDS.length];
+        for (int f = 0; f < FIELDS.length; f++) {
+            fields[f] = object.get(FIELDS[f]);
+        }
+        return fields;
+    }
+
+    // One CSV record: fields split on commas, a field in double quotes may
+    // contain commas and "" for a quote
+    static List<String> parseCsv(String line) {
+        List<String> cells = new ArrayList<>(FIELDS.length);
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quote");
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    // One flat JSON object. Values may be strings, numbers, booleans or null
+    // and are all kept as text; nested objects and arrays are rejected.
+    static Map<String, String> parseJson(String line) {
+        Map<String, String> object = new HashMap<>();
+        int[] at = {skipSpace(line, 0)};
+        expect(line, at, '{');
+        if (peek(line, at) == '}') {
+            at[0]++;
+        } else {
+            while (true) {
+                String key = jsonString(line, at);
+                expect(line, at, ':');
+                object.put(key, jsonValue(line, at));
+                char c = peek(line, at);
+                at[0]++;
+                if (c == '}') {
+                    break;
+                }
+                if (c != ',') {
+                    throw new IllegalArgumentException("malformed JSON at column " + at[0]);
+                }
+            }
+        }
+        if (skipSpace(line, at[0]) != line.length()) {
+            throw new IllegalArgumentException("text after the JSON object");
+        }
+        return object;
+    }
+
+    private static String jsonValue(String line, int[] at) {
+        char c = peek(line, at);
+        if (c == '"') {
+            return jsonString(line, at);
+        }
+        if (c == '{' || c == '[') {
+            throw new IllegalArgumentException("nested JSON values are not supported");
+        }
+        int start = at[0];
+        while (at[0] < line.length() && ",} \t".indexOf(line.charAt(at[0])) < 0) {
+            at[0]++;
+        }
+        String token = line.substring(start, at[0]);
+        if (token.isEmpty()) {
+            throw new IllegalArgumentException("malformed JSON at column " + start);
+        }
+        return token.equals("null") ? null : token;
+    }
+
+    private static String jsonString(String line, int[] at) {
+        expect(line, at, '"');
+        StringBuilder out = new StringBuilder();
+        while (at[0] < line.length()) {
+            char c = line.charAt(at[0]++);
+            if (c == '"') {
+                return out.toString();
+            }
+            if (c != '\\') {
+                out.append(c);
+                continue;
+            }
+            if (at[0] >= line.length()) {
+                break;
+            }
+            char escape = line.charAt(at[0]++);
+            switch (escape) {
+                case 'n':
+                    out.append('\n');
+                    break;
+                case 't':
+                    out.append('\t');
+                    break;
+                case 'r':
+                    out.append('\r');
+                    break;
+                case 'b':
+                    out.append('\b');
+                    break;
+                case 'f':
+                    out.append('\f');
+                    break;
+                case 'u':
+                    if (at[0] + 4 > line.length()) {
+                        throw new IllegalArgumentException("malformed \\u escape");
+                    }
+                    out.append((char) Integer.parseInt(line.substring(at[0], at[0] + 4), 16));
+                    at[0] += 4;
+                    break;
+                default:
+                    out.append(escape);
+            }
+        }
+        throw new IllegalArgumentException("unterminated JSON string");
+    }
+
+    private static void expect(String line, int[] at, char c) {
+        if (peek(line, at) != c) {
+            throw new IllegalArgumentException("expected '" + c + "' at column " + (at[0] + 1));
+        }
+        at[0]++;
+    }
+
+    // The next non-blank character, leaving at on it; 0 at the end
+    private static char peek(String line, int[] at) {
+        at[0] = skipSpace(line, at[0]);
+        return at[0] < line.length() ? line.charAt(at[0]) : 0;
+    }
+
+    private static int skipSpace(String line, int at) {
+        while (at < line.length() && Character.isWhitespace(line.charAt(at))) {
+            at++;
+        }
+        return at;
+    }
+}
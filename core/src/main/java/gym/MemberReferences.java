@@ -0,0 +1,203 @@
+package gym;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Which members are on each plan and with each trainer. Members hold the plan
+// and trainer by name, so without this, finding who a rename or delete
+// affects means scanning every member; here it costs time proportional to
+// the members affected. Also knows which plan and trainer names exist, so
+// member writes can be checked against them.
+//
+// Kept current by listeners on the members, plans and trainers tables, which
+// run under the store's write lock; CatalogService's cascades read it inside
+// GymStore.atomically, so what they see cannot change under them. Names are
+// matched ignoring case and surrounding spaces.
+final class MemberReferences {
+    private static final long[] NONE = new long[0];
+
+    private final GymStore store;
+    private final GymStore.Table<Member> members;
+    private final GymStore.Table<Trainer> trainers;
+    private final GymStore.Table<MembershipPlan> plans;
+    // Name -> ids of the members referring to it, the values unused
+    private final Map<String, LongIntHashMap> byPlan = new HashMap<>();
+    private final Map<String, LongIntHashMap> byTrainer = new HashMap<>();
+    // Name -> number of plans (trainers) with it
+    private final Map<String, Integer> planNames = new HashMap<>();
+    private final Map<String, Integer> trainerNames = new HashMap<>();
+    private volatile boolean started;
+
+    MemberReferences(GymStore store, GymStore.Table<Member> members,
+            GymStore.Table<Trainer> trainers,
+            GymStore.Table<MembershipPlan> plans) {
+        this.store = store;
+        this.members = members;
+        this.trainers = trainers;
+        this.plans = plans;
+    }
+
+    // Indexes the three tables and follows them from then on. Reads every
+    // member, so call it off the EDT; the first query does it otherwise.
+    void start() {
+        if (started) {
+            return;
+        }
+        store.atomically(() -> {
+            if (started) {
+                return;
+            }
+            plans.addListener(this::planChanged, rows -> {
+                synchronized (this) {
+                    for (MembershipPlan plan : rows) {
+                        planNames.merge(key(plan.name), 1, Integer::sum);
+                    }
+                }
+            });
+            trainers.addListener(this::trainerChanged, rows -> {
+                synchronized (this) {
+                    for (Trainer trainer : rows) {
+                        trainerNames.merge(key(trainer.name), 1, Integer::sum);
+                    }
+                }
+            });
+            members.addListener(this::memberChanged, rows -> {
+                synchronized (this) {
+                    for (Member member : rows) {
+                        link(byPlan, member.plan, member.id);
+                        link(byTrainer, member.trainer, member.id);
+                    }
+                }
+            });
+            started = true;
+        });
+    }
+
+    long[] membersOnPlan(String plan) {
+        start();
+        synchronized (this) {
+            return ids(byPlan.get(key(plan)));
+        }
+    }
+
+    long[] membersWithTrainer(String trainer) {
+        start();
+        synchronized (this) {
+            return ids(byTrainer.get(key(trainer)));
+        }
+    }
+
+    int countOnPlan(String plan) {
+        start();
+        synchronized (this) {
+            LongIntHashMap ids = byPlan.get(key(plan));
+            return ids == null ? 0 : ids.size();
+        }
+    }
+
+    int countWithTrainer(String trainer) {
+        start();
+        synchronized (this) {
+            LongIntHashMap ids = byTrainer.get(key(trainer));
+            return ids == null ? 0 : ids.size();
+        }
+    }
+
+    boolean planExists(String plan) {
+        start();
+        synchronized (this) {
+            return planNames.containsKey(key(plan));
+        }
+    }
+
+    boolean trainerExists(String trainer) {
+        start();
+        synchronized (this) {
+            return trainerNames.containsKey(key(trainer));
+        }
+    }
+
+    // Throws if after names a plan or trainer that does not exist. Fields
+    // unchanged from before are not checked, so members whose plan or trainer
+    // went missing before this check existed can still be edited.
+    void check(Member before, Member after) {
+        if ((before == null || !sameName(before.plan, after.plan)) && !planExists(after.plan)) {
+            throw new IllegalArgumentException("Unknown plan: " + after.plan);
+        }
+        if ((before == null || !sameName(before.trainer, after.trainer)) && !trainerExists(after.trainer)) {
+            throw new IllegalArgumentException("Unknown trainer: " + after.trainer);
+        }
+    }
+
+    static boolean sameName(String a, String b) {
+        return key(a).equals(key(b));
+    }
+
+    private synchronized void memberChanged(Member before, Member after) {
+        if (before != null) {
+            unlink(byPlan, before.plan, before.id);
+            unlink(byTrainer, before.trainer, before.id);
+        }
+        if (after != null) {
+            link(byPlan, after.plan, after.id);
+            link(byTrainer, after.trainer, after.id);
+        }
+    }
+
+    private synchronized void planChanged(MembershipPlan before, MembershipPlan after) {
+        if (before != null) {
+            uncount(planNames, before.name);
+        }
+        if (after != null) {
+            planNames.merge(key(after.name), 1, Integer::sum);
+        }
+    }
+
+    private synchronized void trainerChanged(Trainer before, Trainer after) {
+        if (before != null) {
+            uncount(trainerNames, before.name);
+        }
+        if (after != null) {
+            trainerNames.merge(key(after.name), 1, Integer::sum);
+        }
+    }
+
+    private static void link(Map<String, LongIntHashMap> index, String name, long id) {
+        index.computeIfAbsent(key(name), k -> new LongIntHashMap()).put(id, 0);
+    }
+
+    private static void unlink(Map<String, LongIntHashMap> index, String name, long id) {
+        String key = key(name);
+        LongIntHashMap ids = index.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.size() == 0) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static void uncount(Map<String, Integer> names, String name) {
+        names.computeIfPresent(key(name), (k, count) -> count == 1 ? null : count - 1);
+    }
+
+    private static long[] ids(LongIntHashMap set) {
+        if (set == null) {
+            return NONE;
+        }
+        long[] ids = new long[set.size()];
+        int n = 0;
+        for (int slot = 0; slot < set.capacity(); slot++) {
+            long id = set.keyAt(slot);
+            if (id != 0) {
+                ids[n++] = id;
+            }
+        }
+        return ids;
+    }
+
+    private static String key(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
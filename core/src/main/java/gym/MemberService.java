@@ -0,0 +1,116 @@
+package gym;
+
+import java.io.IOException;
+import java.util.List;
+
+// Member operations shared by every front-desk window in the process. Safe to
+// call from any thread: writes are serialized by the store and reads never
+// wait for them (see GymStore.Table). A write returns once the change is
+// applied and queued for the journal; sync() waits until it is on disk.
+// A member's plan and trainer must name an existing plan and trainer; the
+// check and the write happen together, so a concurrent delete cannot slip in
+// between.
+final class MemberService {
+    private final GymStore store;
+    private final GymStore.Table<Member> members;
+    private final NameIndex<Member> names;
+    private final MemberReferences references;
+
+    MemberService(GymStore store, GymStore.Table<Member> members, MemberReferences references) {
+        this.store = store;
+        this.members = members;
+        this.names = new NameIndex<>(m -> m.name, members::find);
+        this.references = references;
+    }
+
+    // Indexes every member's name and keeps the index current from then on.
+    // Searches find nothing until this has run; it reads the whole table, so
+    // call it off the EDT.
+    void indexNames() {
+        members.addListener(names, names::rebuild);
+    }
+
+    // Read-only view for lists and pickers; changes go through this service
+    GymStore.Table<Member> table() {
+        return members;
+    }
+
+    NameIndex<Member> names() {
+        return names;
+    }
+
+    MemberReferences references() {
+        return references;
+    }
+
+    long add(Member member) {
+        check(member);
+        long[] id = new long[1];
+        store.atomically(() -> {
+            references.check(null, member);
+            id[0] = members.insert(member);
+        });
+        return id[0];
+    }
+
+    // Adds the members as one batch (see GymStore.Table.insertAll)
+    long[] addAll(List<Member> batch) {
+        for (Member member : batch) {
+            check(member);
+        }
+        long[][] ids = new long[1][];
+        store.atomically(() -> {
+            for (Member member : batch) {
+                references.check(null, member);
+            }
+            ids[0] = members.insertAll(batch);
+        });
+        return ids[0];
+    }
+
+    // False if the member was deleted meanwhile, e.g. from another window
+    boolean update(long id, Member member) {
+        check(member);
+        boolean[] updated = new boolean[1];
+        store.atomically(() -> {
+            Member before = members.find(id);
+            if (before != null) {
+                references.check(before, member);
+                updated[0] = members.update(id, member);
+            }
+        });
+        return updated[0];
+    }
+
+    // The deleted member, or null if it was already gone
+    Member delete(long id) {
+        return members.delete(id);
+    }
+
+    Member find(long id) {
+        return members.find(id);
+    }
+
+    List<Member> list() {
+        return members.snapshot();
+    }
+
+    int count() {
+        return members.size();
+    }
+
+    // Ids of up to limit members whose name matches the query, see NameIndex
+    long[] search(String query, int limit) {
+        return names.search(query, limit);
+    }
+
+    void sync() throws IOException {
+        store.sync();
+    }
+
+    private static void check(Member member) {
+        if (member.name == null || member.name.isEmpty()) {
+            throw new IllegalArgumentException("Member name is required");
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package gym;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+// Type-ahead index over record names. Every word of every name is a key in a
+// sorted map whose value is the set of ids having that word, so a query token
+// matches by word prefix ("jo" finds John Doe and Mary Jones). For multi-word
+// queries the most selective token drives the scan and the others are checked
+// against the candidate's name, so a search only touches about as many records
+// as it returns. Kept current through the table listener.
+//
+// Searches come from the EDT and changes from whichever thread writes the
+// table, so both take the index lock. rebuild() fills a new map without holding it and
+// swaps it in, so a search during a rebuild sees the old map, not a stall.
+final class NameIndex<T extends Entity> implements GymStore.Table.Listener<T> {
+    private static final long[] NONE = new long[0];
+    private static final String[] NO_WORDS = new String[0];
+    // Candidate counts are only compared up to this many; beyond it the
+    // longer token is assumed to be the more selective one
+    private static final int COUNT_CAP = 2048;
+
+    private final Function<T, String> nameOf;
+    private final LongFunction<T> lookup;
+    private TreeMap<String, Posting> words = new TreeMap<>();
+
+    NameIndex(Function<T, String> nameOf, LongFunction<T> lookup) {
+        this.nameOf = nameOf;
+        this.lookup = lookup;
+    }
+
+    void rebuild(Iterable<T> rows) {
+        TreeMap<String, Posting> built = new TreeMap<>();
+        for (T row : rows) {
+            add(built, row);
+        }
+        synchronized (this) {
+            words = built;
+        }
+    }
+
+    @Override
+    public synchronized void changed(T before, T after) {
+        if (before != null && after != null && nameOf.apply(before).equals(nameOf.apply(after))) {
+            return;
+        }
+        if (before != null) {
+            remove(before);
+        }
+        if (after != null) {
+            add(words, after);
+        }
+    }
+
+    // Ids of up to limit records whose name has a word starting with each
+    // query token, ordered by the matching word
+    synchronized long[] search(String query, int limit) {
+        String[] tokens = tokenize(query);
+        if (tokens.length == 0 || limit <= 0) {
+            return NONE;
+        }
+
+        // Drive the scan from the token with the fewest candidates
+        NavigableMap<String, Posting> best = null;
+        int bestToken = -1;
+        int bestCount = Integer.MAX_VALUE;
+        for (int i = 0; i < tokens.length; i++) {
+            NavigableMap<String, Posting> range = words.subMap(tokens[i], true, tokens[i] + Character.MAX_VALUE, false);
+            int count = 0;
+            if (tokens.length > 1) {
+                for (Posting posting : range.values()) {
+                    count += posting.size;
+                    if (count >= COUNT_CAP) {
+                        count = COUNT_CAP;
+                        break;
+                    }
+                }
+            }
+            if (best == null || count < bestCount
+                    || (count == bestCount && tokens[i].length() > tokens[bestToken].length())) {
+                best = range;
+                bestToken = i;
+                bestCount = count;
+            }
+        }
+
+        long[] result = new long[limit];
+        int found = 0;
+        LongIntHashMap seen = new LongIntHashMap(limit);
+        for (Posting posting : best.values()) {
+            for (int i = 0; i < posting.size && found < result.length; i++) {
+                long id = posting.ids[i];
+                if (seen.containsKey(id)) {
+                    continue;
+                }
+                if (tokens.length > 1) {
+                    T row = lookup.apply(id);
+                    if (row == null || !matchesAll(nameOf.apply(row), tokens, bestToken)) {
+                        continue;
+                    }
+                }
+                seen.put(id, 0);
+                result[found++] = id;
+            }
+            if (found == result.length) {
+                break;
+            }
+        }
+        return found == result.length ? result : Arrays.copyOf(result, found);
+    }
+
+    // True if every token but skip starts some word of name; allocation free
+    private static boolean matchesAll(String name, String[] tokens, int skip) {
+        for (int t = 0; t < tokens.length; t++) {
+            if (t != skip && !hasWordStartingWith(name, tokens[t])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasWordStartingWith(String name, String token) {
+        int length = name.length();
+        for (int i = 0; i < length; i++) {
+            boolean wordStart = !Character.isWhitespace(name.charAt(i))
+                    && (i == 0 || Character.isWhitespace(name.charAt(i - 1)));
+            if (wordStart && name.regionMatches(true, i, token, 0, token.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void add(TreeMap<String, Posting> into, T row) {
+        for (String word : tokenize(nameOf.apply(row))) {
+            Posting posting = into.get(word);
+            if (posting == null) {
+                posting = new Posting();
+                into.put(word, posting);
+            }
+            posting.add(row.id);
+        }
+    }
+
+    private void remove(T row) {
+        for (String word : tokenize(nameOf.apply(row))) {
+            Posting posting = words.get(word);
+            if (posting != null) {
+                posting.remove(row.id);
+                if (posting.size == 0) {
+                    words.remove(word);
+                }
+            }
+        }
+    }
+
+    private static String[] tokenize(String text) {
+        if (text == null) {
+            return NO_WORDS;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        String[] out = NO_WORDS;
+        int count = 0;
+        int length = lower.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && Character.isWhitespace(lower.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && !Character.isWhitespace(lower.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                if (count == out.length) {
+                    out = Arrays.copyOf(out, Math.max(2, count * 2));
+                }
+                out[count++] = lower.substring(start, i);
+            }
+        }
+        return count == out.length ? out : Arrays.copyOf(out, count);
+    }
+
+    // Ids sharing one word. Small postings are a plain array; once a posting
+    // grows past a few dozen ids a position map keeps removal O(1).
+    private static final class Posting {
+        private static final int POSITIONS_AT = 32;
+
+        long[] ids = new long[2];
+        int size;
+        LongIntHashMap positions;
+
+        void add(long id) {
+            if (indexOf(id) >= 0) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size] = id;
+            if (positions != null) {
+                positions.put(id, size);
+            } else if (size + 1 > POSITIONS_AT) {
+                positions = new LongIntHashMap(size * 2);
+                for (int i = 0; i <= size; i++) {
+                    positions.put(ids[i], i);
+                }
+            }
+            size++;
+        }
+
+        void remove(long id) {
+            int at = indexOf(id);
+            if (at < 0) {
+                return;
+            }
+            long last = ids[--size];
+            ids[at] = last;
+            if (positions != null) {
+                positions.remove(id);
+                if (last != id) {
+                    positions.put(last, at);
+                }
+            }
+        }
+
+        private int indexOf(long id) {
+            if (positions != null) {
+                return positions.get(id);
+            }
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
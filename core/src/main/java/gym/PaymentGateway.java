@@ -0,0 +1,49 @@
+package gym;
+
+import java.util.concurrent.CompletableFuture;
+
+// Where card and UPI payments are authorized. Calls return at once and
+// complete later, from the gateway's own threads. The idempotency key names
+// one payment: asking again with the same key, after a timeout or a lost
+// answer, gets the first outcome and never charges twice. A payment turned
+// down fails with DeclinedException, which is final for that key; any other
+// failure may be retried with the same key.
+interface PaymentGateway {
+    final class Request {
+        final String idempotencyKey;
+        final SalesLedger.Method method;
+        final long amountCents;
+        // Empty for UPI
+        final String cardNumber;
+
+        Request(String idempotencyKey, SalesLedger.Method method, long amountCents, String cardNumber) {
+            if (amountCents <= 0) {
+                throw new IllegalArgumentException("amount must be positive: " + amountCents);
+            }
+            this.idempotencyKey = idempotencyKey;
+            this.method = method;
+            this.amountCents = amountCents;
+            this.cardNumber = cardNumber;
+        }
+    }
+
+    final class Authorization {
+        final String id;
+        final String idempotencyKey;
+        final long amountCents;
+
+        Authorization(String id, String idempotencyKey, long amountCents) {
+            this.id = id;
+            this.idempotencyKey = idempotencyKey;
+            this.amountCents = amountCents;
+        }
+    }
+
+    final class DeclinedException extends RuntimeException {
+        DeclinedException(String message) {
+            super(message);
+        }
+    }
+
+    CompletableFuture<Authorization> authorize(Request request);
+}
@@ -0,0 +1,162 @@
+package gym;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+// Takes payments through a PaymentGateway and then applies what was paid for,
+// exactly once per idempotency key. Each gateway call is given timeoutMillis;
+// a call that fails in any way other than a decline is retried with the same
+// key, up to attempts calls in all, after an exponential backoff with jitter
+// (backoffMillis, then about twice that, and so on). The gateway's own
+// idempotency makes the retries safe.
+//
+// charge() with a key already in progress or already paid returns the same
+// future, so a second click cannot pay or commit twice; commit only runs
+// once the gateway has authorized. A key whose payment failed is forgotten,
+// so it can be tried again: with the same key after a timeout, since the
+// first call may have gone through, and with a new one after a decline. A
+// key whose payment went through but whose commit failed is kept along with
+// its CommitFailedException: the commit may have been partly applied, so it
+// is never run again for that key. The last REMEMBERED paid keys are kept.
+final class Payments {
+    // The gateway took the payment but commit threw
+    static final class CommitFailedException extends RuntimeException {
+        final PaymentGateway.Authorization authorization;
+
+        CommitFailedException(PaymentGateway.Authorization authorization, Throwable cause) {
+            super("Payment " + authorization.id + " was taken but not recorded: " + cause.getMessage(), cause);
+            this.authorization = authorization;
+        }
+    }
+
+    private static final int REMEMBERED = 10000;
+
+    private final PaymentGateway gateway;
+    private final long timeoutMillis;
+    private final int attempts;
+    private final long backoffMillis;
+    // Commits run here, not on the gateway's threads
+    private final ExecutorService commits = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("gym-payment-", 0).factory());
+    private final Map<String, CompletableFuture<?>> charges = new LinkedHashMap<String, CompletableFuture<?>>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<?>> eldest) {
+            return size() > REMEMBERED && eldest.getValue().isDone();
+        }
+    };
+
+    Payments(PaymentGateway gateway, long timeoutMillis, int attempts, long backoffMillis) {
+        if (timeoutMillis <= 0 || attempts <= 0 || backoffMillis < 0) {
+            throw new IllegalArgumentException("timeout " + timeoutMillis + ", attempts " + attempts
+                    + ", backoff " + backoffMillis);
+        }
+        this.gateway = gateway;
+        this.timeoutMillis = timeoutMillis;
+        this.attempts = attempts;
+        this.backoffMillis = backoffMillis;
+    }
+
+    // Timeout, attempts and backoff from gym.payments.timeout (milliseconds,
+    // 2000), gym.payments.attempts (4) and gym.payments.backoff (200)
+    static Payments fromProperties(PaymentGateway gateway) {
+        return new Payments(gateway, Long.getLong("gym.payments.timeout", 2000),
+                Integer.getInteger("gym.payments.attempts", 4), Long.getLong("gym.payments.backoff", 200));
+    }
+
+    // Authorizes the payment, then runs commit with the authorization and
+    // completes with its result. Fails with DeclinedException, or with the
+    // last failure once the attempts are used up; commit has not run then.
+    // Fails with CommitFailedException if commit threw.
+    @SuppressWarnings("unchecked")
+    <T> CompletableFuture<T> charge(PaymentGateway.Request request, Function<PaymentGateway.Authorization, T> commit) {
+        CompletableFuture<T> result;
+        synchronized (charges) {
+            CompletableFuture<?> existing = charges.get(request.idempotencyKey);
+            if (existing != null) {
+                return (CompletableFuture<T>) existing;
+            }
+            result = new CompletableFuture<>();
+            charges.put(request.idempotencyKey, result);
+        }
+        authorize(request).whenComplete((authorization, error) -> {
+            if (error != null) {
+                synchronized (charges) {
+                    charges.remove(request.idempotencyKey, result);
+                }
+                result.completeExceptionally(unwrap(error));
+                return;
+            }
+            try {
+                commits.execute(() -> {
+                    try {
+                        result.complete(commit.apply(authorization));
+                    } catch (RuntimeException e) {
+                        result.completeExceptionally(new CommitFailedException(authorization, e));
+                    }
+                });
+            } catch (RuntimeException e) {
+                result.completeExceptionally(new CommitFailedException(authorization, e));
+            }
+        });
+        return result;
+    }
+
+    // The gateway call with its timeout and retries
+    CompletableFuture<PaymentGateway.Authorization> authorize(PaymentGateway.Request request) {
+        CompletableFuture<PaymentGateway.Authorization> result = new CompletableFuture<>();
+        attempt(request, 1, result);
+        return result;
+    }
+
+    private void attempt(PaymentGateway.Request request, int attempt,
+            CompletableFuture<PaymentGateway.Authorization> result) {
+        CompletableFuture<PaymentGateway.Authorization> call;
+        try {
+            call = gateway.authorize(request);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).whenComplete((authorization, error) -> {
+            if (error == null) {
+                result.complete(authorization);
+                return;
+            }
+            Throwable cause = unwrap(error);
+            if (cause instanceof PaymentGateway.DeclinedException || cause instanceof IllegalArgumentException
+                    || attempt >= attempts) {
+                result.completeExceptionally(cause instanceof TimeoutException
+                        ? new TimeoutException("Payment gateway did not answer in " + timeoutMillis + " ms")
+                        : cause);
+                return;
+            }
+            // Full jitter: anywhere up to the doubled backoff, so callers that
+            // failed together do not all come back together
+            long ceiling = backoffMillis << Math.min(attempt - 1, 16);
+            long delay = ceiling == 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+            Executor later = CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS);
+            later.execute(() -> attempt(request, attempt + 1, result));
+        });
+    }
+
+    static Throwable unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    // Lets commits in progress finish
+    void close() throws InterruptedException {
+        commits.shutdown();
+        commits.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,9 @@
+package gym;
+
+// Handed to long-running work (imports, exports) so it can report how far it
+// got and notice a cancel. The Swing front end's Tasks implements it.
+interface Progress {
+    void report(long done, long total);
+
+    boolean isCancelled();
+}
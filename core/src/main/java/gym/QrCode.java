@@ -0,0 +1,454 @@
+/*
+ * Adapted from the QR Code generator library (Java)
+ *
+ * Copyright (c) Project Nayuki. (MIT License)
+ * https://www.nayuki.io/page/qr-code-generator-library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ * - The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ * - The Software is provided "as is", without warranty of any kind, express or
+ *   implied, including but not limited to the warranties of merchantability,
+ *   fitness for a particular purpose and noninfringement. In no event shall the
+ *   authors or copyright holders be liable for any claim, damages or other
+ *   liability, whether in an action of contract, tort or otherwise, arising from,
+ *   out of or in connection with the Software or the use or other dealings in the
+ *   Software.
+ */
+
+package gym;
+
+import java.nio.charset.StandardCharsets;
+
+// A QR code (model 2) for a piece of text, encoded in-process without any
+// outside library or service; the encoder follows Project Nayuki's (see the
+// notice above), cut down to byte mode. The text is stored as UTF-8 in the
+// smallest version (1 to 40) that holds it at the chosen error correction
+// level, and the mask with the lowest penalty score is applied, as the
+// standard (ISO/IEC 18004) describes. The result is a square of dark and
+// light modules; drawing it, with a quiet zone of four modules on each side,
+// is left to the caller.
+final class QrCode {
+    // Error correction levels; roughly 7%, 15%, 25% and 30% of the code can
+    // be damaged and still read
+    enum Ecc {
+        LOW(1), MEDIUM(0), QUARTILE(3), HIGH(2);
+
+        // As written in the format information
+        final int formatBits;
+
+        Ecc(int formatBits) {
+            this.formatBits = formatBits;
+        }
+    }
+
+    static final int QUIET_ZONE = 4;
+
+    // Error correction codewords per block, and blocks, by level and version
+    private static final int[][] ECC_PER_BLOCK = {
+        {-1,  7, 10, 15, 20, 26, 18, 20, 24, 30, 18, 20, 24, 26, 30, 22, 24, 28, 30, 28, 28, 28, 28, 30, 30, 26, 28, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30},
+        {-1, 10, 16, 26, 18, 24, 16, 18, 22, 22, 26, 30, 22, 22, 24, 24, 28, 28, 26, 26, 26, 26, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28},
+        {-1, 13, 22, 18, 26, 18, 24, 18, 22, 20, 24, 28, 26, 24, 20, 30, 24, 28, 28, 26, 30, 28, 30, 30, 30, 30, 28, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30},
+        {-1, 17, 28, 22, 16, 22, 28, 26, 26, 24, 28, 24, 28, 22, 24, 24, 30, 28, 28, 26, 28, 30, 24, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30},
+    };
+    private static final int[][] BLOCKS = {
+        {-1, 1, 1, 1, 1, 1, 2, 2, 2, 2, 4,  4,  4,  4,  4,  6,  6,  6,  6,  7,  8,  8,  9,  9, 10, 12, 12, 12, 13, 14, 15, 16, 17, 18, 19, 19, 20, 21, 22, 24, 25},
+        {-1, 1, 1, 1, 2, 2, 4, 4, 4, 5, 5,  5,  8,  9,  9, 10, 10, 11, 13, 14, 16, 17, 17, 18, 20, 21, 23, 25, 26, 28, 29, 31, 33, 35, 37, 38, 40, 43, 45, 47, 49},
+        {-1, 1, 1, 2, 2, 4, 4, 6, 6, 8, 8,  8, 10, 12, 16, 12, 17, 16, 18, 21, 20, 23, 23, 25, 27, 29, 34, 34, 35, 38, 40, 43, 45, 48, 51, 53, 56, 59, 62, 65, 68},
+        {-1, 1, 1, 2, 4, 4, 4, 5, 6, 8, 8, 11, 11, 16, 16, 18, 16, 19, 21, 25, 25, 25, 34, 30, 32, 35, 37, 40, 42, 45, 48, 51, 54, 57, 60, 63, 66, 70, 74, 77, 81},
+    };
+
+    final int version;
+    final int size;
+    final Ecc ecc;
+    final int mask;
+    private final boolean[][] modules;
+    // Finder, timing, alignment, format and version modules, which the data
+    // and the mask leave alone
+    private final boolean[][] function;
+
+    private QrCode(int version, Ecc ecc, byte[] codewords) {
+        this.version = version;
+        this.ecc = ecc;
+        size = version * 4 + 17;
+        modules = new boolean[size][size];
+        function = new boolean[size][size];
+        drawFunctionPatterns();
+        drawCodewords(codewords);
+        // Tries each mask; applying one twice takes it off again
+        int best = 0;
+        int lowest = Integer.MAX_VALUE;
+        for (int m = 0; m < 8; m++) {
+            applyMask(m);
+            drawFormatBits(m);
+            int penalty = penalty();
+            if (penalty < lowest) {
+                best = m;
+                lowest = penalty;
+            }
+            applyMask(m);
+        }
+        mask = best;
+        applyMask(mask);
+        drawFormatBits(mask);
+    }
+
+    // Throws IllegalArgumentException if the text does not fit in version 40
+    static QrCode encode(String text, Ecc ecc) {
+        byte[] data = text.getBytes(StandardCharsets.UTF_8);
+        int version = 1;
+        while (4 + countBits(version) + data.length * 8 > dataCodewords(version, ecc) * 8) {
+            if (++version > 40) {
+                throw new IllegalArgumentException("Text too long for a QR code: " + data.length + " bytes");
+            }
+        }
+        int capacity = dataCodewords(version, ecc);
+        byte[] codewords = new byte[capacity];
+        int bit = 0;
+        bit = append(codewords, bit, 0b0100, 4);
+        bit = append(codewords, bit, data.length, countBits(version));
+        for (byte b : data) {
+            bit = append(codewords, bit, b & 0xFF, 8);
+        }
+        // Up to four zero bits end the data, then it is padded to a byte
+        // boundary (the array is zeroed) and filled with alternating pad bytes
+        bit = Math.min(bit + 4, capacity * 8);
+        for (int i = (bit + 7) / 8, pad = 0xEC; i < capacity; i++, pad ^= 0xEC ^ 0x11) {
+            codewords[i] = (byte) pad;
+        }
+        return new QrCode(version, ecc, addErrorCorrection(codewords, version, ecc));
+    }
+
+    // True for a dark module; x and y count from the top left
+    boolean get(int x, int y) {
+        return modules[y][x];
+    }
+
+    private static int append(byte[] out, int bit, int value, int length) {
+        for (int i = length - 1; i >= 0; i--, bit++) {
+            if (((value >>> i) & 1) != 0) {
+                out[bit >>> 3] |= (byte) (0x80 >>> (bit & 7));
+            }
+        }
+        return bit;
+    }
+
+    // Bits of the byte-mode character count
+    private static int countBits(int version) {
+        return version < 10 ? 8 : 16;
+    }
+
+    // Modules left for data and error correction once the function patterns
+    // are placed
+    private static int rawDataModules(int version) {
+        int result = (16 * version + 128) * version + 64;
+        if (version >= 2) {
+            int alignments = version / 7 + 2;
+            result -= (25 * alignments - 10) * alignments - 55;
+            if (version >= 7) {
+                result -= 36;
+            }
+        }
+        return result;
+    }
+
+    static int dataCodewords(int version, Ecc ecc) {
+        int level = ecc.ordinal();
+        return rawDataModules(version) / 8 - ECC_PER_BLOCK[level][version] * BLOCKS[level][version];
+    }
+
+    // Splits the data into blocks, appends each block's Reed-Solomon
+    // codewords and interleaves the blocks. Later blocks are one data
+    // codeword longer when the data does not divide evenly.
+    private static byte[] addErrorCorrection(byte[] data, int version, Ecc ecc) {
+        int blocks = BLOCKS[ecc.ordinal()][version];
+        int eccLength = ECC_PER_BLOCK[ecc.ordinal()][version];
+        int raw = rawDataModules(version) / 8;
+        int shortBlocks = blocks - raw % blocks;
+        int shortLength = raw / blocks;
+        byte[] divisor = reedSolomonDivisor(eccLength);
+        byte[][] split = new byte[blocks][];
+        for (int i = 0, k = 0; i < blocks; i++) {
+            int dataLength = shortLength - eccLength + (i < shortBlocks ? 0 : 1);
+            byte[] block = new byte[shortLength + 1];
+            System.arraycopy(data, k, block, 0, dataLength);
+            k += dataLength;
+            byte[] remainder = reedSolomonRemainder(block, dataLength, divisor);
+            // Short blocks leave a gap where the long ones have their extra
+            // data codeword, so every block's ecc starts at the same index
+            System.arraycopy(remainder, 0, block, shortLength + 1 - eccLength, eccLength);
+            split[i] = block;
+        }
+        byte[] result = new byte[raw];
+        int n = 0;
+        for (int i = 0; i <= shortLength; i++) {
+            for (int j = 0; j < blocks; j++) {
+                if (i != shortLength - eccLength || j >= shortBlocks) {
+                    result[n++] = split[j][i];
+                }
+            }
+        }
+        return result;
+    }
+
+    // Coefficients of the generator polynomial of the given degree, highest
+    // power first with the leading 1 left out
+    private static byte[] reedSolomonDivisor(int degree) {
+        byte[] result = new byte[degree];
+        result[degree - 1] = 1;
+        int root = 1;
+        for (int i = 0; i < degree; i++) {
+            for (int j = 0; j < degree; j++) {
+                result[j] = (byte) multiply(result[j] & 0xFF, root);
+                if (j + 1 < degree) {
+                    result[j] ^= result[j + 1];
+                }
+            }
+            root = multiply(root, 0x02);
+        }
+        return result;
+    }
+
+    private static byte[] reedSolomonRemainder(byte[] data, int length, byte[] divisor) {
+        byte[] result = new byte[divisor.length];
+        for (int i = 0; i < length; i++) {
+            int factor = (data[i] ^ result[0]) & 0xFF;
+            System.arraycopy(result, 1, result, 0, result.length - 1);
+            result[result.length - 1] = 0;
+            for (int j = 0; j < result.length; j++) {
+                result[j] ^= (byte) multiply(divisor[j] & 0xFF, factor);
+            }
+        }
+        return result;
+    }
+
+    // Product in GF(2^8) modulo x^8 + x^4 + x^3 + x^2 + 1
+    private static int multiply(int x, int y) {
+        int z = 0;
+        for (int i = 7; i >= 0; i--) {
+            z = (z << 1) ^ ((z >>> 7) * 0x11D);
+            z ^= ((y >>> i) & 1) * x;
+        }
+        return z;
+    }
+
+    private void setFunction(int x, int y, boolean dark) {
+        modules[y][x] = dark;
+        function[y][x] = true;
+    }
+
+    private void drawFunctionPatterns() {
+        for (int i = 0; i < size; i++) {
+            setFunction(6, i, i % 2 == 0);
+            setFunction(i, 6, i % 2 == 0);
+        }
+        drawFinder(3, 3);
+        drawFinder(size - 4, 3);
+        drawFinder(3, size - 4);
+        int[] positions = alignmentPositions();
+        int n = positions.length;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                // Not over the three finder patterns
+                if (!(i == 0 && j == 0 || i == 0 && j == n - 1 || i == n - 1 && j == 0)) {
+                    drawAlignment(positions[i], positions[j]);
+                }
+            }
+        }
+        // Reserved now so the data goes around them; written for real once
+        // the mask is chosen
+        drawFormatBits(0);
+        drawVersion();
+    }
+
+    // A finder pattern with its light separator, clipped at the edges
+    private void drawFinder(int x, int y) {
+        for (int dy = -4; dy <= 4; dy++) {
+            for (int dx = -4; dx <= 4; dx++) {
+                int distance = Math.max(Math.abs(dx), Math.abs(dy));
+                int xx = x + dx;
+                int yy = y + dy;
+                if (xx >= 0 && xx < size && yy >= 0 && yy < size) {
+                    setFunction(xx, yy, distance != 2 && distance != 4);
+                }
+            }
+        }
+    }
+
+    private void drawAlignment(int x, int y) {
+        for (int dy = -2; dy <= 2; dy++) {
+            for (int dx = -2; dx <= 2; dx++) {
+                setFunction(x + dx, y + dy, Math.max(Math.abs(dx), Math.abs(dy)) != 1);
+            }
+        }
+    }
+
+    // Centre coordinates of the alignment patterns, on both axes
+    private int[] alignmentPositions() {
+        if (version == 1) {
+            return new int[0];
+        }
+        int count = version / 7 + 2;
+        int step = (version * 8 + count * 3 + 5) / (count * 4 - 4) * 2;
+        int[] result = new int[count];
+        result[0] = 6;
+        for (int i = count - 1, position = size - 7; i >= 1; i--, position -= step) {
+            result[i] = position;
+        }
+        return result;
+    }
+
+    // The level and mask, with a BCH code, in two copies around the finders
+    private void drawFormatBits(int mask) {
+        int data = ecc.formatBits << 3 | mask;
+        int remainder = data;
+        for (int i = 0; i < 10; i++) {
+            remainder = (remainder << 1) ^ ((remainder >>> 9) * 0x537);
+        }
+        int bits = (data << 10 | remainder) ^ 0x5412;
+
+        for (int i = 0; i <= 5; i++) {
+            setFunction(8, i, bit(bits, i));
+        }
+        setFunction(8, 7, bit(bits, 6));
+        setFunction(8, 8, bit(bits, 7));
+        setFunction(7, 8, bit(bits, 8));
+        for (int i = 9; i < 15; i++) {
+            setFunction(14 - i, 8, bit(bits, i));
+        }
+
+        for (int i = 0; i < 8; i++) {
+            setFunction(size - 1 - i, 8, bit(bits, i));
+        }
+        for (int i = 8; i < 15; i++) {
+            setFunction(8, size - 15 + i, bit(bits, i));
+        }
+        // Always dark
+        setFunction(8, size - 8, true);
+    }
+
+    // Versions 7 and up carry their number, with a BCH code, in two blocks
+    // next to the top-right and bottom-left finders
+    private void drawVersion() {
+        if (version < 7) {
+            return;
+        }
+        int remainder = version;
+        for (int i = 0; i < 12; i++) {
+            remainder = (remainder << 1) ^ ((remainder >>> 11) * 0x1F25);
+        }
+        int bits = version << 12 | remainder;
+        for (int i = 0; i < 18; i++) {
+            boolean dark = bit(bits, i);
+            int a = size - 11 + i % 3;
+            int b = i / 3;
+            setFunction(a, b, dark);
+            setFunction(b, a, dark);
+        }
+    }
+
+    // Fills the non-function modules in the standard zigzag, two columns at
+    // a time from the bottom right, skipping the vertical timing column.
+    // Modules left over after the last codeword stay light.
+    private void drawCodewords(byte[] codewords) {
+        int i = 0;
+        for (int right = size - 1; right >= 1; right -= 2) {
+            if (right == 6) {
+                right = 5;
+            }
+            boolean upward = ((right + 1) & 2) == 0;
+            for (int step = 0; step < size; step++) {
+                int y = upward ? size - 1 - step : step;
+                for (int j = 0; j < 2; j++) {
+                    int x = right - j;
+                    if (!function[y][x] && i < codewords.length * 8) {
+                        modules[y][x] = bit(codewords[i >>> 3], 7 - (i & 7));
+                        i++;
+                    }
+                }
+            }
+        }
+    }
+
+    // Flips the data modules the mask pattern selects
+    private void applyMask(int mask) {
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                boolean flip;
+                switch (mask) {
+                    case 0: flip = (x + y) % 2 == 0; break;
+                    case 1: flip = y % 2 == 0; break;
+                    case 2: flip = x % 3 == 0; break;
+                    case 3: flip = (x + y) % 3 == 0; break;
+                    case 4: flip = (x / 3 + y / 2) % 2 == 0; break;
+                    case 5: flip = x * y % 2 + x * y % 3 == 0; break;
+                    case 6: flip = (x * y % 2 + x * y % 3) % 2 == 0; break;
+                    default: flip = ((x + y) % 2 + x * y % 3) % 2 == 0; break;
+                }
+                modules[y][x] ^= flip && !function[y][x];
+            }
+        }
+    }
+
+    // The standard's four penalty rules: runs of five or more modules of one
+    // colour, 2x2 blocks of one colour, finder-like 1:1:3:1:1 patterns with
+    // four light modules beside them, and a dark share far from half
+    private int penalty() {
+        int result = 0;
+        for (int i = 0; i < size; i++) {
+            result += linePenalty(i, true) + linePenalty(i, false);
+        }
+        int dark = 0;
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                boolean color = modules[y][x];
+                if (color) {
+                    dark++;
+                }
+                if (x + 1 < size && y + 1 < size && color == modules[y][x + 1] && color == modules[y + 1][x]
+                        && color == modules[y + 1][x + 1]) {
+                    result += 3;
+                }
+            }
+        }
+        int total = size * size;
+        result += ((Math.abs(dark * 20 - total * 10) + total - 1) / total - 1) * 10;
+        return result;
+    }
+
+    private int linePenalty(int index, boolean row) {
+        int result = 0;
+        int run = 0;
+        boolean previous = false;
+        int bits = 0;
+        for (int i = 0; i < size; i++) {
+            boolean dark = row ? modules[index][i] : modules[i][index];
+            if (i > 0 && dark == previous) {
+                run++;
+                if (run == 5) {
+                    result += 3;
+                } else if (run > 5) {
+                    result++;
+                }
+            } else {
+                run = 1;
+                previous = dark;
+            }
+            // The last eleven modules, oldest in the high bit
+            bits = ((bits << 1) | (dark ? 1 : 0)) & 0x7FF;
+            if (i >= 10 && (bits == 0b10111010000 || bits == 0b00001011101)) {
+                result += 40;
+            }
+        }
+        return result;
+    }
+
+    private static boolean bit(int value, int index) {
+        return ((value >>> index) & 1) != 0;
+    }
+}
@@ -0,0 +1,856 @@
+package gym;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+// Append-only double-entry record of every payment taken at the front desk.
+//
+// A payment is one transaction: what was sold (line items), how it was paid,
+// when, and postings that balance to zero. A $70 checkout paid by card debits
+// "cash:card" 7000 and credits "revenue:products" -7000. Transactions go to
+// segment files (ledger-<seq>.log, a new one every SEGMENT_BYTES) through a
+// committer thread. Each time round, the committer writes and forces
+// everything appended since its last force, so a burst of payments shares one
+// fsync. Segments are never rewritten or deleted: the ledger is the history.
+//
+// Rollups (transactions and revenue per day, quantity and revenue per item,
+// balance per account) are updated as each transaction is appended, so
+// revenue queries read a handful of map entries instead of rescanning
+// history. They are checkpointed (rollups-<seq>.dat) whenever a segment is
+// sealed and on close, so open() only replays what came after the checkpoint.
+//
+// Record: [int length][int crc32][long seq][long time][int epochDay][byte method]
+//         [short lines] ([byte kind][long refId][string name][int quantity][long unitCents])...
+//         [short postings] ([string account][long cents])...
+final class SalesLedger implements Closeable {
+    static final long SEGMENT_BYTES = 16L << 20;
+    private static final int FILE_HEADER = 8;
+    private static final int RECORD_HEADER = 8;
+    private static final int LEDGER_MAGIC = 0x474d594c;   // "GMYL"
+    private static final int ROLLUPS_MAGIC = 0x474d5952;  // "GMYR"
+    private static final int FORMAT_VERSION = 1;
+    // Line counts are stored as shorts
+    static final int MAX_LINES = Short.MAX_VALUE;
+
+    enum Method {
+        CASH, CARD, UPI;
+
+        String account() {
+            return "cash:" + name().toLowerCase(java.util.Locale.ROOT);
+        }
+    }
+
+    enum Kind {
+        PRODUCT("revenue:products"), MEMBERSHIP("revenue:memberships");
+
+        final String account;
+
+        Kind(String account) {
+            this.account = account;
+        }
+    }
+
+    static final class Line {
+        final Kind kind;
+        final long refId;
+        final String name;
+        final int quantity;
+        final long unitCents;
+
+        Line(Kind kind, long refId, String name, int quantity, long unitCents) {
+            this.kind = kind;
+            this.refId = refId;
+            this.name = name;
+            this.quantity = quantity;
+            this.unitCents = unitCents;
+        }
+
+        long amountCents() {
+            return quantity * unitCents;
+        }
+    }
+
+    // Debits are positive, credits negative
+    static final class Posting {
+        final String account;
+        final long cents;
+
+        Posting(String account, long cents) {
+            this.account = account;
+            this.cents = cents;
+        }
+    }
+
+    static final class Sale {
+        final long seq;
+        final long timeMillis;
+        final int epochDay;
+        final Method method;
+        final List<Line> lines;
+        final List<Posting> postings;
+
+        Sale(long seq, long timeMillis, int epochDay, Method method, List<Line> lines, List<Posting> postings) {
+            this.seq = seq;
+            this.timeMillis = timeMillis;
+            this.epochDay = epochDay;
+            this.method = method;
+            this.lines = lines;
+            this.postings = postings;
+        }
+
+        long totalCents() {
+            long total = 0;
+            for (Line line : lines) {
+                total += line.amountCents();
+            }
+            return total;
+        }
+    }
+
+    // Quantity and revenue so far for one product or plan, under its latest name
+    static final class ItemTotal {
+        final Kind kind;
+        final long refId;
+        String name;
+        long quantity;
+        long cents;
+
+        ItemTotal(Kind kind, long refId, String name) {
+            this.kind = kind;
+            this.refId = refId;
+            this.name = name;
+        }
+
+        ItemTotal copy() {
+            ItemTotal copy = new ItemTotal(kind, refId, name);
+            copy.quantity = quantity;
+            copy.cents = cents;
+            return copy;
+        }
+    }
+
+    private final Path dir;
+    private final Clock clock;
+
+    // Guards everything below; the committer waits on it for new records
+    private final Object lock = new Object();
+    private ByteBuffer pending = ByteBuffer.allocate(16 << 10);
+    private ByteBuffer writing = ByteBuffer.allocate(16 << 10);
+    private ByteBuffer scratch = ByteBuffer.allocate(1 << 10);
+    private final CRC32 crc = new CRC32();
+    private Rollups rollups = new Rollups();
+    private final List<Consumer<? super Sale>> listeners = new ArrayList<>();
+    private FileChannel segment;
+    private long segmentBytes;
+    private long nextSeq = 1;
+    private long committedSeq;
+    private int rollMark = -1;
+    private long rollSeq;
+    private Rollups rollCheckpoint;
+    private boolean opened;
+    private boolean closed;
+    private IOException failure;
+    private Thread committer;
+
+    SalesLedger(Path dir) {
+        this(dir, Clock.systemDefaultZone());
+    }
+
+    // The clock's zone decides which day a sale counts towards
+    SalesLedger(Path dir, Clock clock) {
+        this.dir = dir;
+        this.clock = clock;
+    }
+
+    void open() throws IOException {
+        if (opened) {
+            throw new IllegalStateException("ledger already open");
+        }
+        opened = true;
+        Files.createDirectories(dir);
+
+        long checkpointSeq = 0;
+        TreeMap<Long, Path> checkpoints = listFiles("rollups-", ".dat");
+        for (Path file : checkpoints.descendingMap().values()) {
+            Rollups loaded = Rollups.read(file);
+            if (loaded != null) {
+                rollups = loaded;
+                checkpointSeq = loaded.seq;
+                break;
+            }
+        }
+
+        TreeMap<Long, Path> segments = listFiles("ledger-", ".log");
+        long lastSeq = checkpointSeq;
+        Path newest = segments.isEmpty() ? null : segments.lastEntry().getValue();
+        long newestEnd = 0;
+        for (Map.Entry<Long, Path> entry : segments.entrySet()) {
+            Long following = segments.higherKey(entry.getKey());
+            if (following != null && following <= checkpointSeq + 1) {
+                continue; // everything in it is already in the checkpoint
+            }
+            long[] result = replay(entry.getValue(), checkpointSeq, entry.getValue().equals(newest));
+            lastSeq = Math.max(lastSeq, result[0]);
+            newestEnd = result[1];
+        }
+        nextSeq = lastSeq + 1;
+        committedSeq = lastSeq;
+        rollups.seq = lastSeq;
+
+        // Keep appending to the newest segment until it is full
+        if (newest != null && newestEnd < SEGMENT_BYTES) {
+            segment = FileChannel.open(newest, StandardOpenOption.WRITE);
+            segment.position(newestEnd);
+            segmentBytes = newestEnd;
+        } else {
+            segment = openSegment(nextSeq);
+            segmentBytes = FILE_HEADER;
+        }
+
+        committer = new Thread(this::commitLoop, "gym-ledger-committer");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    // Appends a payment and returns it with its sequence number. The payment
+    // is in the rollups straight away; sync() waits until it is on disk.
+    Sale record(Method method, List<Line> lines) {
+        if (lines.isEmpty()) {
+            throw new IllegalArgumentException("a sale needs at least one line");
+        }
+        if (lines.size() > MAX_LINES) {
+            throw new IllegalArgumentException("a sale holds at most " + MAX_LINES + " lines");
+        }
+        long total = 0;
+        Map<String, Long> credits = new TreeMap<>();
+        for (Line line : lines) {
+            if (line.quantity <= 0 || line.unitCents < 0) {
+                throw new IllegalArgumentException("bad line: " + line.name);
+            }
+            total += line.amountCents();
+            credits.merge(line.kind.account, -line.amountCents(), Long::sum);
+        }
+        List<Posting> postings = new ArrayList<>(credits.size() + 1);
+        postings.add(new Posting(method.account(), total));
+        for (Map.Entry<String, Long> credit : credits.entrySet()) {
+            postings.add(new Posting(credit.getKey(), credit.getValue()));
+        }
+
+        long now = clock.millis();
+        int day = (int) LocalDate.now(clock).toEpochDay();
+        synchronized (lock) {
+            if (closed || !opened) {
+                throw new IllegalStateException("ledger is not open");
+            }
+            if (failure != null) {
+                throw new UncheckedIOException("ledger write failed", failure);
+            }
+            Sale sale = new Sale(nextSeq++, now, day, method,
+                    Collections.unmodifiableList(new ArrayList<>(lines)), Collections.unmodifiableList(postings));
+            int length = encode(sale);
+            crc.reset();
+            crc.update(scratch.array(), 0, length);
+            if (pending.remaining() < RECORD_HEADER + length) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + RECORD_HEADER + length));
+                pending.flip();
+                grown.put(pending);
+                pending = grown;
+            }
+            pending.putInt(length).putInt((int) crc.getValue()).put(scratch.array(), 0, length);
+            rollups.apply(sale);
+            for (Consumer<? super Sale> listener : listeners) {
+                listener.accept(sale);
+            }
+            segmentBytes += RECORD_HEADER + length;
+            if (segmentBytes >= SEGMENT_BYTES && rollMark < 0) {
+                rollMark = pending.position();
+                rollSeq = sale.seq;
+                rollCheckpoint = rollups.copy();
+                segmentBytes = FILE_HEADER;
+            }
+            lock.notifyAll();
+            return sale;
+        }
+    }
+
+    // Seeds the listener's state from the revenue per day and item totals so
+    // far, then tells it about every sale as it is recorded. Listeners run
+    // under the ledger's lock, in seq order, so they must be quick.
+    void addListener(Consumer<? super Sale> listener, BiConsumer<SortedMap<LocalDate, Long>, List<ItemTotal>> seed) {
+        synchronized (lock) {
+            SortedMap<LocalDate, Long> days = new TreeMap<>();
+            for (Map.Entry<Integer, long[]> day : rollups.days.entrySet()) {
+                days.put(LocalDate.ofEpochDay(day.getKey()), day.getValue()[1]);
+            }
+            seed.accept(days, itemTotals());
+            listeners.add(listener);
+        }
+    }
+
+    // Waits until everything recorded so far is on disk
+    void sync() throws IOException {
+        synchronized (lock) {
+            long target = nextSeq - 1;
+            while (committedSeq < target && failure == null && !closed) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("interrupted while waiting for ledger commit", e);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    long transactionCount() {
+        synchronized (lock) {
+            return rollups.transactions;
+        }
+    }
+
+    // Line items over all transactions
+    long lineCount() {
+        synchronized (lock) {
+            return rollups.lines;
+        }
+    }
+
+    long revenueOn(LocalDate day) {
+        synchronized (lock) {
+            long[] totals = rollups.days.get((int) day.toEpochDay());
+            return totals == null ? 0 : totals[1];
+        }
+    }
+
+    // Inclusive of both days
+    long revenueBetween(LocalDate from, LocalDate to) {
+        synchronized (lock) {
+            long revenue = 0;
+            for (long[] totals : rollups.days.subMap((int) from.toEpochDay(), true, (int) to.toEpochDay(), true).values()) {
+                revenue += totals[1];
+            }
+            return revenue;
+        }
+    }
+
+    // Revenue per day with at least one sale, inclusive of both days
+    SortedMap<LocalDate, Long> dailyRevenue(LocalDate from, LocalDate to) {
+        synchronized (lock) {
+            SortedMap<LocalDate, Long> revenue = new TreeMap<>();
+            for (Map.Entry<Integer, long[]> day : rollups.days.subMap((int) from.toEpochDay(), true, (int) to.toEpochDay(), true).entrySet()) {
+                revenue.put(LocalDate.ofEpochDay(day.getKey()), day.getValue()[1]);
+            }
+            return revenue;
+        }
+    }
+
+    List<ItemTotal> itemTotals() {
+        synchronized (lock) {
+            List<ItemTotal> totals = new ArrayList<>(rollups.items.size());
+            for (ItemTotal item : rollups.items.values()) {
+                totals.add(item.copy());
+            }
+            return totals;
+        }
+    }
+
+    long balance(String account) {
+        synchronized (lock) {
+            return rollups.balances.getOrDefault(account, 0L);
+        }
+    }
+
+    SortedMap<String, Long> balances() {
+        synchronized (lock) {
+            return new TreeMap<>(rollups.balances);
+        }
+    }
+
+    // Reads every committed sale from disk, oldest first, holding one record
+    // in memory at a time; for exports. Close the iterator when done.
+    Reader read() throws IOException {
+        sync();
+        return new Reader(listFiles("ledger-", ".log"));
+    }
+
+    @Override
+    public void close() throws IOException {
+        Thread committerThread;
+        synchronized (lock) {
+            if (closed || !opened) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+            committerThread = committer;
+        }
+        try {
+            committerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while closing ledger", e);
+        }
+        segment.close();
+        if (failure != null) {
+            throw failure;
+        }
+        Rollups last;
+        synchronized (lock) {
+            last = rollups.copy();
+        }
+        writeCheckpoint(last);
+    }
+
+    private void commitLoop() {
+        while (true) {
+            ByteBuffer batch;
+            long upTo;
+            int mark;
+            long markSeq;
+            Rollups checkpoint;
+            synchronized (lock) {
+                while (pending.position() == 0 && rollMark < 0 && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending.position() == 0 && rollMark < 0) {
+                    return;
+                }
+                batch = pending;
+                pending = writing;
+                writing = batch;
+                upTo = nextSeq - 1;
+                mark = rollMark;
+                markSeq = rollSeq;
+                checkpoint = rollCheckpoint;
+                rollMark = -1;
+                rollCheckpoint = null;
+            }
+
+            try {
+                batch.flip();
+                if (mark >= 0) {
+                    ByteBuffer head = batch.duplicate();
+                    head.limit(mark);
+                    writeFully(head);
+                    segment.force(false);
+                    segment.close();
+                    segment = openSegment(markSeq + 1);
+                    batch.position(mark);
+                }
+                writeFully(batch);
+                segment.force(false);
+                if (checkpoint != null) {
+                    writeCheckpoint(checkpoint);
+                }
+            } catch (IOException e) {
+                synchronized (lock) {
+                    failure = e;
+                    lock.notifyAll();
+                }
+                return;
+            } finally {
+                batch.clear();
+            }
+
+            synchronized (lock) {
+                committedSeq = upTo;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            segment.write(buffer);
+        }
+    }
+
+    // Encodes the record body into scratch and returns its length
+    private int encode(Sale sale) {
+        while (true) {
+            try {
+                scratch.clear();
+                scratch.putLong(sale.seq).putLong(sale.timeMillis).putInt(sale.epochDay).put((byte) sale.method.ordinal());
+                scratch.putShort((short) sale.lines.size());
+                for (Line line : sale.lines) {
+                    scratch.put((byte) line.kind.ordinal()).putLong(line.refId);
+                    GymStore.putString(scratch, line.name);
+                    scratch.putInt(line.quantity).putLong(line.unitCents);
+                }
+                scratch.putShort((short) sale.postings.size());
+                for (Posting posting : sale.postings) {
+                    GymStore.putString(scratch, posting.account);
+                    scratch.putLong(posting.cents);
+                }
+                return scratch.position();
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+    }
+
+    private static Sale decode(ByteBuffer body) {
+        long seq = body.getLong();
+        long time = body.getLong();
+        int day = body.getInt();
+        Method method = Method.values()[body.get()];
+        int lineCount = body.getShort();
+        List<Line> lines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            Kind kind = Kind.values()[body.get()];
+            long refId = body.getLong();
+            String name = GymStore.getString(body);
+            lines.add(new Line(kind, refId, name, body.getInt(), body.getLong()));
+        }
+        int postingCount = body.getShort();
+        List<Posting> postings = new ArrayList<>(postingCount);
+        for (int i = 0; i < postingCount; i++) {
+            postings.add(new Posting(GymStore.getString(body), body.getLong()));
+        }
+        return new Sale(seq, time, day, method, lines, postings);
+    }
+
+    // Applies the records after afterSeq to the rollups. Returns the last seq
+    // seen and the end of the last good record; a torn tail of the newest
+    // segment is cut off, anywhere else it is an error.
+    private long[] replay(Path file, long afterSeq, boolean newest) throws IOException {
+        long lastSeq = afterSeq;
+        try (Reader reader = new Reader(new TreeMap<>(Collections.singletonMap(0L, file)))) {
+            while (reader.hasNext()) {
+                Sale sale = reader.next();
+                lastSeq = Math.max(lastSeq, sale.seq);
+                if (sale.seq > afterSeq) {
+                    rollups.apply(sale);
+                }
+            }
+            long end = reader.goodEnd;
+            if (reader.torn) {
+                if (!newest) {
+                    throw new IOException("Corrupt record in sealed ledger segment " + file);
+                }
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(end);
+                    channel.force(true);
+                }
+            }
+            return new long[]{lastSeq, end};
+        }
+    }
+
+    private FileChannel openSegment(long firstSeq) throws IOException {
+        Path file = dir.resolve(String.format("ledger-%020d.log", firstSeq));
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER).putInt(LEDGER_MAGIC).putInt(FORMAT_VERSION);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(true);
+        return channel;
+    }
+
+    // Written under a temporary name and moved into place; older checkpoints
+    // are removed once the new one is there
+    private void writeCheckpoint(Rollups checkpoint) throws IOException {
+        Path file = dir.resolve(String.format("rollups-%020d.dat", checkpoint.seq));
+        Path temp = dir.resolve(file.getFileName() + ".tmp");
+        ByteBuffer data = checkpoint.encode();
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (data.hasRemaining()) {
+                out.write(data);
+            }
+            out.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (Path old : listFiles("rollups-", ".dat").headMap(checkpoint.seq).values()) {
+            Files.deleteIfExists(old);
+        }
+    }
+
+    private TreeMap<Long, Path> listFiles(String prefix, String suffix) throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, prefix + "*" + suffix)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                try {
+                    files.put(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())), file);
+                } catch (NumberFormatException e) {
+                    // not one of ours
+                }
+            }
+        }
+        return files;
+    }
+
+    // Streams sales out of segment files through a small buffer. Stops at
+    // the first record that is incomplete or fails its checksum (torn).
+    static final class Reader implements Iterator<Sale>, Closeable {
+        private final Iterator<Path> files;
+        private FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocate(64 << 10);
+        private final CRC32 checksum = new CRC32();
+        private Sale next;
+        private long position;
+        long goodEnd;
+        boolean torn;
+
+        Reader(TreeMap<Long, Path> segments) {
+            this.files = new ArrayList<>(segments.values()).iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = advance();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Sale next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Sale sale = next;
+            next = null;
+            return sale;
+        }
+
+        private Sale advance() throws IOException {
+            while (true) {
+                if (channel == null) {
+                    if (torn || !files.hasNext()) {
+                        return null;
+                    }
+                    Path file = files.next();
+                    channel = FileChannel.open(file, StandardOpenOption.READ);
+                    buffer.clear().limit(0);
+                    position = 0;
+                    goodEnd = 0;
+                    if (!fill(FILE_HEADER)) {
+                        close();
+                        continue;
+                    }
+                    if (buffer.getInt() != LEDGER_MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                        throw new IOException("Not a ledger segment: " + file);
+                    }
+                    position = FILE_HEADER;
+                    goodEnd = position;
+                }
+                if (!fill(RECORD_HEADER)) {
+                    torn = buffer.hasRemaining();
+                    close();
+                    continue;
+                }
+                int length = buffer.getInt(buffer.position());
+                int expected = buffer.getInt(buffer.position() + 4);
+                if (length <= 0 || !fill(RECORD_HEADER + length)) {
+                    torn = true;
+                    close();
+                    continue;
+                }
+                buffer.position(buffer.position() + RECORD_HEADER);
+                checksum.reset();
+                checksum.update(buffer.array(), buffer.position(), length);
+                if ((int) checksum.getValue() != expected) {
+                    torn = true;
+                    close();
+                    continue;
+                }
+                ByteBuffer body = buffer.duplicate();
+                body.limit(buffer.position() + length);
+                buffer.position(buffer.position() + length);
+                position += RECORD_HEADER + length;
+                try {
+                    Sale sale = decode(body);
+                    goodEnd = position;
+                    return sale;
+                } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+                    throw new IOException("Unreadable ledger record at " + (position - RECORD_HEADER - length), e);
+                }
+            }
+        }
+
+        // Makes at least n bytes available from the buffer's position; false
+        // if the file ends first
+        private boolean fill(int n) throws IOException {
+            if (buffer.remaining() >= n) {
+                return true;
+            }
+            buffer.compact();
+            if (buffer.capacity() < n) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(n, buffer.capacity() * 2));
+                buffer.flip();
+                grown.put(buffer);
+                buffer = grown;
+            }
+            while (buffer.position() < n) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            return buffer.remaining() >= n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    // The running totals, and the seq of the last transaction in them
+    private static final class Rollups {
+        long seq;
+        long transactions;
+        long lines;
+        // epochDay -> {transactions, revenue cents}
+        final TreeMap<Integer, long[]> days = new TreeMap<>();
+        // "PRODUCT:12" -> totals
+        final Map<String, ItemTotal> items = new HashMap<>();
+        final TreeMap<String, Long> balances = new TreeMap<>();
+
+        void apply(Sale sale) {
+            seq = Math.max(seq, sale.seq);
+            transactions++;
+            lines += sale.lines.size();
+            long[] day = days.computeIfAbsent(sale.epochDay, d -> new long[2]);
+            day[0]++;
+            day[1] += sale.totalCents();
+            for (Line line : sale.lines) {
+                ItemTotal item = items.computeIfAbsent(line.kind + ":" + line.refId,
+                        key -> new ItemTotal(line.kind, line.refId, line.name));
+                item.name = line.name;
+                item.quantity += line.quantity;
+                item.cents += line.amountCents();
+            }
+            for (Posting posting : sale.postings) {
+                balances.merge(posting.account, posting.cents, Long::sum);
+            }
+        }
+
+        Rollups copy() {
+            Rollups copy = new Rollups();
+            copy.seq = seq;
+            copy.transactions = transactions;
+            copy.lines = lines;
+            for (Map.Entry<Integer, long[]> day : days.entrySet()) {
+                copy.days.put(day.getKey(), day.getValue().clone());
+            }
+            for (Map.Entry<String, ItemTotal> item : items.entrySet()) {
+                copy.items.put(item.getKey(), item.getValue().copy());
+            }
+            copy.balances.putAll(balances);
+            return copy;
+        }
+
+        ByteBuffer encode() {
+            ByteBuffer out = ByteBuffer.allocate(1 << 10);
+            while (true) {
+                try {
+                    out.clear();
+                    out.putInt(ROLLUPS_MAGIC).putInt(FORMAT_VERSION).putLong(seq).putLong(transactions).putLong(lines);
+                    out.putInt(days.size());
+                    for (Map.Entry<Integer, long[]> day : days.entrySet()) {
+                        out.putInt(day.getKey()).putLong(day.getValue()[0]).putLong(day.getValue()[1]);
+                    }
+                    out.putInt(items.size());
+                    for (ItemTotal item : items.values()) {
+                        out.put((byte) item.kind.ordinal()).putLong(item.refId);
+                        GymStore.putString(out, item.name);
+                        out.putLong(item.quantity).putLong(item.cents);
+                    }
+                    out.putInt(balances.size());
+                    for (Map.Entry<String, Long> balance : balances.entrySet()) {
+                        GymStore.putString(out, balance.getKey());
+                        out.putLong(balance.getValue());
+                    }
+                    CRC32 checksum = new CRC32();
+                    checksum.update(out.array(), 0, out.position());
+                    out.putInt((int) checksum.getValue());
+                    out.flip();
+                    return out;
+                } catch (BufferOverflowException e) {
+                    out = ByteBuffer.allocate(out.capacity() * 2);
+                }
+            }
+        }
+
+        // null if the file is damaged; open() then falls back to an older one
+        static Rollups read(Path file) throws IOException {
+            ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (in.limit() < 36 || in.getInt(0) != ROLLUPS_MAGIC || in.getInt(4) != FORMAT_VERSION) {
+                return null;
+            }
+            CRC32 checksum = new CRC32();
+            checksum.update(in.array(), 0, in.limit() - 4);
+            if ((int) checksum.getValue() != in.getInt(in.limit() - 4)) {
+                return null;
+            }
+            try {
+                in.position(8);
+                Rollups rollups = new Rollups();
+                rollups.seq = in.getLong();
+                rollups.transactions = in.getLong();
+                rollups.lines = in.getLong();
+                for (int i = in.getInt(); i > 0; i--) {
+                    rollups.days.put(in.getInt(), new long[]{in.getLong(), in.getLong()});
+                }
+                for (int i = in.getInt(); i > 0; i--) {
+                    Kind kind = Kind.values()[in.get()];
+                    long refId = in.getLong();
+                    ItemTotal item = new ItemTotal(kind, refId, GymStore.getString(in));
+                    item.quantity = in.getLong();
+                    item.cents = in.getLong();
+                    rollups.items.put(kind + ":" + refId, item);
+                }
+                for (int i = in.getInt(); i > 0; i--) {
+                    rollups.balances.put(GymStore.getString(in), in.getLong());
+                }
+                return rollups;
+            } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+                return null;
+            }
+        }
+    }
+}
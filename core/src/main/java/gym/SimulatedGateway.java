@@ -0,0 +1,119 @@
+package gym;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// A stand-in for a real payment gateway, run in-process. Each call answers
+// after latencyMillis, give or take half, and fails with an IOException at
+// failureRate: half of those before the payment is taken, as if the request
+// never arrived, and half after, as if the answer was lost, so a retry with
+// the same key has to find the charge that was already made. Card numbers
+// that fail the Luhn check are declined; everything else is approved.
+//
+// Defaults come from gym.payments.latency (milliseconds, 300) and
+// gym.payments.failureRate (0.05).
+final class SimulatedGateway implements PaymentGateway {
+    // The outcome stored under a key: an authorization, or why it was declined
+    private static final class Outcome {
+        final long amountCents;
+        final Authorization authorization;
+        final String declined;
+
+        Outcome(long amountCents, Authorization authorization, String declined) {
+            this.amountCents = amountCents;
+            this.authorization = authorization;
+            this.declined = declined;
+        }
+    }
+
+    private final long latencyMillis;
+    private final double failureRate;
+    private final Map<String, Outcome> outcomes = new ConcurrentHashMap<>();
+    private final AtomicLong charges = new AtomicLong();
+    private final AtomicLong calls = new AtomicLong();
+
+    SimulatedGateway(long latencyMillis, double failureRate) {
+        if (latencyMillis < 0 || failureRate < 0 || failureRate > 1) {
+            throw new IllegalArgumentException("latency " + latencyMillis + ", failure rate " + failureRate);
+        }
+        this.latencyMillis = latencyMillis;
+        this.failureRate = failureRate;
+    }
+
+    static SimulatedGateway fromProperties() {
+        return new SimulatedGateway(Long.getLong("gym.payments.latency", 300),
+                Double.parseDouble(System.getProperty("gym.payments.failureRate", "0.05")));
+    }
+
+    @Override
+    public CompletableFuture<Authorization> authorize(Request request) {
+        calls.incrementAndGet();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = latencyMillis / 2 + (latencyMillis == 0 ? 0 : random.nextLong(latencyMillis + 1));
+        double roll = random.nextDouble();
+        return CompletableFuture.supplyAsync(() -> process(request, roll),
+                CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS));
+    }
+
+    private Authorization process(Request request, double roll) {
+        if (roll < failureRate / 2) {
+            throw new CompletionException(new IOException("Gateway did not receive the request"));
+        }
+        Outcome outcome = outcomes.computeIfAbsent(request.idempotencyKey, key -> decide(request));
+        if (outcome.amountCents != request.amountCents) {
+            throw new IllegalArgumentException("Idempotency key " + request.idempotencyKey + " was used for "
+                    + outcome.amountCents + " cents, not " + request.amountCents);
+        }
+        if (roll < failureRate) {
+            throw new CompletionException(new IOException("Gateway answer was lost"));
+        }
+        if (outcome.declined != null) {
+            throw new DeclinedException(outcome.declined);
+        }
+        return outcome.authorization;
+    }
+
+    private Outcome decide(Request request) {
+        if (request.method == SalesLedger.Method.CARD && !luhn(request.cardNumber)) {
+            return new Outcome(request.amountCents, null, "Card number is not valid");
+        }
+        long n = charges.incrementAndGet();
+        return new Outcome(request.amountCents,
+                new Authorization("auth-" + n, request.idempotencyKey, request.amountCents), null);
+    }
+
+    private static boolean luhn(String number) {
+        if (number == null || number.length() < 12 || number.length() > 19) {
+            return false;
+        }
+        int sum = 0;
+        for (int i = 0; i < number.length(); i++) {
+            char c = number.charAt(number.length() - 1 - i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            int digit = c - '0';
+            if (i % 2 == 1) {
+                digit = digit * 2 > 9 ? digit * 2 - 9 : digit * 2;
+            }
+            sum += digit;
+        }
+        return sum % 10 == 0;
+    }
+
+    // Payments taken, one per key however often it was asked
+    long charges() {
+        return charges.get();
+    }
+
+    // Calls made, retries included
+    long calls() {
+        return calls.get();
+    }
+}
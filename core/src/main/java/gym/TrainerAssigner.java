@@ -0,0 +1,245 @@
+package gym;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Suggests the least-loaded trainer for a new member, optionally limited to
+// one specialization.
+//
+// Every trainer sits in an indexed min-heap ordered by the number of members
+// assigned to it (ties go to the older trainer), and in a second heap for its
+// specialization. The heaps remember each trainer's position, so when a
+// member joins, leaves or switches trainer only the trainers involved are
+// sifted: O(log n). A suggestion is a peek at the top. Loads are kept current
+// by listeners on the members and trainers tables, so edits and deletes from
+// any window or thread are counted the moment they are applied.
+//
+// Members refer to their trainer by name; trainers sharing a name share a load.
+final class TrainerAssigner {
+    private final Map<String, Integer> loads = new HashMap<>();
+    private final Map<Long, Trainer> trainers = new HashMap<>();
+    private final Map<String, List<Long>> idsByName = new HashMap<>();
+    private final Heap all = new Heap();
+    // Lower-cased specialization -> its trainers, sorted for the focus combo
+    private final TreeMap<String, Heap> bySpecialization = new TreeMap<>();
+    private boolean ready;
+
+    // Counts every member's trainer and follows both tables from then on.
+    // Reads the whole members table once, so call it off the EDT.
+    void start(GymStore.Table<Trainer> trainerTable,
+            GymStore.Table<Member> memberTable) {
+        memberTable.addListener(this::memberChanged, rows -> {
+            synchronized (this) {
+                for (Member member : rows) {
+                    loads.merge(key(member.trainer), 1, Integer::sum);
+                }
+            }
+        });
+        trainerTable.addListener(this::trainerChanged, rows -> {
+            synchronized (this) {
+                for (Trainer trainer : rows) {
+                    add(trainer);
+                }
+                ready = true;
+            }
+        });
+    }
+
+    // The least-loaded trainer with that specialization (any trainer for null
+    // or ""), or -1 if there is none or start() has not finished
+    synchronized long suggest(String specialization) {
+        if (!ready) {
+            return -1;
+        }
+        Heap heap = specialization == null || specialization.isEmpty() ? all : bySpecialization.get(key(specialization));
+        return heap == null || heap.size == 0 ? -1 : heap.ids[0];
+    }
+
+    // Members assigned to the trainer
+    synchronized int load(long trainerId) {
+        Trainer trainer = trainers.get(trainerId);
+        return trainer == null ? 0 : loads.getOrDefault(key(trainer.name), 0);
+    }
+
+    // Distinct specializations, as first entered
+    synchronized List<String> specializations() {
+        List<String> names = new ArrayList<>(bySpecialization.size());
+        for (Heap heap : bySpecialization.values()) {
+            names.add(heap.label);
+        }
+        return names;
+    }
+
+    private synchronized void memberChanged(Member before, Member after) {
+        if (before != null && after != null && key(before.trainer).equals(key(after.trainer))) {
+            return;
+        }
+        if (before != null) {
+            adjust(before.trainer, -1);
+        }
+        if (after != null) {
+            adjust(after.trainer, 1);
+        }
+    }
+
+    private synchronized void trainerChanged(Trainer before, Trainer after) {
+        if (before != null) {
+            remove(before);
+        }
+        if (after != null) {
+            add(after);
+        }
+    }
+
+    private void adjust(String trainerName, int delta) {
+        String name = key(trainerName);
+        int load = loads.merge(name, delta, Integer::sum);
+        if (load == 0) {
+            loads.remove(name);
+        }
+        List<Long> ids = idsByName.get(name);
+        if (ids == null) {
+            return; // no such trainer, e.g. it was deleted
+        }
+        for (long id : ids) {
+            all.update(id, load);
+            bySpecialization.get(key(trainers.get(id).specialization)).update(id, load);
+        }
+    }
+
+    private void add(Trainer trainer) {
+        int load = loads.getOrDefault(key(trainer.name), 0);
+        trainers.put(trainer.id, trainer);
+        idsByName.computeIfAbsent(key(trainer.name), k -> new ArrayList<>(1)).add(trainer.id);
+        all.insert(trainer.id, load);
+        String specialization = trainer.specialization == null ? "" : trainer.specialization.trim();
+        bySpecialization.computeIfAbsent(key(specialization), k -> new Heap(specialization)).insert(trainer.id, load);
+    }
+
+    // before is the row as it was; its id is the one still in the heaps
+    private void remove(Trainer before) {
+        Trainer trainer = trainers.remove(before.id);
+        if (trainer == null) {
+            return;
+        }
+        List<Long> ids = idsByName.get(key(trainer.name));
+        ids.remove(trainer.id);
+        if (ids.isEmpty()) {
+            idsByName.remove(key(trainer.name));
+        }
+        all.delete(trainer.id);
+        String specialization = key(trainer.specialization);
+        Heap heap = bySpecialization.get(specialization);
+        heap.delete(trainer.id);
+        if (heap.size == 0) {
+            bySpecialization.remove(specialization);
+        }
+    }
+
+    private static String key(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Binary min-heap of trainer ids by (load, id), with each id's position
+    // kept in a map so any entry can be re-sifted or removed in O(log n)
+    private static final class Heap {
+        final String label;
+        long[] ids = new long[8];
+        int[] loads = new int[8];
+        int size;
+        private final LongIntHashMap positions = new LongIntHashMap();
+
+        Heap() {
+            this("");
+        }
+
+        Heap(String label) {
+            this.label = label;
+        }
+
+        void insert(long id, int load) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                loads = Arrays.copyOf(loads, size * 2);
+            }
+            ids[size] = id;
+            loads[size] = load;
+            positions.put(id, size);
+            siftUp(size++);
+        }
+
+        void update(long id, int load) {
+            int i = positions.get(id);
+            if (i == LongIntHashMap.MISSING) {
+                return;
+            }
+            loads[i] = load;
+            siftDown(siftUp(i));
+        }
+
+        void delete(long id) {
+            int i = positions.remove(id);
+            if (i == LongIntHashMap.MISSING) {
+                return;
+            }
+            size--;
+            if (i == size) {
+                return;
+            }
+            ids[i] = ids[size];
+            loads[i] = loads[size];
+            positions.put(ids[i], i);
+            siftDown(siftUp(i));
+        }
+
+        private boolean less(int a, int b) {
+            return loads[a] < loads[b] || (loads[a] == loads[b] && ids[a] < ids[b]);
+        }
+
+        // Returns the entry's new position
+        private int siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!less(i, parent)) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+            return i;
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    return;
+                }
+                if (child + 1 < size && less(child + 1, child)) {
+                    child++;
+                }
+                if (!less(child, i)) {
+                    return;
+                }
+                swap(i, child);
+                i = child;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            int load = loads[a];
+            loads[a] = loads[b];
+            loads[b] = load;
+            positions.put(ids[a], a);
+            positions.put(ids[b], b);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package gym;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// A bounded run of the TurnstileSimulator workload in the benchmarks module,
+// plus the scans the log must never hold.
+class AttendanceTest {
+    private static final int TURNSTILES = 8;
+    private static final int SCANS = 5000;
+    private static final int MEMBERS = 2000;
+
+    @TempDir
+    Path dir;
+
+    private final Clock clock = Clock.systemUTC();
+    private GymStore store;
+    private GymStore.Table<Member> table;
+    private ExpiryScheduler expiry;
+
+    @Test
+    void concurrentScansAreAllCounted() throws Exception {
+        long[] ids = openStore(MEMBERS);
+        Attendance attendance = openAttendance();
+
+        int[][] admitted = new int[TURNSTILES][MEMBERS];
+        AtomicLong unknown = new AtomicLong();
+        List<Throwable> failures = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> gates = new ArrayList<>();
+        for (int t = 0; t < TURNSTILES; t++) {
+            int gate = t;
+            gates.add(Thread.ofPlatform().name("turnstile-" + t).start(() -> {
+                try {
+                    start.await();
+                    scan(attendance, ids, new SplittableRandom(gate), admitted[gate], unknown);
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread gate : gates) {
+            gate.join();
+        }
+        attendance.sync();
+        if (!failures.isEmpty()) {
+            throw new AssertionError(failures.size() + " turnstile(s) failed", failures.get(0));
+        }
+
+        int[] expected = new int[MEMBERS];
+        long total = 0;
+        for (int[] counts : admitted) {
+            for (int i = 0; i < MEMBERS; i++) {
+                expected[i] += counts[i];
+                total += counts[i];
+            }
+        }
+        assertEquals((long) TURNSTILES * SCANS, total + unknown.get(), "scans unaccounted for");
+        verify(attendance, ids, expected, total);
+        attendance.close();
+
+        Attendance reopened = openAttendance();
+        verify(reopened, ids, expected, total);
+        reopened.close();
+        store.close();
+    }
+
+    @Test
+    void idsBelowOneAreNeverAdmitted() throws Exception {
+        long[] ids = openStore(1);
+        Attendance attendance = openAttendance();
+        assertEquals(Attendance.Result.UNKNOWN_MEMBER, attendance.checkIn(0));
+        assertEquals(Attendance.Result.UNKNOWN_MEMBER, attendance.checkIn(-1));
+        assertEquals(Attendance.Result.ADMITTED, attendance.checkIn(ids[0]));
+        attendance.sync();
+        assertEquals(1, attendance.totalVisits());
+        attendance.close();
+        store.close();
+    }
+
+    @Test
+    void replaySkipsRecordsForIdZero() throws Exception {
+        long[] ids = openStore(1);
+        Attendance attendance = openAttendance();
+        assertEquals(Attendance.Result.ADMITTED, attendance.checkIn(ids[0]));
+        attendance.close();
+
+        // A well-formed record for id 0, as older versions could write
+        ByteBuffer record = ByteBuffer.allocate(20).putLong(0).putLong(clock.millis());
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 0, 16);
+        record.putInt((int) crc.getValue());
+        Files.write(dir.resolve("attendance").resolve("attendance.log"), record.array(), StandardOpenOption.APPEND);
+
+        Attendance reopened = openAttendance();
+        assertEquals(1, reopened.totalVisits());
+        assertEquals(1, reopened.visits(ids[0]));
+        reopened.close();
+        store.close();
+    }
+
+    private long[] openStore(int count) throws Exception {
+        store = new GymStore(dir.resolve("store"));
+        table = store.table(1, Codecs.MEMBER);
+        GymStore.Table<Trainer> trainerTable = store.table(2, Codecs.TRAINER);
+        GymStore.Table<MembershipPlan> planTable = store.table(3, Codecs.PLAN);
+        MemberService members = new MemberService(store, table,
+                new MemberReferences(store, table, trainerTable, planTable));
+        CatalogService catalog = new CatalogService(store, members, trainerTable, planTable,
+                store.table(4, Codecs.PRODUCT));
+        store.open();
+        catalog.addPlan(new MembershipPlan("Basic", 1, 3000));
+        catalog.addTrainer(new Trainer("John Doe", "General"));
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = members.add(new Member("Member " + i, 30, "Other", "Basic", "John Doe"));
+        }
+        expiry = new ExpiryScheduler(table, clock, null);
+        return ids;
+    }
+
+    private Attendance openAttendance() throws Exception {
+        Attendance attendance = new Attendance(dir.resolve("attendance"), table, expiry, clock);
+        attendance.open();
+        return attendance;
+    }
+
+    // BUSY scans are retried, like a member scanning again at the gate
+    private static void scan(Attendance attendance, long[] ids, SplittableRandom random, int[] admitted,
+            AtomicLong unknown) {
+        for (int s = 0; s < SCANS; s++) {
+            boolean stranger = random.nextInt(100) == 0;
+            int index = random.nextInt(ids.length);
+            long id = stranger ? ids[ids.length - 1] + 1 + random.nextInt(1000) : ids[index];
+            Attendance.Result result;
+            while ((result = attendance.checkIn(id)) == Attendance.Result.BUSY) {
+                Thread.onSpinWait();
+            }
+            if (result == Attendance.Result.ADMITTED) {
+                admitted[index]++;
+            } else {
+                assertTrue(stranger && result == Attendance.Result.UNKNOWN_MEMBER, "scan of " + id + " gave " + result);
+                unknown.incrementAndGet();
+            }
+        }
+    }
+
+    private void verify(Attendance attendance, long[] ids, int[] expected, long total) {
+        assertEquals(total, attendance.totalVisits());
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(expected[i], attendance.visits(ids[i]), "visits of member " + ids[i]);
+            if (expected[i] > 0) {
+                assertNotNull(attendance.lastVisit(ids[i]), "last visit of member " + ids[i]);
+            }
+        }
+        // Scans near midnight may count towards either day
+        long hourly = 0;
+        LocalDate today = LocalDate.now(clock);
+        for (LocalDate day = today.minusDays(1); !day.isAfter(today.plusDays(1)); day = day.plusDays(1)) {
+            hourly += Arrays.stream(attendance.visitsByHour(day)).sum();
+        }
+        assertEquals(total, hourly, "hourly counts");
+    }
+}
@@ -0,0 +1,174 @@
+package gym;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// A bounded run of the ServiceStressTest workload in the benchmarks module:
+// 32 threads doing a random mix of adds, updates, deletes, lookups, list
+// copies and name searches against one store, then the same invariants.
+class ConcurrentServicesTest {
+    private static final int THREADS = 32;
+    private static final int OPERATIONS = 500;
+    private static final int SHARED = 64;
+
+    @TempDir
+    Path dir;
+
+    private GymStore store;
+    private MemberService members;
+    private CatalogService catalog;
+
+    @Test
+    void mixedWorkloadKeepsInvariants() throws Exception {
+        open();
+        members.indexNames();
+        catalog.addPlan(new MembershipPlan("Basic", 1, 3000));
+        catalog.addTrainer(new Trainer("John Doe", "General"));
+        long[] shared = new long[SHARED];
+        for (int i = 0; i < SHARED; i++) {
+            shared[i] = members.add(member("shared" + i, 0));
+            catalog.addProduct(new Product("product" + i, 100 + i, "stress"));
+        }
+
+        List<Map<Long, Member>> owned = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Map<Long, Member> mine = new ConcurrentHashMap<>();
+            owned.add(mine);
+            int thread = t;
+            workers.add(Thread.ofPlatform().name("stress-" + t).start(() -> {
+                try {
+                    start.await();
+                    work(thread, shared, mine);
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        members.sync();
+        if (!failures.isEmpty()) {
+            throw new AssertionError(failures.size() + " worker(s) failed", failures.get(0));
+        }
+
+        // Every thread's members are as it last wrote them, and found by name
+        int live = SHARED;
+        for (Map<Long, Member> mine : owned) {
+            live += mine.size();
+            for (Map.Entry<Long, Member> entry : mine.entrySet()) {
+                assertSame(entry.getValue(), members.find(entry.getKey()), "lost write to member " + entry.getKey());
+                long[] hits = members.search(entry.getValue().name, 10);
+                assertTrue(hits.length == 1 && hits[0] == entry.getKey(),
+                        "name index out of date for " + entry.getValue().name);
+            }
+        }
+        assertEquals(live, members.count());
+        assertEquals(SHARED, catalog.listProducts().size());
+
+        // Everything in memory comes back from disk
+        List<Member> before = members.list();
+        store.close();
+        open();
+        assertEquals(before.size(), members.count());
+        for (Member expected : before) {
+            Member actual = members.find(expected.id);
+            assertNotNull(actual, "member " + expected.id + " lost after reopen");
+            assertEquals(expected.name, actual.name);
+            assertEquals(expected.age, actual.age);
+        }
+        store.close();
+    }
+
+    private void open() throws Exception {
+        store = new GymStore(dir);
+        GymStore.Table<Member> memberTable = store.table(1, Codecs.MEMBER);
+        GymStore.Table<Trainer> trainerTable = store.table(2, Codecs.TRAINER);
+        GymStore.Table<MembershipPlan> planTable = store.table(3, Codecs.PLAN);
+        members = new MemberService(store, memberTable,
+                new MemberReferences(store, memberTable, trainerTable, planTable));
+        catalog = new CatalogService(store, members, trainerTable, planTable, store.table(4, Codecs.PRODUCT));
+        store.open();
+    }
+
+    private void work(int thread, long[] shared, Map<Long, Member> mine) {
+        SplittableRandom random = new SplittableRandom(thread);
+        List<Long> ids = new ArrayList<>();
+        int created = 0;
+        for (int op = 0; op < OPERATIONS; op++) {
+            int roll = random.nextInt(100);
+            if (roll < 15 || ids.isEmpty()) {
+                Member member = member(String.format("t%03dm%07d", thread, created++), 1);
+                long id = members.add(member);
+                ids.add(id);
+                mine.put(id, member);
+            } else if (roll < 30) {
+                long id = ids.get(random.nextInt(ids.size()));
+                Member member = member(mine.get(id).name, mine.get(id).age + 1);
+                assertTrue(members.update(id, member), "update of own member " + id + " failed");
+                mine.put(id, member);
+            } else if (roll < 40) {
+                int at = random.nextInt(ids.size());
+                long id = ids.get(at);
+                ids.set(at, ids.get(ids.size() - 1));
+                ids.remove(ids.size() - 1);
+                assertSame(mine.remove(id), members.delete(id), "delete of own member " + id + " returned another row");
+                assertNull(members.find(id), "deleted member " + id + " still found");
+            } else if (roll < 60) {
+                long id = shared[random.nextInt(shared.length)];
+                members.update(id, member("shared" + (id % SHARED), thread + 1));
+            } else {
+                read(random, shared, ids, mine);
+            }
+        }
+    }
+
+    private void read(SplittableRandom random, long[] shared, List<Long> ids, Map<Long, Member> mine) {
+        int roll = random.nextInt(100);
+        if (roll < 50 && !ids.isEmpty()) {
+            long id = ids.get(random.nextInt(ids.size()));
+            assertSame(mine.get(id), members.find(id), "stale read of own member " + id);
+        } else if (roll < 75) {
+            long id = shared[random.nextInt(shared.length)];
+            Member member = members.find(id);
+            assertTrue(member != null && member.id == id, "shared member " + id + " missing");
+        } else if (roll < 80) {
+            Set<Long> seen = new HashSet<>();
+            for (Member member : members.list()) {
+                assertTrue(member != null && seen.add(member.id), "list copy holds a null or duplicate");
+            }
+        } else if (roll < 90) {
+            for (long id : members.search("shared", 5)) {
+                Member member = members.find(id);
+                assertTrue(member == null || member.id == id, "search hit " + id + " resolves to another row");
+            }
+        } else {
+            assertNotNull(catalog.findProduct(1 + random.nextInt(SHARED)), "product missing");
+        }
+    }
+
+    private static Member member(String name, int age) {
+        return new Member(name, age, "Other", "Basic", "John Doe");
+    }
+}
@@ -0,0 +1,154 @@
+package gym;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// A bounded run of the PaymentLoadTest workload in the benchmarks module,
+// plus a gateway that never answers.
+class PaymentsTest {
+    private static final int PAYMENTS = 100;
+    private static final String GOOD_CARD = "4111111111111111";
+    private static final String BAD_CARD = "4111111111111112";
+
+    @TempDir
+    Path dir;
+
+    // Two callers per payment against a gateway that fails often, half the
+    // time after taking the payment; payments still failing after their
+    // retries are paid again with the same key. One card in 25 is declined
+    // and one commit in 40 throws.
+    @Test
+    void eachPaymentIsChargedAndCommittedOnce() throws Exception {
+        GymStore store = new GymStore(dir.resolve("store"));
+        GymStore.Table<Member> memberTable = store.table(1, Codecs.MEMBER);
+        GymStore.Table<Trainer> trainerTable = store.table(2, Codecs.TRAINER);
+        GymStore.Table<MembershipPlan> planTable = store.table(3, Codecs.PLAN);
+        MemberService members = new MemberService(store, memberTable,
+                new MemberReferences(store, memberTable, trainerTable, planTable));
+        CatalogService catalog = new CatalogService(store, members, trainerTable, planTable,
+                store.table(4, Codecs.PRODUCT));
+        store.open();
+        catalog.addPlan(new MembershipPlan("Basic", 1, 3000));
+        catalog.addTrainer(new Trainer("John Doe", "General"));
+        SalesLedger ledger = new SalesLedger(dir.resolve("ledger"));
+        ledger.open();
+
+        SimulatedGateway gateway = new SimulatedGateway(5, 0.3);
+        Payments payments = new Payments(gateway, 5000, 4, 1);
+        AtomicIntegerArray commits = new AtomicIntegerArray(PAYMENTS);
+        String[] outcome = new String[PAYMENTS];
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < PAYMENTS; i++) {
+            pending.add(i);
+        }
+        for (int round = 1; !pending.isEmpty(); round++) {
+            assertTrue(round <= 20, pending.size() + " payment(s) still failing after 20 rounds");
+            List<CompletableFuture<Long>> futures = new ArrayList<>();
+            for (int i : pending) {
+                PaymentGateway.Request request = new PaymentGateway.Request("payment-" + i, SalesLedger.Method.CARD,
+                        3000 + i, i % 25 == 0 ? BAD_CARD : GOOD_CARD);
+                Member member = new Member("Member " + i, 30, "Other", "Basic", "John Doe");
+                CompletableFuture<Long> first = null;
+                for (int click = 0; click < 2; click++) {
+                    CompletableFuture<Long> future = payments.charge(request, authorization -> {
+                        commits.incrementAndGet(i);
+                        if (i % 40 == 7) {
+                            throw new IllegalStateException("plan deleted");
+                        }
+                        long id = members.add(member);
+                        ledger.record(request.method, Collections.singletonList(new SalesLedger.Line(
+                                SalesLedger.Kind.MEMBERSHIP, 1, "Basic", 1, request.amountCents)));
+                        return id;
+                    });
+                    // A payment that has already failed, e.g. declined, may be
+                    // started again; one in flight or paid may not
+                    if (first != null && !first.isCompletedExceptionally()) {
+                        assertSame(first, future, "payment " + i + " was started twice");
+                    }
+                    first = future;
+                }
+                futures.add(first);
+            }
+            List<Integer> failed = new ArrayList<>();
+            for (int n = 0; n < pending.size(); n++) {
+                int i = pending.get(n);
+                try {
+                    futures.get(n).join();
+                    outcome[i] = "paid";
+                } catch (CompletionException e) {
+                    Throwable cause = Payments.unwrap(e);
+                    if (cause instanceof PaymentGateway.DeclinedException) {
+                        outcome[i] = "declined";
+                    } else if (cause instanceof Payments.CommitFailedException) {
+                        outcome[i] = "commit failed";
+                    } else {
+                        failed.add(i);
+                    }
+                }
+            }
+            pending = failed;
+        }
+
+        int paid = 0;
+        int commitFailed = 0;
+        for (int i = 0; i < PAYMENTS; i++) {
+            String expected = i % 25 == 0 ? "declined" : i % 40 == 7 ? "commit failed" : "paid";
+            assertEquals(expected, outcome[i], "payment " + i);
+            assertEquals(i % 25 == 0 ? 0 : 1, commits.get(i), "commits of payment " + i);
+            paid += expected.equals("paid") ? 1 : 0;
+            commitFailed += expected.equals("commit failed") ? 1 : 0;
+        }
+        // Paying again after a failed commit gets the same failure
+        CompletableFuture<Long> again = payments.charge(new PaymentGateway.Request("payment-7",
+                SalesLedger.Method.CARD, 3007, GOOD_CARD), authorization -> {
+                    throw new AssertionError("commit run again");
+                });
+        CompletionException error = assertThrows(CompletionException.class, again::join);
+        assertTrue(Payments.unwrap(error) instanceof Payments.CommitFailedException);
+
+        assertEquals(paid + commitFailed, gateway.charges());
+        assertEquals(paid, members.count());
+        ledger.sync();
+        assertEquals(paid, ledger.transactionCount());
+        payments.close();
+        ledger.close();
+        store.close();
+    }
+
+    // Every attempt times out; the key is forgotten, so it can be paid again
+    @Test
+    void timeoutsAreRetriedThenReported() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        Payments payments = new Payments(request -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        }, 20, 3, 1);
+        PaymentGateway.Request request = new PaymentGateway.Request("slow", SalesLedger.Method.UPI, 3000, "");
+        AtomicInteger commits = new AtomicInteger();
+        CompletableFuture<Integer> first = payments.charge(request, authorization -> commits.incrementAndGet());
+        CompletionException error = assertThrows(CompletionException.class, first::join);
+        assertTrue(Payments.unwrap(error) instanceof TimeoutException);
+        assertEquals(3, calls.get());
+        assertEquals(0, commits.get());
+
+        CompletableFuture<Integer> second = payments.charge(request, authorization -> commits.incrementAndGet());
+        assertTrue(second != first, "a failed payment's key was kept");
+        assertThrows(CompletionException.class, second::join);
+        assertEquals(6, calls.get());
+        payments.close();
+    }
+}
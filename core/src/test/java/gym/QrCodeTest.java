@@ -0,0 +1,198 @@
+package gym;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+// Checks the encoder's output against values from the standard rather than
+// against its own arithmetic: the format information for every level and
+// mask, the version information of version 7 and the fixed patterns, and
+// reads a version 1 code's data back the way a scanner would.
+class QrCodeTest {
+    // The 15-bit format information, mask pattern applied, by level (L, M, Q,
+    // H) and mask, as listed in ISO/IEC 18004
+    private static final String[][] FORMAT = {
+        {"111011111000100", "111001011110011", "111110110101010", "111100010011101",
+         "110011000101111", "110001100011000", "110110001000001", "110100101110110"},
+        {"101010000010010", "101000100100101", "101111001111100", "101101101001011",
+         "100010111111001", "100000011001110", "100111110010111", "100101010100000"},
+        {"011010101011111", "011000001101000", "011111100110001", "011101000000110",
+         "010010010110100", "010000110000011", "010111011011010", "010101111101101"},
+        {"001011010001001", "001001110111110", "001110011100111", "001100111010000",
+         "000011101100010", "000001001010101", "000110100001100", "000100000111011"},
+    };
+    // Version information of version 7
+    private static final int VERSION_7 = 0x07C94;
+
+    @Test
+    void shortLinkFitsVersionTwo() {
+        // 25 bytes: over version 1's 14 at level M, within version 2's 26
+        QrCode code = QrCode.encode("upi://pay?pa=gym@upi&am=1", QrCode.Ecc.MEDIUM);
+        assertEquals(2, code.version);
+        assertEquals(25, code.size);
+        checkFinders(code);
+        checkTiming(code);
+        checkFormat(code);
+    }
+
+    @Test
+    void formatInformationMatchesTheStandardAtEveryLevel() {
+        for (QrCode.Ecc ecc : QrCode.Ecc.values()) {
+            QrCode code = QrCode.encode("gym", ecc);
+            assertEquals(1, code.version);
+            checkFinders(code);
+            checkFormat(code);
+        }
+    }
+
+    @Test
+    void versionSevenCarriesItsVersionInformation() {
+        // 110 bytes: over version 6's 106 at level M, within version 7's 120
+        QrCode code = QrCode.encode("x".repeat(110), QrCode.Ecc.MEDIUM);
+        assertEquals(7, code.version);
+        assertEquals(45, code.size);
+        checkFinders(code);
+        checkFormat(code);
+        for (int i = 0; i < 18; i++) {
+            boolean expected = ((VERSION_7 >>> i) & 1) != 0;
+            int a = code.size - 11 + i % 3;
+            int b = i / 3;
+            assertEquals(expected, code.get(a, b), "version bit " + i + " top right");
+            assertEquals(expected, code.get(b, a), "version bit " + i + " bottom left");
+        }
+    }
+
+    @Test
+    void versionOneDataReadsBack() {
+        QrCode code = QrCode.encode("gym", QrCode.Ecc.LOW);
+        assertEquals(1, code.version);
+        byte[] codewords = readCodewords(code);
+        // Byte mode, a count of 3, the text, the terminator, then the pad
+        // bytes; version 1 at level L holds 19 data codewords in one block
+        byte[] expected = new byte[19];
+        byte[] start = {0x40, 0x36, 0x77, (byte) 0x96, (byte) 0xd0};
+        System.arraycopy(start, 0, expected, 0, start.length);
+        for (int i = start.length; i < expected.length; i++) {
+            expected[i] = (byte) ((i - start.length) % 2 == 0 ? 0xec : 0x11);
+        }
+        byte[] data = new byte[19];
+        System.arraycopy(codewords, 0, data, 0, data.length);
+        assertArrayEquals(expected, data);
+    }
+
+    @Test
+    void textOverVersionFortyIsRefused() {
+        assertThrows(IllegalArgumentException.class, () -> QrCode.encode("x".repeat(3000), QrCode.Ecc.LOW));
+    }
+
+    // Both copies of the format information, read in the standard's order
+    private static void checkFormat(QrCode code) {
+        String expected = FORMAT[level(code.ecc)][code.mask];
+        int n = code.size;
+        int[][] first = {{0, 8}, {1, 8}, {2, 8}, {3, 8}, {4, 8}, {5, 8}, {7, 8}, {8, 8},
+                         {8, 7}, {8, 5}, {8, 4}, {8, 3}, {8, 2}, {8, 1}, {8, 0}};
+        StringBuilder read = new StringBuilder();
+        for (int[] xy : first) {
+            read.append(code.get(xy[0], xy[1]) ? '1' : '0');
+        }
+        assertEquals(expected, read.toString(), "format information by the top left finder");
+        read.setLength(0);
+        for (int i = 0; i < 7; i++) {
+            read.append(code.get(8, n - 1 - i) ? '1' : '0');
+        }
+        for (int i = 0; i < 8; i++) {
+            read.append(code.get(n - 8 + i, 8) ? '1' : '0');
+        }
+        assertEquals(expected, read.toString(), "format information by the other finders");
+        assertTrue(code.get(8, n - 8), "dark module");
+    }
+
+    // The 26 codewords of a version 1 code, unmasked and read in the
+    // standard's zigzag from the bottom right corner
+    private static byte[] readCodewords(QrCode code) {
+        int n = code.size;
+        byte[] out = new byte[26];
+        int bit = 0;
+        for (int right = n - 1; right >= 1; right -= 2) {
+            if (right == 6) {
+                right = 5;
+            }
+            boolean upward = ((right + 1) & 2) == 0;
+            for (int vert = 0; vert < n; vert++) {
+                for (int j = 0; j < 2; j++) {
+                    int x = right - j;
+                    int y = upward ? n - 1 - vert : vert;
+                    boolean function = x < 9 && y < 9 || x >= n - 8 && y < 9 || x < 9 && y >= n - 8
+                            || x == 6 || y == 6;
+                    if (!function && bit < out.length * 8) {
+                        if (code.get(x, y) != masked(code.mask, x, y)) {
+                            out[bit / 8] |= (byte) (0x80 >>> (bit % 8));
+                        }
+                        bit++;
+                    }
+                }
+            }
+        }
+        assertEquals(out.length * 8, bit);
+        return out;
+    }
+
+    // Whether mask pattern m darkens column x, row y
+    private static boolean masked(int m, int x, int y) {
+        switch (m) {
+            case 0:
+                return (y + x) % 2 == 0;
+            case 1:
+                return y % 2 == 0;
+            case 2:
+                return x % 3 == 0;
+            case 3:
+                return (y + x) % 3 == 0;
+            case 4:
+                return (y / 2 + x / 3) % 2 == 0;
+            case 5:
+                return y * x % 2 + y * x % 3 == 0;
+            case 6:
+                return (y * x % 2 + y * x % 3) % 2 == 0;
+            default:
+                return ((y + x) % 2 + y * x % 3) % 2 == 0;
+        }
+    }
+
+    private static void checkFinders(QrCode code) {
+        int n = code.size;
+        int[][] corners = {{0, 0}, {n - 7, 0}, {0, n - 7}};
+        for (int[] corner : corners) {
+            for (int dy = 0; dy < 7; dy++) {
+                for (int dx = 0; dx < 7; dx++) {
+                    int ring = Math.max(Math.abs(dx - 3), Math.abs(dy - 3));
+                    assertEquals(ring != 2, code.get(corner[0] + dx, corner[1] + dy),
+                            "finder at " + corner[0] + "," + corner[1]);
+                }
+            }
+        }
+    }
+
+    private static void checkTiming(QrCode code) {
+        for (int i = 8; i < code.size - 8; i++) {
+            assertEquals(i % 2 == 0, code.get(i, 6), "timing row");
+            assertEquals(i % 2 == 0, code.get(6, i), "timing column");
+        }
+    }
+
+    private static int level(QrCode.Ecc ecc) {
+        switch (ecc) {
+            case LOW:
+                return 0;
+            case MEDIUM:
+                return 1;
+            case QUARTILE:
+                return 2;
+            default:
+                return 3;
+        }
+    }
+}
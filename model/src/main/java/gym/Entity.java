@@ -0,0 +1,7 @@
+package gym;
+
+// Base class for stored records. The id is assigned by the store on insert and
+// never reused, so it stays valid across renames, reorders and restarts.
+abstract class Entity {
+    long id;
+}
@@ -0,0 +1,40 @@
+package gym;
+
+import java.time.LocalDate;
+
+// A registered member. plan and trainer hold the names shown on screen;
+// MemberReferences keeps them pointing at existing plans and trainers.
+class Member extends Entity {
+    String name, gender, plan, trainer;
+    int age;
+    // Membership term as epoch days: active from startDay until the day
+    // before endDay. 0 when unknown (members added before terms were kept).
+    long startDay, endDay;
+
+    Member(String name, int age, String gender, String plan, String trainer) {
+        this.name = name;
+        this.age = age;
+        this.gender = gender;
+        this.plan = plan;
+        this.trainer = trainer;
+    }
+
+    // Starts a term of the given number of months on start
+    Member withTerm(LocalDate start, int months) {
+        startDay = start.toEpochDay();
+        endDay = start.plusMonths(months).toEpochDay();
+        return this;
+    }
+
+    // Keeps other's term, for edits that change other fields
+    Member withTermOf(Member other) {
+        startDay = other.startDay;
+        endDay = other.endDay;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "Name: " + name + ", Age: " + age + ", Gender: " + gender + ", Plan: " + plan + ", Trainer: " + trainer;
+    }
+}
@@ -0,0 +1,19 @@
+package gym;
+
+// A membership plan: how many months it runs and what it costs
+class MembershipPlan extends Entity {
+    String name;
+    int duration;
+    long priceCents;
+
+    MembershipPlan(String name, int duration, long priceCents) {
+        this.name = name;
+        this.duration = duration;
+        this.priceCents = priceCents;
+    }
+
+    @Override
+    public String toString() {
+        return "Name: " + name + ", Duration: " + duration + " months, Price: $" + Money.format(priceCents);
+    }
+}
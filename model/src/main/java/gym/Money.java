@@ -0,0 +1,49 @@
+package gym;
+
+// Amounts of money as a long count of cents. Prices are parsed once where
+// they are typed in and summed as integers, so totals are exact.
+final class Money {
+    private Money() {
+    }
+
+    // Accepts whole amounts and up to two decimals ("30", "29.9", "29.99").
+    // Throws NumberFormatException for anything else, including negatives.
+    static long parse(String text) {
+        String s = text.trim();
+        int dot = s.indexOf('.');
+        String whole = dot < 0 ? s : s.substring(0, dot);
+        String fraction = dot < 0 ? "" : s.substring(dot + 1);
+        if (whole.isEmpty() || whole.length() > 15 || fraction.length() > 2 || (dot >= 0 && fraction.isEmpty())
+                || !isDigits(whole) || !isDigits(fraction)) {
+            throw new NumberFormatException("Not an amount: " + text);
+        }
+        long cents = Long.parseLong(whole) * 100;
+        if (!fraction.isEmpty()) {
+            cents += Integer.parseInt(fraction) * (fraction.length() == 1 ? 10 : 1);
+        }
+        return cents;
+    }
+
+    // Whole amounts without decimals ("30"), others with two ("29.90"); the
+    // form prices were shown in when they were kept as typed text
+    static String format(long cents) {
+        return cents % 100 == 0 ? Long.toString(cents / 100) : format2(cents);
+    }
+
+    // Always two decimals ("30.00"), for totals and receipts
+    static String format2(long cents) {
+        long abs = Math.abs(cents);
+        long fraction = abs % 100;
+        return (cents < 0 ? "-" : "") + abs / 100 + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+
+    private static boolean isDigits(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
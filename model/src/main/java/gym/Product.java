@@ -0,0 +1,39 @@
+package gym;
+
+// A product sold at the front desk. stock is the number of units on hand, or
+// UNTRACKED for products sold without counting them (those added before stock
+// was kept, among others). category groups products in the shop, and image is
+// the path or URL of a picture of it; both may be empty.
+class Product extends Entity {
+    static final int UNTRACKED = -1;
+
+    String name, description, category, image;
+    long priceCents;
+    int stock;
+
+    Product(String name, long priceCents, String description) {
+        this(name, priceCents, description, UNTRACKED);
+    }
+
+    Product(String name, long priceCents, String description, int stock) {
+        this(name, priceCents, description, stock, "", "");
+    }
+
+    Product(String name, long priceCents, String description, int stock, String category, String image) {
+        this.name = name;
+        this.priceCents = priceCents;
+        this.description = description;
+        this.stock = stock;
+        this.category = category;
+        this.image = image;
+    }
+
+    boolean tracksStock() {
+        return stock != UNTRACKED;
+    }
+
+    @Override
+    public String toString() {
+        return "Name: " + name + ", Price: $" + Money.format(priceCents) + ", Description: " + description;
+    }
+}
@@ -0,0 +1,16 @@
+package gym;
+
+// A trainer members can be assigned to
+class Trainer extends Entity {
+    String name, specialization;
+
+    Trainer(String name, String specialization) {
+        this.name = name;
+        this.specialization = specialization;
+    }
+
+    @Override
+    public String toString() {
+        return "Name: " + name + ", Specialization: " + specialization;
+    }
+}